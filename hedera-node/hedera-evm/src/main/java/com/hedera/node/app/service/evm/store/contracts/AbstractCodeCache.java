@@ -26,17 +26,34 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.code.CodeFactory;
 
+/**
+ * An on-heap cache of EVM {@link Code}, bounded by an estimate of the bytes its entries retain
+ * (rather than by soft references, which the GC may clear just when the cache is most useful).
+ * Subclasses may add a second tier behind this one by overriding {@link #loadCode(Address)}.
+ */
 public class AbstractCodeCache {
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+    // Rough size of a cached Code object and its key, exclusive of the bytecode
+    static final int ENTRY_OVERHEAD_BYTES = 256;
+
     protected final HederaEvmEntityAccess entityAccess;
     protected final Cache<BytesKey, Code> cache;
 
     public AbstractCodeCache(
             final int expirationCacheTime, final HederaEvmEntityAccess entityAccess) {
+        this(expirationCacheTime, DEFAULT_MAX_BYTES, entityAccess);
+    }
+
+    public AbstractCodeCache(
+            final int expirationCacheTime,
+            final long maxBytes,
+            final HederaEvmEntityAccess entityAccess) {
         this.entityAccess = entityAccess;
         this.cache =
                 Caffeine.newBuilder()
                         .expireAfterAccess(expirationCacheTime, TimeUnit.SECONDS)
-                        .softValues()
+                        .maximumWeight(maxBytes)
+                        .weigher((BytesKey key, Code code) -> weightOf(code))
                         .build();
     }
 
@@ -58,15 +75,28 @@ public class AbstractCodeCache {
             return code;
         }
 
-        final var bytecode = entityAccess.fetchCodeIfPresent(address);
-        if (bytecode != null) {
-            code = CodeFactory.createCode(bytecode, Hash.hash(bytecode), 0, false);
+        code = loadCode(address);
+        if (code != null) {
             cache.put(cacheKey, code);
         }
 
         return code;
     }
 
+    /**
+     * Loads the code at the given address after a miss in this cache; by default, by fetching the
+     * bytecode from the entity access and hashing it.
+     *
+     * @param address the address of the code
+     * @return the code, or null if the entity access has no bytecode for the address
+     */
+    protected Code loadCode(final Address address) {
+        final var bytecode = entityAccess.fetchCodeIfPresent(address);
+        return (bytecode == null)
+                ? null
+                : CodeFactory.createCode(bytecode, Hash.hash(bytecode), 0, false);
+    }
+
     public void invalidate(Address address) {
         cache.invalidate(new BytesKey(address.toArray()));
     }
@@ -74,4 +104,16 @@ public class AbstractCodeCache {
     public long size() {
         return cache.estimatedSize();
     }
+
+    /**
+     * Estimates the on-heap bytes retained by a cache entry for the given code; that is, the
+     * bytecode itself, its jump destination bitmap (one bit per byte), and a fixed overhead.
+     *
+     * @param code the cached code
+     * @return the estimated bytes retained
+     */
+    static int weightOf(final Code code) {
+        final var size = code.getContainerBytes().size();
+        return ENTRY_OVERHEAD_BYTES + size + size / 8;
+    }
 }
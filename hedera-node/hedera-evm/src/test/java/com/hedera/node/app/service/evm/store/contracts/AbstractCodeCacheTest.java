@@ -28,6 +28,7 @@ import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
 import org.hyperledger.besu.evm.code.CodeV0;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -93,6 +94,29 @@ class AbstractCodeCacheTest {
         assertEquals(1, codeCache.size());
     }
 
+    @Test
+    void weighsEntriesByRetainedBytes() {
+        final var bytecode = Bytes.wrap(new byte[800]);
+        final var code = CodeFactory.createCode(bytecode, Hash.hash(bytecode), 0, false);
+
+        assertEquals(
+                AbstractCodeCache.ENTRY_OVERHEAD_BYTES + 900, AbstractCodeCache.weightOf(code));
+    }
+
+    @Test
+    void evictsOnceOverMaxBytes() {
+        final var bytecode = Bytes.wrap(new byte[800]);
+        given(entityAccess.fetchCodeIfPresent(any())).willReturn(bytecode);
+        final var maxBytes = AbstractCodeCache.ENTRY_OVERHEAD_BYTES + 900L;
+        codeCache = new MockAbstractCodeCache(100, maxBytes, entityAccess);
+
+        codeCache.getIfPresent(Address.fromHexString("0xabc"));
+        codeCache.getIfPresent(Address.fromHexString("0xdef"));
+        codeCache.getCache().cleanUp();
+
+        assertEquals(1, codeCache.size());
+    }
+
     @Test
     void getTokenCodeReturnsRedirectCode() {
         given(entityAccess.isTokenAccount(any())).willReturn(true);
@@ -24,6 +24,11 @@ public class MockAbstractCodeCache extends AbstractCodeCache {
         super(expirationCacheTime, entityAccess);
     }
 
+    public MockAbstractCodeCache(
+            int expirationCacheTime, long maxBytes, HederaEvmEntityAccess entityAccess) {
+        super(expirationCacheTime, maxBytes, entityAccess);
+    }
+
     /* --- Only used by unit tests --- */
     Cache<BytesKey, Code> getCache() {
         return cache;
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.files;
+
+import com.hedera.node.app.service.mono.files.store.FcBlobsBytesStore;
+import com.hedera.node.app.service.mono.legacy.core.jproto.JEd25519Key;
+import com.hedera.node.app.service.mono.legacy.core.jproto.JKeyList;
+import com.hedera.node.app.service.mono.setup.Constructables;
+import com.hedera.node.app.service.mono.setup.InfrastructureManager;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobValue;
+import com.hederahashgraph.api.proto.java.FileID;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.virtualmap.VirtualMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of HFS-style {@code cat} and {@code overwrite} operations through the
+ * file data and metadata maps when they are keyed by legacy path strings ({@code legacyPaths})
+ * versus binary {@link VirtualBlobKey}s ({@code binaryKeys}). Run via {@link #main(String...)} to
+ * also report the allocation rate.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 30)
+public class FileMapsBench {
+    private static final long FIRST_FILE_NUM = 1001;
+
+    @Param({"legacyPaths", "binaryKeys"})
+    String keyMode;
+
+    @Param("10000")
+    int numFiles;
+
+    @Param("1024")
+    int fileSize;
+
+    private int i;
+    private FileID[] fids;
+    private byte[] newContents;
+    private VirtualMap<VirtualBlobKey, VirtualBlobValue> blobs;
+    private Map<FileID, byte[]> data;
+    private Map<FileID, HFileMeta> metadata;
+
+    // --- Fixtures ---
+    @Setup(Level.Trial)
+    public void setupInfrastructure() throws ConstructableRegistryException, IOException {
+        Constructables.registerForVirtualMap();
+        Constructables.registerForJasperDb();
+        final var storageLoc = Files.createTempDirectory("file-maps-bench").toString();
+        blobs = InfrastructureManager.newVmFactory(storageLoc).newVirtualizedBlobs();
+        final var store = new FcBlobsBytesStore(() -> blobs);
+        if ("legacyPaths".equals(keyMode)) {
+            data = DataMapFactory.dataMapFrom(store);
+            metadata = MetadataMapFactory.metaMapFrom(store);
+        } else {
+            data = DataMapFactory.dataMapOver(store);
+            metadata = MetadataMapFactory.metaMapOver(store);
+        }
+
+        final var wacl = new JKeyList(List.of(new JEd25519Key(new byte[32])));
+        final var contents = new byte[fileSize];
+        fids = new FileID[numFiles];
+        for (int j = 0; j < numFiles; j++) {
+            fids[j] = FileID.newBuilder().setFileNum(FIRST_FILE_NUM + j).build();
+            data.put(fids[j], contents);
+            metadata.put(fids[j], new HFileMeta(false, wacl, Long.MAX_VALUE));
+        }
+        newContents = new byte[fileSize];
+        i = 0;
+    }
+
+    @Setup(Level.Iteration)
+    public void simulateRoundBoundary() {
+        final var mutableBlobs = blobs.copy();
+        blobs.release();
+        blobs = mutableBlobs;
+    }
+
+    // --- Benchmarks ---
+    @Benchmark
+    public byte[] cat() {
+        final var fid = nextFid();
+        if (!metadata.containsKey(fid) || metadata.get(fid).isDeleted()) {
+            throw new IllegalStateException("Missing file " + fid);
+        }
+        return data.get(fid);
+    }
+
+    @Benchmark
+    public void overwrite() {
+        final var fid = nextFid();
+        if (!metadata.containsKey(fid) || metadata.get(fid).isDeleted()) {
+            throw new IllegalStateException("Missing file " + fid);
+        }
+        data.put(fid, newContents);
+    }
+
+    // --- Helpers ---
+    private FileID nextFid() {
+        i = i * Constructables.MULTIPLIER + Constructables.ADDEND;
+        return fids[Math.floorMod(i, numFiles)];
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        final var options =
+                new OptionsBuilder()
+                        .include(FileMapsBench.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(options).run();
+    }
+}
@@ -36,7 +36,16 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+/**
+ * Measures the throughput of four-way hbar transfers through the accounts {@link
+ * TransactionalLedger}. Run via {@link #main(String...)} (or with {@code -prof gc}) to also report
+ * the allocation rate, which is dominated by the ledger's per-transaction change sets.
+ */
 @State(Scope.Benchmark)
 @Fork(1)
 @Warmup(iterations = 1, time = 10)
@@ -109,4 +118,13 @@ public class SimpleTransfersBench {
     private List<InfrastructureType> requiredInfra() {
         return List.of(ACCOUNTS_LEDGER);
     }
+
+    public static void main(final String... args) throws RunnerException {
+        final var options =
+                new OptionsBuilder()
+                        .include(SimpleTransfersBench.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(options).run();
+    }
 }
@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.setup;
+
+import static com.hedera.node.app.hapi.utils.SignatureGenerator.signBytes;
+import static com.hedera.node.app.service.mono.context.AppsManager.APPS;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.BOOTSTRAP_GENESIS_PUBLIC_KEY;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.BOOTSTRAP_THROTTLE_DEF_JSON_RESOURCE;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.CONTRACTS_THROTTLE_THROTTLE_BY_GAS;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_IS_ENABLED;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_LOG_DIR;
+import static com.hedera.node.app.service.mono.setup.Constructables.SEED;
+import static com.hedera.node.app.service.mono.utils.MiscUtils.asTimestamp;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.node.app.hapi.utils.keys.Ed25519Utils;
+import com.hedera.node.app.service.mono.DaggerServicesApp;
+import com.hedera.node.app.service.mono.ServicesApp;
+import com.hedera.node.app.service.mono.ServicesState;
+import com.hedera.node.app.service.mono.context.properties.BootstrapProperties;
+import com.hedera.node.app.service.mono.context.properties.ChainedSources;
+import com.hedera.node.app.service.mono.context.properties.SupplierMapPropertySource;
+import com.hedera.node.app.service.mono.utils.accessors.AccessorFactory;
+import com.hedera.node.app.service.mono.utils.accessors.PlatformTxnAccessor;
+import com.hedera.node.app.service.mono.utils.accessors.SwirldsTxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Duration;
+import com.hederahashgraph.api.proto.java.Key;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.constructable.ConstructableRegistryException;
+import com.swirlds.common.crypto.CryptographyHolder;
+import com.swirlds.common.crypto.SerializablePublicKey;
+import com.swirlds.common.metrics.platform.DefaultMetrics;
+import com.swirlds.common.metrics.platform.DefaultMetricsFactory;
+import com.swirlds.common.system.InitTrigger;
+import com.swirlds.common.system.NodeId;
+import com.swirlds.common.system.Platform;
+import com.swirlds.common.system.address.Address;
+import com.swirlds.common.system.address.AddressBook;
+import com.swirlds.common.utility.CommonUtils;
+import com.swirlds.platform.state.DualStateImpl;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import org.mockito.Mockito;
+
+/**
+ * A genesis {@link ServicesState} with a real {@link ServicesApp} object graph behind it, plus
+ * the keys and helpers needed to sign transactions and hand them to the app's process logic at
+ * steadily increasing consensus times.
+ *
+ * <p>Only the platform is a stub; it supplies the node id, the real cryptography engine and real
+ * metrics. The genesis treasury key is replaced by a key this fixture can sign with, and the dev
+ * throttles are used so that transactions handled at {@link #NANOS_BETWEEN_TXNS} never reach
+ * consensus throttle limits.
+ */
+public class ServicesStateFixture {
+    private static final long SELF_ID = 0L;
+    private static final String NODE_ACCOUNT_MEMO = "0.0.3";
+    private static final int USER_KEY_POOL_SIZE = 64;
+    private static final long VALID_DURATION_SECS = 120L;
+    private static final long MAX_FEE = 100 * 100_000_000L;
+    private static final Instant FIRST_CONSENSUS_TIME = Instant.parse("2022-11-01T00:00:01Z");
+
+    /** Keeps every functionality comfortably below its throttle in {@code throttles-dev.json}. */
+    public static final long NANOS_BETWEEN_TXNS = 10_000_000L;
+
+    public static final AccountID TREASURY_ID = AccountID.newBuilder().setAccountNum(2L).build();
+    public static final AccountID NODE_ACCOUNT_ID =
+            AccountID.newBuilder().setAccountNum(3L).build();
+
+    /** The entry point to the process logic that consensus transactions are handed to. */
+    @FunctionalInterface
+    public interface ConsensusHandler {
+        void handle(SwirldsTxnAccessor accessor, Instant consensusTime, long submittingMember);
+    }
+
+    private final ServicesApp app;
+    private final ConsensusHandler handler;
+    private final AccessorFactory accessorFactory;
+    private final EdDSAPrivateKey genesisKey;
+    private final EdDSAPrivateKey[] userKeys;
+    private ServicesState state;
+    private Instant lastConsensusTime = FIRST_CONSENSUS_TIME;
+
+    private ServicesStateFixture(
+            final ServicesApp app,
+            final ServicesState state,
+            final ConsensusHandler handler,
+            final EdDSAPrivateKey genesisKey,
+            final EdDSAPrivateKey[] userKeys) {
+        this.app = app;
+        this.state = state;
+        this.handler = handler;
+        this.genesisKey = genesisKey;
+        this.userKeys = userKeys;
+        this.accessorFactory = new AccessorFactory(app.globalDynamicProperties());
+    }
+
+    public static ServicesStateFixture newGenesisFixture(
+            final Function<ServicesApp, ConsensusHandler> handlerFactory,
+            final boolean streamRecords) {
+        registerConstructables();
+        final var random = new SplittableRandom(SEED);
+        final var genesisKey = newKey(random);
+        final var userKeys = new EdDSAPrivateKey[USER_KEY_POOL_SIZE];
+        for (int i = 0; i < USER_KEY_POOL_SIZE; i++) {
+            userKeys[i] = newKey(random);
+        }
+
+        final var platform = mock(Platform.class, Mockito.withSettings().stubOnly());
+        given(platform.getSelfId()).willReturn(new NodeId(false, SELF_ID));
+        given(platform.getCryptography()).willReturn(CryptographyHolder.get());
+        given(platform.getMetrics())
+                .willReturn(
+                        new DefaultMetrics(
+                                Executors.newSingleThreadScheduledExecutor(),
+                                new DefaultMetricsFactory()));
+
+        final Map<String, Supplier<Object>> overrides = new HashMap<>();
+        final var genesisPublicKey = CommonUtils.hex(genesisKey.getAbyte());
+        overrides.put(BOOTSTRAP_GENESIS_PUBLIC_KEY, () -> genesisPublicKey);
+        overrides.put(BOOTSTRAP_THROTTLE_DEF_JSON_RESOURCE, () -> "throttles-dev.json");
+        overrides.put(CONTRACTS_THROTTLE_THROTTLE_BY_GAS, () -> false);
+        overrides.put(HEDERA_RECORD_STREAM_IS_ENABLED, () -> streamRecords);
+        final var recordsDir = tmpDir("handleBenchRecords");
+        overrides.put(HEDERA_RECORD_STREAM_LOG_DIR, () -> recordsDir);
+        final var bootstrapProps =
+                new ChainedSources(
+                        new SupplierMapPropertySource(overrides), new BootstrapProperties());
+
+        final var app =
+                DaggerServicesApp.builder()
+                        .staticAccountMemo(NODE_ACCOUNT_MEMO)
+                        .bootstrapProps(bootstrapProps)
+                        .initialHash(ServicesState.EMPTY_HASH)
+                        .platform(platform)
+                        .consoleCreator((ignore, visible) -> null)
+                        .crypto(CryptographyHolder.get())
+                        .selfId(SELF_ID)
+                        .build();
+        APPS.save(SELF_ID, app);
+
+        final var state = new ServicesState();
+        state.init(
+                platform,
+                addressBookWith(genesisKey),
+                new DualStateImpl(),
+                InitTrigger.GENESIS,
+                null);
+        app.statsManager().initializeFor(platform);
+
+        return new ServicesStateFixture(
+                app, state, handlerFactory.apply(app), genesisKey, userKeys);
+    }
+
+    /**
+     * Hands the given signed transaction to the process logic at the next consensus time.
+     *
+     * @param signedTxn the serialized {@link Transaction}
+     */
+    public void handle(final byte[] signedTxn) {
+        lastConsensusTime = lastConsensusTime.plusNanos(NANOS_BETWEEN_TXNS);
+        try {
+            final var accessor =
+                    PlatformTxnAccessor.from(accessorFactory.nonTriggeredTxn(signedTxn));
+            handler.handle(accessor, lastConsensusTime, SELF_ID);
+        } catch (final InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Returns the consensus time the {@code n}-th next call to {@link #handle(byte[])} will use,
+     * counting from zero.
+     *
+     * @param n how many transactions will be handled before the one of interest
+     * @return its consensus time
+     */
+    public Instant consensusTimeAfter(final int n) {
+        return lastConsensusTime.plusNanos((n + 1) * NANOS_BETWEEN_TXNS);
+    }
+
+    /**
+     * Returns a body with everything but the operation set for a transaction with the given payer
+     * that will be handled at the given consensus time.
+     *
+     * @param payer the payer of the transaction
+     * @param consensusTime the time the transaction will be handled
+     * @return the body builder
+     */
+    public TransactionBody.Builder newBody(final AccountID payer, final Instant consensusTime) {
+        return TransactionBody.newBuilder()
+                .setTransactionID(
+                        TransactionID.newBuilder()
+                                .setAccountID(payer)
+                                .setTransactionValidStart(
+                                        asTimestamp(consensusTime.minusSeconds(1))))
+                .setNodeAccountID(NODE_ACCOUNT_ID)
+                .setTransactionFee(MAX_FEE)
+                .setTransactionValidDuration(
+                        Duration.newBuilder().setSeconds(VALID_DURATION_SECS));
+    }
+
+    /**
+     * Serializes the given body in a {@link Transaction} with a full-prefix Ed25519 signature from
+     * each distinct signer.
+     *
+     * @param body the body to sign
+     * @param signers the keys to sign with
+     * @return the serialized transaction
+     */
+    public static byte[] signedTxn(final TransactionBody body, final EdDSAPrivateKey... signers) {
+        final var bodyBytes = body.toByteString();
+        final var message = bodyBytes.toByteArray();
+        final var sigMap = SignatureMap.newBuilder();
+        try {
+            for (final var signer : Arrays.stream(signers).distinct().toList()) {
+                sigMap.addSigPair(
+                        SignaturePair.newBuilder()
+                                .setPubKeyPrefix(ByteString.copyFrom(signer.getAbyte()))
+                                .setEd25519(ByteString.copyFrom(signBytes(message, signer))));
+            }
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        final var signedTxn =
+                SignedTransaction.newBuilder().setBodyBytes(bodyBytes).setSigMap(sigMap).build();
+        return Transaction.newBuilder()
+                .setSignedTransactionBytes(signedTxn.toByteString())
+                .build()
+                .toByteArray();
+    }
+
+    /**
+     * Simulates the platform's end of a round by making a new mutable copy of the state and
+     * releasing the now-immutable one.
+     */
+    public void newRound() {
+        final var next = state.copy();
+        state.release();
+        state = next;
+    }
+
+    public void close() {
+        APPS.clear(SELF_ID);
+    }
+
+    public long nextEntityNum() {
+        return state.networkCtx().seqNo().current();
+    }
+
+    public ServicesState state() {
+        return state;
+    }
+
+    public ServicesApp app() {
+        return app;
+    }
+
+    public EdDSAPrivateKey genesisKey() {
+        return genesisKey;
+    }
+
+    public EdDSAPrivateKey userKey(final int i) {
+        return userKeys[i % USER_KEY_POOL_SIZE];
+    }
+
+    public static Key asKey(final EdDSAPrivateKey key) {
+        return Key.newBuilder().setEd25519(ByteString.copyFrom(key.getAbyte())).build();
+    }
+
+    private static EdDSAPrivateKey newKey(final SplittableRandom random) {
+        final var seed = new byte[32];
+        random.nextBytes(seed);
+        return Ed25519Utils.keyFrom(seed);
+    }
+
+    private static AddressBook addressBookWith(final EdDSAPrivateKey nodeKey) {
+        final var publicKey =
+                new SerializablePublicKey(Ed25519Utils.keyPairFrom(nodeKey).getPublic());
+        final var address =
+                new Address(
+                        SELF_ID,
+                        "",
+                        "",
+                        1L,
+                        false,
+                        null,
+                        -1,
+                        new byte[] {127, 0, 0, 1},
+                        -1,
+                        null,
+                        -1,
+                        null,
+                        -1,
+                        publicKey,
+                        null,
+                        publicKey,
+                        NODE_ACCOUNT_MEMO);
+        return new AddressBook(List.of(address));
+    }
+
+    private static void registerConstructables() {
+        try {
+            ConstructableRegistry.getInstance().registerConstructables("com.swirlds");
+            ConstructableRegistry.getInstance().registerConstructables("com.hedera");
+        } catch (final ConstructableRegistryException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String tmpDir(final String prefix) {
+        try {
+            return Files.createTempDirectory(prefix).toString();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.setup;
+
+import static com.hedera.node.app.service.mono.setup.ServicesStateFixture.TREASURY_ID;
+import static com.hedera.node.app.service.mono.setup.ServicesStateFixture.asKey;
+import static com.hedera.node.app.service.mono.setup.ServicesStateFixture.signedTxn;
+
+import com.google.protobuf.ByteString;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ConsensusCreateTopicTransactionBody;
+import com.hederahashgraph.api.proto.java.ContractCreateTransactionBody;
+import com.hederahashgraph.api.proto.java.ContractID;
+import com.hederahashgraph.api.proto.java.CryptoCreateTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.Duration;
+import com.hederahashgraph.api.proto.java.TokenAssociateTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenCreateTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TokenMintTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenTransferList;
+import com.hederahashgraph.api.proto.java.TokenType;
+import com.hederahashgraph.api.proto.java.TopicID;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.swirlds.common.utility.CommonUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+
+/**
+ * The user accounts, tokens, NFTs, contracts and topics of a {@link ServicesStateFixture},
+ * created by handling the same HAPI transactions a client would submit. Every user account is
+ * associated to every token and holds a balance of each fungible token.
+ */
+public class SyntheticEntities {
+    private static final long TINYBARS_PER_HBAR = 100_000_000L;
+    private static final long USER_INITIAL_BALANCE = 10_000 * TINYBARS_PER_HBAR;
+    private static final long FUNGIBLE_INITIAL_SUPPLY = 1_000_000_000_000_000L;
+    private static final long FUNGIBLE_UNITS_PER_USER = 1_000_000L;
+    private static final long AUTO_RENEW_SECS = 7_776_000L;
+    private static final long CONTRACT_CREATE_GAS = 300_000L;
+    private static final int RECEIVERS_PER_DISTRIBUTION = 9;
+    private static final int NFTS_PER_MINT = 10;
+    private static final int TXNS_PER_ROUND = 1_000;
+    // Increments the word in storage slot zero on every call, whatever the calldata
+    private static final ByteString COUNTER_INITCODE =
+            ByteString.copyFrom(CommonUtils.unhex("600a600c600039600a6000f360005460010160005500"));
+
+    private final AccountID[] users;
+    private final TokenID[] fungibleTokens;
+    private final TokenID[] uniqueTokens;
+    private final ContractID[] contracts;
+    private final TopicID[] topics;
+
+    private int txnsThisRound = 0;
+
+    private SyntheticEntities(final Map<String, Object> config) {
+        users = new AccountID[(int) config.get("userAccounts")];
+        fungibleTokens = new TokenID[(int) config.get("fungibleTokens")];
+        uniqueTokens = new TokenID[(int) config.get("uniqueTokens")];
+        contracts = new ContractID[(int) config.get("contracts")];
+        topics = new TopicID[(int) config.get("topics")];
+    }
+
+    public static SyntheticEntities createIn(
+            final ServicesStateFixture fixture, final Map<String, Object> config) {
+        final var entities = new SyntheticEntities(config);
+        entities.create(fixture, (int) config.get("nftsPerToken"));
+        return entities;
+    }
+
+    private void create(final ServicesStateFixture fixture, final int nftsPerToken) {
+        final var genesisKey = fixture.genesisKey();
+        for (int i = 0; i < users.length; i++) {
+            final var key = asKey(fixture.userKey(i));
+            final var num =
+                    createVia(
+                            fixture,
+                            body ->
+                                    body.setCryptoCreateAccount(
+                                            CryptoCreateTransactionBody.newBuilder()
+                                                    .setKey(key)
+                                                    .setInitialBalance(USER_INITIAL_BALANCE)
+                                                    .setAutoRenewPeriod(autoRenewPeriod())));
+            users[i] = AccountID.newBuilder().setAccountNum(num).build();
+            printProgress(i + 1, users.length, "user accounts");
+        }
+        for (int i = 0; i < fungibleTokens.length; i++) {
+            fungibleTokens[i] = createToken(fixture, TokenType.FUNGIBLE_COMMON, i);
+        }
+        for (int i = 0; i < uniqueTokens.length; i++) {
+            uniqueTokens[i] = createToken(fixture, TokenType.NON_FUNGIBLE_UNIQUE, i);
+        }
+        for (int i = 0; i < contracts.length; i++) {
+            final var num =
+                    createVia(
+                            fixture,
+                            body ->
+                                    body.setContractCreateInstance(
+                                            ContractCreateTransactionBody.newBuilder()
+                                                    .setInitcode(COUNTER_INITCODE)
+                                                    .setGas(CONTRACT_CREATE_GAS)
+                                                    .setAutoRenewPeriod(autoRenewPeriod())));
+            contracts[i] = ContractID.newBuilder().setContractNum(num).build();
+        }
+        for (int i = 0; i < topics.length; i++) {
+            final var num =
+                    createVia(
+                            fixture,
+                            body ->
+                                    body.setConsensusCreateTopic(
+                                            ConsensusCreateTopicTransactionBody.newBuilder()
+                                                    .setAutoRenewPeriod(autoRenewPeriod())));
+            topics[i] = TopicID.newBuilder().setTopicNum(num).build();
+        }
+
+        final List<TokenID> allTokens = new ArrayList<>(List.of(fungibleTokens));
+        allTokens.addAll(List.of(uniqueTokens));
+        for (int i = 0; i < users.length; i++) {
+            final var user = users[i];
+            final var op =
+                    TokenAssociateTransactionBody.newBuilder()
+                            .setAccount(user)
+                            .addAllTokens(allTokens);
+            handleVia(
+                    fixture,
+                    user,
+                    body -> body.setTokenAssociate(op),
+                    fixture.userKey(i));
+            printProgress(i + 1, users.length, "user accounts associated to all tokens");
+        }
+        final var expectedRels = (long) (users.length + 1) * allTokens.size();
+        final var actualRels = fixture.state().tokenAssociations().size();
+        if (actualRels < expectedRels) {
+            throw new IllegalStateException(
+                    "Only " + actualRels + " of " + expectedRels + " token associations exist");
+        }
+
+        for (final var token : fungibleTokens) {
+            for (int i = 0; i < users.length; i += RECEIVERS_PER_DISTRIBUTION) {
+                final var n = Math.min(RECEIVERS_PER_DISTRIBUTION, users.length - i);
+                final var transfers =
+                        TokenTransferList.newBuilder()
+                                .setToken(token)
+                                .addTransfers(adjust(TREASURY_ID, -n * FUNGIBLE_UNITS_PER_USER));
+                for (int j = i; j < i + n; j++) {
+                    transfers.addTransfers(adjust(users[j], +FUNGIBLE_UNITS_PER_USER));
+                }
+                handleVia(
+                        fixture,
+                        TREASURY_ID,
+                        body ->
+                                body.setCryptoTransfer(
+                                        CryptoTransferTransactionBody.newBuilder()
+                                                .addTokenTransfers(transfers)),
+                        genesisKey);
+            }
+        }
+
+        final var metadata = ByteString.copyFrom(new byte[32]);
+        for (final var token : uniqueTokens) {
+            for (int i = 0; i < nftsPerToken; i += NFTS_PER_MINT) {
+                final var op = TokenMintTransactionBody.newBuilder().setToken(token);
+                for (int j = i, n = Math.min(nftsPerToken, i + NFTS_PER_MINT); j < n; j++) {
+                    op.addMetadata(metadata);
+                }
+                handleVia(fixture, TREASURY_ID, body -> body.setTokenMint(op), genesisKey);
+            }
+        }
+        final var expectedNfts = (long) uniqueTokens.length * nftsPerToken;
+        final var actualNfts = fixture.state().uniqueTokens().size();
+        if (actualNfts != expectedNfts) {
+            throw new IllegalStateException(
+                    "Only " + actualNfts + " of " + expectedNfts + " NFTs were minted");
+        }
+        fixture.newRound();
+        txnsThisRound = 0;
+    }
+
+    private TokenID createToken(
+            final ServicesStateFixture fixture, final TokenType type, final int i) {
+        final var isFungible = type == TokenType.FUNGIBLE_COMMON;
+        final var op =
+                TokenCreateTransactionBody.newBuilder()
+                        .setTokenType(type)
+                        .setName((isFungible ? "Fungible" : "Unique") + i)
+                        .setSymbol((isFungible ? "FT" : "NFT") + i)
+                        .setTreasury(TREASURY_ID)
+                        .setSupplyKey(asKey(fixture.genesisKey()))
+                        .setAutoRenewAccount(TREASURY_ID)
+                        .setAutoRenewPeriod(autoRenewPeriod());
+        if (isFungible) {
+            op.setDecimals(2).setInitialSupply(FUNGIBLE_INITIAL_SUPPLY);
+        }
+        final var num = createVia(fixture, body -> body.setTokenCreation(op));
+        return TokenID.newBuilder().setTokenNum(num).build();
+    }
+
+    private long createVia(
+            final ServicesStateFixture fixture,
+            final UnaryOperator<TransactionBody.Builder> opSetter) {
+        final var num = fixture.nextEntityNum();
+        handleVia(fixture, TREASURY_ID, opSetter, fixture.genesisKey());
+        if (fixture.nextEntityNum() != num + 1) {
+            throw new IllegalStateException("Entity 0.0." + num + " was not created");
+        }
+        return num;
+    }
+
+    private void handleVia(
+            final ServicesStateFixture fixture,
+            final AccountID payer,
+            final UnaryOperator<TransactionBody.Builder> opSetter,
+            final EdDSAPrivateKey signer) {
+        final var body = opSetter.apply(fixture.newBody(payer, fixture.consensusTimeAfter(0)));
+        fixture.handle(signedTxn(body.build(), signer));
+        if (++txnsThisRound == TXNS_PER_ROUND) {
+            fixture.newRound();
+            txnsThisRound = 0;
+        }
+    }
+
+    private static AccountAmount adjust(final AccountID account, final long amount) {
+        return AccountAmount.newBuilder().setAccountID(account).setAmount(amount).build();
+    }
+
+    private static Duration autoRenewPeriod() {
+        return Duration.newBuilder().setSeconds(AUTO_RENEW_SECS).build();
+    }
+
+    private static void printProgress(final int done, final int total, final String what) {
+        if (done == total || done % Math.max(1, total / 10) == 0) {
+            System.out.println("  -> " + done + " " + what);
+        }
+    }
+
+    public AccountID[] users() {
+        return users;
+    }
+
+    public TokenID[] fungibleTokens() {
+        return fungibleTokens;
+    }
+
+    public TokenID[] uniqueTokens() {
+        return uniqueTokens;
+    }
+
+    public ContractID[] contracts() {
+        return contracts;
+    }
+
+    public TopicID[] topics() {
+        return topics;
+    }
+}
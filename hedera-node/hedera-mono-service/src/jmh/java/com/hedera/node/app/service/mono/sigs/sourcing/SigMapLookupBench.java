@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.sigs.sourcing;
+
+import com.google.protobuf.ByteString;
+import com.hedera.node.app.service.mono.legacy.exception.KeyPrefixMismatchException;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import java.util.SplittableRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of looking up the signature of every key in a sig map of a given size through
+ * a new {@link PojoSigMapPubKeyToSigBytes}, as happens once per transaction when expanding and
+ * rationalizing the signatures of a key with many members.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 30)
+public class SigMapLookupBench {
+    private static final int ED25519_KEY_LEN = 32;
+    private static final int ED25519_SIG_LEN = 64;
+
+    @Param({"1", "10", "100"})
+    int numKeys;
+
+    private byte[][] pubKeys;
+    private SignatureMap sigMap;
+
+    // --- Fixtures ---
+    @Setup(Level.Trial)
+    public void setupSigMap() {
+        final var r = new SplittableRandom(1_234_567L);
+        pubKeys = new byte[numKeys][];
+        final var builder = SignatureMap.newBuilder();
+        for (int i = 0; i < numKeys; i++) {
+            pubKeys[i] = randomBytes(r, ED25519_KEY_LEN);
+            builder.addSigPair(
+                    SignaturePair.newBuilder()
+                            .setPubKeyPrefix(ByteString.copyFrom(pubKeys[i]))
+                            .setEd25519(ByteString.copyFrom(randomBytes(r, ED25519_SIG_LEN))));
+        }
+        sigMap = builder.build();
+    }
+
+    // --- Benchmarks ---
+    @Benchmark
+    public void lookupEveryKey(final Blackhole blackhole) throws KeyPrefixMismatchException {
+        final var subject = new PojoSigMapPubKeyToSigBytes(sigMap);
+        for (final var pubKey : pubKeys) {
+            blackhole.consume(subject.sigBytesFor(pubKey));
+        }
+    }
+
+    // --- Helpers ---
+    private static byte[] randomBytes(final SplittableRandom r, final int n) {
+        final var bytes = new byte[n];
+        for (int i = 0; i < n; i++) {
+            bytes[i] = (byte) r.nextInt(256);
+        }
+        return bytes;
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        final var options =
+                new OptionsBuilder()
+                        .include(SigMapLookupBench.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.logic;
+
+import static com.hedera.node.app.service.mono.setup.Constructables.SEED;
+import static com.hedera.node.app.service.mono.setup.ServicesStateFixture.newGenesisFixture;
+import static com.hedera.node.app.service.mono.setup.ServicesStateFixture.signedTxn;
+
+import com.google.protobuf.ByteString;
+import com.hedera.node.app.service.mono.setup.ServicesStateFixture;
+import com.hedera.node.app.service.mono.setup.SyntheticEntities;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ConsensusSubmitMessageTransactionBody;
+import com.hederahashgraph.api.proto.java.ContractCallTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenMintTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenTransferList;
+import com.hederahashgraph.api.proto.java.TransferList;
+import java.time.Instant;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of handling signed HAPI transactions end-to-end through {@link
+ * StandardProcessLogic}, against a genesis state populated with synthetic accounts, tokens, NFTs,
+ * contracts and topics.
+ *
+ * <p>Each invocation handles one transaction, including parsing, signature verification, fee
+ * charging, the state transition, the ledger commit, and record creation. Transactions are signed
+ * ahead of each simulated round, outside the measurement. Run via {@link #main(String...)} (or with
+ * {@code -prof gc}) to also report the allocation rate per handled transaction.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 30)
+public class HandleTransactionBench {
+    private static final long GAS_PER_CALL = 100_000L;
+    private static final ByteString NFT_METADATA = ByteString.copyFrom(new byte[32]);
+    private static final ByteString MESSAGE = ByteString.copyFrom(new byte[256]);
+
+    /** The types of transactions in the benchmark, with their weights in the "mixed" workload. */
+    enum Op {
+        CONSENSUS_SUBMIT("consensusSubmit", 45),
+        CRYPTO_TRANSFER("cryptoTransfer", 25),
+        TOKEN_TRANSFER("tokenTransfer", 15),
+        CONTRACT_CALL("contractCall", 10),
+        NFT_MINT("nftMint", 5);
+
+        private final String workload;
+        private final int mixWeight;
+
+        Op(final String workload, final int mixWeight) {
+            this.workload = workload;
+            this.mixWeight = mixWeight;
+        }
+    }
+
+    @Param({
+        "mixed",
+        "cryptoTransfer",
+        "tokenTransfer",
+        "nftMint",
+        "contractCall",
+        "consensusSubmit"
+    })
+    String workload;
+
+    @Param("10000")
+    int userAccounts;
+
+    @Param("10")
+    int fungibleTokens;
+
+    @Param("2")
+    int uniqueTokens;
+
+    @Param("1000")
+    int nftsPerToken;
+
+    @Param("10")
+    int contracts;
+
+    @Param("10")
+    int topics;
+
+    @Param("1000")
+    int txnsPerRound;
+
+    @Param("false")
+    boolean streamRecords;
+
+    private int i;
+    private byte[][] roundTxns;
+    private SplittableRandom random;
+    private ServicesStateFixture fixture;
+    private SyntheticEntities entities;
+
+    // --- Fixtures ---
+    @Setup(Level.Trial)
+    public void setupState() {
+        fixture =
+                newGenesisFixture(
+                        app -> ((StandardProcessLogic) app.logic())::incorporate, streamRecords);
+        System.out.println("\n- Creating synthetic entities " + activeConfig() + "...");
+        entities = SyntheticEntities.createIn(fixture, activeConfig());
+        System.out.println("- done.");
+        random = new SplittableRandom(SEED);
+        roundTxns = new byte[txnsPerRound][];
+        signNextRound();
+    }
+
+    @Setup(Level.Invocation)
+    public void simulateRoundBoundary() {
+        if (i == txnsPerRound) {
+            fixture.newRound();
+            signNextRound();
+        }
+    }
+
+    @TearDown
+    public void summarize() {
+        final var state = fixture.state();
+        var messages = 0L;
+        for (final var topic : state.topics().values()) {
+            messages += topic.getSequenceNumber();
+        }
+        System.out.println(
+                "\nFinished with "
+                        + state.accounts().size()
+                        + " accounts, "
+                        + state.uniqueTokens().size()
+                        + " NFTs, "
+                        + messages
+                        + " topic messages");
+        fixture.close();
+    }
+
+    // --- Benchmarks ---
+    @Benchmark
+    public void handleTransaction() {
+        fixture.handle(roundTxns[i++]);
+    }
+
+    // --- Helpers ---
+    private void signNextRound() {
+        for (int j = 0; j < txnsPerRound; j++) {
+            roundTxns[j] = nextTxn(fixture.consensusTimeAfter(j));
+        }
+        i = 0;
+    }
+
+    private byte[] nextTxn(final Instant consensusTime) {
+        final var users = entities.users();
+        final var payerI = random.nextInt(users.length);
+        final var payer = users[payerI];
+        final var payerKey = fixture.userKey(payerI);
+        final var body = fixture.newBody(payer, consensusTime);
+        final var op = nextOp();
+        switch (op) {
+            case CONSENSUS_SUBMIT -> body.setConsensusSubmitMessage(
+                    ConsensusSubmitMessageTransactionBody.newBuilder()
+                            .setTopicID(pick(entities.topics()))
+                            .setMessage(MESSAGE));
+            case CRYPTO_TRANSFER -> body.setCryptoTransfer(
+                    CryptoTransferTransactionBody.newBuilder()
+                            .setTransfers(
+                                    TransferList.newBuilder()
+                                            .addAccountAmounts(adjust(payer, -1))
+                                            .addAccountAmounts(
+                                                    adjust(counterpartyOf(payerI), +1))));
+            case TOKEN_TRANSFER -> body.setCryptoTransfer(
+                    CryptoTransferTransactionBody.newBuilder()
+                            .addTokenTransfers(
+                                    TokenTransferList.newBuilder()
+                                            .setToken(pick(entities.fungibleTokens()))
+                                            .addTransfers(adjust(payer, -1))
+                                            .addTransfers(adjust(counterpartyOf(payerI), +1))));
+            case CONTRACT_CALL -> body.setContractCall(
+                    ContractCallTransactionBody.newBuilder()
+                            .setContractID(pick(entities.contracts()))
+                            .setGas(GAS_PER_CALL));
+            case NFT_MINT -> body.setTokenMint(
+                    TokenMintTransactionBody.newBuilder()
+                            .setToken(pick(entities.uniqueTokens()))
+                            .addMetadata(NFT_METADATA));
+        }
+        return op == Op.NFT_MINT
+                ? signedTxn(body.build(), payerKey, fixture.genesisKey())
+                : signedTxn(body.build(), payerKey);
+    }
+
+    private Op nextOp() {
+        if (!"mixed".equals(workload)) {
+            for (final var op : Op.values()) {
+                if (op.workload.equals(workload)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("No such workload '" + workload + "'");
+        }
+        var choice = random.nextInt(100);
+        for (final var op : Op.values()) {
+            choice -= op.mixWeight;
+            if (choice < 0) {
+                return op;
+            }
+        }
+        throw new IllegalStateException("Mix weights must sum to 100");
+    }
+
+    private AccountID counterpartyOf(final int payerI) {
+        final var users = entities.users();
+        return users[(payerI + 1 + random.nextInt(users.length - 1)) % users.length];
+    }
+
+    private <T> T pick(final T[] choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+
+    private static AccountAmount adjust(final AccountID account, final long amount) {
+        return AccountAmount.newBuilder().setAccountID(account).setAmount(amount).build();
+    }
+
+    private Map<String, Object> activeConfig() {
+        return Map.of(
+                "userAccounts", userAccounts,
+                "fungibleTokens", fungibleTokens,
+                "uniqueTokens", uniqueTokens,
+                "nftsPerToken", nftsPerToken,
+                "contracts", contracts,
+                "topics", topics);
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        final var options =
+                new OptionsBuilder()
+                        .include(HandleTransactionBench.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.merkle;
+
+import static com.hedera.node.app.service.mono.state.merkle.MerkleTopic.RUNNING_HASH_VERSION;
+
+import com.hedera.node.app.hapi.utils.CommonUtils;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TopicID;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares computing a topic's next running hash through a {@link TopicRunningHashEncoder} with
+ * computing it through Java serialization and a new {@code MessageDigest} per hash, as {@link
+ * MerkleTopic} once did, for a ConsensusSubmitMessage of a given size.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 30)
+public class TopicRunningHashBench {
+    @Param({"100", "1024"})
+    int messageBytes;
+
+    private long sequenceNumber;
+    private byte[] runningHash;
+    private byte[] message;
+    private AccountID payer;
+    private TopicID topicId;
+    private Instant consensusTime;
+
+    // --- Fixtures ---
+    @Setup(Level.Trial)
+    public void setupInputs() {
+        final var r = new SplittableRandom(1_234_567L);
+        message = new byte[messageBytes];
+        r.nextBytes(message);
+        runningHash = new byte[MerkleTopic.RUNNING_HASH_BYTE_ARRAY_SIZE];
+        payer = AccountID.newBuilder().setAccountNum(1_234L).build();
+        topicId = TopicID.newBuilder().setTopicNum(5_678L).build();
+        consensusTime = Instant.ofEpochSecond(1_234_567L, 890);
+        sequenceNumber = 0;
+    }
+
+    // --- Benchmarks ---
+    @Benchmark
+    public byte[] encoderRunningHash() {
+        runningHash =
+                TopicRunningHashEncoder.nextRunningHash(
+                        runningHash, payer, topicId, consensusTime, ++sequenceNumber, message);
+        return runningHash;
+    }
+
+    @Benchmark
+    public byte[] objectStreamRunningHash() throws IOException {
+        final var boas = new ByteArrayOutputStream();
+        try (final var out = new ObjectOutputStream(boas)) {
+            out.writeObject(runningHash);
+            out.writeLong(RUNNING_HASH_VERSION);
+            out.writeLong(payer.getShardNum());
+            out.writeLong(payer.getRealmNum());
+            out.writeLong(payer.getAccountNum());
+            out.writeLong(topicId.getShardNum());
+            out.writeLong(topicId.getRealmNum());
+            out.writeLong(topicId.getTopicNum());
+            out.writeLong(consensusTime.getEpochSecond());
+            out.writeInt(consensusTime.getNano());
+            out.writeLong(++sequenceNumber);
+            out.writeObject(CommonUtils.noThrowSha384HashOf(message));
+            out.flush();
+            runningHash = CommonUtils.noThrowSha384HashOf(boas.toByteArray());
+        }
+        return runningHash;
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        final var options =
+                new OptionsBuilder()
+                        .include(TopicRunningHashBench.class.getSimpleName())
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        new Runner(options).run();
+    }
+}
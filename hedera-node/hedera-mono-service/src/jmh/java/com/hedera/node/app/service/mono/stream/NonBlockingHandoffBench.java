@@ -15,19 +15,24 @@
  */
 package com.hedera.node.app.service.mono.stream;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.stats.MiscRunningAvgs;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.mockito.Mockito;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -39,22 +44,44 @@ import org.openjdk.jmh.annotations.Warmup;
 @Warmup(iterations = 1, time = 10)
 @Measurement(iterations = 10, time = 30)
 public class NonBlockingHandoffBench {
+    /** One second's worth of records at the rate we need to sustain. */
+    private static final int RECORDS_PER_SECOND = 50_000;
+
+    @Param({"queue", "ringBuffer-PARK", "ringBuffer-BUSY_SPIN"})
+    private String mode;
 
     private NonBlockingHandoff nonBlockingHandoff;
     private NodeLocalProperties nodeLocalProperties;
-    private RecordStreamManager recordStreamManager;
     private BlockingQueue<RecordStreamObject> receivingQueue;
+    private final AtomicLong numReceived = new AtomicLong();
+    private final RecordStreamObject[] records = new RecordStreamObject[RECORDS_PER_SECOND];
+    private volatile boolean countOnly;
 
     @Setup(Level.Trial)
     public void setupInfrastructure() {
         receivingQueue = new LinkedBlockingQueue<>();
         nodeLocalProperties = mock(NodeLocalProperties.class, Mockito.withSettings().stubOnly());
-        recordStreamManager = mock(RecordStreamManager.class, Mockito.withSettings().stubOnly());
         when(nodeLocalProperties.recordStreamQueueCapacity()).thenReturn(5000);
-        doAnswer(val -> receivingQueue.add(val.getArgument(0, RecordStreamObject.class)))
-                .when(recordStreamManager)
-                .addRecordStreamObject(any());
-        nonBlockingHandoff = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties);
+        if (mode.startsWith("ringBuffer-")) {
+            when(nodeLocalProperties.recordStreamHandoffUsesRingBuffer()).thenReturn(true);
+            when(nodeLocalProperties.recordStreamHandoffWaitStrategy())
+                    .thenReturn(mode.substring("ringBuffer-".length()));
+        }
+        final var runningAvgs = mock(MiscRunningAvgs.class, Mockito.withSettings().stubOnly());
+        nonBlockingHandoff =
+                new NonBlockingHandoff(
+                        rso -> {
+                            if (countOnly) {
+                                numReceived.incrementAndGet();
+                            } else {
+                                receivingQueue.add(rso);
+                            }
+                        },
+                        nodeLocalProperties,
+                        runningAvgs);
+        for (int i = 0; i < RECORDS_PER_SECOND; i++) {
+            records[i] = new RecordStreamObject();
+        }
     }
 
     @TearDown(Level.Trial)
@@ -64,7 +91,31 @@ public class NonBlockingHandoffBench {
 
     @Benchmark
     public void simpleProcessing() throws InterruptedException {
+        countOnly = false;
         nonBlockingHandoff.offer(new RecordStreamObject());
         receivingQueue.take();
     }
+
+    /**
+     * Hands off a full second's worth of records at 50k records/sec as fast as the producer can
+     * and waits until the consumer has received them all; a score well under one second means
+     * the handoff sustains that rate, and the difference between modes is time the handle thread
+     * gets back.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long oneSecondOfRecordsAt50kPerSec() {
+        countOnly = true;
+        final var target = numReceived.get() + RECORDS_PER_SECOND;
+        for (final var rso : records) {
+            while (!nonBlockingHandoff.offer(rso)) {
+                Thread.onSpinWait();
+            }
+        }
+        while (numReceived.get() < target) {
+            Thread.onSpinWait();
+        }
+        return target;
+    }
 }
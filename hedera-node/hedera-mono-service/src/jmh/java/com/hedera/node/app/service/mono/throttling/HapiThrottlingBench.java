@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.throttling;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.mockito.Mockito.mock;
+
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleBucket;
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleDefinitions;
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleGroup;
+import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
+import com.hedera.node.app.service.mono.store.schedule.ScheduleStore;
+import com.hedera.node.app.service.mono.utils.accessors.SignedTxnAccessor;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import java.util.List;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures HAPI admission throughput when many gRPC threads ask the same throttle for a decision
+ * at once; compares the synchronized {@link HapiThrottling} with {@link ConcurrentHapiThrottling}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class HapiThrottlingBench {
+    private static final int NETWORK_SIZE = 1;
+    private static final long MILLI_OPS_PER_SEC = 1_000_000_000L;
+
+    @Param({"synchronized", "concurrent"})
+    private String mode;
+
+    private FunctionalityThrottling subject;
+    private TxnAccessor accessor;
+
+    @Setup(Level.Trial)
+    public void setupThrottling() {
+        final var aliasManager = mock(AliasManager.class, Mockito.withSettings().stubOnly());
+        final var scheduleStore = mock(ScheduleStore.class, Mockito.withSettings().stubOnly());
+        final var dynamicProperties =
+                mock(GlobalDynamicProperties.class, Mockito.withSettings().stubOnly());
+        final var delegate =
+                new DeterministicThrottling(
+                        () -> NETWORK_SIZE,
+                        aliasManager,
+                        dynamicProperties,
+                        DeterministicThrottling.DeterministicThrottlingMode.HAPI,
+                        scheduleStore);
+        subject =
+                "concurrent".equals(mode)
+                        ? new ConcurrentHapiThrottling(
+                                delegate, aliasManager, dynamicProperties, scheduleStore)
+                        : new HapiThrottling(delegate);
+        subject.rebuildFor(transferOnlyDefs());
+        accessor = cryptoTransfer();
+    }
+
+    @Benchmark
+    public boolean contendedAdmission() {
+        return subject.shouldThrottleTxn(accessor);
+    }
+
+    private static ThrottleDefinitions transferOnlyDefs() {
+        final var group = new ThrottleGroup<>(MILLI_OPS_PER_SEC, List.of(CryptoTransfer));
+        final var bucket = new ThrottleBucket<>(1_000L, "ThroughputLimits", List.of(group));
+        final var defs = new ThrottleDefinitions();
+        defs.setBuckets(List.of(bucket));
+        return defs;
+    }
+
+    private static TxnAccessor cryptoTransfer() {
+        final var body =
+                TransactionBody.newBuilder()
+                        .setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance())
+                        .build();
+        final var signedTxn =
+                SignedTransaction.newBuilder().setBodyBytes(body.toByteString()).build();
+        return SignedTxnAccessor.uncheckedFrom(
+                Transaction.newBuilder()
+                        .setSignedTransactionBytes(signedTxn.toByteString())
+                        .build());
+    }
+}
@@ -57,6 +57,7 @@ import com.hedera.node.app.service.mono.state.virtual.VirtualMapFactory;
 import com.hedera.node.app.service.mono.stats.ServicesStatsManager;
 import com.hedera.node.app.service.mono.stats.StatsModule;
 import com.hedera.node.app.service.mono.store.StoresModule;
+import com.hedera.node.app.service.mono.store.contracts.CodeCache;
 import com.hedera.node.app.service.mono.stream.RecordStreamManager;
 import com.hedera.node.app.service.mono.throttling.ThrottlingModule;
 import com.hedera.node.app.service.mono.txns.ProcessLogic;
@@ -134,6 +135,8 @@ public interface ServicesApp {
 
     PrefetchProcessor prefetchProcessor();
 
+    CodeCache codeCache();
+
     MigrationRecordsManager migrationRecordsManager();
 
     /* Needed by ServicesMain */
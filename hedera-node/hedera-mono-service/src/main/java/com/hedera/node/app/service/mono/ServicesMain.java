@@ -107,6 +107,9 @@ public class ServicesMain implements SwirldMain {
 
         startNettyIfAppropriate();
         log.info("Netty started (if appropriate)");
+
+        warmUpCodeCache();
+        log.info("Code cache warmed up (if possible)");
     }
 
     private void exportAccountsIfDesired() {
@@ -117,6 +120,10 @@ public class ServicesMain implements SwirldMain {
         app.grpcStarter().startIfAppropriate();
     }
 
+    private void warmUpCodeCache() {
+        app.codeCache().warmUp();
+    }
+
     private void configurePlatform() {
         final var platform = app.platform();
         app.statsManager().initializeFor(platform);
@@ -18,6 +18,7 @@ package com.hedera.node.app.service.mono.context.init;
 import com.hedera.node.app.service.mono.context.MutableStateChildren;
 import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
 import com.hedera.node.app.service.mono.ledger.backing.BackingStore;
+import com.hedera.node.app.service.mono.state.expiry.EntityExpiryIndex;
 import com.hedera.node.app.service.mono.state.merkle.MerkleToken;
 import com.hedera.node.app.service.mono.state.migration.HederaAccount;
 import com.hedera.node.app.service.mono.state.migration.HederaTokenRel;
@@ -39,6 +40,7 @@ public class StoreInitializationFlow {
     private final UsageLimits usageLimits;
     private final AliasManager aliasManager;
     private final MutableStateChildren workingState;
+    private final EntityExpiryIndex expiryIndex;
     private final BackingStore<AccountID, HederaAccount> backingAccounts;
     private final BackingStore<TokenID, MerkleToken> backingTokens;
     private final BackingStore<NftId, UniqueTokenAdapter> backingNfts;
@@ -52,8 +54,10 @@ public class StoreInitializationFlow {
             final BackingStore<AccountID, HederaAccount> backingAccounts,
             final BackingStore<TokenID, MerkleToken> backingTokens,
             final BackingStore<NftId, UniqueTokenAdapter> backingNfts,
-            final BackingStore<Pair<AccountID, TokenID>, HederaTokenRel> backingTokenRels) {
+            final BackingStore<Pair<AccountID, TokenID>, HederaTokenRel> backingTokenRels,
+            final EntityExpiryIndex expiryIndex) {
         this.usageLimits = usageLimits;
+        this.expiryIndex = expiryIndex;
         this.backingAccounts = backingAccounts;
         this.backingTokens = backingTokens;
         this.workingState = workingState;
@@ -70,13 +74,16 @@ public class StoreInitializationFlow {
         log.info("Backing stores rebuilt");
 
         usageLimits.resetNumContracts();
+        expiryIndex.beginRebuild();
         aliasManager.rebuildAliasesMap(
                 workingState.accounts(),
                 (num, account) -> {
                     if (account.isSmartContract()) {
                         usageLimits.recordContracts(1);
                     }
+                    expiryIndex.include(num.longValue(), account.getExpiry());
                 });
-        log.info("Account aliases map rebuilt");
+        expiryIndex.finishRebuild(workingState.networkCtx().seqNo().current());
+        log.info("Account aliases map and expiry index rebuilt");
     }
 }
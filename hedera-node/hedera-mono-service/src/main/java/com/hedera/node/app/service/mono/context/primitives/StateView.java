@@ -152,10 +152,11 @@ public class StateView {
         this.stateChildren = stateChildren;
         this.networkInfo = networkInfo;
 
-        final Map<String, byte[]> blobStore = unmodifiableMap(new FcBlobsBytesStore(this::storage));
+        final var blobs = new FcBlobsBytesStore(this::storage);
+        final Map<String, byte[]> blobStore = unmodifiableMap(blobs);
 
-        fileContents = DataMapFactory.dataMapFrom(blobStore);
-        fileAttrs = MetadataMapFactory.metaMapFrom(blobStore);
+        fileContents = unmodifiableMap(DataMapFactory.dataMapOver(blobs));
+        fileAttrs = unmodifiableMap(MetadataMapFactory.metaMapOver(blobs));
         contractBytecode = AddressKeyedMapFactory.bytecodeMapFrom(blobStore);
     }
 
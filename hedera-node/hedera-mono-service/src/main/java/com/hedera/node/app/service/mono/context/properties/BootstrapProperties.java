@@ -221,6 +221,8 @@ public final class BootstrapProperties implements PropertySource {
                     BALANCES_EXPORT_TOKEN_BALANCES,
                     BALANCES_NODE_BALANCE_WARN_THRESHOLD,
                     BALANCES_COMPRESS_ON_CREATION,
+                    BALANCES_EXPORT_STREAMING,
+                    BALANCES_SUMMARY_PARALLELISM,
                     CACHE_RECORDS_TTL,
                     CONTRACTS_DEFAULT_LIFETIME,
                     CONTRACTS_ENFORCE_CREATION_THROTTLE,
@@ -272,6 +274,7 @@ public final class BootstrapProperties implements PropertySource {
                     AUTO_RENEW_TARGET_TYPES,
                     AUTO_RENEW_NUM_OF_ENTITIES_TO_SCAN,
                     AUTO_RENEW_MAX_NUM_OF_ENTITIES_TO_RENEW_OR_DELETE,
+                    AUTO_RENEW_EXPIRY_INDEX_MODE,
                     AUTO_RENEW_GRACE_PERIOD,
                     LEDGER_CHANGE_HIST_MEM_SECS,
                     LEDGER_AUTO_RENEW_PERIOD_MAX_DURATION,
@@ -340,13 +343,23 @@ public final class BootstrapProperties implements PropertySource {
                     HEDERA_EXPORT_ACCOUNTS_ON_STARTUP,
                     HEDERA_PREFETCH_QUEUE_CAPACITY,
                     HEDERA_PREFETCH_THREAD_POOL_SIZE,
+                    HEDERA_PREFETCH_MAX_THREAD_POOL_SIZE,
                     HEDERA_PREFETCH_CODE_CACHE_TTL_SECS,
+                    HEDERA_PREFETCH_CODE_CACHE_MAX_BYTES,
+                    HEDERA_PREFETCH_CODE_CACHE_DISK_DIR,
+                    HEDERA_PREFETCH_CODE_CACHE_DISK_MAX_BYTES,
+                    HEDERA_PREFETCH_CODE_CACHE_WARM_UP_CONTRACTS,
+                    HEDERA_HAPI_THROTTLE_CONCURRENT_ADMISSION,
                     HEDERA_PROFILES_ACTIVE,
                     HEDERA_RECORD_STREAM_IS_ENABLED,
                     HEDERA_RECORD_STREAM_LOG_DIR,
                     HEDERA_RECORD_STREAM_SIDE_CAR_DIR,
                     HEDERA_RECORD_STREAM_LOG_PERIOD,
                     HEDERA_RECORD_STREAM_QUEUE_CAPACITY,
+                    HEDERA_RECORD_STREAM_COMPRESSION_THREADS,
+                    HEDERA_RECORD_STREAM_HANDOFF_USES_RING_BUFFER,
+                    HEDERA_RECORD_STREAM_HANDOFF_WAIT_STRATEGY,
+                    HEDERA_RECORD_STREAM_WRITE_INDEX_FILES,
                     ISS_RESET_PERIOD,
                     ISS_ROUNDS_TO_LOG,
                     NETTY_MODE,
@@ -362,9 +375,16 @@ public final class BootstrapProperties implements PropertySource {
                     NETTY_TLS_CERT_PATH,
                     NETTY_TLS_KEY_PATH,
                     QUERIES_BLOB_LOOK_UP_RETRIES,
+                    QUERIES_BALANCE_CACHE_IS_ENABLED,
+                    QUERIES_BALANCE_CACHE_MAX_ENTRIES,
+                    SIGS_VERIFIED_CACHE_IS_ENABLED,
+                    SIGS_VERIFIED_CACHE_MAX_ENTRIES,
+                    SIGS_PARALLEL_EXPANSION_IS_ENABLED,
+                    SIGS_PARALLEL_EXPANSION_THREAD_POOL_SIZE,
                     STATS_CONS_THROTTLES_TO_SAMPLE,
                     STATS_HAPI_THROTTLES_TO_SAMPLE,
                     STATS_EXECUTION_TIMES_TO_TRACK,
+                    STATS_HANDLE_LATENCIES_IS_ENABLED,
                     STATS_ENTITY_UTILS_GAUGE_UPDATE_INTERVAL_MS,
                     STATS_HAPI_OPS_SPEEDOMETER_UPDATE_INTERVAL_MS,
                     STATS_THROTTLE_UTILS_GAUGE_UPDATE_INTERVAL_MS,
@@ -387,6 +407,7 @@ public final class BootstrapProperties implements PropertySource {
 
     private static final Map<String, Function<String, Object>> PROP_TRANSFORMS =
             Map.ofEntries(
+                    entry(HEDERA_RECORD_STREAM_WRITE_INDEX_FILES, AS_BOOLEAN),
                     entry(ACCOUNTS_ADDRESS_BOOK_ADMIN, AS_LONG),
                     entry(ACCOUNTS_EXCHANGE_RATES_ADMIN, AS_LONG),
                     entry(ACCOUNTS_FEE_SCHEDULE_ADMIN, AS_LONG),
@@ -404,6 +425,8 @@ public final class BootstrapProperties implements PropertySource {
                     entry(BALANCES_EXPORT_PERIOD_SECS, AS_INT),
                     entry(BALANCES_NODE_BALANCE_WARN_THRESHOLD, AS_LONG),
                     entry(BALANCES_COMPRESS_ON_CREATION, AS_BOOLEAN),
+                    entry(BALANCES_EXPORT_STREAMING, AS_BOOLEAN),
+                    entry(BALANCES_SUMMARY_PARALLELISM, AS_INT),
                     entry(CACHE_RECORDS_TTL, AS_INT),
                     entry(DEV_ONLY_DEFAULT_NODE_LISTENS, AS_BOOLEAN),
                     entry(BALANCES_EXPORT_TOKEN_BALANCES, AS_BOOLEAN),
@@ -426,7 +449,12 @@ public final class BootstrapProperties implements PropertySource {
                     entry(HEDERA_FIRST_USER_ENTITY, AS_LONG),
                     entry(HEDERA_PREFETCH_QUEUE_CAPACITY, AS_INT),
                     entry(HEDERA_PREFETCH_THREAD_POOL_SIZE, AS_INT),
+                    entry(HEDERA_PREFETCH_MAX_THREAD_POOL_SIZE, AS_INT),
                     entry(HEDERA_PREFETCH_CODE_CACHE_TTL_SECS, AS_INT),
+                    entry(HEDERA_PREFETCH_CODE_CACHE_MAX_BYTES, AS_LONG),
+                    entry(HEDERA_PREFETCH_CODE_CACHE_DISK_MAX_BYTES, AS_LONG),
+                    entry(HEDERA_PREFETCH_CODE_CACHE_WARM_UP_CONTRACTS, AS_INT),
+                    entry(HEDERA_HAPI_THROTTLE_CONCURRENT_ADMISSION, AS_BOOLEAN),
                     entry(HEDERA_PROFILES_ACTIVE, AS_PROFILE),
                     entry(HEDERA_REALM, AS_LONG),
                     entry(HEDERA_RECORD_STREAM_LOG_PERIOD, AS_LONG),
@@ -434,6 +462,8 @@ public final class BootstrapProperties implements PropertySource {
                     entry(HEDERA_RECORD_STREAM_RECORD_FILE_VERSION, AS_INT),
                     entry(HEDERA_RECORD_STREAM_SIG_FILE_VERSION, AS_INT),
                     entry(HEDERA_RECORD_STREAM_QUEUE_CAPACITY, AS_INT),
+                    entry(HEDERA_RECORD_STREAM_COMPRESSION_THREADS, AS_INT),
+                    entry(HEDERA_RECORD_STREAM_HANDOFF_USES_RING_BUFFER, AS_BOOLEAN),
                     entry(HEDERA_RECORD_STREAM_SIDECAR_MAX_SIZE_MB, AS_INT),
                     entry(HEDERA_RECORD_STREAM_ENABLE_TRACEABILITY_MIGRATION, AS_BOOLEAN),
                     entry(TRACEABILITY_MIN_FREE_TO_USED_GAS_THROTTLE_RATIO, AS_LONG),
@@ -457,6 +487,12 @@ public final class BootstrapProperties implements PropertySource {
                     entry(LEDGER_AUTO_RENEW_PERIOD_MIN_DURATION, AS_LONG),
                     entry(NETTY_MODE, AS_PROFILE),
                     entry(QUERIES_BLOB_LOOK_UP_RETRIES, AS_INT),
+                    entry(QUERIES_BALANCE_CACHE_IS_ENABLED, AS_BOOLEAN),
+                    entry(QUERIES_BALANCE_CACHE_MAX_ENTRIES, AS_INT),
+                    entry(SIGS_VERIFIED_CACHE_IS_ENABLED, AS_BOOLEAN),
+                    entry(SIGS_VERIFIED_CACHE_MAX_ENTRIES, AS_INT),
+                    entry(SIGS_PARALLEL_EXPANSION_IS_ENABLED, AS_BOOLEAN),
+                    entry(SIGS_PARALLEL_EXPANSION_THREAD_POOL_SIZE, AS_INT),
                     entry(NETTY_START_RETRIES, AS_INT),
                     entry(NETTY_START_RETRY_INTERVAL_MS, AS_LONG),
                     entry(BOOTSTRAP_RATES_CURRENT_HBAR_EQUIV, AS_INT),
@@ -564,6 +600,7 @@ public final class BootstrapProperties implements PropertySource {
                     entry(STATS_CONS_THROTTLES_TO_SAMPLE, AS_CS_STRINGS),
                     entry(STATS_HAPI_THROTTLES_TO_SAMPLE, AS_CS_STRINGS),
                     entry(STATS_EXECUTION_TIMES_TO_TRACK, AS_INT),
+                    entry(STATS_HANDLE_LATENCIES_IS_ENABLED, AS_BOOLEAN),
                     entry(HEDERA_ALLOWANCES_MAX_TXN_LIMIT, AS_INT),
                     entry(HEDERA_ALLOWANCES_MAX_ACCOUNT_LIMIT, AS_INT),
                     entry(HEDERA_ALLOWANCES_IS_ENABLED, AS_BOOLEAN),
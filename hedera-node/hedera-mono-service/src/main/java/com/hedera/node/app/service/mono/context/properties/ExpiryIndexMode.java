@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.context.properties;
+
+/** How the auto-renew and auto-expiry process uses its index of entity expiration times. */
+public enum ExpiryIndexMode {
+    /** Scan entity numbers one by one, without maintaining the index. */
+    OFF,
+    /** Scan entity numbers one by one, and check the index agrees with each scanned entity. */
+    VERIFY,
+    /** Visit only the entities the index reports as expired. */
+    ON
+}
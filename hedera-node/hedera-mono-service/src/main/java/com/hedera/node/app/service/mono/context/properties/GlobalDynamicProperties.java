@@ -86,6 +86,7 @@ public class GlobalDynamicProperties implements EvmProperties {
     private boolean expireContracts;
     private int autoRenewNumberOfEntitiesToScan;
     private int autoRenewMaxNumberOfEntitiesToRenewOrDelete;
+    private ExpiryIndexMode expiryIndexMode;
     private long autoRenewGracePeriod;
     private long maxAutoRenewDuration;
     private long minAutoRenewDuration;
@@ -155,6 +156,8 @@ public class GlobalDynamicProperties implements EvmProperties {
     private boolean tokenAutoCreationsEnabled;
     private boolean doTraceabilityExport;
     private boolean compressAccountBalanceFilesOnCreation;
+    private boolean streamBalancesExport;
+    private int balancesSummaryParallelism;
     private long traceabilityMaxExportsPerConsSec;
     private long traceabilityMinFreeToUsedGasThrottleRatio;
     private boolean lazyCreationEnabled;
@@ -219,6 +222,9 @@ public class GlobalDynamicProperties implements EvmProperties {
                 properties.getIntProperty(AUTO_RENEW_NUM_OF_ENTITIES_TO_SCAN);
         autoRenewMaxNumberOfEntitiesToRenewOrDelete =
                 properties.getIntProperty(AUTO_RENEW_MAX_NUM_OF_ENTITIES_TO_RENEW_OR_DELETE);
+        expiryIndexMode =
+                ExpiryIndexMode.valueOf(
+                        properties.getStringProperty(AUTO_RENEW_EXPIRY_INDEX_MODE).toUpperCase());
         autoRenewGracePeriod = properties.getLongProperty(AUTO_RENEW_GRACE_PERIOD);
         maxAutoRenewDuration = properties.getLongProperty(LEDGER_AUTO_RENEW_PERIOD_MAX_DURATION);
         minAutoRenewDuration = properties.getLongProperty(LEDGER_AUTO_RENEW_PERIOD_MIN_DURATION);
@@ -317,6 +323,8 @@ public class GlobalDynamicProperties implements EvmProperties {
         tokenAutoCreationsEnabled = properties.getBooleanProperty(TOKENS_AUTO_CREATIONS_ENABLED);
         compressAccountBalanceFilesOnCreation =
                 properties.getBooleanProperty(BALANCES_COMPRESS_ON_CREATION);
+        streamBalancesExport = properties.getBooleanProperty(BALANCES_EXPORT_STREAMING);
+        balancesSummaryParallelism = properties.getIntProperty(BALANCES_SUMMARY_PARALLELISM);
         doTraceabilityExport =
                 properties.getBooleanProperty(HEDERA_RECORD_STREAM_ENABLE_TRACEABILITY_MIGRATION);
         traceabilityMaxExportsPerConsSec =
@@ -484,6 +492,10 @@ public class GlobalDynamicProperties implements EvmProperties {
         return autoRenewMaxNumberOfEntitiesToRenewOrDelete;
     }
 
+    public ExpiryIndexMode expiryIndexMode() {
+        return expiryIndexMode;
+    }
+
     public long autoRenewGracePeriod() {
         return autoRenewGracePeriod;
     }
@@ -764,6 +776,14 @@ public class GlobalDynamicProperties implements EvmProperties {
         return compressAccountBalanceFilesOnCreation;
     }
 
+    public boolean shouldStreamBalancesExport() {
+        return streamBalancesExport;
+    }
+
+    public int balancesSummaryParallelism() {
+        return balancesSummaryParallelism;
+    }
+
     public boolean shouldDoTraceabilityExport() {
         return doTraceabilityExport;
     }
@@ -21,15 +21,25 @@ import static com.hedera.node.app.service.mono.context.properties.PropertyNames.
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.GRPC_TLS_PORT;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_ACCOUNTS_EXPORT_PATH;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_EXPORT_ACCOUNTS_ON_STARTUP;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_HAPI_THROTTLE_CONCURRENT_ADMISSION;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_DISK_DIR;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_DISK_MAX_BYTES;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_MAX_BYTES;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_TTL_SECS;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_WARM_UP_CONTRACTS;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_MAX_THREAD_POOL_SIZE;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_QUEUE_CAPACITY;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_THREAD_POOL_SIZE;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PROFILES_ACTIVE;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_COMPRESSION_THREADS;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_HANDOFF_USES_RING_BUFFER;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_HANDOFF_WAIT_STRATEGY;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_IS_ENABLED;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_LOG_DIR;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_LOG_PERIOD;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_QUEUE_CAPACITY;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_SIDE_CAR_DIR;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_WRITE_INDEX_FILES;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.ISS_RESET_PERIOD;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.ISS_ROUNDS_TO_LOG;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.NETTY_MODE;
@@ -44,10 +54,17 @@ import static com.hedera.node.app.service.mono.context.properties.PropertyNames.
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.NETTY_START_RETRY_INTERVAL_MS;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.NETTY_TLS_CERT_PATH;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.NETTY_TLS_KEY_PATH;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.QUERIES_BALANCE_CACHE_IS_ENABLED;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.QUERIES_BALANCE_CACHE_MAX_ENTRIES;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.QUERIES_BLOB_LOOK_UP_RETRIES;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.SIGS_PARALLEL_EXPANSION_IS_ENABLED;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.SIGS_PARALLEL_EXPANSION_THREAD_POOL_SIZE;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.SIGS_VERIFIED_CACHE_IS_ENABLED;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.SIGS_VERIFIED_CACHE_MAX_ENTRIES;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_CONS_THROTTLES_TO_SAMPLE;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_ENTITY_UTILS_GAUGE_UPDATE_INTERVAL_MS;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_EXECUTION_TIMES_TO_TRACK;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_HANDLE_LATENCIES_IS_ENABLED;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_HAPI_OPS_SPEEDOMETER_UPDATE_INTERVAL_MS;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_HAPI_THROTTLES_TO_SAMPLE;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_RUNNING_AVG_HALF_LIFE_SECS;
@@ -97,10 +114,27 @@ public class NodeLocalProperties {
     private int issRoundsToLog;
     private int prefetchQueueCapacity;
     private int prefetchThreadPoolSize;
+    private int prefetchMaxThreadPoolSize;
     private int prefetchCodeCacheTtlSecs;
+    private long prefetchCodeCacheMaxBytes;
+    private String prefetchCodeCacheDiskDir;
+    private long prefetchCodeCacheDiskMaxBytes;
+    private int prefetchCodeCacheWarmUpContracts;
     private List<String> consThrottlesToSample;
     private List<String> hapiThrottlesToSample;
     private String sidecarDir;
+    private boolean hapiThrottleConcurrentAdmission;
+    private int recordStreamCompressionThreads;
+    private boolean recordStreamHandoffUsesRingBuffer;
+    private String recordStreamHandoffWaitStrategy;
+    private boolean recordStreamWriteIndexFiles;
+    private boolean handleLatenciesEnabled;
+    private boolean balanceCacheEnabled;
+    private int balanceCacheMaxEntries;
+    private boolean verifiedSigCacheEnabled;
+    private int verifiedSigCacheMaxEntries;
+    private boolean parallelSigExpansionEnabled;
+    private int parallelSigExpansionThreadPoolSize;
 
     @Inject
     public NodeLocalProperties(@CompositeProps PropertySource properties) {
@@ -147,13 +181,42 @@ public class NodeLocalProperties {
         issRoundsToLog = properties.getIntProperty(ISS_ROUNDS_TO_LOG);
         prefetchQueueCapacity = properties.getIntProperty(HEDERA_PREFETCH_QUEUE_CAPACITY);
         prefetchThreadPoolSize = properties.getIntProperty(HEDERA_PREFETCH_THREAD_POOL_SIZE);
+        prefetchMaxThreadPoolSize =
+                properties.getIntProperty(HEDERA_PREFETCH_MAX_THREAD_POOL_SIZE);
         prefetchCodeCacheTtlSecs = properties.getIntProperty(HEDERA_PREFETCH_CODE_CACHE_TTL_SECS);
+        prefetchCodeCacheMaxBytes =
+                properties.getLongProperty(HEDERA_PREFETCH_CODE_CACHE_MAX_BYTES);
+        prefetchCodeCacheDiskDir =
+                properties.getStringProperty(HEDERA_PREFETCH_CODE_CACHE_DISK_DIR);
+        prefetchCodeCacheDiskMaxBytes =
+                properties.getLongProperty(HEDERA_PREFETCH_CODE_CACHE_DISK_MAX_BYTES);
+        prefetchCodeCacheWarmUpContracts =
+                properties.getIntProperty(HEDERA_PREFETCH_CODE_CACHE_WARM_UP_CONTRACTS);
         consThrottlesToSample = properties.getStringsProperty(STATS_CONS_THROTTLES_TO_SAMPLE);
         hapiThrottlesToSample = properties.getStringsProperty(STATS_HAPI_THROTTLES_TO_SAMPLE);
         entityUtilStatsUpdateIntervalMs =
                 properties.getLongProperty(STATS_ENTITY_UTILS_GAUGE_UPDATE_INTERVAL_MS);
         throttleUtilStatsUpdateIntervalMs =
                 properties.getLongProperty(STATS_THROTTLE_UTILS_GAUGE_UPDATE_INTERVAL_MS);
+        hapiThrottleConcurrentAdmission =
+                properties.getBooleanProperty(HEDERA_HAPI_THROTTLE_CONCURRENT_ADMISSION);
+        recordStreamCompressionThreads =
+                properties.getIntProperty(HEDERA_RECORD_STREAM_COMPRESSION_THREADS);
+        recordStreamHandoffUsesRingBuffer =
+                properties.getBooleanProperty(HEDERA_RECORD_STREAM_HANDOFF_USES_RING_BUFFER);
+        recordStreamHandoffWaitStrategy =
+                properties.getStringProperty(HEDERA_RECORD_STREAM_HANDOFF_WAIT_STRATEGY);
+        recordStreamWriteIndexFiles =
+                properties.getBooleanProperty(HEDERA_RECORD_STREAM_WRITE_INDEX_FILES);
+        handleLatenciesEnabled = properties.getBooleanProperty(STATS_HANDLE_LATENCIES_IS_ENABLED);
+        balanceCacheEnabled = properties.getBooleanProperty(QUERIES_BALANCE_CACHE_IS_ENABLED);
+        balanceCacheMaxEntries = properties.getIntProperty(QUERIES_BALANCE_CACHE_MAX_ENTRIES);
+        verifiedSigCacheEnabled = properties.getBooleanProperty(SIGS_VERIFIED_CACHE_IS_ENABLED);
+        verifiedSigCacheMaxEntries = properties.getIntProperty(SIGS_VERIFIED_CACHE_MAX_ENTRIES);
+        parallelSigExpansionEnabled =
+                properties.getBooleanProperty(SIGS_PARALLEL_EXPANSION_IS_ENABLED);
+        parallelSigExpansionThreadPoolSize =
+                properties.getIntProperty(SIGS_PARALLEL_EXPANSION_THREAD_POOL_SIZE);
     }
 
     public int port() {
@@ -288,10 +351,30 @@ public class NodeLocalProperties {
         return prefetchThreadPoolSize;
     }
 
+    public int prefetchMaxThreadPoolSize() {
+        return prefetchMaxThreadPoolSize;
+    }
+
     public int prefetchCodeCacheTtlSecs() {
         return prefetchCodeCacheTtlSecs;
     }
 
+    public long prefetchCodeCacheMaxBytes() {
+        return prefetchCodeCacheMaxBytes;
+    }
+
+    public String prefetchCodeCacheDiskDir() {
+        return prefetchCodeCacheDiskDir;
+    }
+
+    public long prefetchCodeCacheDiskMaxBytes() {
+        return prefetchCodeCacheDiskMaxBytes;
+    }
+
+    public int prefetchCodeCacheWarmUpContracts() {
+        return prefetchCodeCacheWarmUpContracts;
+    }
+
     public List<String> consThrottlesToSample() {
         return consThrottlesToSample;
     }
@@ -307,4 +390,52 @@ public class NodeLocalProperties {
     public long throttleUtilStatsUpdateIntervalMs() {
         return throttleUtilStatsUpdateIntervalMs;
     }
+
+    public boolean isHapiThrottleConcurrentAdmission() {
+        return hapiThrottleConcurrentAdmission;
+    }
+
+    public int recordStreamCompressionThreads() {
+        return recordStreamCompressionThreads;
+    }
+
+    public boolean recordStreamHandoffUsesRingBuffer() {
+        return recordStreamHandoffUsesRingBuffer;
+    }
+
+    public String recordStreamHandoffWaitStrategy() {
+        return recordStreamHandoffWaitStrategy;
+    }
+
+    public boolean shouldWriteRecordStreamIndexFiles() {
+        return recordStreamWriteIndexFiles;
+    }
+
+    public boolean isHandleLatenciesEnabled() {
+        return handleLatenciesEnabled;
+    }
+
+    public boolean isBalanceCacheEnabled() {
+        return balanceCacheEnabled;
+    }
+
+    public int balanceCacheMaxEntries() {
+        return balanceCacheMaxEntries;
+    }
+
+    public boolean isVerifiedSigCacheEnabled() {
+        return verifiedSigCacheEnabled;
+    }
+
+    public int verifiedSigCacheMaxEntries() {
+        return verifiedSigCacheMaxEntries;
+    }
+
+    public boolean isParallelSigExpansionEnabled() {
+        return parallelSigExpansionEnabled;
+    }
+
+    public int parallelSigExpansionThreadPoolSize() {
+        return parallelSigExpansionThreadPoolSize;
+    }
 }
@@ -84,6 +84,8 @@ public class PropertyNames {
     public static final String BALANCES_NODE_BALANCE_WARN_THRESHOLD =
             "balances.nodeBalanceWarningThreshold";
     public static final String BALANCES_COMPRESS_ON_CREATION = "balances.compressOnCreation";
+    public static final String BALANCES_EXPORT_STREAMING = "balances.exportStreaming";
+    public static final String BALANCES_SUMMARY_PARALLELISM = "balances.summaryParallelism";
     public static final String CACHE_RECORDS_TTL = "cache.records.ttl";
     public static final String CONTRACTS_ITEMIZE_STORAGE_FEES = "contracts.itemizeStorageFees";
     public static final String CONTRACTS_REFERENCE_SLOT_LIFETIME =
@@ -154,6 +156,7 @@ public class PropertyNames {
             "autorenew.numberOfEntitiesToScan";
     public static final String AUTO_RENEW_MAX_NUM_OF_ENTITIES_TO_RENEW_OR_DELETE =
             "autorenew.maxNumberOfEntitiesToRenewOrDelete";
+    public static final String AUTO_RENEW_EXPIRY_INDEX_MODE = "autorenew.expiryIndexMode";
     public static final String EXPIRY_THROTTLE_RESOURCE = "expiry.throttleResource";
     public static final String EXPIRY_MIN_CYCLE_ENTRY_CAPACITY = "expiry.minCycleEntryCapacity";
     public static final String AUTO_RENEW_GRACE_PERIOD = "autorenew.gracePeriod";
@@ -255,8 +258,20 @@ public class PropertyNames {
     public static final String HEDERA_EXPORT_ACCOUNTS_ON_STARTUP = "hedera.exportAccountsOnStartup";
     public static final String HEDERA_PREFETCH_QUEUE_CAPACITY = "hedera.prefetch.queueCapacity";
     public static final String HEDERA_PREFETCH_THREAD_POOL_SIZE = "hedera.prefetch.threadPoolSize";
+    public static final String HEDERA_PREFETCH_MAX_THREAD_POOL_SIZE =
+            "hedera.prefetch.maxThreadPoolSize";
     public static final String HEDERA_PREFETCH_CODE_CACHE_TTL_SECS =
             "hedera.prefetch.codeCacheTtlSecs";
+    public static final String HEDERA_PREFETCH_CODE_CACHE_MAX_BYTES =
+            "hedera.prefetch.codeCacheMaxBytes";
+    public static final String HEDERA_PREFETCH_CODE_CACHE_DISK_DIR =
+            "hedera.prefetch.codeCacheDiskDir";
+    public static final String HEDERA_PREFETCH_CODE_CACHE_DISK_MAX_BYTES =
+            "hedera.prefetch.codeCacheDiskMaxBytes";
+    public static final String HEDERA_PREFETCH_CODE_CACHE_WARM_UP_CONTRACTS =
+            "hedera.prefetch.codeCacheWarmUpContracts";
+    public static final String HEDERA_HAPI_THROTTLE_CONCURRENT_ADMISSION =
+            "hedera.hapiThrottle.concurrentAdmission";
     public static final String HEDERA_PROFILES_ACTIVE = "hedera.profiles.active";
     public static final String HEDERA_RECORD_STREAM_IS_ENABLED = "hedera.recordStream.isEnabled";
     public static final String HEDERA_RECORD_STREAM_LOG_DIR = "hedera.recordStream.logDir";
@@ -264,6 +279,14 @@ public class PropertyNames {
     public static final String HEDERA_RECORD_STREAM_LOG_PERIOD = "hedera.recordStream.logPeriod";
     public static final String HEDERA_RECORD_STREAM_QUEUE_CAPACITY =
             "hedera.recordStream.queueCapacity";
+    public static final String HEDERA_RECORD_STREAM_COMPRESSION_THREADS =
+            "hedera.recordStream.compressionThreads";
+    public static final String HEDERA_RECORD_STREAM_HANDOFF_USES_RING_BUFFER =
+            "hedera.recordStream.handoffUsesRingBuffer";
+    public static final String HEDERA_RECORD_STREAM_HANDOFF_WAIT_STRATEGY =
+            "hedera.recordStream.handoffWaitStrategy";
+    public static final String HEDERA_RECORD_STREAM_WRITE_INDEX_FILES =
+            "hedera.recordStream.writeIndexFiles";
     public static final String HEDERA_RECORD_STREAM_LOG_EVERY_TRANSACTION =
             "hedera.recordStream.logEveryTransaction";
     public static final String ISS_RESET_PERIOD = "iss.resetPeriod";
@@ -282,9 +305,20 @@ public class PropertyNames {
     public static final String NETTY_TLS_CERT_PATH = "netty.tlsCrt.path";
     public static final String NETTY_TLS_KEY_PATH = "netty.tlsKey.path";
     public static final String QUERIES_BLOB_LOOK_UP_RETRIES = "queries.blob.lookupRetries";
+    public static final String QUERIES_BALANCE_CACHE_IS_ENABLED = "queries.balanceCache.isEnabled";
+    public static final String QUERIES_BALANCE_CACHE_MAX_ENTRIES =
+            "queries.balanceCache.maxEntries";
+    public static final String SIGS_VERIFIED_CACHE_IS_ENABLED = "sigs.verifiedCache.isEnabled";
+    public static final String SIGS_VERIFIED_CACHE_MAX_ENTRIES = "sigs.verifiedCache.maxEntries";
+    public static final String SIGS_PARALLEL_EXPANSION_IS_ENABLED =
+            "sigs.parallelExpansion.isEnabled";
+    public static final String SIGS_PARALLEL_EXPANSION_THREAD_POOL_SIZE =
+            "sigs.parallelExpansion.threadPoolSize";
     public static final String STATS_CONS_THROTTLES_TO_SAMPLE = "stats.consThrottlesToSample";
     public static final String STATS_HAPI_THROTTLES_TO_SAMPLE = "stats.hapiThrottlesToSample";
     public static final String STATS_EXECUTION_TIMES_TO_TRACK = "stats.executionTimesToTrack";
+    public static final String STATS_HANDLE_LATENCIES_IS_ENABLED =
+            "stats.handleLatencies.isEnabled";
     public static final String STATS_ENTITY_UTILS_GAUGE_UPDATE_INTERVAL_MS =
             "stats.entityUtils.gaugeUpdateIntervalMs";
     public static final String STATS_HAPI_OPS_SPEEDOMETER_UPDATE_INTERVAL_MS =
@@ -16,7 +16,7 @@
 package com.hedera.node.app.service.mono.contracts;
 
 import static com.hedera.node.app.service.mono.contracts.ContractsV_0_32Module.EVM_VERSION_0_32;
-import static com.hedera.node.app.service.mono.files.EntityExpiryMapFactory.entityExpiryMapFrom;
+import static com.hedera.node.app.service.mono.files.EntityExpiryMapFactory.entityExpiryMapOver;
 import static com.hedera.node.app.service.mono.store.contracts.precompile.ExchangeRatePrecompiledContract.EXCHANGE_RATE_SYSTEM_CONTRACT_ADDRESS;
 import static com.hedera.node.app.service.mono.store.contracts.precompile.HTSPrecompiledContract.HTS_PRECOMPILED_CONTRACT_ADDRESS;
 import static com.hedera.node.app.service.mono.store.contracts.precompile.PrngSystemPrecompiledContract.PRNG_PRECOMPILE_ADDRESS;
@@ -24,6 +24,7 @@ import static com.hedera.node.app.service.mono.store.contracts.precompile.PrngSy
 import com.hedera.node.app.service.mono.context.TransactionContext;
 import com.hedera.node.app.service.mono.contracts.execution.HederaMessageCallProcessor;
 import com.hedera.node.app.service.mono.contracts.gascalculator.GasCalculatorHederaV22;
+import com.hedera.node.app.service.mono.files.store.FcBlobsBytesStore;
 import com.hedera.node.app.service.mono.ledger.HederaLedger;
 import com.hedera.node.app.service.mono.ledger.TransactionalLedger;
 import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
@@ -87,8 +88,8 @@ public interface ContractsModule {
 
     @Provides
     @Singleton
-    static Map<EntityId, Long> provideEntityExpiries(Map<String, byte[]> blobStore) {
-        return entityExpiryMapFrom(blobStore);
+    static Map<EntityId, Long> provideEntityExpiries(FcBlobsBytesStore blobStore) {
+        return entityExpiryMapOver(blobStore);
     }
 
     @Provides
@@ -15,7 +15,12 @@
  */
 package com.hedera.node.app.service.mono.files;
 
+import static com.hedera.node.app.service.mono.state.merkle.internals.BitPackUtils.codeFromNum;
+
+import com.hedera.node.app.service.mono.files.store.BlobStoreAdapter;
 import com.hedera.node.app.service.mono.files.store.BytesStoreAdapter;
+import com.hedera.node.app.service.mono.files.store.FcBlobsBytesStore;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
 import com.hederahashgraph.api.proto.java.FileID;
 import java.util.Map;
 import java.util.function.Function;
@@ -31,6 +36,29 @@ public class DataMapFactory {
         throw new IllegalStateException();
     }
 
+    /**
+     * Returns a map of file contents over the given blobs, keyed directly by the binary {@link
+     * VirtualBlobKey} of each file.
+     *
+     * @param blobs the blob store
+     * @return the file data map
+     */
+    public static Map<FileID, byte[]> dataMapOver(final FcBlobsBytesStore blobs) {
+        return new BlobStoreAdapter<>(
+                FileID.class,
+                Function.identity(),
+                Function.identity(),
+                DataMapFactory::toBlobKey,
+                blobs);
+    }
+
+    /**
+     * Returns a map of file contents over a store keyed by legacy path strings; only needed to
+     * migrate from (or test against) the legacy representation.
+     *
+     * @param store the legacy store
+     * @return the file data map
+     */
     public static Map<FileID, byte[]> dataMapFrom(Map<String, byte[]> store) {
         return new BytesStoreAdapter<>(
                 FileID.class,
@@ -53,6 +81,10 @@ public class DataMapFactory {
                 .build();
     }
 
+    public static VirtualBlobKey toBlobKey(final FileID fid) {
+        return new VirtualBlobKey(VirtualBlobKey.Type.FILE_DATA, codeFromNum(fid.getFileNum()));
+    }
+
     static String toKeyString(FileID fid) {
         return String.format(LEGACY_PATH_TEMPLATE, fid.getRealmNum(), fid.getFileNum());
     }
@@ -15,9 +15,14 @@
  */
 package com.hedera.node.app.service.mono.files;
 
+import static com.hedera.node.app.service.mono.state.merkle.internals.BitPackUtils.codeFromNum;
+
 import com.google.common.primitives.Longs;
+import com.hedera.node.app.service.mono.files.store.BlobStoreAdapter;
 import com.hedera.node.app.service.mono.files.store.BytesStoreAdapter;
+import com.hedera.node.app.service.mono.files.store.FcBlobsBytesStore;
 import com.hedera.node.app.service.mono.state.submerkle.EntityId;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -31,6 +36,29 @@ public final class EntityExpiryMapFactory {
         throw new IllegalStateException();
     }
 
+    /**
+     * Returns a map of system-deleted entity expiries over the given blobs, keyed directly by the
+     * binary {@link VirtualBlobKey} of each entity.
+     *
+     * @param blobs the blob store
+     * @return the entity expiry map
+     */
+    public static Map<EntityId, Long> entityExpiryMapOver(final FcBlobsBytesStore blobs) {
+        return new BlobStoreAdapter<>(
+                EntityId.class,
+                EntityExpiryMapFactory::toLong,
+                Longs::toByteArray,
+                EntityExpiryMapFactory::toBlobKey,
+                blobs);
+    }
+
+    /**
+     * Returns a map of system-deleted entity expiries over a store keyed by legacy path strings;
+     * only needed to migrate from (or test against) the legacy representation.
+     *
+     * @param store the legacy store
+     * @return the entity expiry map
+     */
     public static Map<EntityId, Long> entityExpiryMapFrom(Map<String, byte[]> store) {
         return new BytesStoreAdapter<>(
                 EntityId.class,
@@ -56,6 +84,11 @@ public final class EntityExpiryMapFactory {
         return (bytes == null) ? null : Longs.fromByteArray(bytes);
     }
 
+    static VirtualBlobKey toBlobKey(final EntityId id) {
+        return new VirtualBlobKey(
+                VirtualBlobKey.Type.SYSTEM_DELETED_ENTITY_EXPIRY, codeFromNum(id.num()));
+    }
+
     static String toKeyString(EntityId id) {
         return String.format(LEGACY_PATH_TEMPLATE, id.realm(), id.num());
     }
@@ -17,8 +17,8 @@ package com.hedera.node.app.service.mono.files;
 
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.FILES_HAPI_PERMISSIONS;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.FILES_NETWORK_PROPERTIES;
-import static com.hedera.node.app.service.mono.files.DataMapFactory.dataMapFrom;
-import static com.hedera.node.app.service.mono.files.MetadataMapFactory.metaMapFrom;
+import static com.hedera.node.app.service.mono.files.DataMapFactory.dataMapOver;
+import static com.hedera.node.app.service.mono.files.MetadataMapFactory.metaMapOver;
 import static com.hedera.node.app.service.mono.files.interceptors.ConfigListUtils.uncheckedParse;
 import static com.hedera.node.app.service.mono.files.interceptors.PureRatesValidation.isNormalIntradayChange;
 
@@ -59,21 +59,21 @@ public interface FilesModule {
 
     @Provides
     @Singleton
-    static Map<String, byte[]> provideBlobStore(
+    static FcBlobsBytesStore provideBlobStore(
             Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> storage) {
         return new FcBlobsBytesStore(storage);
     }
 
     @Provides
     @Singleton
-    static Map<FileID, byte[]> provideDataMap(Map<String, byte[]> blobStore) {
-        return dataMapFrom(blobStore);
+    static Map<FileID, byte[]> provideDataMap(FcBlobsBytesStore blobStore) {
+        return dataMapOver(blobStore);
     }
 
     @Provides
     @Singleton
-    static Map<FileID, HFileMeta> provideMetadataMap(Map<String, byte[]> blobStore) {
-        return metaMapFrom(blobStore);
+    static Map<FileID, HFileMeta> provideMetadataMap(FcBlobsBytesStore blobStore) {
+        return metaMapOver(blobStore);
     }
 
     @Provides
@@ -16,8 +16,12 @@
 package com.hedera.node.app.service.mono.files;
 
 import static com.hedera.node.app.service.mono.context.properties.StaticPropertiesHolder.STATIC_PROPERTIES;
+import static com.hedera.node.app.service.mono.state.merkle.internals.BitPackUtils.codeFromNum;
 
+import com.hedera.node.app.service.mono.files.store.BlobStoreAdapter;
 import com.hedera.node.app.service.mono.files.store.BytesStoreAdapter;
+import com.hedera.node.app.service.mono.files.store.FcBlobsBytesStore;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
 import com.hederahashgraph.api.proto.java.FileID;
 import com.swirlds.common.utility.CommonUtils;
 import java.io.IOException;
@@ -38,6 +42,29 @@ public final class MetadataMapFactory {
         throw new UnsupportedOperationException("Factory Class");
     }
 
+    /**
+     * Returns a map of file metadata over the given blobs, keyed directly by the binary {@link
+     * VirtualBlobKey} of each file.
+     *
+     * @param blobs the blob store
+     * @return the file metadata map
+     */
+    public static Map<FileID, HFileMeta> metaMapOver(final FcBlobsBytesStore blobs) {
+        return new BlobStoreAdapter<>(
+                FileID.class,
+                MetadataMapFactory::toAttr,
+                MetadataMapFactory::toValueBytes,
+                MetadataMapFactory::toBlobKey,
+                blobs);
+    }
+
+    /**
+     * Returns a map of file metadata over a store keyed by legacy path strings; only needed to
+     * migrate from (or test against) the legacy representation.
+     *
+     * @param store the legacy store
+     * @return the file metadata map
+     */
     public static Map<FileID, HFileMeta> metaMapFrom(final Map<String, byte[]> store) {
         return new BytesStoreAdapter<>(
                 FileID.class,
@@ -60,6 +87,10 @@ public final class MetadataMapFactory {
                 .build();
     }
 
+    public static VirtualBlobKey toBlobKey(final FileID fid) {
+        return new VirtualBlobKey(VirtualBlobKey.Type.FILE_METADATA, codeFromNum(fid.getFileNum()));
+    }
+
     static String toKeyString(final FileID fid) {
         return String.format(LEGACY_PATH_TEMPLATE, fid.getRealmNum(), fid.getFileNum());
     }
@@ -26,6 +26,7 @@ import static java.util.Comparator.comparingInt;
 
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
 import com.hedera.node.app.service.mono.exceptions.InvalidTransactionException;
+import com.hedera.node.app.service.mono.files.store.ChunkedFileContents;
 import com.hedera.node.app.service.mono.ledger.ids.EntityIdSource;
 import com.hedera.node.app.service.mono.state.merkle.MerkleSpecialFiles;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -58,6 +59,7 @@ public final class TieredHederaFs implements HederaFs {
     private final Map<FileID, HFileMeta> metadata;
     private final GlobalDynamicProperties properties;
     private final Supplier<MerkleSpecialFiles> specialFiles;
+    private final ChunkedFileContents chunkedContents;
 
     final List<FileUpdateInterceptor> updateInterceptors = new ArrayList<>();
 
@@ -87,13 +89,15 @@ public final class TieredHederaFs implements HederaFs {
             final Supplier<Instant> now,
             final Map<FileID, byte[]> data,
             final Map<FileID, HFileMeta> metadata,
-            final Supplier<MerkleSpecialFiles> specialFiles) {
+            final Supplier<MerkleSpecialFiles> specialFiles,
+            final ChunkedFileContents chunkedContents) {
         this.ids = ids;
         this.now = now;
         this.data = data;
         this.metadata = metadata;
         this.properties = properties;
         this.specialFiles = specialFiles;
+        this.chunkedContents = chunkedContents;
     }
 
     public Map<FileID, byte[]> getData() {
@@ -188,6 +192,9 @@ public final class TieredHederaFs implements HederaFs {
             return new SimpleUpdateResult(false, true, SUCCESS);
         } else {
             assertUsable(id);
+            if (interceptorsFor(id).isEmpty()) {
+                return chunkedAppend(id, moreContents);
+            }
             final var contents = data.get(id);
             var newContents = ArrayUtils.addAll(contents, moreContents);
             log.debug(
@@ -200,6 +207,24 @@ public final class TieredHederaFs implements HederaFs {
         }
     }
 
+    /**
+     * Appends to a file no interceptor needs to see in full, by writing only the new bytes (and
+     * the last chunk they fill) rather than re-writing the entire file.
+     */
+    private UpdateResult chunkedAppend(final FileID id, final byte[] moreContents) {
+        final var newSize = chunkedContents.sizeOf(id) + moreContents.length;
+        log.debug(
+                "Appending {} bytes to file num {} :: new file will have {} bytes.",
+                moreContents.length,
+                id.getFileNum(),
+                newSize);
+        if (newSize > properties.maxFileSizeKb() * BYTES_PER_KB) {
+            throwIllegal(OVERSIZE_CONTENTS);
+        }
+        chunkedContents.append(id, moreContents);
+        return new SimpleUpdateResult(false, true, SUCCESS);
+    }
+
     @Override
     public void delete(final FileID id) {
         validateUsable(id);
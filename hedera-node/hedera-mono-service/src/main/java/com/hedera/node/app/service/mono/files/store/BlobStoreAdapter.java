@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.files.store;
+
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
+import java.util.AbstractMap;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Adapts a {@link FcBlobsBytesStore} to a typed map by converting each key directly to its binary
+ * {@link VirtualBlobKey}; unlike a {@link BytesStoreAdapter}, this never formats or parses a
+ * legacy path string.
+ *
+ * <p>Like the underlying store, this map cannot be sized, cleared, or iterated.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class BlobStoreAdapter<K, V> extends AbstractMap<K, V> {
+    private final Class<K> kType;
+    private final Function<K, VirtualBlobKey> toBlobKey;
+    private final Function<byte[], V> toV;
+    private final Function<V, byte[]> fromV;
+    private final FcBlobsBytesStore delegate;
+
+    public BlobStoreAdapter(
+            final Class<K> kType,
+            final Function<byte[], V> toV,
+            final Function<V, byte[]> fromV,
+            final Function<K, VirtualBlobKey> toBlobKey,
+            final FcBlobsBytesStore delegate) {
+        this.kType = kType;
+        this.toV = toV;
+        this.fromV = fromV;
+        this.toBlobKey = toBlobKey;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return delegate.containsBlob(toBlobKey.apply(kType.cast(key)));
+    }
+
+    @Override
+    public V get(final Object key) {
+        return toV.apply(delegate.getBlob(toBlobKey.apply(kType.cast(key))));
+    }
+
+    /**
+     * Puts the given value at the blob for the given key.
+     *
+     * <p><B>NOTE:</B> As with {@link FcBlobsBytesStore#put(String, byte[])}, this does not return
+     * the previous value.
+     */
+    @Override
+    public V put(final K key, final V value) {
+        delegate.putBlob(toBlobKey.apply(key), fromV.apply(value));
+        return null;
+    }
+
+    /**
+     * Empties the blob for the given key.
+     *
+     * <p><B>NOTE:</B> As with {@link FcBlobsBytesStore#remove(Object)}, this does not return the
+     * removed value.
+     */
+    @Override
+    public V remove(final Object key) {
+        delegate.removeBlob(toBlobKey.apply(kType.cast(key)));
+        return null;
+    }
+
+    @Override
+    public int size() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.files.store;
+
+import static com.hedera.node.app.service.mono.files.store.FcBlobsBytesStore.EMPTY_BLOB;
+import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.MAX_FILE_DATA_CHUNKS;
+
+import com.hedera.node.app.service.mono.state.merkle.internals.BitPackUtils;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobValue;
+import com.hederahashgraph.api.proto.java.FileID;
+import com.swirlds.virtualmap.VirtualMap;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Stores the contents of a file as a head blob, with the contents given at creation or on the last
+ * overwrite, followed by the fixed-size chunks appended since then.
+ *
+ * <p>The appended chunks of a file are contiguous from index zero, and all but the last are exactly
+ * {@link #CHUNK_SIZE} bytes; except that the last allowed chunk absorbs any further appends once
+ * it is reached. So an append only reads and rewrites the last chunk, and the {@link VirtualMap}
+ * only re-hashes the leaves of the chunks it touched; its cost is proportional to the chunk size,
+ * and not to the size of the file.
+ */
+@Singleton
+public class ChunkedFileContents {
+    public static final int CHUNK_SIZE = 8 * 1024;
+
+    private final Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> blobs;
+
+    @Inject
+    public ChunkedFileContents(final Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> blobs) {
+        this.blobs = blobs;
+    }
+
+    public int sizeOf(final FileID id) {
+        return sizeOf(blobs.get(), codeOf(id));
+    }
+
+    public void append(final FileID id, final byte[] moreContents) {
+        append(blobs.get(), codeOf(id), moreContents);
+    }
+
+    /**
+     * Returns the full contents of the file with the given code, concatenating its head blob with
+     * any appended chunks in a single exact-size allocation.
+     *
+     * @param curBlobs the blobs to read from
+     * @param fileNumCode the packed number of the file
+     * @return the file contents, or null if the file has no head blob
+     */
+    public static byte[] contentsOf(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs, final int fileNumCode) {
+        final var head = curBlobs.get(headKey(fileNumCode));
+        if (head == null) {
+            return null;
+        }
+        final var headData = head.getData();
+        final var numChunks = numChunks(curBlobs, fileNumCode);
+        if (numChunks == 0) {
+            return headData;
+        }
+        final var chunks = new byte[numChunks][];
+        var size = headData.length;
+        for (int i = 0; i < numChunks; i++) {
+            chunks[i] = chunkData(curBlobs, fileNumCode, i);
+            size += chunks[i].length;
+        }
+        final var contents = new byte[size];
+        System.arraycopy(headData, 0, contents, 0, headData.length);
+        var offset = headData.length;
+        for (final var chunk : chunks) {
+            System.arraycopy(chunk, 0, contents, offset, chunk.length);
+            offset += chunk.length;
+        }
+        return contents;
+    }
+
+    /**
+     * Replaces the contents of the file with the given code, discarding any appended chunks.
+     *
+     * @param curBlobs the blobs to update
+     * @param fileNumCode the packed number of the file
+     * @param contents the new contents
+     */
+    public static void overwrite(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs,
+            final int fileNumCode,
+            final byte[] contents) {
+        curBlobs.put(headKey(fileNumCode), new VirtualBlobValue(contents));
+        removeChunks(curBlobs, fileNumCode);
+    }
+
+    /**
+     * Empties the contents of the file with the given code, leaving an empty head blob (as the
+     * legacy {@link FcBlobsBytesStore#remove(Object)} always did).
+     *
+     * @param curBlobs the blobs to update
+     * @param fileNumCode the packed number of the file
+     */
+    public static void clear(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs, final int fileNumCode) {
+        curBlobs.put(headKey(fileNumCode), EMPTY_BLOB);
+        removeChunks(curBlobs, fileNumCode);
+    }
+
+    /**
+     * Returns the size of the file with the given code, reading only its head and last chunk.
+     *
+     * @param curBlobs the blobs to read from
+     * @param fileNumCode the packed number of the file
+     * @return the size of the file contents
+     */
+    public static int sizeOf(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs, final int fileNumCode) {
+        final var head = curBlobs.get(headKey(fileNumCode));
+        var size = (head == null) ? 0 : head.getData().length;
+        final var numChunks = numChunks(curBlobs, fileNumCode);
+        if (numChunks > 0) {
+            final var last = numChunks - 1;
+            size += last * CHUNK_SIZE + chunkData(curBlobs, fileNumCode, last).length;
+        }
+        return size;
+    }
+
+    /**
+     * Appends the given bytes to the file with the given code, filling its last chunk before
+     * starting new ones.
+     *
+     * @param curBlobs the blobs to update
+     * @param fileNumCode the packed number of the file
+     * @param moreContents the bytes to append
+     */
+    public static void append(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs,
+            final int fileNumCode,
+            final byte[] moreContents) {
+        if (moreContents.length == 0) {
+            return;
+        }
+        var offset = 0;
+        var index = numChunks(curBlobs, fileNumCode) - 1;
+        if (index >= 0) {
+            final var lastData = chunkData(curBlobs, fileNumCode, index);
+            final var fill = fillFor(index, lastData.length, moreContents.length);
+            if (fill > 0) {
+                final var filled = new byte[lastData.length + fill];
+                System.arraycopy(lastData, 0, filled, 0, lastData.length);
+                System.arraycopy(moreContents, 0, filled, lastData.length, fill);
+                putChunk(curBlobs, fileNumCode, index, filled);
+                offset = fill;
+            }
+        }
+        while (offset < moreContents.length) {
+            index++;
+            final var len = fillFor(index, 0, moreContents.length - offset);
+            final var chunk = new byte[len];
+            System.arraycopy(moreContents, offset, chunk, 0, len);
+            putChunk(curBlobs, fileNumCode, index, chunk);
+            offset += len;
+        }
+    }
+
+    private static int fillFor(final int index, final int used, final int remaining) {
+        return (index == MAX_FILE_DATA_CHUNKS - 1)
+                ? remaining
+                : Math.min(CHUNK_SIZE - used, remaining);
+    }
+
+    private static void removeChunks(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs, final int fileNumCode) {
+        for (int i = 0; i < MAX_FILE_DATA_CHUNKS; i++) {
+            final var key = VirtualBlobKey.forFileDataChunk(fileNumCode, i);
+            if (!curBlobs.containsKey(key)) {
+                return;
+            }
+            curBlobs.remove(key);
+        }
+    }
+
+    /* Chunks are contiguous from index zero, so we can binary search for the first missing one */
+    static int numChunks(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs, final int fileNumCode) {
+        if (!curBlobs.containsKey(VirtualBlobKey.forFileDataChunk(fileNumCode, 0))) {
+            return 0;
+        }
+        var lo = 1;
+        var hi = MAX_FILE_DATA_CHUNKS;
+        while (lo < hi) {
+            final var mid = (lo + hi) >>> 1;
+            if (curBlobs.containsKey(VirtualBlobKey.forFileDataChunk(fileNumCode, mid))) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static byte[] chunkData(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs,
+            final int fileNumCode,
+            final int index) {
+        return curBlobs.get(VirtualBlobKey.forFileDataChunk(fileNumCode, index)).getData();
+    }
+
+    private static void putChunk(
+            final VirtualMap<VirtualBlobKey, VirtualBlobValue> curBlobs,
+            final int fileNumCode,
+            final int index,
+            final byte[] data) {
+        curBlobs.put(
+                VirtualBlobKey.forFileDataChunk(fileNumCode, index), new VirtualBlobValue(data));
+    }
+
+    private static VirtualBlobKey headKey(final int fileNumCode) {
+        return new VirtualBlobKey(VirtualBlobKey.Type.FILE_DATA, fileNumCode);
+    }
+
+    private static int codeOf(final FileID id) {
+        return BitPackUtils.codeFromNum(id.getFileNum());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.hedera.node.app.service.mono.files.store;
 
+import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.Type.FILE_DATA;
 import static java.lang.Long.parseLong;
 
 import com.hedera.node.app.service.mono.state.merkle.internals.BlobKey;
@@ -74,10 +75,23 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
      */
     @Override
     public byte[] remove(Object path) {
-        blobSupplier.get().put(at(path), EMPTY_BLOB);
+        removeBlob(at(path));
         return null;
     }
 
+    /**
+     * Removes the blob with the given key, leaving an empty blob in its place.
+     *
+     * @param key the key of the blob
+     */
+    public void removeBlob(final VirtualBlobKey key) {
+        if (key.getType() == FILE_DATA) {
+            ChunkedFileContents.clear(blobSupplier.get(), key.getEntityNumCode());
+        } else {
+            blobSupplier.get().put(key, EMPTY_BLOB);
+        }
+    }
+
     /**
      * Replaces the blob at the given path with the given contents.
      *
@@ -90,21 +104,52 @@ public class FcBlobsBytesStore extends AbstractMap<String, byte[]> {
      */
     @Override
     public byte[] put(String path, byte[] value) {
-        final VirtualBlobValue blob = new VirtualBlobValue(value);
-        blobSupplier.get().put(at(path), blob);
+        putBlob(at(path), value);
         return null;
     }
 
+    /**
+     * Replaces the blob with the given key with the given contents.
+     *
+     * @param key the key of the blob
+     * @param value the contents to be set
+     */
+    public void putBlob(final VirtualBlobKey key, final byte[] value) {
+        if (key.getType() == FILE_DATA) {
+            ChunkedFileContents.overwrite(blobSupplier.get(), key.getEntityNumCode(), value);
+        } else {
+            blobSupplier.get().put(key, new VirtualBlobValue(value));
+        }
+    }
+
     @Override
     public byte[] get(Object path) {
-        return Optional.ofNullable(blobSupplier.get().get(at(path)))
+        return getBlob(at(path));
+    }
+
+    /**
+     * Gets the blob with the given key; for file data, this includes any chunks appended to the
+     * file via {@link ChunkedFileContents}.
+     *
+     * @param key the key of the blob
+     * @return its contents, or null if there is no such blob
+     */
+    public byte[] getBlob(final VirtualBlobKey key) {
+        if (key.getType() == FILE_DATA) {
+            return ChunkedFileContents.contentsOf(blobSupplier.get(), key.getEntityNumCode());
+        }
+        return Optional.ofNullable(blobSupplier.get().get(key))
                 .map(VirtualBlobValue::getData)
                 .orElse(null);
     }
 
     @Override
     public boolean containsKey(Object path) {
-        return blobSupplier.get().containsKey(at(path));
+        return containsBlob(at(path));
+    }
+
+    public boolean containsBlob(final VirtualBlobKey key) {
+        return blobSupplier.get().containsKey(key);
     }
 
     @Override
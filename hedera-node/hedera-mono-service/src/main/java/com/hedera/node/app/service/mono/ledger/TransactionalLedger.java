@@ -25,10 +25,12 @@ import com.hedera.node.app.service.mono.exceptions.MissingEntityException;
 import com.hedera.node.app.service.mono.ledger.backing.BackingStore;
 import com.hedera.node.app.service.mono.ledger.properties.BeanProperty;
 import com.hedera.node.app.service.mono.ledger.properties.ChangeSummaryManager;
+import com.hedera.node.app.service.mono.ledger.properties.PropertyChanges;
 import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.EnumMap;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -65,7 +67,12 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A>
             new ArrayList<>(MAX_ENTITIES_CONCEIVABLY_TOUCHED_IN_LEDGER_TXN);
     private final List<K> removedKeys =
             new ArrayList<>(MAX_ENTITIES_CONCEIVABLY_TOUCHED_IN_LEDGER_TXN);
-    private final Map<K, EnumMap<P, Object>> changes = new HashMap<>();
+    private final Map<K, PropertyChanges<A, P>> changes = new HashMap<>();
+    // Change sets are recycled at the start of the next transaction, since commit interceptors
+    // may still inspect the last transaction's pending changes after it is committed
+    private final Deque<PropertyChanges<A, P>> spareChanges = new ArrayDeque<>();
+    private final List<PropertyChanges<A, P>> usedChanges =
+            new ArrayList<>(MAX_ENTITIES_CONCEIVABLY_TOUCHED_IN_LEDGER_TXN);
 
     private final Class<P> propertyType;
     private final Supplier<A> newEntity;
@@ -73,7 +80,6 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A>
     private final BackingStore<K, A> entities;
     private final ChangeSummaryManager<A, P> changeManager;
     private final TransactionalLedger<K, P, A> entitiesLedger;
-    private final Function<K, EnumMap<P, Object>> changeFactory;
 
     private boolean isInTransaction = false;
     private Consumer<K> previewAction = null;
@@ -92,7 +98,6 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A>
         this.newEntity = newEntity;
         this.propertyType = propertyType;
         this.changeManager = changeManager;
-        this.changeFactory = ignore -> new EnumMap<>(propertyType);
 
         if (entities instanceof TransactionalLedger) {
             this.entitiesLedger = (TransactionalLedger<K, P, A>) entities;
@@ -214,6 +219,7 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A>
         if (pendingChanges != null) {
             pendingChanges.clear();
         }
+        recycleChanges();
     }
 
     public void undoChangesOfType(final List<P> properties) {
@@ -308,15 +314,13 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A>
     @Override
     public void set(final K id, final P property, final Object value) {
         assertIsSettable(id);
-        changeManager.update(
-                changes.computeIfAbsent(
-                        id,
-                        ignore -> {
-                            changedKeys.add(id);
-                            return changeFactory.apply(id);
-                        }),
-                property,
-                value);
+        var changeSet = changes.get(id);
+        if (changeSet == null) {
+            changeSet = newChangeSet();
+            changes.put(id, changeSet);
+            changedKeys.add(id);
+        }
+        changeManager.update(changeSet, property, value);
     }
 
     /** {@inheritDoc} */
@@ -344,7 +348,7 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A>
     @Override
     public void create(final K id) {
         assertIsCreatable(id);
-        changes.put(id, new EnumMap<>(propertyType));
+        changes.put(id, newChangeSet());
         createdKeys.add(id);
     }
 
@@ -541,6 +545,21 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A>
         return true;
     }
 
+    private PropertyChanges<A, P> newChangeSet() {
+        final var changeSet =
+                spareChanges.isEmpty() ? new PropertyChanges<>(propertyType) : spareChanges.pop();
+        usedChanges.add(changeSet);
+        return changeSet;
+    }
+
+    private void recycleChanges() {
+        for (final var changeSet : usedChanges) {
+            changeSet.clear();
+            spareChanges.push(changeSet);
+        }
+        usedChanges.clear();
+    }
+
     private A toGetterTarget(final K id) {
         return isPendingCreation(id) ? newEntity.get() : entities.getImmutableRef(id);
     }
@@ -618,7 +637,7 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A>
     }
 
     @VisibleForTesting
-    Map<K, EnumMap<P, Object>> getChanges() {
+    Map<K, PropertyChanges<A, P>> getChanges() {
         return changes;
     }
 }
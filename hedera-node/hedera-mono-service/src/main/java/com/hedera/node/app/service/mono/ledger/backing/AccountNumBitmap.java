@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.ledger.backing;
+
+import static com.hedera.node.app.service.mono.state.merkle.internals.BitPackUtils.MAX_NUM_ALLOWED;
+import static com.hedera.node.app.service.mono.state.merkle.internals.BitPackUtils.isValidNum;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A paged bitmap of account numbers, which takes one bit per number in each 8KB page that contains
+ * at least one account; instead of a boxed {@code AccountID} (plus its hash table entry) per
+ * account.
+ *
+ * <p>Adding, removing, and testing numbers are safe to do concurrently, so that the bitmap can be
+ * rebuilt by the worker threads that visit an on-disk accounts map. Pages are allocated on first
+ * use, and only released by {@link #clear()}.
+ */
+final class AccountNumBitmap {
+    static final int PAGE_SHIFT = 16;
+    private static final int WORDS_PER_PAGE = (1 << PAGE_SHIFT) / Long.SIZE;
+    private static final int MAX_PAGES = (int) ((MAX_NUM_ALLOWED + 1) >>> PAGE_SHIFT);
+
+    private final AtomicLong size = new AtomicLong();
+    private volatile AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(0);
+
+    /**
+     * Adds the given account number to the bitmap.
+     *
+     * @param num the account number
+     * @return whether the number was not already present
+     * @throws IllegalArgumentException if the number is not a valid account number
+     */
+    boolean add(final long num) {
+        if (!isValidNum(num)) {
+            throw new IllegalArgumentException("Invalid account number " + num);
+        }
+        final var page = pageFor(pageIndexOf(num));
+        final var i = wordIndexOf(num);
+        final var mask = 1L << num;
+        long word;
+        do {
+            word = page.get(i);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(i, word, word | mask));
+        size.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Removes the given account number from the bitmap, if present.
+     *
+     * @param num the account number
+     * @return whether the number was present
+     */
+    boolean remove(final long num) {
+        final var page = existingPage(num);
+        if (page == null) {
+            return false;
+        }
+        final var i = wordIndexOf(num);
+        final var mask = 1L << num;
+        long word;
+        do {
+            word = page.get(i);
+            if ((word & mask) == 0) {
+                return false;
+            }
+        } while (!page.compareAndSet(i, word, word & ~mask));
+        size.decrementAndGet();
+        return true;
+    }
+
+    boolean contains(final long num) {
+        final var page = existingPage(num);
+        return page != null && (page.get(wordIndexOf(num)) & (1L << num)) != 0;
+    }
+
+    long size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the least account number in the bitmap that is at least {@code from}; or -1 if
+     * there is no such number.
+     *
+     * @param from the least number to consider
+     * @return the next number present, or -1
+     */
+    long nextSetBit(final long from) {
+        if (from < 0) {
+            return nextSetBit(0);
+        }
+        final var dir = pages;
+        var pageIndex = pageIndexOf(from);
+        var i = wordIndexOf(from);
+        var word = -1L << from;
+        for (; pageIndex < dir.length(); pageIndex++, i = 0, word = -1L) {
+            final var page = dir.get(pageIndex);
+            if (page == null) {
+                continue;
+            }
+            for (; i < WORDS_PER_PAGE; i++, word = -1L) {
+                word &= page.get(i);
+                if (word != 0) {
+                    return ((long) pageIndex << PAGE_SHIFT)
+                            + ((long) i * Long.SIZE)
+                            + Long.numberOfTrailingZeros(word);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /** Removes all numbers from the bitmap, and releases its pages. */
+    synchronized void clear() {
+        pages = new AtomicReferenceArray<>(0);
+        size.set(0);
+    }
+
+    private AtomicLongArray existingPage(final long num) {
+        if (!isValidNum(num)) {
+            return null;
+        }
+        final var dir = pages;
+        final var pageIndex = pageIndexOf(num);
+        return pageIndex < dir.length() ? dir.get(pageIndex) : null;
+    }
+
+    private AtomicLongArray pageFor(final int pageIndex) {
+        final var dir = pages;
+        if (pageIndex < dir.length()) {
+            final var page = dir.get(pageIndex);
+            if (page != null) {
+                return page;
+            }
+        }
+        return allocatePage(pageIndex);
+    }
+
+    private synchronized AtomicLongArray allocatePage(final int pageIndex) {
+        var dir = pages;
+        if (pageIndex >= dir.length()) {
+            final var grown =
+                    new AtomicReferenceArray<AtomicLongArray>(
+                            Math.min(MAX_PAGES, Math.max(pageIndex + 1, 2 * dir.length())));
+            for (int j = 0, n = dir.length(); j < n; j++) {
+                grown.set(j, dir.get(j));
+            }
+            pages = dir = grown;
+        }
+        var page = dir.get(pageIndex);
+        if (page == null) {
+            page = new AtomicLongArray(WORDS_PER_PAGE);
+            dir.set(pageIndex, page);
+        }
+        return page;
+    }
+
+    private static int pageIndexOf(final long num) {
+        return (int) (num >>> PAGE_SHIFT);
+    }
+
+    private static int wordIndexOf(final long num) {
+        return (int) (num >>> 6) & (WORDS_PER_PAGE - 1);
+    }
+}
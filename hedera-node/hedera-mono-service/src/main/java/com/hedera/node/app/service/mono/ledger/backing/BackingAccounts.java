@@ -15,21 +15,31 @@
  */
 package com.hedera.node.app.service.mono.ledger.backing;
 
+import static com.hedera.node.app.service.mono.context.properties.StaticPropertiesHolder.STATIC_PROPERTIES;
 import static com.hedera.node.app.service.mono.utils.EntityNum.fromAccountId;
 
 import com.hedera.node.app.service.mono.state.migration.AccountStorageAdapter;
 import com.hedera.node.app.service.mono.state.migration.HederaAccount;
 import com.hedera.node.app.service.mono.state.migration.RecordsStorageAdapter;
 import com.hederahashgraph.api.proto.java.AccountID;
-import java.util.HashSet;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+/**
+ * The accounts backing store. Tracks the numbers of all accounts in state in an {@link
+ * AccountNumBitmap}, so that {@link #contains(AccountID)} never touches the accounts map; and
+ * exposes them through {@link #idSet()} as a read-only view that creates each {@link AccountID}
+ * only as it is iterated.
+ */
 @Singleton
 public class BackingAccounts implements BackingStore<AccountID, HederaAccount> {
-    private Set<AccountID> existingAccounts = new HashSet<>();
+    private final AccountNumBitmap existingAccounts = new AccountNumBitmap();
+    private final Set<AccountID> existingAccountIds = new ExistingAccountIds();
     private final Supplier<AccountStorageAdapter> delegate;
     private final Supplier<RecordsStorageAdapter> payerRecords;
 
@@ -44,7 +54,7 @@ public class BackingAccounts implements BackingStore<AccountID, HederaAccount> {
     @Override
     public void rebuildFromSources() {
         existingAccounts.clear();
-        delegate.get().forEach((num, account) -> existingAccounts.add(num.toGrpcAccountId()));
+        delegate.get().forEach((num, account) -> existingAccounts.add(num.longValue()));
     }
 
     @Override
@@ -54,22 +64,24 @@ public class BackingAccounts implements BackingStore<AccountID, HederaAccount> {
 
     @Override
     public void put(final AccountID id, final HederaAccount account) {
-        if (!existingAccounts.contains(id)) {
+        if (!contains(id)) {
             final var num = fromAccountId(id);
             delegate.get().put(num, account);
-            existingAccounts.add(id);
+            existingAccounts.add(num.longValue());
             payerRecords.get().prepForPayer(num);
         }
     }
 
     @Override
     public boolean contains(final AccountID id) {
-        return existingAccounts.contains(id);
+        return isCanonical(id) && existingAccounts.contains(id.getAccountNum());
     }
 
     @Override
     public void remove(final AccountID id) {
-        existingAccounts.remove(id);
+        if (isCanonical(id)) {
+            existingAccounts.remove(id.getAccountNum());
+        }
         final var num = fromAccountId(id);
         delegate.get().remove(num);
         payerRecords.get().forgetPayer(num);
@@ -77,7 +89,7 @@ public class BackingAccounts implements BackingStore<AccountID, HederaAccount> {
 
     @Override
     public Set<AccountID> idSet() {
-        return existingAccounts;
+        return existingAccountIds;
     }
 
     @Override
@@ -90,9 +102,53 @@ public class BackingAccounts implements BackingStore<AccountID, HederaAccount> {
         return delegate.get().get(fromAccountId(id));
     }
 
+    /**
+     * Returns whether the given id is in the form of the ids of accounts in state; that is, has
+     * this network's shard and realm, and no alias.
+     */
+    private static boolean isCanonical(final AccountID id) {
+        return id.getShardNum() == STATIC_PROPERTIES.getShard()
+                && id.getRealmNum() == STATIC_PROPERTIES.getRealm()
+                && id.getAlias().isEmpty();
+    }
+
+    private class ExistingAccountIds extends AbstractSet<AccountID> {
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof AccountID id && BackingAccounts.this.contains(id);
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(Integer.MAX_VALUE, existingAccounts.size());
+        }
+
+        @Override
+        public Iterator<AccountID> iterator() {
+            return new Iterator<>() {
+                private long next = existingAccounts.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public AccountID next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    final var id = STATIC_PROPERTIES.scopedAccountWith(next);
+                    next = existingAccounts.nextSetBit(next + 1);
+                    return id;
+                }
+            };
+        }
+    }
+
     /* ---  Only used for unit tests --- */
     Set<AccountID> getExistingAccounts() {
-        return existingAccounts;
+        return existingAccountIds;
     }
 
     public Supplier<AccountStorageAdapter> getDelegate() {
@@ -44,6 +44,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::isDeleted;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     IS_RECEIVER_SIG_REQUIRED {
         @Override
@@ -55,6 +60,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::isReceiverSigRequired;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     IS_SMART_CONTRACT {
         @Override
@@ -66,29 +76,28 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::isSmartContract;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     BALANCE {
         @Override
         @SuppressWarnings("unchecked")
         public BiConsumer<HederaAccount, Object> setter() {
             return (a, v) -> {
+                final long balance;
                 try {
-                    a.setBalance(((Number) v).longValue());
+                    balance = ((Number) v).longValue();
                 } catch (ClassCastException cce) {
                     throw new IllegalArgumentException(
                             "Wrong argument type! Argument needs to be of type int or long. Actual"
                                     + " value: "
                                     + v,
                             cce);
-                } catch (NegativeAccountBalanceException nabe) {
-                    throw new IllegalArgumentException(
-                            "Argument 'v="
-                                    + v
-                                    + "' would cause account 'a="
-                                    + a
-                                    + "' to have a negative balance!",
-                            nabe);
                 }
+                setPrimitive(a, balance);
             };
         }
 
@@ -96,6 +105,26 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getBalance;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
+
+        @Override
+        public void setPrimitive(final HederaAccount target, final long value) {
+            try {
+                target.setBalance(value);
+            } catch (NegativeAccountBalanceException nabe) {
+                throw new IllegalArgumentException(
+                        "Argument 'v="
+                                + value
+                                + "' would cause account 'a="
+                                + target
+                                + "' to have a negative balance!",
+                        nabe);
+            }
+        }
     },
     AUTO_RENEW_PERIOD {
         @Override
@@ -107,6 +136,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getAutoRenewSecs;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
     },
     EXPIRY {
         @Override
@@ -118,6 +152,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getExpiry;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
     },
     KEY {
         @Override
@@ -162,6 +201,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getNftsOwned;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
     },
     MAX_AUTOMATIC_ASSOCIATIONS {
         @Override
@@ -173,6 +217,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getMaxAutomaticAssociations;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.INT;
+        }
     },
     USED_AUTOMATIC_ASSOCIATIONS {
         @Override
@@ -184,6 +233,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getUsedAutoAssociations;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.INT;
+        }
     },
     NUM_CONTRACT_KV_PAIRS {
         @Override
@@ -195,6 +249,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getNumContractKvPairs;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.INT;
+        }
     },
     ALIAS {
         @Override
@@ -217,6 +276,16 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getEthereumNonce;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
+
+        @Override
+        public void setPrimitive(final HederaAccount target, final long value) {
+            target.setEthereumNonce(value);
+        }
     },
     CRYPTO_ALLOWANCES {
         @Override
@@ -261,6 +330,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getNumAssociations;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.INT;
+        }
     },
     NUM_POSITIVE_BALANCES {
         @Override
@@ -272,6 +346,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getNumPositiveBalances;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.INT;
+        }
     },
     FIRST_CONTRACT_STORAGE_KEY {
         @Override
@@ -294,6 +373,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getNumTreasuryTitles;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.INT;
+        }
     },
     AUTO_RENEW_ACCOUNT_ID {
         @Override
@@ -316,6 +400,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::isDeclinedReward;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     STAKED_ID {
         @Override
@@ -330,6 +419,11 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::getStakedId;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
     },
     EXPIRED_AND_PENDING_REMOVAL {
         @Override
@@ -341,5 +435,10 @@ public enum AccountProperty implements BeanProperty<HederaAccount> {
         public Function<HederaAccount, Object> getter() {
             return HederaAccount::isExpiredAndPendingRemoval;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
 }
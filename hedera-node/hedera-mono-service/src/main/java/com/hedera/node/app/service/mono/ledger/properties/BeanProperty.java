@@ -38,4 +38,25 @@ public interface BeanProperty<A> {
      * @return the getter on the target type.
      */
     Function<A, Object> getter();
+
+    /**
+     * Gets the kind of value this property holds; a property of primitive kind has its pending
+     * changes tracked without boxing.
+     *
+     * @return the value kind of the property
+     */
+    default ValueKind valueKind() {
+        return ValueKind.OBJECT;
+    }
+
+    /**
+     * Sets the property on the target from the unboxed form of its value. Properties written on
+     * hot paths override this to skip the boxing done by the default implementation.
+     *
+     * @param target the target to update
+     * @param value the unboxed value of the property
+     */
+    default void setPrimitive(final A target, final long value) {
+        setter().accept(target, valueKind().box(value));
+    }
 }
@@ -20,7 +20,8 @@ import java.util.Map;
 
 /**
  * Minimal implementation of a helper that manages summary changesets. An extension point for
- * possible future performance optimizations.
+ * performance optimizations; for now, changesets that are {@link PropertyChanges} are updated and
+ * persisted without boxing their primitive values.
  *
  * @param <A> the type of account being changed.
  * @param <P> the property family whose changesets are to be summarized.
@@ -33,8 +34,13 @@ public final class ChangeSummaryManager<A, P extends Enum<P> & BeanProperty<A>>
      * @param property the property in the family whose changeset should be updated
      * @param value the new value that summarizes the changeset
      */
+    @SuppressWarnings("unchecked")
     public void update(final Map<P, Object> changes, final P property, final Object value) {
-        changes.put(property, value);
+        if (changes instanceof PropertyChanges<?, ?>) {
+            ((PropertyChanges<A, P>) changes).set(property, value);
+        } else {
+            changes.put(property, value);
+        }
     }
 
     /**
@@ -43,8 +49,13 @@ public final class ChangeSummaryManager<A, P extends Enum<P> & BeanProperty<A>>
      * @param changes the summary of changes made to the relevant property family
      * @param account the account to receive the net changes
      */
+    @SuppressWarnings("unchecked")
     public void persist(final Map<P, Object> changes, final A account) {
-        changes.forEach((key, value) -> key.setter().accept(account, value));
+        if (changes instanceof PropertyChanges<?, ?>) {
+            ((PropertyChanges<A, P>) changes).applyTo(account);
+        } else {
+            changes.forEach((key, value) -> key.setter().accept(account, value));
+        }
     }
 
     /**
@@ -42,6 +42,16 @@ public enum NftProperty implements BeanProperty<UniqueTokenAdapter> {
         public Function<UniqueTokenAdapter, Object> getter() {
             return UniqueTokenAdapter::getPackedCreationTime;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
+
+        @Override
+        public void setPrimitive(final UniqueTokenAdapter target, final long value) {
+            target.setPackedCreationTime(value);
+        }
     },
     METADATA {
         @Override
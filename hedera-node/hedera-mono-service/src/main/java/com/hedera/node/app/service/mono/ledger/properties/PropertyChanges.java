@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.ledger.properties;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@code Map<P, Object>} specialized to hold the pending changes to a single ledger entity.
+ *
+ * <p>Changes to properties of a primitive {@link ValueKind} are kept unboxed in a {@code long[]}
+ * slot indexed by the property's ordinal, while all other changes go into a parallel {@code
+ * Object[]}; a dirty bitmask tracks which properties have changed. So unlike an {@link
+ * java.util.EnumMap}, setting a numeric property never allocates, and a cleared instance can be
+ * reused for the next transaction.
+ *
+ * <p>The map view boxes unboxed values on demand, so code that only needs a {@code Map} (commit
+ * interceptors, ledger checks) is unaffected; and {@link #applyTo(Object)} flushes the changes to
+ * an entity without boxing for properties that override {@link BeanProperty#setPrimitive(Object,
+ * long)}.
+ *
+ * @param <A> the type of entity being changed
+ * @param <P> the property family of the entity
+ */
+public final class PropertyChanges<A, P extends Enum<P> & BeanProperty<A>>
+        extends AbstractMap<P, Object> {
+    private final Class<P> propertyType;
+    private final P[] allProps;
+    private final long[] primitiveValues;
+    private final Object[] objectValues;
+
+    private long changed = 0L;
+    private long unboxed = 0L;
+
+    public PropertyChanges(final Class<P> propertyType) {
+        this.propertyType = propertyType;
+        this.allProps = propertyType.getEnumConstants();
+        if (allProps.length > Long.SIZE) {
+            throw new IllegalArgumentException(
+                    "Property family "
+                            + propertyType.getSimpleName()
+                            + " has more than "
+                            + Long.SIZE
+                            + " members");
+        }
+        this.primitiveValues = new long[allProps.length];
+        this.objectValues = new Object[allProps.length];
+    }
+
+    /**
+     * Records a change to the given property; the value is held unboxed if it is the boxed type
+     * of the property's primitive {@link ValueKind}.
+     *
+     * @param property the changed property
+     * @param value its new value
+     */
+    public void set(final P property, final Object value) {
+        final var i = property.ordinal();
+        final var mask = 1L << i;
+        final var kind = property.valueKind();
+        if (kind.accepts(value)) {
+            primitiveValues[i] = kind.unbox(value);
+            objectValues[i] = null;
+            unboxed |= mask;
+        } else {
+            objectValues[i] = value;
+            unboxed &= ~mask;
+        }
+        changed |= mask;
+    }
+
+    /**
+     * Flushes all the changes to the given entity, in property order.
+     *
+     * @param entity the entity to update
+     */
+    public void applyTo(final A entity) {
+        var pending = changed;
+        while (pending != 0L) {
+            final var i = Long.numberOfTrailingZeros(pending);
+            pending &= pending - 1;
+            final var property = allProps[i];
+            if ((unboxed & (1L << i)) != 0L) {
+                property.setPrimitive(entity, primitiveValues[i]);
+            } else {
+                property.setter().accept(entity, objectValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public Object put(final P property, final Object value) {
+        final var prior = get(property);
+        set(property, value);
+        return prior;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        return valueAt(((Enum<?>) key).ordinal());
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return propertyType.isInstance(key) && (changed & (1L << ((Enum<?>) key).ordinal())) != 0L;
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        final var i = ((Enum<?>) key).ordinal();
+        final var prior = valueAt(i);
+        final var mask = ~(1L << i);
+        objectValues[i] = null;
+        changed &= mask;
+        unboxed &= mask;
+        return prior;
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(changed);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return changed == 0L;
+    }
+
+    @Override
+    public void clear() {
+        var pending = changed & ~unboxed;
+        while (pending != 0L) {
+            objectValues[Long.numberOfTrailingZeros(pending)] = null;
+            pending &= pending - 1;
+        }
+        changed = 0L;
+        unboxed = 0L;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super P, ? super Object> action) {
+        var pending = changed;
+        while (pending != 0L) {
+            final var i = Long.numberOfTrailingZeros(pending);
+            pending &= pending - 1;
+            action.accept(allProps[i], valueAt(i));
+        }
+    }
+
+    @Override
+    public Set<Entry<P, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<P, Object>> iterator() {
+                return new Iterator<>() {
+                    private long pending = changed;
+
+                    @Override
+                    public boolean hasNext() {
+                        return pending != 0L;
+                    }
+
+                    @Override
+                    public Entry<P, Object> next() {
+                        if (pending == 0L) {
+                            throw new NoSuchElementException();
+                        }
+                        final var i = Long.numberOfTrailingZeros(pending);
+                        pending &= pending - 1;
+                        return new SimpleImmutableEntry<>(allProps[i], valueAt(i));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return PropertyChanges.this.size();
+            }
+        };
+    }
+
+    private Object valueAt(final int i) {
+        return ((unboxed & (1L << i)) != 0L)
+                ? allProps[i].valueKind().box(primitiveValues[i])
+                : objectValues[i];
+    }
+}
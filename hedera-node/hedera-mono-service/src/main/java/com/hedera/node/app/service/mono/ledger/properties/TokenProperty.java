@@ -36,6 +36,16 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::totalSupply;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
+
+        @Override
+        public void setPrimitive(final MerkleToken target, final long value) {
+            target.setTotalSupply(value);
+        }
     },
     ADMIN_KEY {
         @Override
@@ -124,6 +134,11 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::isDeleted;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     IS_PAUSED {
         @Override
@@ -135,6 +150,11 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::isPaused;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     SYMBOL {
         @Override
@@ -179,6 +199,11 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::accountsAreFrozenByDefault;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     ACC_KYC_GRANTED_BY_DEFAULT {
         @Override
@@ -190,6 +215,11 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::accountsKycGrantedByDefault;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     EXPIRY {
         @Override
@@ -201,6 +231,11 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::expiry;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
     },
     AUTO_RENEW_PERIOD {
         @Override
@@ -212,6 +247,11 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::autoRenewPeriod;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
     },
     AUTO_RENEW_ACCOUNT {
         @Override
@@ -245,6 +285,16 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::getLastUsedSerialNumber;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
+
+        @Override
+        public void setPrimitive(final MerkleToken target, final long value) {
+            target.setLastUsedSerialNumber(value);
+        }
     },
     TOKEN_TYPE {
         @Override
@@ -278,6 +328,11 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::maxSupply;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
     },
     FEE_SCHEDULE {
         @Override
@@ -300,5 +355,10 @@ public enum TokenProperty implements BeanProperty<MerkleToken> {
         public Function<MerkleToken, Object> getter() {
             return MerkleToken::decimals;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.INT;
+        }
     }
 }
@@ -30,6 +30,16 @@ public enum TokenRelProperty implements BeanProperty<HederaTokenRel> {
         public Function<HederaTokenRel, Object> getter() {
             return HederaTokenRel::getBalance;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
+
+        @Override
+        public void setPrimitive(final HederaTokenRel target, final long value) {
+            target.setBalance(value);
+        }
     },
     IS_FROZEN {
         @Override
@@ -41,6 +51,11 @@ public enum TokenRelProperty implements BeanProperty<HederaTokenRel> {
         public Function<HederaTokenRel, Object> getter() {
             return HederaTokenRel::isFrozen;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     IS_KYC_GRANTED {
         @Override
@@ -52,6 +67,11 @@ public enum TokenRelProperty implements BeanProperty<HederaTokenRel> {
         public Function<HederaTokenRel, Object> getter() {
             return HederaTokenRel::isKycGranted;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     IS_AUTOMATIC_ASSOCIATION {
         @Override
@@ -63,5 +83,10 @@ public enum TokenRelProperty implements BeanProperty<HederaTokenRel> {
         public Function<HederaTokenRel, Object> getter() {
             return HederaTokenRel::isAutomaticAssociation;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
 }
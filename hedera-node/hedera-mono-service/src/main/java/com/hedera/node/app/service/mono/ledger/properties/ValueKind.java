@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.ledger.properties;
+
+/**
+ * Classifies the values of a {@link BeanProperty}, so that a {@link PropertyChanges} can hold
+ * pending changes to primitive-valued properties in an unboxed {@code long} slot.
+ */
+public enum ValueKind {
+    OBJECT,
+    BOOLEAN,
+    INT,
+    LONG;
+
+    /**
+     * Indicates whether values of this kind can be held as an unboxed {@code long}.
+     *
+     * @return if the kind is primitive
+     */
+    public boolean isPrimitive() {
+        return this != OBJECT;
+    }
+
+    /**
+     * Indicates whether the given value is the boxed form of this kind; only such values are
+     * unboxed, so a property set with any other type of value gets that exact value back.
+     *
+     * @param value the candidate value
+     * @return if the value can be unboxed losslessly
+     */
+    public boolean accepts(final Object value) {
+        return switch (this) {
+            case BOOLEAN -> value instanceof Boolean;
+            case INT -> value instanceof Integer;
+            case LONG -> value instanceof Long;
+            case OBJECT -> false;
+        };
+    }
+
+    /**
+     * Converts an accepted value to its unboxed {@code long} form.
+     *
+     * @param value the value to unbox
+     * @return the unboxed form
+     */
+    public long unbox(final Object value) {
+        if (this == BOOLEAN) {
+            return Boolean.TRUE.equals(value) ? 1L : 0L;
+        }
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * Converts an unboxed {@code long} back to the boxed value of this kind.
+     *
+     * @param value the unboxed value
+     * @return the boxed form
+     */
+    public Object box(final long value) {
+        return switch (this) {
+            case BOOLEAN -> Boolean.valueOf(value != 0L);
+            case INT -> Integer.valueOf((int) value);
+            case LONG -> Long.valueOf(value);
+            case OBJECT -> throw new IllegalStateException("Object values are never unboxed");
+        };
+    }
+}
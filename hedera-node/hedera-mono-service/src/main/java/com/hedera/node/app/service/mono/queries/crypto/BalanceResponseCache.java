@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.queries.crypto;
+
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.GAUGE_FORMAT;
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.STAT_CATEGORY;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.utils.EntityNum;
+import com.hederahashgraph.api.proto.java.Response;
+import com.swirlds.common.metrics.Counter;
+import com.swirlds.common.metrics.DoubleGauge;
+import com.swirlds.common.system.Platform;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A node-local cache of successful {@code CryptoGetAccountBalance} responses, keyed by account
+ * number within the round of the latest signed state. Since balance queries are free and wallets
+ * poll them heavily, this lets repeated polls for an account between two signed states skip the
+ * walk over its token relationships.
+ *
+ * <p>All entries are dropped at once when a new signed state is published; so a cached answer is
+ * never more than one signed state behind the answer a fresh computation would give.
+ */
+@Singleton
+public class BalanceResponseCache {
+    static final String HITS_NAME = "balanceCacheHits";
+    static final String MISSES_NAME = "balanceCacheMisses";
+    static final String HIT_RATIO_NAME = "balanceCacheHitRatio";
+    static final String ENTRIES_NAME = "balanceCacheEntries";
+    static final String BYTES_NAME = "balanceCacheBytes";
+
+    private final boolean isEnabled;
+    private final int maxEntries;
+
+    private volatile Generation current = new Generation(-1L);
+
+    private Counter hits;
+    private Counter misses;
+    private DoubleGauge hitRatio;
+    private DoubleGauge entries;
+    private DoubleGauge bytes;
+
+    @Inject
+    public BalanceResponseCache(final NodeLocalProperties nodeLocalProperties) {
+        this.isEnabled = nodeLocalProperties.isBalanceCacheEnabled();
+        this.maxEntries = nodeLocalProperties.balanceCacheMaxEntries();
+    }
+
+    public void registerWith(final Platform platform) {
+        if (!isEnabled) {
+            return;
+        }
+        final var metrics = platform.getMetrics();
+        hits =
+                metrics.getOrCreate(
+                        new Counter.Config(STAT_CATEGORY, HITS_NAME)
+                                .withDescription("number of balance queries answered from cache"));
+        misses =
+                metrics.getOrCreate(
+                        new Counter.Config(STAT_CATEGORY, MISSES_NAME)
+                                .withDescription(
+                                        "number of balance queries that missed the cache"));
+        hitRatio = gauge(platform, HIT_RATIO_NAME, "fraction of balance queries hitting cache");
+        entries = gauge(platform, ENTRIES_NAME, "balance responses cached in last signed round");
+        bytes = gauge(platform, BYTES_NAME, "bytes of balance responses cached in last round");
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Returns the cached response for the given account, if one was computed since the latest
+     * signed state was published.
+     *
+     * @param account the account whose balance is queried
+     * @return the cached response, or null if there is none
+     */
+    @Nullable
+    public Response getIfPresent(final EntityNum account) {
+        if (!isEnabled) {
+            return null;
+        }
+        final var generation = current;
+        final var response = generation.responses.get(account);
+        if (response == null) {
+            generation.misses.increment();
+            if (misses != null) {
+                misses.increment();
+            }
+        } else {
+            generation.hits.increment();
+            if (hits != null) {
+                hits.increment();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Caches a freshly computed response for the given account, unless the cache is full.
+     *
+     * @param account the account whose balance was queried
+     * @param response the computed response
+     */
+    public void cache(final EntityNum account, final Response response) {
+        if (!isEnabled) {
+            return;
+        }
+        final var generation = current;
+        if (generation.responses.size() >= maxEntries) {
+            return;
+        }
+        if (generation.responses.putIfAbsent(account, response) == null) {
+            generation.bytes.addAndGet(response.getSerializedSize());
+        }
+    }
+
+    /**
+     * Drops all cached responses when a signed state from a later round is published, reporting
+     * the usage of the dropped entries to the cache gauges.
+     *
+     * @param round the round of the newly signed state
+     */
+    public void invalidateFor(final long round) {
+        if (!isEnabled) {
+            return;
+        }
+        final var finished = current;
+        if (round <= finished.round) {
+            return;
+        }
+        current = new Generation(round);
+        if (hitRatio != null) {
+            final var numHits = finished.hits.sum();
+            final var numLookups = numHits + finished.misses.sum();
+            hitRatio.set(numLookups == 0 ? 0.0 : (double) numHits / numLookups);
+            entries.set(finished.responses.size());
+            bytes.set(finished.bytes.get());
+        }
+    }
+
+    private DoubleGauge gauge(final Platform platform, final String name, final String desc) {
+        return platform.getMetrics()
+                .getOrCreate(
+                        new DoubleGauge.Config(STAT_CATEGORY, name)
+                                .withDescription(desc)
+                                .withFormat(GAUGE_FORMAT));
+    }
+
+    private static final class Generation {
+        private final long round;
+        private final ConcurrentHashMap<EntityNum, Response> responses = new ConcurrentHashMap<>();
+        private final AtomicLong bytes = new AtomicLong();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private Generation(final long round) {
+            this.round = round;
+        }
+    }
+
+    @VisibleForTesting
+    long currentRound() {
+        return current.round;
+    }
+
+    @VisibleForTesting
+    int currentSize() {
+        return current.responses.size();
+    }
+}
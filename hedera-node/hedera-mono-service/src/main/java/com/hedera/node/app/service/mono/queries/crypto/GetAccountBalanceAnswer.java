@@ -50,15 +50,18 @@ public class GetAccountBalanceAnswer implements AnswerService {
     private final AliasManager aliasManager;
     private final OptionValidator optionValidator;
     private final GlobalDynamicProperties dynamicProperties;
+    private final BalanceResponseCache responseCache;
 
     @Inject
     public GetAccountBalanceAnswer(
             final AliasManager aliasManager,
             final OptionValidator optionValidator,
-            final GlobalDynamicProperties dynamicProperties) {
+            final GlobalDynamicProperties dynamicProperties,
+            final BalanceResponseCache responseCache) {
         this.aliasManager = aliasManager;
         this.optionValidator = optionValidator;
         this.dynamicProperties = dynamicProperties;
+        this.responseCache = responseCache;
     }
 
     @Override
@@ -87,33 +90,43 @@ public class GetAccountBalanceAnswer implements AnswerService {
         final CryptoGetAccountBalanceQuery op = query.getCryptogetAccountBalance();
 
         final var id = targetOf(op);
+        if (validity != OK) {
+            return responseWith(
+                    CryptoGetAccountBalanceResponse.newBuilder()
+                            .setHeader(answerOnlyHeader(validity))
+                            .setAccountID(id));
+        }
+
+        final var key = EntityNum.fromAccountId(id);
+        final var cached = responseCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
         final CryptoGetAccountBalanceResponse.Builder opAnswer =
                 CryptoGetAccountBalanceResponse.newBuilder()
                         .setHeader(answerOnlyHeader(validity))
                         .setAccountID(id);
-
-        if (validity == OK) {
-            final var accounts = Objects.requireNonNull(view).accounts();
-            final var key = EntityNum.fromAccountId(id);
-            final var account = accounts.get(key);
-            opAnswer.setBalance(account.getBalance());
-            final var maxRels = dynamicProperties.maxTokensRelsPerInfoQuery();
-            final var firstRel = account.getLatestAssociation();
-            doBoundedIteration(
-                    view.tokenAssociations(),
-                    view.tokens(),
-                    firstRel,
-                    maxRels,
-                    (token, rel) ->
-                            opAnswer.addTokenBalances(
-                                    TokenBalance.newBuilder()
-                                            .setTokenId(token.grpcId())
-                                            .setDecimals(token.decimals())
-                                            .setBalance(rel.getBalance())
-                                            .build()));
-        }
-
-        return Response.newBuilder().setCryptogetAccountBalance(opAnswer).build();
+        final var accounts = Objects.requireNonNull(view).accounts();
+        final var account = accounts.get(key);
+        opAnswer.setBalance(account.getBalance());
+        final var maxRels = dynamicProperties.maxTokensRelsPerInfoQuery();
+        final var firstRel = account.getLatestAssociation();
+        doBoundedIteration(
+                view.tokenAssociations(),
+                view.tokens(),
+                firstRel,
+                maxRels,
+                (token, rel) ->
+                        opAnswer.addTokenBalances(
+                                TokenBalance.newBuilder()
+                                        .setTokenId(token.grpcId())
+                                        .setDecimals(token.decimals())
+                                        .setBalance(rel.getBalance())
+                                        .build()));
+
+        final var response = responseWith(opAnswer);
+        responseCache.cache(key, response);
+        return response;
     }
 
     @Override
@@ -160,6 +173,10 @@ public class GetAccountBalanceAnswer implements AnswerService {
         }
     }
 
+    private Response responseWith(final CryptoGetAccountBalanceResponse.Builder opAnswer) {
+        return Response.newBuilder().setCryptogetAccountBalance(opAnswer).build();
+    }
+
     @Override
     public ResponseCodeEnum extractValidityFrom(final Response response) {
         return response.getCryptogetAccountBalance().getHeader().getNodeTransactionPrecheckCode();
@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.records;
+
+import static com.hedera.node.app.service.mono.records.PackedTxnIds.canPack;
+import static com.hedera.node.app.service.mono.records.PackedTxnIds.hashOf;
+import static com.hedera.node.app.service.mono.records.PackedTxnIds.hiWordOf;
+import static com.hedera.node.app.service.mono.records.PackedTxnIds.loWordOf;
+
+import com.hedera.node.app.service.mono.state.submerkle.TxnId;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * A map from {@link TransactionID} to {@link TxnIdRecentHistory} that keeps the ids in {@link
+ * PackedTxnIds} form in an open-addressing table of primitive {@code long}s, rather than holding a
+ * protobuf key object and a hash map node for each of the (at high TPS, millions of) recent ids.
+ * Ids that cannot be packed fall back to an ordinary {@link HashMap}, so lookups always agree with
+ * {@link TransactionID#equals(Object)}.
+ *
+ * <p>Mutations are mostly made by the thread handling transactions (or the thread rebuilding this
+ * map on restart or reconnect), but lookups can come from any number of query threads. So writes
+ * take a {@link StampedLock} write lock, while reads first try an optimistic read and only fall
+ * back to a read lock if a write interleaved. As with a {@code ConcurrentHashMap}, {@link
+ * #computeIfAbsent(TransactionID, Function)} and {@link #putIfAbsent(TransactionID,
+ * TxnIdRecentHistory)} check for and insert a history atomically.
+ */
+public class PackedTxnIdHistories extends AbstractMap<TransactionID, TxnIdRecentHistory> {
+    static final int DEFAULT_INITIAL_CAPACITY = 1 << 16;
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<TransactionID, TxnIdRecentHistory> unpackable = new HashMap<>();
+    private final int initialCapacity;
+
+    private Table table;
+
+    public PackedTxnIdHistories() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    PackedTxnIdHistories(final int initialCapacity) {
+        this.initialCapacity = Integer.highestOneBit(Math.max(initialCapacity, 2) * 2 - 1);
+        this.table = new Table(this.initialCapacity);
+    }
+
+    /**
+     * Returns the history of the given submerkle id without first converting it to a {@link
+     * TransactionID}, if it can be packed.
+     *
+     * @param txnId the id of interest
+     * @return its recent history, or null if there is none
+     */
+    public TxnIdRecentHistory get(final TxnId txnId) {
+        if (canPack(txnId)) {
+            return packedGet(hiWordOf(txnId), loWordOf(txnId));
+        }
+        return get((Object) txnId.toGrpc());
+    }
+
+    /**
+     * Removes the history of the given submerkle id without first converting it to a {@link
+     * TransactionID}, if it can be packed.
+     *
+     * @param txnId the id of interest
+     * @return the removed history, or null if there was none
+     */
+    public TxnIdRecentHistory remove(final TxnId txnId) {
+        if (canPack(txnId)) {
+            final var stamp = lock.writeLock();
+            try {
+                return table.remove(hiWordOf(txnId), loWordOf(txnId));
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        return remove((Object) txnId.toGrpc());
+    }
+
+    @Override
+    public TxnIdRecentHistory get(final Object key) {
+        if (key instanceof TransactionID txnId) {
+            if (canPack(txnId)) {
+                return packedGet(hiWordOf(txnId), loWordOf(txnId));
+            }
+            final var stamp = lock.readLock();
+            try {
+                return unpackable.get(txnId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public TxnIdRecentHistory put(final TransactionID txnId, final TxnIdRecentHistory history) {
+        Objects.requireNonNull(history);
+        final var stamp = lock.writeLock();
+        try {
+            return putLocked(txnId, history);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public TxnIdRecentHistory putIfAbsent(
+            final TransactionID txnId, final TxnIdRecentHistory history) {
+        Objects.requireNonNull(history);
+        final var stamp = lock.writeLock();
+        try {
+            final var extant = getLocked(txnId);
+            if (extant != null) {
+                return extant;
+            }
+            putLocked(txnId, history);
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public TxnIdRecentHistory computeIfAbsent(
+            final TransactionID txnId,
+            final Function<? super TransactionID, ? extends TxnIdRecentHistory> factory) {
+        final var extant = get(txnId);
+        if (extant != null) {
+            return extant;
+        }
+        final var stamp = lock.writeLock();
+        try {
+            // Another thread may have inserted a history since our unlocked look-up
+            final var raced = getLocked(txnId);
+            if (raced != null) {
+                return raced;
+            }
+            final var history = factory.apply(txnId);
+            if (history != null) {
+                putLocked(txnId, history);
+            }
+            return history;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public TxnIdRecentHistory remove(final Object key) {
+        if (key instanceof TransactionID txnId) {
+            final var stamp = lock.writeLock();
+            try {
+                if (canPack(txnId)) {
+                    return table.remove(hiWordOf(txnId), loWordOf(txnId));
+                }
+                return unpackable.remove(txnId);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        final var stamp = lock.readLock();
+        try {
+            return table.size + unpackable.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        final var stamp = lock.writeLock();
+        try {
+            table = new Table(initialCapacity);
+            unpackable.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the entries in this map, with packed ids unpacked back into {@link
+     * TransactionID}s. Only intended for infrequent, whole-map traversals; changes to this map are
+     * not reflected in the returned set, and removing from the returned set is not supported.
+     *
+     * @return a snapshot of the map entries
+     */
+    @Override
+    public Set<Entry<TransactionID, TxnIdRecentHistory>> entrySet() {
+        final List<Entry<TransactionID, TxnIdRecentHistory>> entries;
+        final var stamp = lock.readLock();
+        try {
+            entries = new ArrayList<>(table.size + unpackable.size());
+            final var curTable = table;
+            for (int i = 0, n = curTable.values.length; i < n; i++) {
+                final var history = curTable.values[i];
+                if (history != null) {
+                    entries.add(
+                            new SimpleImmutableEntry<>(
+                                    PackedTxnIds.unpack(
+                                            curTable.keys[2 * i], curTable.keys[2 * i + 1]),
+                                    history));
+                }
+            }
+            unpackable.forEach(
+                    (txnId, history) -> entries.add(new SimpleImmutableEntry<>(txnId, history)));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<TransactionID, TxnIdRecentHistory>> iterator() {
+                return entries.iterator();
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    /**
+     * Returns a snapshot of the histories in this map, without unpacking their ids.
+     *
+     * @return a snapshot of the map values
+     */
+    @Override
+    public Collection<TxnIdRecentHistory> values() {
+        final List<TxnIdRecentHistory> histories;
+        final var stamp = lock.readLock();
+        try {
+            histories = new ArrayList<>(table.size + unpackable.size());
+            for (final var history : table.values) {
+                if (history != null) {
+                    histories.add(history);
+                }
+            }
+            histories.addAll(unpackable.values());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return histories;
+    }
+
+    int capacity() {
+        return table.values.length;
+    }
+
+    private TxnIdRecentHistory packedGet(final long hiWord, final long loWord) {
+        var stamp = lock.tryOptimisticRead();
+        var history = table.get(hiWord, loWord);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                history = table.get(hiWord, loWord);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return history;
+    }
+
+    private TxnIdRecentHistory getLocked(final TransactionID txnId) {
+        if (canPack(txnId)) {
+            return table.get(hiWordOf(txnId), loWordOf(txnId));
+        }
+        return unpackable.get(txnId);
+    }
+
+    private TxnIdRecentHistory putLocked(
+            final TransactionID txnId, final TxnIdRecentHistory history) {
+        if (canPack(txnId)) {
+            return putPacked(hiWordOf(txnId), loWordOf(txnId), history);
+        }
+        return unpackable.put(txnId, history);
+    }
+
+    private TxnIdRecentHistory putPacked(
+            final long hiWord, final long loWord, final TxnIdRecentHistory history) {
+        if (2 * (table.size + 1) > table.values.length) {
+            table = table.resized(2 * table.values.length);
+        }
+        return table.put(hiWord, loWord, history);
+    }
+
+    /**
+     * A linear-probing table with two {@code long} key words per slot; a slot is empty if and only
+     * if its history is null. Deletions shift later entries of a probe sequence back, so the table
+     * never needs tombstones.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final TxnIdRecentHistory[] values;
+        private final int mask;
+        private int size;
+
+        private Table(final int capacity) {
+            keys = new long[2 * capacity];
+            values = new TxnIdRecentHistory[capacity];
+            mask = capacity - 1;
+        }
+
+        private TxnIdRecentHistory get(final long hiWord, final long loWord) {
+            var i = hashOf(hiWord, loWord) & mask;
+            // Bounded by the capacity so that an optimistic read racing a write always terminates
+            for (int probes = 0; probes <= mask; probes++) {
+                final var history = values[i];
+                if (history == null) {
+                    return null;
+                }
+                if (keys[2 * i] == hiWord && keys[2 * i + 1] == loWord) {
+                    return history;
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        private TxnIdRecentHistory put(
+                final long hiWord, final long loWord, final TxnIdRecentHistory history) {
+            var i = hashOf(hiWord, loWord) & mask;
+            while (values[i] != null) {
+                if (keys[2 * i] == hiWord && keys[2 * i + 1] == loWord) {
+                    final var prev = values[i];
+                    values[i] = history;
+                    return prev;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[2 * i] = hiWord;
+            keys[2 * i + 1] = loWord;
+            values[i] = history;
+            size++;
+            return null;
+        }
+
+        private TxnIdRecentHistory remove(final long hiWord, final long loWord) {
+            var i = hashOf(hiWord, loWord) & mask;
+            while (values[i] != null) {
+                if (keys[2 * i] == hiWord && keys[2 * i + 1] == loWord) {
+                    final var prev = values[i];
+                    shiftBackFrom(i);
+                    size--;
+                    return prev;
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        private void shiftBackFrom(final int gap) {
+            var hole = gap;
+            var i = gap;
+            while (true) {
+                i = (i + 1) & mask;
+                final var history = values[i];
+                if (history == null) {
+                    values[hole] = null;
+                    return;
+                }
+                final var home = hashOf(keys[2 * i], keys[2 * i + 1]) & mask;
+                // The entry at i can fill the hole unless its home is cyclically in (hole, i]
+                final var canMove =
+                        (hole <= i) ? (home <= hole || home > i) : (home <= hole && home > i);
+                if (canMove) {
+                    keys[2 * hole] = keys[2 * i];
+                    keys[2 * hole + 1] = keys[2 * i + 1];
+                    values[hole] = history;
+                    hole = i;
+                }
+            }
+        }
+
+        private Table resized(final int newCapacity) {
+            final var bigger = new Table(newCapacity);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    bigger.put(keys[2 * i], keys[2 * i + 1], values[i]);
+                }
+            }
+            return bigger;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.records;
+
+import com.hedera.node.app.service.mono.state.submerkle.TxnId;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+
+/**
+ * Packs a {@link TransactionID} into two {@code long}s, so that indexes of recent transaction ids
+ * can be kept in primitive arrays instead of as millions of small protobuf objects.
+ *
+ * <ul>
+ *   <li>The <i>high</i> word holds the payer account number in its top 32 bits, the nonce in the
+ *       next 30 bits, then the scheduled flag, and finally a bit that is always set; so a high word
+ *       of zero can mark an empty slot.
+ *   <li>The <i>low</i> word holds the valid start seconds in its top 34 bits and the valid start
+ *       nanos in its bottom 30 bits.
+ * </ul>
+ *
+ * <p>Only ids whose packed form determines them completely can be packed; that is, ids with a
+ * {@code 0.0.X} numeric payer, a valid start, a nonce that fits in 30 bits, and no unknown fields.
+ * Callers must keep any other id in an ordinary map, so that an index built on this encoding
+ * always agrees with {@link TransactionID#equals(Object)}.
+ */
+public final class PackedTxnIds {
+    static final long MAX_PACKABLE_NUM = 0xFFFF_FFFFL;
+    static final long MAX_PACKABLE_SECONDS = (1L << 34) - 1;
+    static final int MAX_PACKABLE_NONCE = (1 << 30) - 1;
+    static final int MAX_NANOS = 999_999_999;
+
+    private static final int NANOS_BITS = 30;
+    private static final long NANOS_MASK = (1L << NANOS_BITS) - 1;
+    private static final long PRESENT_BIT = 1L;
+    private static final long SCHEDULED_BIT = 2L;
+
+    private PackedTxnIds() {
+        throw new UnsupportedOperationException("Utility Class");
+    }
+
+    public static boolean canPack(final TransactionID txnId) {
+        if (!txnId.hasAccountID()
+                || !txnId.hasTransactionValidStart()
+                || !txnId.getUnknownFields().asMap().isEmpty()) {
+            return false;
+        }
+        final var payer = txnId.getAccountID();
+        final var validStart = txnId.getTransactionValidStart();
+        return payer.getShardNum() == 0
+                && payer.getRealmNum() == 0
+                && payer.getAccountCase() == AccountID.AccountCase.ACCOUNTNUM
+                && payer.getUnknownFields().asMap().isEmpty()
+                && validStart.getUnknownFields().asMap().isEmpty()
+                && canPack(
+                        payer.getAccountNum(),
+                        validStart.getSeconds(),
+                        validStart.getNanos(),
+                        txnId.getNonce());
+    }
+
+    public static boolean canPack(final TxnId txnId) {
+        final var payer = txnId.getPayerAccount();
+        final var validStart = txnId.getValidStart();
+        return payer.shard() == 0
+                && payer.realm() == 0
+                && !validStart.isMissing()
+                && canPack(
+                        payer.num(),
+                        validStart.getSeconds(),
+                        validStart.getNanos(),
+                        txnId.getNonce());
+    }
+
+    public static long hiWordOf(final TransactionID txnId) {
+        return hiWord(txnId.getAccountID().getAccountNum(), txnId.getNonce(), txnId.getScheduled());
+    }
+
+    public static long loWordOf(final TransactionID txnId) {
+        final var validStart = txnId.getTransactionValidStart();
+        return loWord(validStart.getSeconds(), validStart.getNanos());
+    }
+
+    public static long hiWordOf(final TxnId txnId) {
+        return hiWord(txnId.getPayerAccount().num(), txnId.getNonce(), txnId.isScheduled());
+    }
+
+    public static long loWordOf(final TxnId txnId) {
+        final var validStart = txnId.getValidStart();
+        return loWord(validStart.getSeconds(), validStart.getNanos());
+    }
+
+    /**
+     * Returns the {@link TransactionID} with the given packed form.
+     *
+     * @param hiWord the high word of the packed id
+     * @param loWord the low word of the packed id
+     * @return the unpacked id
+     */
+    public static TransactionID unpack(final long hiWord, final long loWord) {
+        return TransactionID.newBuilder()
+                .setAccountID(AccountID.newBuilder().setAccountNum(hiWord >>> 32))
+                .setTransactionValidStart(
+                        Timestamp.newBuilder()
+                                .setSeconds(loWord >>> NANOS_BITS)
+                                .setNanos((int) (loWord & NANOS_MASK)))
+                .setScheduled((hiWord & SCHEDULED_BIT) != 0)
+                .setNonce((int) ((hiWord >>> 2) & MAX_PACKABLE_NONCE))
+                .build();
+    }
+
+    /**
+     * Mixes the two words of a packed id into a well-distributed hash.
+     *
+     * @param hiWord the high word of the packed id
+     * @param loWord the low word of the packed id
+     * @return a hash of the packed id
+     */
+    public static int hashOf(final long hiWord, final long loWord) {
+        var h = hiWord * 0x9E37_79B9_7F4A_7C15L + loWord;
+        h ^= h >>> 32;
+        h *= 0xD6E8_FEB8_6659_FD93L;
+        h ^= h >>> 32;
+        return (int) h;
+    }
+
+    private static boolean canPack(
+            final long num, final long seconds, final int nanos, final int nonce) {
+        return num >= 0
+                && num <= MAX_PACKABLE_NUM
+                && seconds >= 0
+                && seconds <= MAX_PACKABLE_SECONDS
+                && nanos >= 0
+                && nanos <= MAX_NANOS
+                && nonce >= 0
+                && nonce <= MAX_PACKABLE_NONCE;
+    }
+
+    private static long hiWord(final long num, final int nonce, final boolean scheduled) {
+        return (num << 32) | ((long) nonce << 2) | (scheduled ? SCHEDULED_BIT : 0L) | PRESENT_BIT;
+    }
+
+    private static long loWord(final long seconds, final int nanos) {
+        return (seconds << NANOS_BITS) | nanos;
+    }
+}
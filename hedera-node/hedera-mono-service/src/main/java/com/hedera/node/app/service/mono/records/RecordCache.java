@@ -18,7 +18,6 @@ package com.hedera.node.app.service.mono.records;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.UNKNOWN;
 
-import com.google.common.cache.Cache;
 import com.hedera.node.app.service.mono.legacy.core.jproto.TxnReceipt;
 import com.hedera.node.app.service.mono.state.EntityCreator;
 import com.hedera.node.app.service.mono.state.submerkle.ExpirableTxnRecord;
@@ -43,17 +42,15 @@ public class RecordCache {
     private static final TxnReceipt UNKNOWN_RECEIPT =
             TxnReceipt.newBuilder().setStatus(UNKNOWN.name()).build();
 
-    static final Boolean MARKER = Boolean.TRUE;
-
     private EntityCreator creator;
-    private Cache<TransactionID, Boolean> timedReceiptCache;
+    private TimedTxnIdSet preConsensusIds;
     private Map<TransactionID, TxnIdRecentHistory> histories;
 
     @Inject
     public RecordCache(
-            Cache<TransactionID, Boolean> cache, Map<TransactionID, TxnIdRecentHistory> histories) {
+            TimedTxnIdSet preConsensusIds, Map<TransactionID, TxnIdRecentHistory> histories) {
         this.histories = histories;
-        this.timedReceiptCache = cache;
+        this.preConsensusIds = preConsensusIds;
     }
 
     @Inject
@@ -62,7 +59,7 @@ public class RecordCache {
     }
 
     public void addPreConsensus(final TransactionID txnId) {
-        timedReceiptCache.put(txnId, Boolean.TRUE);
+        preConsensusIds.add(txnId);
     }
 
     void setPostConsensus(
@@ -93,7 +90,7 @@ public class RecordCache {
     }
 
     public boolean isReceiptPresent(final TransactionID txnId) {
-        return histories.containsKey(txnId) || timedReceiptCache.getIfPresent(txnId) == MARKER;
+        return histories.containsKey(txnId) || preConsensusIds.contains(txnId);
     }
 
     public TxnReceipt getPriorityReceipt(final TransactionID txnId) {
@@ -101,7 +98,7 @@ public class RecordCache {
         if (recentHistory != null) {
             return receiptFrom(recentHistory);
         }
-        return timedReceiptCache.getIfPresent(txnId) == MARKER ? UNKNOWN_RECEIPT : null;
+        return preConsensusIds.contains(txnId) ? UNKNOWN_RECEIPT : null;
     }
 
     public List<TransactionRecord> getDuplicateRecords(final TransactionID txnId) {
@@ -17,12 +17,8 @@ package com.hedera.node.app.service.mono.records;
 
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.CACHE_RECORDS_TTL;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.hedera.node.app.service.mono.context.annotations.CompositeProps;
 import com.hedera.node.app.service.mono.context.properties.PropertySource;
-import com.hederahashgraph.api.proto.java.TransactionID;
-import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.logging.log4j.LogManager;
@@ -43,10 +39,10 @@ public final class RecordCacheFactory {
         this.properties = properties;
     }
 
-    public Cache<TransactionID, Boolean> getCache() {
+    public TimedTxnIdSet getCache() {
         final var ttl = properties.getIntProperty(CACHE_RECORDS_TTL);
 
         log.info("Constructing the node-local txn id cache with ttl={}s", ttl);
-        return CacheBuilder.newBuilder().expireAfterWrite(ttl, TimeUnit.SECONDS).build();
+        return new TimedTxnIdSet(ttl);
     }
 }
@@ -15,7 +15,6 @@
  */
 package com.hedera.node.app.service.mono.records;
 
-import com.google.common.cache.Cache;
 import com.hedera.node.app.service.mono.context.annotations.StaticAccountMemo;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
@@ -32,7 +31,6 @@ import dagger.Provides;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Singleton;
 
 @Module
@@ -48,12 +46,12 @@ public interface RecordsModule {
     @Provides
     @Singleton
     static Map<TransactionID, TxnIdRecentHistory> txnHistories() {
-        return new ConcurrentHashMap<>();
+        return new PackedTxnIdHistories();
     }
 
     @Provides
     @Singleton
-    static Cache<TransactionID, Boolean> provideCache(RecordCacheFactory recordCacheFactory) {
+    static TimedTxnIdSet provideCache(RecordCacheFactory recordCacheFactory) {
         return recordCacheFactory.getCache();
     }
 
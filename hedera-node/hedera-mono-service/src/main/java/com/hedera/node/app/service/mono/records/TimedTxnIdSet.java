@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.records;
+
+import static com.hedera.node.app.service.mono.records.PackedTxnIds.canPack;
+import static com.hedera.node.app.service.mono.records.PackedTxnIds.hashOf;
+import static com.hedera.node.app.service.mono.records.PackedTxnIds.hiWordOf;
+import static com.hedera.node.app.service.mono.records.PackedTxnIds.loWordOf;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * The set of {@link TransactionID}s submitted to this node within the last {@code ttl} seconds,
+ * with the same semantics as a cache that expires entries a fixed time after they are written.
+ *
+ * <p>Packable ids are kept in time-bucketed <i>generations</i>; each generation is an
+ * open-addressing table of {@link PackedTxnIds} and their write times, covering the ids written
+ * during a bucket of {@code ttl / BUCKETS_PER_TTL} seconds. Expiry never touches individual
+ * entries; once every write in a generation is older than the ttl, the whole generation is dropped.
+ * Ids that cannot be packed are kept in an ordinary expiring cache.
+ *
+ * <p>So that concurrent writers do not all queue behind one lock, packable ids are spread over
+ * {@link #NUM_STRIPES} independent stripes by the hash of their packed form; each stripe has its
+ * own generations and its own {@link StampedLock}.
+ */
+public class TimedTxnIdSet {
+    static final int BUCKETS_PER_TTL = 4;
+    static final int MIN_GENERATION_CAPACITY = 1 << 10;
+    static final int STRIPE_BITS = 4;
+    static final int NUM_STRIPES = 1 << STRIPE_BITS;
+
+    private final long ttlNanos;
+    private final long bucketNanos;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes = new Stripe[NUM_STRIPES];
+    private final Cache<TransactionID, Boolean> unpackable;
+
+    public TimedTxnIdSet(final int ttlSecs) {
+        this(ttlSecs, System::nanoTime);
+    }
+
+    TimedTxnIdSet(final int ttlSecs, final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSecs);
+        this.bucketNanos = Math.max(1, ttlNanos / BUCKETS_PER_TTL);
+        this.unpackable =
+                CacheBuilder.newBuilder()
+                        .ticker(
+                                new Ticker() {
+                                    @Override
+                                    public long read() {
+                                        return nanoClock.getAsLong();
+                                    }
+                                })
+                        .expireAfterWrite(ttlSecs, TimeUnit.SECONDS)
+                        .build();
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Adds the given id to the set, or refreshes its write time if already present.
+     *
+     * @param txnId the id to add
+     */
+    public void add(final TransactionID txnId) {
+        if (!canPack(txnId)) {
+            unpackable.put(txnId, Boolean.TRUE);
+            return;
+        }
+        final var hiWord = hiWordOf(txnId);
+        final var loWord = loWordOf(txnId);
+        final var stripe = stripeOf(hiWord, loWord);
+        final var stamp = stripe.lock.writeLock();
+        try {
+            final var now = nanoClock.getAsLong();
+            stripe.currentGenerationAt(now).put(hiWord, loWord, now);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Indicates whether the given id was added within the last {@code ttl} seconds.
+     *
+     * @param txnId the id of interest
+     * @return whether it is in the set
+     */
+    public boolean contains(final TransactionID txnId) {
+        if (!canPack(txnId)) {
+            return unpackable.getIfPresent(txnId) != null;
+        }
+        final var hiWord = hiWordOf(txnId);
+        final var loWord = loWordOf(txnId);
+        final var now = nanoClock.getAsLong();
+        final var stripe = stripeOf(hiWord, loWord);
+        var stamp = stripe.lock.tryOptimisticRead();
+        var present = isLiveIn(stripe.generations, hiWord, loWord, now);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                present = isLiveIn(stripe.generations, hiWord, loWord, now);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Returns the largest number of generations held by any stripe.
+     *
+     * @return the most generations in a stripe
+     */
+    int numGenerations() {
+        var most = 0;
+        for (final var stripe : stripes) {
+            final var stamp = stripe.lock.readLock();
+            try {
+                most = Math.max(most, stripe.generations.length);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return most;
+    }
+
+    private Stripe stripeOf(final long hiWord, final long loWord) {
+        // Use the high bits of the hash, since generations index their tables by the low bits
+        return stripes[hashOf(hiWord, loWord) >>> (Integer.SIZE - STRIPE_BITS)];
+    }
+
+    private boolean isLiveIn(
+            final Generation[] curGenerations,
+            final long hiWord,
+            final long loWord,
+            final long now) {
+        for (final var generation : curGenerations) {
+            final var writtenAt = generation.writeTimeOf(hiWord, loWord);
+            if (writtenAt != Generation.ABSENT && now - writtenAt < ttlNanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The generations of the ids whose hashes fall in one stripe, with the lock guarding them. */
+    private final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private Generation[] generations = new Generation[0];
+
+        private Generation currentGenerationAt(final long now) {
+            var numLive = generations.length;
+            var firstLive = 0;
+            // A generation is dead once even its latest possible write is at least ttl old
+            while (firstLive < numLive
+                    && now - (generations[firstLive].bucketStart + bucketNanos - 1) >= ttlNanos) {
+                firstLive++;
+            }
+            final var newest = numLive > 0 ? generations[numLive - 1] : null;
+            if (newest != null && firstLive < numLive && now - newest.bucketStart < bucketNanos) {
+                if (firstLive > 0) {
+                    generations = Arrays.copyOfRange(generations, firstLive, numLive);
+                }
+                return newest;
+            }
+            final var capacity =
+                    newest == null ? MIN_GENERATION_CAPACITY : newest.suggestedSuccessorCapacity();
+            final var generation = new Generation(now, capacity);
+            final var next = Arrays.copyOfRange(generations, firstLive, numLive + 1);
+            next[next.length - 1] = generation;
+            generations = next;
+            return generation;
+        }
+    }
+
+    /**
+     * A linear-probing table of packed ids and their latest write times, for ids written during
+     * a single time bucket; since generations are dropped whole, it never removes entries. Each
+     * slot is three consecutive {@code long}s (high word, low word, write time) in a single array,
+     * so an optimistic reader always sees a consistent table shape.
+     */
+    private static final class Generation {
+        private static final long ABSENT = Long.MIN_VALUE;
+        private static final int SLOT_LEN = 3;
+
+        private final long bucketStart;
+        private long[] slots;
+        private int size;
+
+        private Generation(final long bucketStart, final int capacity) {
+            this.bucketStart = bucketStart;
+            this.slots = new long[SLOT_LEN * capacity];
+        }
+
+        private long writeTimeOf(final long hiWord, final long loWord) {
+            final var curSlots = slots;
+            final var mask = curSlots.length / SLOT_LEN - 1;
+            var i = hashOf(hiWord, loWord) & mask;
+            // Bounded by the capacity so that an optimistic read racing a write always terminates
+            for (int probes = 0; probes <= mask; probes++) {
+                final var at = SLOT_LEN * i;
+                final var hi = curSlots[at];
+                if (hi == 0) {
+                    return ABSENT;
+                }
+                if (hi == hiWord && curSlots[at + 1] == loWord) {
+                    return curSlots[at + 2];
+                }
+                i = (i + 1) & mask;
+            }
+            return ABSENT;
+        }
+
+        private void put(final long hiWord, final long loWord, final long writtenAt) {
+            final var capacity = slots.length / SLOT_LEN;
+            if (2 * (size + 1) > capacity) {
+                final var bigger = new long[2 * slots.length];
+                for (int at = 0; at < slots.length; at += SLOT_LEN) {
+                    if (slots[at] != 0) {
+                        insert(bigger, slots[at], slots[at + 1], slots[at + 2]);
+                    }
+                }
+                slots = bigger;
+            }
+            if (insert(slots, hiWord, loWord, writtenAt)) {
+                size++;
+            }
+        }
+
+        private static boolean insert(
+                final long[] slots, final long hiWord, final long loWord, final long writtenAt) {
+            final var mask = slots.length / SLOT_LEN - 1;
+            var i = hashOf(hiWord, loWord) & mask;
+            while (slots[SLOT_LEN * i] != 0) {
+                final var at = SLOT_LEN * i;
+                if (slots[at] == hiWord && slots[at + 1] == loWord) {
+                    slots[at + 2] = writtenAt;
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            final var at = SLOT_LEN * i;
+            slots[at + 1] = loWord;
+            slots[at + 2] = writtenAt;
+            slots[at] = hiWord;
+            return true;
+        }
+
+        private int suggestedSuccessorCapacity() {
+            return Math.max(MIN_GENERATION_CAPACITY, Integer.highestOneBit(Math.max(1, size)) * 4);
+        }
+    }
+}
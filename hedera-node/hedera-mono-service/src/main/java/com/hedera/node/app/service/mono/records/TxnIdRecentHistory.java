@@ -146,6 +146,25 @@ public class TxnIdRecentHistory {
         memory.add(unorderedRecord);
     }
 
+    /**
+     * Moves any records staged in another history of the same {@code TransactionID} into this
+     * one. Used to combine histories that were staged in parallel from disjoint sets of payer
+     * records, before calling {@link TxnIdRecentHistory#observeStaged()} once on the result.
+     *
+     * @param other a history of the same id whose staged records should be moved here
+     */
+    public void absorbStaged(final TxnIdRecentHistory other) {
+        if (other.memory == null) {
+            return;
+        }
+        if (memory == null) {
+            memory = other.memory;
+        } else {
+            memory.addAll(other.memory);
+        }
+        other.memory = null;
+    }
+
     /**
      * Replays all the records given to {@link TxnIdRecentHistory#stage} as if they had been given
      * to {@link TxnIdRecentHistory#observe(ExpirableTxnRecord, ResponseCodeEnum)} in consensus
@@ -15,18 +15,45 @@
  */
 package com.hedera.node.app.service.mono.sigs;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.node.app.service.mono.ServicesState;
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
 import com.hedera.node.app.service.mono.sigs.order.SigReqsManager;
+import com.hedera.node.app.service.mono.stats.MiscRunningAvgs;
 import com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor;
 import com.hedera.node.app.service.mono.txns.span.ExpandHandleSpan;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.system.events.Event;
+import com.swirlds.common.system.transaction.Transaction;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Expands the signatures of each transaction in an event, and submits them for asynchronous
+ * verification. When {@code sigs.parallelExpansion.isEnabled=true}, the transactions of an event
+ * are fanned out to a pool of {@code sigs.parallelExpansion.threadPoolSize} workers, with the
+ * calling thread expanding the first transaction itself; in either mode, {@link
+ * #expandAllSigs(Event, ServicesState)} only returns once every transaction in the event has been
+ * expanded. This holds even if the calling thread is interrupted, as the interrupt is only
+ * restored after every expansion has finished.
+ *
+ * <p>The pool threads are daemon threads, so they never keep the JVM alive on shutdown.
+ */
 @Singleton
 public class EventExpansion {
     private static final Logger log = LogManager.getLogger(EventExpansion.class);
@@ -35,39 +62,126 @@ public class EventExpansion {
     private final SigReqsManager sigReqsManager;
     private final ExpandHandleSpan expandHandleSpan;
     private final PrefetchProcessor prefetchProcessor;
+    private final MiscRunningAvgs runningAvgs;
+    // Null unless parallel expansion is enabled
+    private final ExecutorService expansionPool;
+
+    LongSupplier nanoClock = System::nanoTime;
 
     @Inject
     public EventExpansion(
             final Cryptography engine,
             final SigReqsManager sigReqsManager,
             final ExpandHandleSpan expandHandleSpan,
-            final PrefetchProcessor prefetchProcessor) {
+            final PrefetchProcessor prefetchProcessor,
+            final NodeLocalProperties properties,
+            final MiscRunningAvgs runningAvgs) {
         this.engine = engine;
         this.sigReqsManager = sigReqsManager;
         this.expandHandleSpan = expandHandleSpan;
         this.prefetchProcessor = prefetchProcessor;
+        this.runningAvgs = runningAvgs;
+        this.expansionPool =
+                properties.isParallelSigExpansionEnabled()
+                        ? createExecutorService(
+                                Math.max(properties.parallelSigExpansionThreadPoolSize(), 1))
+                        : null;
     }
 
-    public void expandAllSigs(final Event event, final ServicesState sourceState) {
-        event.forEachTransaction(
-                txn -> {
-                    try {
-                        final var accessor = expandHandleSpan.track(txn);
-                        // Submit the transaction for any pre-handle processing that can be
-                        // performed asynchronously; for
-                        // example, pre-fetching of contract bytecode; should start before
-                        // synchronous signature expansion
-                        prefetchProcessor.submit(accessor);
-                        sigReqsManager.expandSigs(sourceState, accessor);
-                        engine.verifyAsync(accessor.getCryptoSigs());
-                    } catch (final InvalidProtocolBufferException e) {
-                        log.warn("Event contained a non-GRPC transaction", e);
-                    } catch (final Exception race) {
-                        log.warn(
-                                "Unable to expand signatures, will be verified synchronously in"
-                                        + " handleTransaction",
-                                race);
-                    }
+    @VisibleForTesting
+    ExecutorService createExecutorService(final int threadPoolSize) {
+        final var threadNo = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                threadPoolSize,
+                threadPoolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final var thread =
+                            new Thread(runnable, "sigExpansion-" + threadNo.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
                 });
     }
+
+    public void expandAllSigs(final Event event, final ServicesState sourceState) {
+        final var start = nanoClock.getAsLong();
+        final var eventCreation = event.getTimeCreated();
+        if (expansionPool == null) {
+            event.forEachTransaction(txn -> expand(txn, eventCreation, sourceState));
+        } else {
+            expandInParallel(event, eventCreation, sourceState);
+        }
+        runningAvgs.recordSigExpansionMicrosPerEvent((nanoClock.getAsLong() - start) / 1_000);
+    }
+
+    public void shutdown() {
+        if (expansionPool != null) {
+            expansionPool.shutdownNow();
+        }
+    }
+
+    private void expandInParallel(
+            final Event event, final Instant eventCreation, final ServicesState sourceState) {
+        final List<Transaction> txns = new ArrayList<>();
+        event.forEachTransaction(txns::add);
+        final var n = txns.size();
+        final List<Future<?>> expansions = new ArrayList<>(Math.max(n - 1, 0));
+        for (int i = 1; i < n; i++) {
+            final var txn = txns.get(i);
+            try {
+                expansions.add(
+                        expansionPool.submit(() -> expand(txn, eventCreation, sourceState)));
+            } catch (final RejectedExecutionException ignore) {
+                expand(txn, eventCreation, sourceState);
+            }
+        }
+        if (n > 0) {
+            expand(txns.get(0), eventCreation, sourceState);
+        }
+        awaitAll(expansions);
+    }
+
+    private void awaitAll(final List<Future<?>> expansions) {
+        var interrupted = false;
+        for (final var expansion : expansions) {
+            while (true) {
+                try {
+                    expansion.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    // Keep waiting, so the event is never released with expansions in flight
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    log.warn("Unable to expand signatures in parallel", e.getCause());
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            log.warn("Interrupted while awaiting parallel signature expansion");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void expand(
+            final Transaction txn, final Instant eventCreation, final ServicesState sourceState) {
+        try {
+            final var accessor = expandHandleSpan.track(txn);
+            // Submit the transaction for any pre-handle processing that can be performed
+            // asynchronously; for example, pre-fetching of contract bytecode; should start
+            // before synchronous signature expansion
+            prefetchProcessor.submit(accessor, eventCreation);
+            sigReqsManager.expandSigs(sourceState, accessor);
+            engine.verifyAsync(accessor.getCryptoSigs());
+        } catch (final InvalidProtocolBufferException e) {
+            log.warn("Event contained a non-GRPC transaction", e);
+        } catch (final Exception race) {
+            log.warn(
+                    "Unable to expand signatures, will be verified synchronously in"
+                            + " handleTransaction",
+                    race);
+        }
+    }
 }
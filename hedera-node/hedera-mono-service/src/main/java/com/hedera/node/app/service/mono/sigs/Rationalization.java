@@ -30,6 +30,7 @@ import com.hedera.node.app.service.mono.sigs.order.SigRequirements;
 import com.hedera.node.app.service.mono.sigs.order.SigningOrderResult;
 import com.hedera.node.app.service.mono.sigs.sourcing.PubKeyToSigBytes;
 import com.hedera.node.app.service.mono.sigs.verification.SyncVerifier;
+import com.hedera.node.app.service.mono.sigs.verification.VerifiedSigCache;
 import com.hedera.node.app.service.mono.utils.RationalizedSigMeta;
 import com.hedera.node.app.service.mono.utils.accessors.SwirldsTxnAccessor;
 import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
@@ -47,6 +48,7 @@ public class Rationalization {
     private static final Logger log = LogManager.getLogger(Rationalization.class);
 
     private final SyncVerifier syncVerifier;
+    private final VerifiedSigCache verifiedSigCache;
     private final SigRequirements sigReqs;
     private final SigImpactHistorian sigImpactHistorian;
     private final ReusableBodySigningFactory bodySigningFactory;
@@ -68,9 +70,11 @@ public class Rationalization {
             final SyncVerifier syncVerifier,
             final SigImpactHistorian sigImpactHistorian,
             final @WorkingStateSigReqs SigRequirements sigReqs,
-            final ReusableBodySigningFactory bodySigningFactory) {
+            final ReusableBodySigningFactory bodySigningFactory,
+            final VerifiedSigCache verifiedSigCache) {
         this.sigReqs = sigReqs;
         this.syncVerifier = syncVerifier;
+        this.verifiedSigCache = verifiedSigCache;
         this.sigImpactHistorian = sigImpactHistorian;
         this.bodySigningFactory = bodySigningFactory;
     }
@@ -179,9 +183,16 @@ public class Rationalization {
             if (allVaryingMaterialEquals(candidateSigs, realSigs)) {
                 return candidateSigs;
             }
+            /* Any of these whose async verification is done may still match a rationalized sig */
+            verifiedSigCache.observe(candidateSigs);
+        }
+        /* Otherwise we must synchronously verify the signatures for the rationalized keys
+        that don't have a recently verified result */
+        final var unknownSigs = verifiedSigCache.resolveCached(realSigs);
+        if (!unknownSigs.isEmpty()) {
+            syncVerifier.verifySync(unknownSigs);
+            verifiedSigCache.observe(unknownSigs);
         }
-        /* Otherwise we must synchronously verify these signatures for the rationalized keys */
-        syncVerifier.verifySync(realSigs);
         return realSigs;
     }
 
@@ -267,6 +278,19 @@ public class Rationalization {
         this.verifiedSync = verifiedSync;
     }
 
+    public Rationalization(
+            final SyncVerifier syncVerifier,
+            final SigImpactHistorian sigImpactHistorian,
+            final SigRequirements sigReqs,
+            final ReusableBodySigningFactory bodySigningFactory) {
+        this(
+                syncVerifier,
+                sigImpactHistorian,
+                sigReqs,
+                bodySigningFactory,
+                new VerifiedSigCache(false, 0));
+    }
+
     public Rationalization(
             final SyncVerifier syncVerifier,
             final SigRequirements sigReqs,
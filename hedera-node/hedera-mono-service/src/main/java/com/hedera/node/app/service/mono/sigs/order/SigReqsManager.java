@@ -34,6 +34,7 @@ import com.hedera.node.app.service.mono.state.merkle.MerkleToken;
 import com.hedera.node.app.service.mono.utils.accessors.SwirldsTxnAccessor;
 import com.swirlds.common.system.Platform;
 import com.swirlds.common.system.events.Event;
+import java.lang.ref.WeakReference;
 import java.util.function.Function;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -56,7 +57,9 @@ import org.apache.logging.log4j.Logger;
  * the otherwise necessary step of re-expanding signatures in {@link
  * Rationalization#performFor(SwirldsTxnAccessor)}.
  *
- * <p>This class is <b>NOT</b> thread-safe.
+ * <p>Signatures may be expanded concurrently by multiple threads, as long as they all use the same
+ * source state; this is the case when {@link EventExpansion} expands the transactions of a single
+ * event in parallel.
  */
 @Singleton
 public class SigReqsManager {
@@ -73,6 +76,8 @@ public class SigReqsManager {
     private final GlobalDynamicProperties dynamicProperties;
     // Convenience wrapper for children of a given immutable state
     private final MutableStateChildren immutableChildren = new MutableStateChildren();
+    // The source state whose children were most recently loaded into immutableChildren
+    private WeakReference<ServicesState> lastSourceState = new WeakReference<>(null);
 
     private SigReqsFactory sigReqsFactory = SigRequirements::new;
     private StateChildrenLookupsFactory lookupsFactory = StateChildrenSigMetadataLookup::new;
@@ -136,12 +141,7 @@ public class SigReqsManager {
             return false;
         }
         try {
-            // Update our children (e.g., MerkleMaps and VirtualMaps) from given immutable state.
-            // Because event intake is single-threaded, there's no risk of another thread getting
-            // inconsistent results while we are doing this. Also, note that MutableStateChildren
-            // uses weak references, so we won't keep this immutable state from GC eligibility.
-            immutableChildren.updateFromImmutable(
-                    sourceState, sourceState.getTimeOfLastHandledTxn());
+            updateImmutableChildrenFrom(sourceState);
             expandFromImmutableState(accessor);
             return true;
         } catch (final Exception e) {
@@ -150,19 +150,36 @@ public class SigReqsManager {
         }
     }
 
+    /**
+     * Updates our children (e.g., MerkleMaps and VirtualMaps) from the given immutable state,
+     * unless they were already loaded from it. Because all threads expanding concurrently use the
+     * same source state, no thread can get inconsistent results while we are doing this. Also, note
+     * that MutableStateChildren uses weak references, so we won't keep this immutable state from GC
+     * eligibility.
+     *
+     * @param sourceState the immutable state to use for signature expansion
+     */
+    private synchronized void updateImmutableChildrenFrom(final ServicesState sourceState) {
+        if (lastSourceState.get() != sourceState) {
+            immutableChildren.updateFromImmutable(
+                    sourceState, sourceState.getTimeOfLastHandledTxn());
+            lastSourceState = new WeakReference<>(sourceState);
+        }
+    }
+
     private void expandFromImmutableState(final SwirldsTxnAccessor accessor) {
         ensureImmutableStateSigReqsIsConstructed();
         expansionHelper.expandIn(accessor, immutableSigReqs, accessor.getPkToSigsFn());
     }
 
-    private void ensureWorkingStateSigReqsIsConstructed() {
+    private synchronized void ensureWorkingStateSigReqsIsConstructed() {
         if (workingSigReqs == null) {
             final var lookup = lookupsFactory.from(fileNumbers, workingState, TOKEN_META_TRANSFORM);
             workingSigReqs = sigReqsFactory.from(lookup, signatureWaivers);
         }
     }
 
-    private void ensureImmutableStateSigReqsIsConstructed() {
+    private synchronized void ensureImmutableStateSigReqsIsConstructed() {
         if (immutableSigReqs == null) {
             final var lookup =
                     lookupsFactory.from(fileNumbers, immutableChildren, TOKEN_META_TRANSFORM);
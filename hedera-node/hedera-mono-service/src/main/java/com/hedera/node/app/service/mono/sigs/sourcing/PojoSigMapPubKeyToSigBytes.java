@@ -20,6 +20,7 @@ import com.hedera.node.app.service.mono.legacy.exception.KeyPrefixMismatchExcept
 import com.hederahashgraph.api.proto.java.SignatureMap;
 import com.swirlds.common.utility.CommonUtils;
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * A source of cryptographic signatures backed by a {@link SignatureMap} instance.
@@ -31,12 +32,25 @@ import java.util.Arrays;
  * <p>However, this would be a mistake, since with e.g. Hedera threshold keys it is quite possible
  * for a Hedera key to be active even if some number of its constituent simple keys lack a valid
  * signature.
+ *
+ * <p>For a signature map with more than a handful of pairs, the first lookup builds a prefix index;
+ * that is, for each distinct prefix length, the indices of the pairs with that length sorted by
+ * their prefix bytes. Each later lookup is then a binary search per distinct length (usually just
+ * one or two) rather than a scan of every pair, which keeps the signing requirements of keys with
+ * many members from becoming quadratic. Whenever the index finds more than one matching prefix, we
+ * repeat the lookup with a linear scan, so the {@link KeyPrefixMismatchException} for an ambiguous
+ * map is exactly the same either way.
  */
 public class PojoSigMapPubKeyToSigBytes implements PubKeyToSigBytes {
     private static final int MISSING_SIG_BYTES_INDEX = -1;
+    static final int MIN_PAIRS_TO_INDEX = 8;
 
     private final PojoSigMap pojoSigMap;
     private final boolean[] used;
+    // Built on the first lookup in a large enough map; distinct prefix lengths in ascending order,
+    // and for each, the indices of the pairs with a prefix of that length sorted by prefix
+    private int[] prefixLengths;
+    private int[][] sortedIndicesByLength;
 
     public PojoSigMapPubKeyToSigBytes(SignatureMap sigMap) {
         pojoSigMap = PojoSigMap.fromGrpc(sigMap);
@@ -45,6 +59,38 @@ public class PojoSigMapPubKeyToSigBytes implements PubKeyToSigBytes {
 
     @Override
     public byte[] sigBytesFor(byte[] pubKey) throws KeyPrefixMismatchException {
+        if (pojoSigMap.numSigsPairs() < MIN_PAIRS_TO_INDEX) {
+            return linearSigBytesFor(pubKey);
+        }
+        if (prefixLengths == null) {
+            buildPrefixIndex();
+        }
+        var chosenSigBytesIndex = MISSING_SIG_BYTES_INDEX;
+        for (int l = 0; l < prefixLengths.length && prefixLengths[l] <= pubKey.length; l++) {
+            final var sortedIndices = sortedIndicesByLength[l];
+            final var len = prefixLengths[l];
+            final var pos = search(sortedIndices, pubKey, len);
+            if (pos < 0) {
+                continue;
+            }
+            final var isAmbiguous =
+                    chosenSigBytesIndex != MISSING_SIG_BYTES_INDEX
+                            || (pos > 0 && compare(sortedIndices[pos - 1], pubKey, len) == 0)
+                            || (pos < sortedIndices.length - 1
+                                    && compare(sortedIndices[pos + 1], pubKey, len) == 0);
+            if (isAmbiguous) {
+                return linearSigBytesFor(pubKey);
+            }
+            chosenSigBytesIndex = sortedIndices[pos];
+        }
+        if (chosenSigBytesIndex == MISSING_SIG_BYTES_INDEX) {
+            return EMPTY_SIG;
+        }
+        used[chosenSigBytesIndex] = true;
+        return pojoSigMap.primitiveSignature(chosenSigBytesIndex);
+    }
+
+    private byte[] linearSigBytesFor(byte[] pubKey) throws KeyPrefixMismatchException {
         var chosenSigBytesIndex = MISSING_SIG_BYTES_INDEX;
         byte[] sigBytes = EMPTY_SIG;
         for (int i = 0, n = pojoSigMap.numSigsPairs(); i < n; i++) {
@@ -97,6 +143,56 @@ public class PojoSigMapPubKeyToSigBytes implements PubKeyToSigBytes {
         }
     }
 
+    private void buildPrefixIndex() {
+        final var n = pojoSigMap.numSigsPairs();
+        prefixLengths =
+                IntStream.range(0, n)
+                        .map(i -> pojoSigMap.pubKeyPrefix(i).length)
+                        .distinct()
+                        .sorted()
+                        .toArray();
+        sortedIndicesByLength = new int[prefixLengths.length][];
+        for (int l = 0; l < prefixLengths.length; l++) {
+            final var len = prefixLengths[l];
+            sortedIndicesByLength[l] =
+                    IntStream.range(0, n)
+                            .filter(i -> pojoSigMap.pubKeyPrefix(i).length == len)
+                            .boxed()
+                            .sorted(
+                                    (a, b) ->
+                                            Arrays.compareUnsigned(
+                                                    pojoSigMap.pubKeyPrefix(a),
+                                                    pojoSigMap.pubKeyPrefix(b)))
+                            .mapToInt(Integer::intValue)
+                            .toArray();
+        }
+    }
+
+    /**
+     * Binary searches the given indices of pairs whose prefixes all have length {@code len} for
+     * one whose prefix is the first {@code len} bytes of the given public key.
+     */
+    private int search(final int[] sortedIndices, final byte[] pubKey, final int len) {
+        int lo = 0;
+        int hi = sortedIndices.length - 1;
+        while (lo <= hi) {
+            final var mid = (lo + hi) >>> 1;
+            final var cmp = compare(sortedIndices[mid], pubKey, len);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(final int i, final byte[] pubKey, final int len) {
+        return Arrays.compareUnsigned(pojoSigMap.pubKeyPrefix(i), 0, len, pubKey, 0, len);
+    }
+
     public static boolean beginsWith(byte[] pubKey, byte[] prefix) {
         if (pubKey.length < prefix.length) {
             return false;
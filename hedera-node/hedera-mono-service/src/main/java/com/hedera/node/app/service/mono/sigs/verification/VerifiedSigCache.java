@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.sigs.verification;
+
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.GAUGE_FORMAT;
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.STAT_CATEGORY;
+import static com.swirlds.common.crypto.VerificationStatus.INVALID;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.VerificationStatus;
+import com.swirlds.common.metrics.Counter;
+import com.swirlds.common.metrics.DoubleGauge;
+import com.swirlds.common.system.Platform;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A bounded, node-local cache of signature verification results, keyed by a SHA-256 digest of
+ * each signature's type, expanded public key, signature bytes, and message. Since a signature's
+ * validity depends on nothing else, {@link com.hedera.node.app.service.mono.sigs.Rationalization}
+ * can use a cached result in place of a synchronous verification; for example, when a scheduled
+ * transaction or a {@code ScheduleSign} needs a signature that was already verified while
+ * expanding the same transaction, or a recent one.
+ *
+ * <p>The least recently used entry is evicted once the cache is full. All methods are meant to be
+ * called from the thread handling transactions.
+ */
+@Singleton
+public class VerifiedSigCache {
+    static final String HITS_NAME = "verifiedSigCacheHits";
+    static final String MISSES_NAME = "verifiedSigCacheMisses";
+    static final String HIT_RATIO_NAME = "verifiedSigCacheHitRatio";
+    static final String SYNC_AVOIDED_NAME = "syncSigVerificationsAvoided";
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final boolean isEnabled;
+    private final Map<Digest, VerificationStatus> results;
+    private final MessageDigest sha256;
+
+    private long numHits;
+    private long numLookups;
+    private Counter hits;
+    private Counter misses;
+    private Counter syncAvoided;
+    private DoubleGauge hitRatio;
+
+    @Inject
+    public VerifiedSigCache(final NodeLocalProperties nodeLocalProperties) {
+        this(
+                nodeLocalProperties.isVerifiedSigCacheEnabled(),
+                nodeLocalProperties.verifiedSigCacheMaxEntries());
+    }
+
+    public VerifiedSigCache(final boolean isEnabled, final int maxEntries) {
+        this.isEnabled = isEnabled && maxEntries > 0;
+        this.results =
+                new LinkedHashMap<>((int) (maxEntries / LOAD_FACTOR) + 1, LOAD_FACTOR, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            final Map.Entry<Digest, VerificationStatus> eldest) {
+                        return size() > maxEntries;
+                    }
+                };
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException fatal) {
+            throw new IllegalStateException(fatal);
+        }
+    }
+
+    public void registerWith(final Platform platform) {
+        if (!isEnabled) {
+            return;
+        }
+        final var metrics = platform.getMetrics();
+        hits =
+                metrics.getOrCreate(
+                        new Counter.Config(STAT_CATEGORY, HITS_NAME)
+                                .withDescription("number of signatures found in verified cache"));
+        misses =
+                metrics.getOrCreate(
+                        new Counter.Config(STAT_CATEGORY, MISSES_NAME)
+                                .withDescription(
+                                        "number of signatures missing from verified cache"));
+        syncAvoided =
+                metrics.getOrCreate(
+                        new Counter.Config(STAT_CATEGORY, SYNC_AVOIDED_NAME)
+                                .withDescription(
+                                        "number of synchronous signature verifications avoided"));
+        hitRatio =
+                metrics.getOrCreate(
+                        new DoubleGauge.Config(STAT_CATEGORY, HIT_RATIO_NAME)
+                                .withDescription("fraction of signatures found in verified cache")
+                                .withFormat(GAUGE_FORMAT));
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Caches the result of each given signature whose verification has finished.
+     *
+     * @param sigs signatures that may have been verified
+     */
+    public void observe(final List<TransactionSignature> sigs) {
+        if (!isEnabled) {
+            return;
+        }
+        for (final var sig : sigs) {
+            final var status = sig.getSignatureStatus();
+            if (status == VALID || status == INVALID) {
+                results.put(digestOf(sig), status);
+            }
+        }
+    }
+
+    /**
+     * Sets the status of each given signature with a cached result, and returns the signatures
+     * that still need verification; if no signature has a cached result (or the cache is
+     * disabled), returns the given list itself.
+     *
+     * @param sigs signatures to be verified
+     * @return the signatures without a cached result
+     */
+    public List<TransactionSignature> resolveCached(final List<TransactionSignature> sigs) {
+        if (!isEnabled) {
+            return sigs;
+        }
+        List<TransactionSignature> unresolved = null;
+        for (int i = 0, n = sigs.size(); i < n; i++) {
+            final var sig = sigs.get(i);
+            final var status = results.get(digestOf(sig));
+            if (status != null) {
+                sig.setSignatureStatus(status);
+                if (unresolved == null) {
+                    unresolved = new ArrayList<>(sigs.subList(0, i));
+                }
+            } else if (unresolved != null) {
+                unresolved.add(sig);
+            }
+        }
+        final var numResolved = (unresolved == null) ? 0 : sigs.size() - unresolved.size();
+        recordLookups(sigs.size(), numResolved);
+        return (unresolved == null) ? sigs : unresolved;
+    }
+
+    private void recordLookups(final int n, final int numResolved) {
+        numLookups += n;
+        numHits += numResolved;
+        if (hits != null) {
+            hits.add(numResolved);
+            misses.add((long) n - numResolved);
+            syncAvoided.add(numResolved);
+            hitRatio.set(numLookups == 0 ? 0.0 : (double) numHits / numLookups);
+        }
+    }
+
+    private Digest digestOf(final TransactionSignature sig) {
+        final var contents = sig.getContentsDirect();
+        sha256.reset();
+        sha256.update((byte) sig.getSignatureType().ordinal());
+        final var expandedPubKey = sig.getExpandedPublicKeyDirect();
+        if (expandedPubKey != null) {
+            sha256.update(expandedPubKey);
+        } else {
+            sha256.update(contents, sig.getPublicKeyOffset(), sig.getPublicKeyLength());
+        }
+        sha256.update(contents, sig.getSignatureOffset(), sig.getSignatureLength());
+        sha256.update(contents, sig.getMessageOffset(), sig.getMessageLength());
+        final var buffer = ByteBuffer.wrap(sha256.digest());
+        return new Digest(
+                buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    private record Digest(long a, long b, long c, long d) {}
+
+    @VisibleForTesting
+    int size() {
+        return results.size();
+    }
+}
@@ -15,6 +15,10 @@
  */
 package com.hedera.node.app.service.mono.state.expiry;
 
+import static com.hedera.node.app.service.mono.context.properties.ExpiryIndexMode.OFF;
+import static com.hedera.node.app.service.mono.context.properties.ExpiryIndexMode.ON;
+import static com.hedera.node.app.service.mono.context.properties.ExpiryIndexMode.VERIFY;
+import static com.hedera.node.app.service.mono.state.expiry.EntityExpiryIndex.NO_DUE_NUM;
 import static com.hedera.node.app.service.mono.state.tasks.SystemTaskResult.DONE;
 import static com.hedera.node.app.service.mono.state.tasks.SystemTaskResult.NEEDS_DIFFERENT_CONTEXT;
 import static com.hedera.node.app.service.mono.state.tasks.SystemTaskResult.NOTHING_TO_DO;
@@ -49,6 +53,7 @@ public class EntityAutoExpiry {
     private final Supplier<SequenceNumber> seqNo;
     private final ConsensusTimeTracker consensusTimeTracker;
     private final ExpiryStats expiryStats;
+    private final EntityExpiryIndex expiryIndex;
 
     private int maxIdsToScan;
     private int maxEntitiesToProcess;
@@ -64,8 +69,10 @@ public class EntityAutoExpiry {
             final NetworkCtxManager networkCtxManager,
             final Supplier<MerkleNetworkContext> networkCtx,
             final ConsensusTimeTracker consensusTimeTracker,
-            final Supplier<SequenceNumber> seqNo) {
+            final Supplier<SequenceNumber> seqNo,
+            final EntityExpiryIndex expiryIndex) {
         this.seqNo = seqNo;
+        this.expiryIndex = expiryIndex;
         this.expiryStats = expiryStats;
         this.networkCtx = networkCtx;
         this.recordsHistorian = recordsHistorian;
@@ -100,6 +107,19 @@ public class EntityAutoExpiry {
             curNetworkCtx.clearAutoRenewSummaryCounts();
         }
 
+        final var indexMode = dynamicProps.expiryIndexMode();
+        if (indexMode != OFF) {
+            expiryIndex.advanceTo(now, wrapNum);
+        }
+        // Until every pre-upgrade entity has been scanned, other system tasks still need
+        // to visit each entity number, so we can only jump between expired accounts after
+        if (indexMode == ON
+                && expiryIndex.isReady()
+                && curNetworkCtx.areAllPreUpgradeEntitiesScanned()) {
+            processIndexed(now, wrapNum, curNetworkCtx);
+            return;
+        }
+
         int idsScanned = 0;
         int entitiesProcessed = 0;
         long scanNum = curNetworkCtx.lastScannedEntity();
@@ -109,6 +129,53 @@ public class EntityAutoExpiry {
             if (advanceScan) {
                 scanNum = next(scanNum, wrapNum);
                 idsScanned++;
+                if (indexMode == VERIFY) {
+                    expiryIndex.verify(scanNum, now);
+                }
+            }
+            result = taskManager.process(scanNum, now, curNetworkCtx);
+            if (result == NOTHING_TO_DO) {
+                advanceScan = true;
+            } else {
+                advanceScan = (result == DONE);
+                if (advanceScan) {
+                    entitiesProcessed++;
+                }
+            }
+        }
+
+        curNetworkCtx.updateAutoRenewSummaryCounts(idsScanned, entitiesProcessed);
+        curNetworkCtx.updateLastScannedEntity(advanceScan ? scanNum : scanNum - 1);
+    }
+
+    /**
+     * Visits only the accounts the expiry index reports as expired, starting after the last
+     * scanned entity and stopping after at most one full cycle through the expired accounts.
+     */
+    private void processIndexed(
+            final Instant now, final long wrapNum, final MerkleNetworkContext curNetworkCtx) {
+        int idsScanned = 0;
+        int entitiesProcessed = 0;
+        final long startNum = curNetworkCtx.lastScannedEntity();
+        long scanNum = startNum;
+        int wraps = 0;
+        boolean advanceScan = true;
+        SystemTaskResult result = null;
+        while (canContinueGiven(result, idsScanned, entitiesProcessed)) {
+            if (advanceScan) {
+                final var dueNum =
+                        expiryIndex.nextDueAfter(scanNum, firstEntityToScan, wrapNum, now);
+                if (dueNum == NO_DUE_NUM) {
+                    break;
+                }
+                if (dueNum <= scanNum) {
+                    wraps++;
+                }
+                if (wraps > 1 || (wraps == 1 && dueNum > startNum)) {
+                    break;
+                }
+                scanNum = dueNum;
+                idsScanned++;
             }
             result = taskManager.process(scanNum, now, curNetworkCtx);
             if (result == NOTHING_TO_DO) {
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.expiry;
+
+import com.hedera.node.app.service.mono.state.expiry.classification.EntityLookup;
+import com.hedera.node.app.service.mono.utils.EntityNum;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.TreeMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+
+/**
+ * An in-memory index of account expiration times, used by {@link EntityAutoExpiry} to jump
+ * directly to the accounts that are due for renewal or removal instead of scanning every entity
+ * number in turn.
+ *
+ * <p>The index is derived from state. It is rebuilt from the accounts map during store
+ * initialization (see {@link #beginRebuild()}, {@link #include(long, long)}, and {@link
+ * #finishRebuild(long)}); and afterwards catches up with newly created entity numbers lazily,
+ * since these are allocated monotonically.
+ *
+ * <p>Every indexed expiry is a <i>lower bound</i> on the account's actual expiry. Since an
+ * account's expiry can only move forward, an entry never needs to be updated when the expiry is
+ * extended; instead, each candidate returned by {@link #nextDueAfter(long, long, long, Instant)}
+ * is checked against state, and re-indexed at its actual expiry if it is not due after all. So
+ * the sequence of numbers returned by the index depends only on state, and not on when this node
+ * last rebuilt its index.
+ *
+ * <p>Entries are grouped in hour-long buckets until their bucket is reached, and by exact second
+ * thereafter; expired numbers are tracked in a {@link BitSet}.
+ */
+@Singleton
+public class EntityExpiryIndex {
+    private static final Logger log = LogManager.getLogger(EntityExpiryIndex.class);
+
+    static final long BUCKET_SECS = 3600L;
+    static final long NO_DUE_NUM = -1L;
+
+    private final EntityLookup lookup;
+
+    private final BitSet due = new BitSet();
+    private final TreeMap<Long, IntArrayList> buckets = new TreeMap<>();
+    private final TreeMap<Long, IntArrayList> imminent = new TreeMap<>();
+
+    private boolean ready = false;
+    private long lastNow = Long.MIN_VALUE;
+    private long lastBucket = Long.MIN_VALUE;
+    private long coveredUntil;
+
+    @Inject
+    public EntityExpiryIndex(final EntityLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    /** Discards all indexed expiries in preparation for a rebuild from the accounts map. */
+    public void beginRebuild() {
+        ready = false;
+        due.clear();
+        buckets.clear();
+        imminent.clear();
+        lastNow = Long.MIN_VALUE;
+        lastBucket = Long.MIN_VALUE;
+    }
+
+    /**
+     * Marks the rebuild complete; all entity numbers below the given next sequence number have
+     * now been considered.
+     *
+     * @param nextSeqNo the next entity number to be allocated
+     */
+    public void finishRebuild(final long nextSeqNo) {
+        coveredUntil = nextSeqNo;
+        ready = true;
+        log.info("Expiry index rebuilt for {} entity numbers", nextSeqNo);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes the given account number at the given expiry, which must be no later than the
+     * account's actual expiry.
+     *
+     * @param num the account number
+     * @param expiry a lower bound on its expiry
+     */
+    public void include(final long num, final long expiry) {
+        if (!isIndexable(num)) {
+            return;
+        }
+        final var intNum = (int) num;
+        if (expiry <= lastNow) {
+            due.set(intNum);
+        } else if (bucketOf(expiry) <= lastBucket) {
+            imminent.computeIfAbsent(expiry, ignore -> new IntArrayList()).add(intNum);
+        } else {
+            buckets.computeIfAbsent(bucketOf(expiry), ignore -> new IntArrayList()).add(intNum);
+        }
+    }
+
+    /**
+     * Brings the index up to date with the given consensus time, first indexing any entity
+     * numbers created since the last call; and then marking as due every number whose indexed
+     * expiry is no later than {@code now}.
+     *
+     * @param now the current consensus time
+     * @param wrapNum the next entity number to be allocated
+     */
+    public void advanceTo(final Instant now, final long wrapNum) {
+        if (!ready) {
+            return;
+        }
+        for (; coveredUntil < wrapNum; coveredUntil++) {
+            final var account = lookup.getImmutableAccount(EntityNum.fromLong(coveredUntil));
+            if (account != null) {
+                include(coveredUntil, account.getExpiry());
+            }
+        }
+
+        final var longNow = now.getEpochSecond();
+        if (longNow <= lastNow) {
+            return;
+        }
+        lastNow = longNow;
+        lastBucket = bucketOf(longNow);
+        // Everything in a bucket we have reached is a due candidate; those not yet
+        // expired are re-indexed by exact second when checked in nextDueAfter()
+        while (!buckets.isEmpty() && buckets.firstKey() <= lastBucket) {
+            markDue(buckets.pollFirstEntry().getValue());
+        }
+        while (!imminent.isEmpty() && imminent.firstKey() <= longNow) {
+            markDue(imminent.pollFirstEntry().getValue());
+        }
+    }
+
+    /**
+     * Returns the first account number after {@code scanNum} (wrapping from {@code wrapNum} back
+     * to {@code firstNum}) that has expired as of {@code now}; or {@link #NO_DUE_NUM} if there is
+     * no such account.
+     *
+     * @param scanNum the last number visited
+     * @param firstNum the first number eligible for auto-expiry
+     * @param wrapNum the next entity number to be allocated
+     * @param now the current consensus time
+     * @return the next expired account number, or {@code NO_DUE_NUM}
+     */
+    public long nextDueAfter(
+            final long scanNum, final long firstNum, final long wrapNum, final Instant now) {
+        final var longNow = now.getEpochSecond();
+        final var from = (int) Math.max(firstNum, Math.min(scanNum + 1, Integer.MAX_VALUE));
+        var candidate = nextCandidate(from, wrapNum, longNow);
+        if (candidate == NO_DUE_NUM && from > firstNum) {
+            candidate = nextCandidate((int) firstNum, wrapNum, longNow);
+        }
+        return candidate;
+    }
+
+    /**
+     * Checks that the index agrees with state about whether the given account number has expired;
+     * that is, that every expired account is marked due. Logs a warning on disagreement.
+     *
+     * @param num the account number just scanned
+     * @param now the current consensus time
+     * @return whether the index agrees with state
+     */
+    public boolean verify(final long num, final Instant now) {
+        if (!ready || !isIndexable(num)) {
+            return true;
+        }
+        final var account = lookup.getImmutableAccount(EntityNum.fromLong(num));
+        if (account == null
+                || account.getExpiry() > now.getEpochSecond()
+                || due.get((int) num)) {
+            return true;
+        }
+        log.warn(
+                "Expiry index missed account 0.0.{} (expiry {}) at {}",
+                num,
+                account.getExpiry(),
+                now);
+        return false;
+    }
+
+    private long nextCandidate(final int from, final long wrapNum, final long longNow) {
+        for (int num = due.nextSetBit(from); num >= 0 && num < wrapNum; ) {
+            final var account = lookup.getImmutableAccount(EntityNum.fromInt(num));
+            if (account != null && account.getExpiry() <= longNow) {
+                return num;
+            }
+            due.clear(num);
+            if (account != null) {
+                include(num, account.getExpiry());
+            }
+            num = due.nextSetBit(num + 1);
+        }
+        return NO_DUE_NUM;
+    }
+
+    private static boolean isIndexable(final long num) {
+        return num >= 0 && num < Integer.MAX_VALUE;
+    }
+
+    private void markDue(final IntArrayList nums) {
+        nums.forEach(due::set);
+    }
+
+    private static long bucketOf(final long expiry) {
+        return Math.floorDiv(expiry, BUCKET_SECS);
+    }
+
+    int numDue() {
+        return due.cardinality();
+    }
+}
@@ -23,20 +23,28 @@ import com.hedera.node.app.service.mono.records.TxnIdRecentHistory;
 import com.hedera.node.app.service.mono.state.migration.RecordsStorageAdapter;
 import com.hedera.node.app.service.mono.state.submerkle.EntityId;
 import com.hedera.node.app.service.mono.state.submerkle.ExpirableTxnRecord;
+import com.hedera.node.app.service.mono.stats.ExpiryStats;
 import com.hedera.node.app.service.mono.utils.EntityNum;
 import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.TransactionID;
 import com.swirlds.fcqueue.FCQueue;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
 
 /**
  * Manager of two queues of expiration events---one for payer records, one for schedule entities.
@@ -50,6 +58,18 @@ import org.apache.commons.lang3.tuple.Pair;
  */
 @Singleton
 public class ExpiryManager {
+    private static final Logger log = LogManager.getLogger(ExpiryManager.class);
+
+    static final int DEFAULT_PAYERS_PER_SHARD = 1_024;
+    static final int DEFAULT_HISTORIES_PER_SHARD = 4_096;
+
+    /* To sort (expiry, payer number) pairs as single primitive longs, we pack the expiry into the
+    high bits and the number into the low bits; this preserves the required ordering by expiry,
+    then number, for all realistic expiries and numbers. */
+    private static final int NUM_BITS = 30;
+    private static final long MAX_PACKABLE_NUM = (1L << NUM_BITS) - 1;
+    private static final long MAX_PACKABLE_EXPIRY = (1L << (Long.SIZE - 1 - NUM_BITS)) - 1;
+
     /* Since the key in Pair<Long, Consumer<EntityId>> is the schedule entity number---and
     entity numbers are unique---the downstream comparator below will guarantee a fixed
     ordering for ExpiryEvents with the same expiry. The reason for different scheduled entities having
@@ -60,7 +80,11 @@ public class ExpiryManager {
 
     private final long shard;
     private final long realm;
+    private final int parallelism;
+    private final int payersPerShard;
+    private final int historiesPerShard;
 
+    private final ExpiryStats expiryStats;
     private final SigImpactHistorian sigImpactHistorian;
     private final Map<TransactionID, TxnIdRecentHistory> txnHistories;
     private final Supplier<RecordsStorageAdapter> payerRecords;
@@ -75,10 +99,35 @@ public class ExpiryManager {
             final HederaNumbers hederaNums,
             final SigImpactHistorian sigImpactHistorian,
             final Map<TransactionID, TxnIdRecentHistory> txnHistories,
-            final Supplier<RecordsStorageAdapter> payerRecords) {
+            final Supplier<RecordsStorageAdapter> payerRecords,
+            final ExpiryStats expiryStats) {
+        this(
+                hederaNums,
+                sigImpactHistorian,
+                txnHistories,
+                payerRecords,
+                expiryStats,
+                Runtime.getRuntime().availableProcessors(),
+                DEFAULT_PAYERS_PER_SHARD,
+                DEFAULT_HISTORIES_PER_SHARD);
+    }
+
+    ExpiryManager(
+            final HederaNumbers hederaNums,
+            final SigImpactHistorian sigImpactHistorian,
+            final Map<TransactionID, TxnIdRecentHistory> txnHistories,
+            final Supplier<RecordsStorageAdapter> payerRecords,
+            final ExpiryStats expiryStats,
+            final int parallelism,
+            final int payersPerShard,
+            final int historiesPerShard) {
+        this.expiryStats = expiryStats;
         this.payerRecords = payerRecords;
         this.txnHistories = txnHistories;
         this.sigImpactHistorian = sigImpactHistorian;
+        this.parallelism = parallelism;
+        this.payersPerShard = payersPerShard;
+        this.historiesPerShard = historiesPerShard;
 
         this.shard = hederaNums.shard();
         this.realm = hederaNums.realm();
@@ -113,23 +162,74 @@ public class ExpiryManager {
      * <p><b>IMPORTANT:</b> As a side-effect, this method re-stages the injected {@code
      * txnHistories} map with the recent histories of the {@link TransactionID}s from records in
      * state.
+     *
+     * <p>Since this can mean hundreds of thousands of records after a reconnect at high TPS, the
+     * payers are split into shards that are staged in parallel, each into its own map of recent
+     * histories; these maps are then merged in shard order, and the merged histories replayed in
+     * parallel. The outcome is the same as staging every record on one thread, since each history
+     * replays its records in consensus order regardless of the order they were staged.
      */
     public void reviewExistingPayerRecords() {
+        final var startNanos = System.nanoTime();
         txnHistories.clear();
         payerRecordExpiries.reset();
 
-        final var payerExpiries = new ArrayList<Map.Entry<Long, Long>>();
+        final List<Pair<Long, FCQueue<ExpirableTxnRecord>>> payers = new ArrayList<>();
         payerRecords
                 .get()
                 .doForEach(
                         (payerNum, accountRecords) ->
-                                stageExpiringRecords(
-                                        payerNum.longValue(), accountRecords, payerExpiries));
-        payerExpiries.sort(
-                comparing(Map.Entry<Long, Long>::getValue).thenComparing(Map.Entry::getKey));
-        payerExpiries.forEach(entry -> payerRecordExpiries.track(entry.getKey(), entry.getValue()));
+                                payers.add(Pair.of(payerNum.longValue(), accountRecords)));
+
+        final var parallelStartNanos = System.nanoTime();
+        final List<Supplier<StagedShard>> stagings = new ArrayList<>();
+        for (int lo = 0, n = payers.size(); lo < n; lo += payersPerShard) {
+            final var shardPayers = payers.subList(lo, Math.min(lo + payersPerShard, n));
+            stagings.add(() -> stageShard(shardPayers));
+        }
+        final var shards = runAll(stagings);
+
+        long busyNanos = 0;
+        int numExpiries = 0;
+        final List<TxnIdRecentHistory> histories = new ArrayList<>();
+        for (final var staged : shards) {
+            busyNanos += staged.busyNanos();
+            numExpiries += staged.nums().size();
+            staged.histories()
+                    .forEach(
+                            (txnId, history) -> {
+                                final var extant = txnHistories.putIfAbsent(txnId, history);
+                                if (extant == null) {
+                                    histories.add(history);
+                                } else {
+                                    extant.absorbStaged(history);
+                                }
+                            });
+        }
 
-        txnHistories.values().forEach(TxnIdRecentHistory::observeStaged);
+        final List<Supplier<Long>> replays = new ArrayList<>();
+        for (int lo = 0, n = histories.size(); lo < n; lo += historiesPerShard) {
+            final var shardHistories = histories.subList(lo, Math.min(lo + historiesPerShard, n));
+            replays.add(() -> replayShard(shardHistories));
+        }
+        for (final var replayNanos : runAll(replays)) {
+            busyNanos += replayNanos;
+        }
+        final var parallelNanos = System.nanoTime() - parallelStartNanos;
+
+        trackSorted(shards, numExpiries);
+
+        final var reviewMs = (System.nanoTime() - startNanos) / 1_000_000L;
+        final var savedMs = Math.max(0L, busyNanos - parallelNanos) / 1_000_000L;
+        expiryStats.includePayerRecordsReview(reviewMs, savedMs);
+        log.info(
+                "Reviewed {} payers' records ({} txn ids) in {}ms using up to {} threads, about"
+                        + " {}ms faster than one thread",
+                payers.size(),
+                histories.size(),
+                reviewMs,
+                parallelism,
+                savedMs);
     }
 
     /**
@@ -182,26 +282,98 @@ public class ExpiryManager {
         }
     }
 
-    private void stageExpiringRecords(
-            final Long num,
-            final FCQueue<ExpirableTxnRecord> records,
-            final List<Map.Entry<Long, Long>> expiries) {
-        long lastAdded = -1;
-        for (final var expirableTxnRecord : records) {
-            stage(expirableTxnRecord);
-            final var expiry = expirableTxnRecord.getExpiry();
-            if (expiry != lastAdded) {
-                expiries.add(new AbstractMap.SimpleImmutableEntry<>(num, expiry));
-                lastAdded = expiry;
+    private record StagedShard(
+            LongArrayList nums,
+            LongArrayList expiries,
+            Map<TransactionID, TxnIdRecentHistory> histories,
+            long busyNanos) {}
+
+    private static StagedShard stageShard(
+            final List<Pair<Long, FCQueue<ExpirableTxnRecord>>> payers) {
+        final var startNanos = System.nanoTime();
+        final var nums = new LongArrayList();
+        final var expiries = new LongArrayList();
+        final Map<TransactionID, TxnIdRecentHistory> histories = new HashMap<>();
+        for (final var payer : payers) {
+            final long num = payer.getKey();
+            long lastAdded = -1;
+            for (final var expirableTxnRecord : payer.getValue()) {
+                final var txnId = expirableTxnRecord.getTxnId().toGrpc();
+                histories
+                        .computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory())
+                        .stage(expirableTxnRecord);
+                final var expiry = expirableTxnRecord.getExpiry();
+                if (expiry != lastAdded) {
+                    nums.add(num);
+                    expiries.add(expiry);
+                    lastAdded = expiry;
+                }
+            }
+        }
+        return new StagedShard(nums, expiries, histories, System.nanoTime() - startNanos);
+    }
+
+    private static long replayShard(final List<TxnIdRecentHistory> histories) {
+        final var startNanos = System.nanoTime();
+        histories.forEach(TxnIdRecentHistory::observeStaged);
+        return System.nanoTime() - startNanos;
+    }
+
+    private void trackSorted(final List<StagedShard> shards, final int numExpiries) {
+        final var packed = new long[numExpiries];
+        var i = 0;
+        for (final var staged : shards) {
+            final var nums = staged.nums();
+            final var expiries = staged.expiries();
+            for (int j = 0, n = nums.size(); j < n; j++) {
+                final var num = nums.get(j);
+                final var expiry = expiries.get(j);
+                if (!isPackable(num, expiry)) {
+                    trackSortedUnpacked(shards);
+                    return;
+                }
+                packed[i++] = (expiry << NUM_BITS) | num;
+            }
+        }
+        Arrays.parallelSort(packed);
+        for (final var pair : packed) {
+            payerRecordExpiries.track(pair & MAX_PACKABLE_NUM, pair >>> NUM_BITS);
+        }
+    }
+
+    private static boolean isPackable(final long num, final long expiry) {
+        return num >= 0 && num <= MAX_PACKABLE_NUM && expiry >= 0 && expiry <= MAX_PACKABLE_EXPIRY;
+    }
+
+    private void trackSortedUnpacked(final List<StagedShard> shards) {
+        final var payerExpiries = new ArrayList<Map.Entry<Long, Long>>();
+        for (final var staged : shards) {
+            for (int j = 0, n = staged.nums().size(); j < n; j++) {
+                payerExpiries.add(
+                        new AbstractMap.SimpleImmutableEntry<>(
+                                staged.nums().get(j), staged.expiries().get(j)));
             }
         }
+        payerExpiries.sort(
+                comparing(Map.Entry<Long, Long>::getValue).thenComparing(Map.Entry::getKey));
+        payerExpiries.forEach(entry -> payerRecordExpiries.track(entry.getKey(), entry.getValue()));
     }
 
-    private void stage(final ExpirableTxnRecord expirableTxnRecord) {
-        final var txnId = expirableTxnRecord.getTxnId().toGrpc();
-        txnHistories
-                .computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory())
-                .stage(expirableTxnRecord);
+    private <T> List<T> runAll(final List<Supplier<T>> tasks) {
+        final var numThreads = Math.min(parallelism, tasks.size());
+        if (numThreads <= 1) {
+            return tasks.stream().map(Supplier::get).toList();
+        }
+        final var pool = new ForkJoinPool(numThreads);
+        try {
+            final List<ForkJoinTask<T>> submitted = new ArrayList<>();
+            for (final var task : tasks) {
+                submitted.add(pool.submit(task::get));
+            }
+            return submitted.stream().map(ForkJoinTask::join).toList();
+        } finally {
+            pool.shutdown();
+        }
     }
 
     private EntityId entityWith(final long num) {
@@ -19,6 +19,7 @@ import static com.swirlds.common.system.PlatformStatus.FREEZE_COMPLETE;
 
 import com.hedera.node.app.service.mono.ServicesState;
 import com.hedera.node.app.service.mono.context.CurrentPlatformStatus;
+import com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache;
 import com.swirlds.common.system.NodeId;
 import com.swirlds.common.system.state.notifications.NewSignedStateListener;
 import com.swirlds.common.system.state.notifications.NewSignedStateNotification;
@@ -31,20 +32,24 @@ public class ServicesSignedStateListener implements NewSignedStateListener {
     private final CurrentPlatformStatus currentPlatformStatus;
     private final BalancesExporter balancesExporter;
     private final NodeId nodeId;
+    private final BalanceResponseCache balanceResponseCache;
 
     @Inject
     public ServicesSignedStateListener(
             final CurrentPlatformStatus currentPlatformStatus,
             final BalancesExporter balancesExporter,
-            final NodeId nodeId) {
+            final NodeId nodeId,
+            final BalanceResponseCache balanceResponseCache) {
         this.currentPlatformStatus = currentPlatformStatus;
         this.balancesExporter = balancesExporter;
         this.nodeId = nodeId;
+        this.balanceResponseCache = balanceResponseCache;
     }
 
     @Override
     public void notify(final NewSignedStateNotification notice) {
         final ServicesState signedState = notice.getSwirldState();
+        balanceResponseCache.invalidateFor(notice.getRound());
         if (currentPlatformStatus.get() == FREEZE_COMPLETE) {
             signedState.logSummary();
         }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.exports;
+
+import com.hedera.services.stream.proto.SingleAccountBalances;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongFunction;
+
+/**
+ * Summarizes the balances of the accounts in a range of entity numbers by splitting the range into
+ * fixed-size shards, summarizing each shard on a {@link ForkJoinPool}, and merging the per-shard
+ * summaries in shard order. Since each shard's balances are already ordered by account number and
+ * the shards themselves are ordered, the merged summary is identical to a sequential one no matter
+ * how many threads did the work.
+ *
+ * <p>The function used to compute each account's balances must be safe to call concurrently; for
+ * example, because it only reads from an immutable signed state.
+ */
+class ShardedBalancesSummarizer implements AutoCloseable {
+    static final int DEFAULT_SHARD_SIZE = 4_096;
+
+    private final int shardSize;
+    private final ForkJoinPool pool;
+
+    ShardedBalancesSummarizer(final int parallelism) {
+        this(parallelism, DEFAULT_SHARD_SIZE);
+    }
+
+    ShardedBalancesSummarizer(final int parallelism, final int shardSize) {
+        this.shardSize = shardSize;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Returns the summary of all accounts with numbers in the range {@code [fromNum, toNum)}.
+     *
+     * @param fromNum the first account number to summarize
+     * @param toNum one past the last account number to summarize
+     * @param balancesFn the balances of the account with a given number, or null if it is not a
+     *     live account
+     * @return the ordered summary of the range
+     */
+    BalancesSummary summarize(
+            final long fromNum,
+            final long toNum,
+            final LongFunction<SingleAccountBalances> balancesFn) {
+        final List<ForkJoinTask<BalancesSummary>> shards = new ArrayList<>();
+        for (long lo = fromNum; lo < toNum; lo += shardSize) {
+            final var shardFrom = lo;
+            final var shardTo = Math.min(lo + shardSize, toNum);
+            shards.add(pool.submit(() -> summarizeShard(shardFrom, shardTo, balancesFn)));
+        }
+        var totalFloat = BigInteger.ZERO;
+        final List<SingleAccountBalances> orderedBalances = new ArrayList<>();
+        for (final var shard : shards) {
+            final var summary = shard.join();
+            totalFloat = totalFloat.add(summary.totalFloat());
+            orderedBalances.addAll(summary.orderedBalances());
+        }
+        return new BalancesSummary(totalFloat, orderedBalances);
+    }
+
+    /**
+     * Returns how many account numbers a call to {@link #summarize(long, long, LongFunction)}
+     * should cover to give each worker thread a few shards to process.
+     *
+     * @return a range size that keeps all workers busy
+     */
+    int suggestedRangeSize() {
+        return 4 * pool.getParallelism() * shardSize;
+    }
+
+    int parallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    static BalancesSummary summarizeShard(
+            final long fromNum,
+            final long toNum,
+            final LongFunction<SingleAccountBalances> balancesFn) {
+        var shardFloat = BigInteger.ZERO;
+        final List<SingleAccountBalances> shardBalances = new ArrayList<>();
+        for (long num = fromNum; num < toNum; num++) {
+            final var balances = balancesFn.apply(num);
+            if (balances != null) {
+                shardFloat = shardFloat.add(BigInteger.valueOf(balances.getHbarBalance()));
+                shardBalances.add(balances);
+            }
+        }
+        return new BalancesSummary(shardFloat, shardBalances);
+    }
+}
@@ -18,9 +18,11 @@ package com.hedera.node.app.service.mono.state.exports;
 import static com.hedera.node.app.hapi.utils.exports.FileCompressionUtils.COMPRESSION_ALGORITHM_EXTENSION;
 import static com.hedera.node.app.service.mono.context.primitives.StateView.doBoundedIteration;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.LEDGER_TOTAL_TINY_BAR_FLOAT;
+import static com.hedera.node.app.service.mono.context.properties.StaticPropertiesHolder.STATIC_PROPERTIES;
 import static com.hedera.node.app.service.mono.ledger.HederaLedger.ACCOUNT_ID_COMPARATOR;
 import static com.hedera.node.app.service.mono.utils.EntityIdUtils.readableId;
 
+import com.google.protobuf.CodedOutputStream;
 import com.hedera.node.app.service.mono.ServicesState;
 import com.hedera.node.app.service.mono.context.annotations.CompositeProps;
 import com.hedera.node.app.service.mono.context.primitives.StateView;
@@ -44,6 +46,7 @@ import com.swirlds.common.crypto.HashingOutputStream;
 import com.swirlds.common.crypto.Signature;
 import com.swirlds.common.system.NodeId;
 import com.swirlds.merkle.map.MerkleMap;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -56,8 +59,10 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 import java.util.zip.GZIPOutputStream;
 import javax.inject.Singleton;
 import org.apache.commons.lang3.time.StopWatch;
@@ -70,6 +75,8 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 
     private static final String UNKNOWN_EXPORT_DIR = "";
     private static final String BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL = "Could not export to '{}'!";
+    private static final String BAD_EXPORT_CLEANUP_ERROR_MSG_TPL =
+            "Could not delete unsigned balance file '{}'!";
     private static final String BAD_SIGNING_ATTEMPT_ERROR_MSG_TPL =
             "Could not sign balance file '{}'!";
     private static final String BAD_EXPORT_DIR_ERROR_MSG_TPL =
@@ -94,6 +101,8 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 
     private String lastUsedExportDir = UNKNOWN_EXPORT_DIR;
     private BalancesSummary summary;
+    // Reused across exports, and only replaced if balances.summaryParallelism changes
+    private ShardedBalancesSummarizer summarizer;
 
     private final int exportPeriod;
     private final MessageDigest accountBalanceDigest;
@@ -150,6 +159,10 @@ public class SignedStateBalancesExporter implements BalancesExporter {
         if (!ensureExportDir(signedState.getAccountFromNodeId(nodeId))) {
             return;
         }
+        if (dynamicProperties.shouldStreamBalancesExport()) {
+            streamToProtoFile(signedState, consensusTime);
+            return;
+        }
         final var watch = StopWatch.createStarted();
         summary = summarized(signedState);
         final var expected = BigInteger.valueOf(expectedFloat);
@@ -159,27 +172,25 @@ public class SignedStateBalancesExporter implements BalancesExporter {
                     watch.getTime(TimeUnit.MILLISECONDS));
             toProtoFile(consensusTime);
         } else {
-            log.error(
-                    "Signed state @ {} had total balance {} not {}; exiting",
-                    consensusTime,
-                    summary.totalFloat(),
-                    expectedFloat);
-            systemExits.fail(1);
+            failOnUnexpectedFloat(consensusTime, summary.totalFloat());
         }
     }
 
+    private void failOnUnexpectedFloat(final Instant consensusTime, final BigInteger totalFloat) {
+        log.error(
+                "Signed state @ {} had total balance {} not {}; exiting",
+                consensusTime,
+                totalFloat,
+                expectedFloat);
+        systemExits.fail(1);
+    }
+
     private void toProtoFile(final Instant exportTimeStamp) {
         final var watch = StopWatch.createStarted();
 
         final var builder = AllAccountBalances.newBuilder();
         summarizeAsProto(exportTimeStamp, builder);
-        final var protoLoc =
-                lastUsedExportDir
-                        + exportTimeStamp.toString().replace(":", "_")
-                        + "_Balances"
-                        + (dynamicProperties.shouldCompressAccountBalanceFilesOnCreation()
-                                ? PROTO_FILE_EXTENSION + COMPRESSION_ALGORITHM_EXTENSION
-                                : PROTO_FILE_EXTENSION);
+        final var protoLoc = protoLocFor(exportTimeStamp);
         final boolean exportSucceeded = exportBalancesProtoFile(builder, protoLoc);
         if (exportSucceeded) {
             tryToSign(protoLoc);
@@ -191,6 +202,121 @@ public class SignedStateBalancesExporter implements BalancesExporter {
                 exportTimeStamp);
     }
 
+    /**
+     * Writes the balances file in a single pass over the signed state, emitting each account's
+     * {@link SingleAccountBalances} as soon as it is built instead of first collecting all of them
+     * into an {@link AllAccountBalances} message. Since a repeated message field is encoded as a
+     * sequence of length-delimited records, the bytes written (and hence the signed hash) are
+     * identical to those of the non-streaming export; but peak memory no longer depends on the
+     * number of accounts.
+     *
+     * <p>Because the total float is only known once the pass is complete, a file with an
+     * unexpected total is deleted before the node exits, and is never signed.
+     *
+     * @param signedState the state to export
+     * @param exportTimeStamp the consensus time of the export
+     */
+    private void streamToProtoFile(final ServicesState signedState, final Instant exportTimeStamp) {
+        final var watch = StopWatch.createStarted();
+
+        final var protoLoc = protoLocFor(exportTimeStamp);
+        final var totalFloat = streamBalancesProtoFile(signedState, exportTimeStamp, protoLoc);
+        if (totalFloat == null) {
+            return;
+        }
+        if (BigInteger.valueOf(expectedFloat).equals(totalFloat)) {
+            tryToSign(protoLoc);
+            log.info(
+                    " -> Took {}ms to stream and sign proto balances file at {}",
+                    watch.getTime(TimeUnit.MILLISECONDS),
+                    exportTimeStamp);
+        } else {
+            try {
+                Files.deleteIfExists(Paths.get(protoLoc));
+            } catch (final IOException e) {
+                log.error(BAD_EXPORT_CLEANUP_ERROR_MSG_TPL, protoLoc, e);
+            }
+            failOnUnexpectedFloat(exportTimeStamp, totalFloat);
+        }
+    }
+
+    @Nullable
+    private BigInteger streamBalancesProtoFile(
+            final ServicesState signedState, final Instant exportTimeStamp, final String protoLoc) {
+        accountBalanceDigest.reset();
+        try (final var outputStream =
+                        dynamicProperties.shouldCompressAccountBalanceFilesOnCreation()
+                                ? new GZIPOutputStream(new FileOutputStream(protoLoc))
+                                : new FileOutputStream(protoLoc);
+                final var hashingOutputStream =
+                        new HashingOutputStream(accountBalanceDigest, outputStream)) {
+            final var out = CodedOutputStream.newInstance(hashingOutputStream);
+            out.writeMessage(
+                    AllAccountBalances.CONSENSUSTIMESTAMP_FIELD_NUMBER,
+                    asTimestamp(exportTimeStamp));
+            final var totalFloat = streamOrderedBalances(signedState, out);
+            out.flush();
+            outputStream.flush();
+            return totalFloat;
+        } catch (final IOException e) {
+            log.error(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, protoLoc, e);
+            return null;
+        }
+    }
+
+    /**
+     * Visits the live accounts of the given state in increasing account number order, by looking
+     * up every entity number below the state's next sequence number; and writes the balances of
+     * each as an {@code allAccounts} field of an {@link AllAccountBalances} message.
+     *
+     * <p>If summaries are done in parallel, the number space is visited in consecutive ranges
+     * that are each summarized by a {@link ShardedBalancesSummarizer} before being written; so
+     * memory use is still bounded by the size of a range rather than the number of accounts.
+     *
+     * @param signedState the state to summarize
+     * @param out the stream to write each account's balances to
+     * @return the total hbar balance of the visited accounts
+     * @throws IOException if the balances cannot be written
+     */
+    BigInteger streamOrderedBalances(final ServicesState signedState, final CodedOutputStream out)
+            throws IOException {
+        final var balancesFn = balancesFnFor(signedState);
+        final long nextNum = signedState.networkCtx().seqNo().current();
+
+        var totalFloat = BigInteger.ZERO;
+        final var parallelism = dynamicProperties.balancesSummaryParallelism();
+        if (parallelism > 1) {
+            final var sharded = summarizerFor(parallelism);
+            final long rangeSize = sharded.suggestedRangeSize();
+            for (long lo = 1; lo < nextNum; lo += rangeSize) {
+                final var rangeSummary =
+                        sharded.summarize(lo, Math.min(lo + rangeSize, nextNum), balancesFn);
+                totalFloat = totalFloat.add(rangeSummary.totalFloat());
+                for (final var balances : rangeSummary.orderedBalances()) {
+                    out.writeMessage(AllAccountBalances.ALLACCOUNTS_FIELD_NUMBER, balances);
+                }
+            }
+        } else {
+            for (long num = 1; num < nextNum; num++) {
+                final var balances = balancesFn.apply(num);
+                if (balances != null) {
+                    totalFloat = totalFloat.add(BigInteger.valueOf(balances.getHbarBalance()));
+                    out.writeMessage(AllAccountBalances.ALLACCOUNTS_FIELD_NUMBER, balances);
+                }
+            }
+        }
+        return totalFloat;
+    }
+
+    private String protoLocFor(final Instant exportTimeStamp) {
+        return lastUsedExportDir
+                + exportTimeStamp.toString().replace(":", "_")
+                + "_Balances"
+                + (dynamicProperties.shouldCompressAccountBalanceFilesOnCreation()
+                        ? PROTO_FILE_EXTENSION + COMPRESSION_ALGORITHM_EXTENSION
+                        : PROTO_FILE_EXTENSION);
+    }
+
     private void tryToSign(final String fileLoc) {
         try {
             final var hash = accountBalanceDigest.digest();
@@ -207,13 +333,17 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 
     private void summarizeAsProto(
             final Instant exportTimeStamp, final AllAccountBalances.Builder builder) {
-        builder.setConsensusTimestamp(
-                Timestamp.newBuilder()
-                        .setSeconds(exportTimeStamp.getEpochSecond())
-                        .setNanos(exportTimeStamp.getNano()));
+        builder.setConsensusTimestamp(asTimestamp(exportTimeStamp));
         builder.addAllAllAccounts(summary.orderedBalances());
     }
 
+    private Timestamp asTimestamp(final Instant exportTimeStamp) {
+        return Timestamp.newBuilder()
+                .setSeconds(exportTimeStamp.getEpochSecond())
+                .setNanos(exportTimeStamp.getNano())
+                .build();
+    }
+
     private boolean exportBalancesProtoFile(
             final AllAccountBalances.Builder allAccountsBuilder, final String protoLoc) {
         accountBalanceDigest.reset();
@@ -233,6 +363,15 @@ public class SignedStateBalancesExporter implements BalancesExporter {
     }
 
     BalancesSummary summarized(final ServicesState signedState) {
+        final var parallelism = dynamicProperties.balancesSummaryParallelism();
+        if (parallelism > 1) {
+            return summarizerFor(parallelism)
+                    .summarize(
+                            1,
+                            signedState.networkCtx().seqNo().current(),
+                            balancesFnFor(signedState));
+        }
+
         final long nodeBalanceWarnThreshold = dynamicProperties.nodeBalanceWarningThreshold();
         final var totalFloat = new NonAtomicReference<>(BigInteger.valueOf(0L));
         final List<SingleAccountBalances> accountBalances = new ArrayList<>();
@@ -244,26 +383,83 @@ public class SignedStateBalancesExporter implements BalancesExporter {
         accounts.forEach(
                 (id, account) -> {
                     if (!account.isDeleted()) {
-                        final var accountId = id.toGrpcAccountId();
-                        final var balance = account.getBalance();
-                        if (nodeIds.contains(accountId) && balance < nodeBalanceWarnThreshold) {
-                            log.warn(LOW_NODE_BALANCE_WARN_MSG_TPL, readableId(accountId), balance);
-                        }
                         totalFloat.set(
                                 totalFloat.get().add(BigInteger.valueOf(account.getBalance())));
-                        final SingleAccountBalances.Builder sabBuilder =
-                                SingleAccountBalances.newBuilder();
-                        sabBuilder.setHbarBalance(balance).setAccountID(accountId);
-                        if (dynamicProperties.shouldExportTokenBalances()) {
-                            addTokenBalances(account, sabBuilder, tokens, tokenAssociations);
-                        }
-                        accountBalances.add(sabBuilder.build());
+                        accountBalances.add(
+                                balancesOf(
+                                        id.longValue(),
+                                        account,
+                                        nodeIds,
+                                        nodeBalanceWarnThreshold,
+                                        tokens,
+                                        tokenAssociations));
                     }
                 });
         accountBalances.sort(SINGLE_ACCOUNT_BALANCES_COMPARATOR);
         return new BalancesSummary(totalFloat.get(), accountBalances);
     }
 
+    /**
+     * Returns the summarizer with the given parallelism, creating it (and shutting down any
+     * summarizer with a different parallelism) only if needed; so all exports share one pool.
+     *
+     * @param parallelism the number of summarizing threads
+     * @return the summarizer to use
+     */
+    synchronized ShardedBalancesSummarizer summarizerFor(final int parallelism) {
+        if (summarizer == null || summarizer.parallelism() != parallelism) {
+            if (summarizer != null) {
+                summarizer.close();
+            }
+            summarizer = new ShardedBalancesSummarizer(parallelism);
+        }
+        return summarizer;
+    }
+
+    /**
+     * Returns a function that computes the balances of the live account with a given number in
+     * the given state, or null if there is no such account. Only reads from the state, so is safe
+     * to call concurrently while the state is immutable.
+     *
+     * @param signedState the state to read from
+     * @return the balances function
+     */
+    private LongFunction<SingleAccountBalances> balancesFnFor(final ServicesState signedState) {
+        final long nodeBalanceWarnThreshold = dynamicProperties.nodeBalanceWarningThreshold();
+        final var nodeIds = MiscUtils.getNodeAccounts(signedState.addressBook());
+        final var tokens = signedState.tokens();
+        final var accounts = signedState.accounts();
+        final var tokenAssociations = signedState.tokenAssociations();
+        return num -> {
+            final var account = accounts.get(EntityNum.fromLong(num));
+            if (account == null || account.isDeleted()) {
+                return null;
+            }
+            return balancesOf(
+                    num, account, nodeIds, nodeBalanceWarnThreshold, tokens, tokenAssociations);
+        };
+    }
+
+    private SingleAccountBalances balancesOf(
+            final long num,
+            final HederaAccount account,
+            final Set<AccountID> nodeIds,
+            final long nodeBalanceWarnThreshold,
+            final MerkleMap<EntityNum, MerkleToken> tokens,
+            final TokenRelStorageAdapter tokenAssociations) {
+        final var accountId = STATIC_PROPERTIES.scopedAccountWith(num);
+        final var balance = account.getBalance();
+        if (nodeIds.contains(accountId) && balance < nodeBalanceWarnThreshold) {
+            log.warn(LOW_NODE_BALANCE_WARN_MSG_TPL, readableId(accountId), balance);
+        }
+        final SingleAccountBalances.Builder sabBuilder = SingleAccountBalances.newBuilder();
+        sabBuilder.setHbarBalance(balance).setAccountID(accountId);
+        if (dynamicProperties.shouldExportTokenBalances()) {
+            addTokenBalances(account, sabBuilder, tokens, tokenAssociations);
+        }
+        return sabBuilder.build();
+    }
+
     private void addTokenBalances(
             final HederaAccount account,
             final SingleAccountBalances.Builder sabBuilder,
@@ -15,6 +15,8 @@
  */
 package com.hedera.node.app.service.mono.state.logic;
 
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.LEDGER_COMMIT;
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.RECORD_STREAMING;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 
 import com.hedera.node.app.service.mono.context.TransactionContext;
@@ -26,6 +28,7 @@ import com.hedera.node.app.service.mono.records.RecordsHistorian;
 import com.hedera.node.app.service.mono.state.annotations.RunTopLevelTransition;
 import com.hedera.node.app.service.mono.state.annotations.RunTriggeredTransition;
 import com.hedera.node.app.service.mono.state.migration.MigrationRecordsManager;
+import com.hedera.node.app.service.mono.stats.HandleStageLatencies;
 import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
 import java.time.Instant;
 import javax.inject.Inject;
@@ -51,6 +54,7 @@ public class ServicesTxnManager {
     private final RecordStreaming recordStreaming;
     private final BlockManager blockManager;
     private final RewardCalculator rewardCalculator;
+    private final HandleStageLatencies handleLatencies;
 
     @Inject
     public ServicesTxnManager(
@@ -64,7 +68,8 @@ public class ServicesTxnManager {
             final MigrationRecordsManager migrationRecordsManager,
             final RecordStreaming recordStreaming,
             final BlockManager blockManager,
-            final RewardCalculator rewardCalculator) {
+            final RewardCalculator rewardCalculator,
+            final HandleStageLatencies handleLatencies) {
         this.txnCtx = txnCtx;
         this.ledger = ledger;
         this.recordCache = recordCache;
@@ -76,6 +81,7 @@ public class ServicesTxnManager {
         this.scopedTriggeredProcessing = scopedTriggeredProcessing;
         this.blockManager = blockManager;
         this.rewardCalculator = rewardCalculator;
+        this.handleLatencies = handleLatencies;
     }
 
     private boolean needToPublishMigrationRecords = true;
@@ -116,14 +122,16 @@ public class ServicesTxnManager {
         } else {
             attemptCommit(accessor, consensusTime, submittingMember);
             if (createdStreamableRecord) {
-                attemptRecordStreaming();
+                attemptRecordStreaming(accessor);
             }
         }
     }
 
-    private void attemptRecordStreaming() {
+    private void attemptRecordStreaming(final TxnAccessor accessor) {
         try {
+            final var start = handleLatencies.startNanos();
             recordStreaming.streamUserTxnRecords();
+            handleLatencies.recordSince(RECORD_STREAMING, accessor.getFunction(), start);
         } catch (Exception e) {
             logContextualizedError(e, "record streaming");
         }
@@ -131,7 +139,9 @@ public class ServicesTxnManager {
 
     private void attemptCommit(TxnAccessor accessor, Instant consensusTime, long submittingMember) {
         try {
+            final var start = handleLatencies.startNanos();
             ledger.commit();
+            handleLatencies.recordSince(LEDGER_COMMIT, accessor.getFunction(), start);
             createdStreamableRecord = true;
         } catch (Exception e) {
             logContextualizedError(e, "txn commit");
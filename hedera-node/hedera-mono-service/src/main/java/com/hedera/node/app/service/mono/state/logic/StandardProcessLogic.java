@@ -15,6 +15,7 @@
  */
 package com.hedera.node.app.service.mono.state.logic;
 
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.HANDLE;
 import static com.hedera.node.app.service.mono.utils.Units.MIN_TRANS_TIMESTAMP_INCR_NANOS;
 
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -25,6 +26,7 @@ import com.hedera.node.app.service.mono.records.ConsensusTimeTracker;
 import com.hedera.node.app.service.mono.state.expiry.EntityAutoExpiry;
 import com.hedera.node.app.service.mono.state.expiry.ExpiryManager;
 import com.hedera.node.app.service.mono.stats.ExecutionTimeTracker;
+import com.hedera.node.app.service.mono.stats.HandleStageLatencies;
 import com.hedera.node.app.service.mono.txns.ProcessLogic;
 import com.hedera.node.app.service.mono.txns.schedule.ScheduleProcessing;
 import com.hedera.node.app.service.mono.txns.span.ExpandHandleSpan;
@@ -53,6 +55,7 @@ public class StandardProcessLogic implements ProcessLogic {
     private final StateView workingView;
     private final ScheduleProcessing scheduleProcessing;
     private final RecordStreaming recordStreaming;
+    private final HandleStageLatencies handleLatencies;
 
     @Inject
     public StandardProcessLogic(
@@ -67,7 +70,8 @@ public class StandardProcessLogic implements ProcessLogic {
             final ScheduleProcessing scheduleProcessing,
             final ExecutionTimeTracker executionTimeTracker,
             final RecordStreaming recordStreaming,
-            final StateView workingView) {
+            final StateView workingView,
+            final HandleStageLatencies handleLatencies) {
         this.expiries = expiries;
         this.invariantChecks = invariantChecks;
         this.expandHandleSpan = expandHandleSpan;
@@ -80,6 +84,7 @@ public class StandardProcessLogic implements ProcessLogic {
         this.sigImpactHistorian = sigImpactHistorian;
         this.recordStreaming = recordStreaming;
         this.workingView = workingView;
+        this.handleLatencies = handleLatencies;
     }
 
     @Override
@@ -163,13 +168,17 @@ public class StandardProcessLogic implements ProcessLogic {
     private void doProcess(
             final long submittingMember, final Instant consensusTime, final TxnAccessor accessor) {
         executionTimeTracker.start();
+        var start = handleLatencies.startNanos();
         txnManager.process(accessor, consensusTime, submittingMember);
+        handleLatencies.recordSince(HANDLE, accessor.getFunction(), start);
         final var triggeredAccessor = txnCtx.triggeredTxn();
         if (triggeredAccessor != null) {
+            start = handleLatencies.startNanos();
             txnManager.process(
                     triggeredAccessor,
                     consensusTimeTracker.nextTransactionTime(false),
                     submittingMember);
+            handleLatencies.recordSince(HANDLE, triggeredAccessor.getFunction(), start);
         }
         executionTimeTracker.stop();
     }
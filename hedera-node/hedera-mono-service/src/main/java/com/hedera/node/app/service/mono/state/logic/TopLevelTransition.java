@@ -15,10 +15,14 @@
  */
 package com.hedera.node.app.service.mono.state.logic;
 
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.FEE_CHARGING;
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.SIG_RATIONALIZATION;
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.TRANSITION_LOGIC;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 
 import com.hedera.node.app.service.mono.context.TransactionContext;
 import com.hedera.node.app.service.mono.fees.charging.TxnChargingPolicyAgent;
+import com.hedera.node.app.service.mono.stats.HandleStageLatencies;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -46,6 +50,7 @@ public class TopLevelTransition implements Runnable {
     private final SigsAndPayerKeyScreen sigsAndPayerKeyScreen;
     private final TxnChargingPolicyAgent chargingPolicyAgent;
     private final NetworkUtilization networkUtilization;
+    private final HandleStageLatencies handleLatencies;
 
     @Inject
     public TopLevelTransition(
@@ -55,7 +60,8 @@ public class TopLevelTransition implements Runnable {
             final TransactionContext txnCtx,
             final NonPayerKeysScreen nonPayerKeysScreen,
             final NetworkUtilization networkUtilization,
-            final TxnChargingPolicyAgent chargingPolicyAgent) {
+            final TxnChargingPolicyAgent chargingPolicyAgent,
+            final HandleStageLatencies handleLatencies) {
         this.txnCtx = txnCtx;
         this.networkCtxManager = networkCtxManager;
         this.networkUtilization = networkUtilization;
@@ -63,6 +69,7 @@ public class TopLevelTransition implements Runnable {
         this.sigsAndPayerKeyScreen = sigsAndPayerKeyScreen;
         this.nonPayerKeysScreen = nonPayerKeysScreen;
         this.requestedTransition = requestedTransition;
+        this.handleLatencies = handleLatencies;
     }
 
     @Override
@@ -70,8 +77,11 @@ public class TopLevelTransition implements Runnable {
         final var accessor = txnCtx.swirldsTxnAccessor();
         final var now = txnCtx.consensusTime();
         networkCtxManager.advanceConsensusClockTo(now);
+        final var function = accessor.getFunction();
 
+        var stageStart = handleLatencies.startNanos();
         final var sigStatus = sigsAndPayerKeyScreen.applyTo(accessor);
+        handleLatencies.recordSince(SIG_RATIONALIZATION, function, stageStart);
         // We update the network utilization before we compute and charge fees b/c
         // network utilization determines the congestion pricing multiplier; so this
         // is the simplest way to guarantee a reconnected node will apply the same
@@ -83,14 +93,19 @@ public class TopLevelTransition implements Runnable {
             // If the signature status isn't ok, only work done will be fee charging
             networkUtilization.trackFeePayments(now);
         }
-        if (!chargingPolicyAgent.applyPolicyFor(accessor)) {
+        stageStart = handleLatencies.startNanos();
+        final var feesCharged = chargingPolicyAgent.applyPolicyFor(accessor);
+        handleLatencies.recordSince(FEE_CHARGING, function, stageStart);
+        if (!feesCharged) {
             return;
         }
         if (!nonPayerKeysScreen.reqKeysAreActiveGiven(sigStatus)) {
             return;
         }
         if (networkUtilization.screenForAvailableCapacity()) {
+            stageStart = handleLatencies.startNanos();
             requestedTransition.finishFor(accessor);
+            handleLatencies.recordSince(TRANSITION_LOGIC, function, stageStart);
         }
     }
 }
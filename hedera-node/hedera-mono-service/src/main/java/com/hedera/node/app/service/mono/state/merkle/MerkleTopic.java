@@ -22,7 +22,6 @@ import static com.hedera.node.app.service.mono.utils.EntityIdUtils.asLiteralStri
 import static com.swirlds.common.utility.CommonUtils.hex;
 
 import com.google.common.base.MoreObjects;
-import com.hedera.node.app.hapi.utils.CommonUtils;
 import com.hedera.node.app.service.mono.legacy.core.jproto.JKey;
 import com.hedera.node.app.service.mono.legacy.core.jproto.JKeyList;
 import com.hedera.node.app.service.mono.state.serdes.TopicSerde;
@@ -38,9 +37,7 @@ import com.swirlds.common.merkle.MerkleLeaf;
 import com.swirlds.common.merkle.impl.PartialMerkleLeaf;
 import com.swirlds.common.merkle.utility.Keyed;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -247,15 +244,12 @@ public final class MerkleTopic extends PartialMerkleLeaf implements Keyed<Entity
      * @param message the message submitted to the topic
      * @param topicId the topic id to receive the message
      * @param consensusTimestamp the consensus timestamp
-     * @throws IOException when any component fails to write to a temporary stream for computing the
-     *     running hash
      */
     public void updateRunningHashAndSequenceNumber(
             final AccountID payer,
             @Nullable byte[] message,
             @Nullable TopicID topicId,
-            @Nullable Instant consensusTimestamp)
-            throws IOException {
+            @Nullable Instant consensusTimestamp) {
         throwIfImmutable(
                 "Cannot change this topic's running hash or sequence number if it's immutable.");
         if (null == message) {
@@ -268,24 +262,15 @@ public final class MerkleTopic extends PartialMerkleLeaf implements Keyed<Entity
             consensusTimestamp = Instant.ofEpochSecond(0);
         }
 
-        final var boas = new ByteArrayOutputStream();
-        try (final var out = new ObjectOutputStream(boas)) {
-            out.writeObject(getRunningHash());
-            out.writeLong(RUNNING_HASH_VERSION);
-            out.writeLong(payer.getShardNum());
-            out.writeLong(payer.getRealmNum());
-            out.writeLong(payer.getAccountNum());
-            out.writeLong(topicId.getShardNum());
-            out.writeLong(topicId.getRealmNum());
-            out.writeLong(topicId.getTopicNum());
-            out.writeLong(consensusTimestamp.getEpochSecond());
-            out.writeInt(consensusTimestamp.getNano());
-            ++sequenceNumber;
-            out.writeLong(sequenceNumber);
-            out.writeObject(CommonUtils.noThrowSha384HashOf(message));
-            out.flush();
-            runningHash = CommonUtils.noThrowSha384HashOf(boas.toByteArray());
-        }
+        ++sequenceNumber;
+        runningHash =
+                TopicRunningHashEncoder.nextRunningHash(
+                        getRunningHash(),
+                        payer,
+                        topicId,
+                        consensusTimestamp,
+                        sequenceNumber,
+                        message);
     }
 
     @Override
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.merkle;
+
+import static com.hedera.node.app.service.mono.state.merkle.MerkleTopic.RUNNING_HASH_VERSION;
+import static java.io.ObjectStreamConstants.SC_SERIALIZABLE;
+import static java.io.ObjectStreamConstants.STREAM_MAGIC;
+import static java.io.ObjectStreamConstants.STREAM_VERSION;
+import static java.io.ObjectStreamConstants.TC_ARRAY;
+import static java.io.ObjectStreamConstants.TC_BLOCKDATA;
+import static java.io.ObjectStreamConstants.TC_CLASSDESC;
+import static java.io.ObjectStreamConstants.TC_ENDBLOCKDATA;
+import static java.io.ObjectStreamConstants.TC_NULL;
+import static java.io.ObjectStreamConstants.TC_REFERENCE;
+import static java.io.ObjectStreamConstants.baseWireHandle;
+
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TopicID;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+/**
+ * Computes the next running hash of a topic from exactly the bytes that a {@link
+ * java.io.ObjectOutputStream} would write for the previous running hash, the fields of the
+ * submitted message, and the SHA-384 hash of its contents; but into a buffer and through a
+ * SHA-384 digest that are reused by each thread, rather than via Java serialization and a new
+ * {@link MessageDigest} per message.
+ *
+ * <p>That is, the hashed bytes are the stream header; the previous running hash as a {@code
+ * byte[]} object (with a full class descriptor); a single block of data with the version, payer,
+ * topic, consensus time and sequence number; and the message hash as a second {@code byte[]}
+ * (with a back-reference to the class descriptor).
+ */
+public final class TopicRunningHashEncoder {
+    private static final String SHA_384 = "SHA-384";
+    private static final int SHA_384_BYTES = 48;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final byte[] HEADER_AND_ARRAY_PREFIX = headerAndArrayPrefix();
+    private static final byte[] ARRAY_BACK_REFERENCE_PREFIX =
+            ByteBuffer.allocate(6).put(TC_ARRAY).put(TC_REFERENCE).putInt(baseWireHandle).array();
+    // Eight longs (version through consensus seconds), the consensus nanos, and the sequence number
+    private static final int BLOCK_DATA_BYTES = 8 * Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int FIXED_BYTES =
+            HEADER_AND_ARRAY_PREFIX.length
+                    + Integer.BYTES
+                    + 2
+                    + BLOCK_DATA_BYTES
+                    + ARRAY_BACK_REFERENCE_PREFIX.length
+                    + Integer.BYTES
+                    + SHA_384_BYTES;
+
+    private static final ThreadLocal<TopicRunningHashEncoder> ENCODERS =
+            ThreadLocal.withInitial(TopicRunningHashEncoder::new);
+
+    private final MessageDigest digest;
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+    private TopicRunningHashEncoder() {
+        try {
+            digest = MessageDigest.getInstance(SHA_384);
+        } catch (final NoSuchAlgorithmException fatal) {
+            throw new IllegalStateException(fatal);
+        }
+    }
+
+    /**
+     * Returns the running hash of a topic after the given message is submitted to it.
+     *
+     * @param prevRunningHash the topic's previous running hash
+     * @param payer the payer of the submission
+     * @param topicId the topic
+     * @param consensusTimestamp the consensus time of the submission
+     * @param sequenceNumber the topic's sequence number after the submission
+     * @param message the submitted message
+     * @return the new running hash
+     */
+    public static byte[] nextRunningHash(
+            final byte[] prevRunningHash,
+            final AccountID payer,
+            final TopicID topicId,
+            final Instant consensusTimestamp,
+            final long sequenceNumber,
+            final byte[] message) {
+        return ENCODERS.get()
+                .encode(
+                        prevRunningHash,
+                        payer,
+                        topicId,
+                        consensusTimestamp,
+                        sequenceNumber,
+                        message);
+    }
+
+    private byte[] encode(
+            final byte[] prevRunningHash,
+            final AccountID payer,
+            final TopicID topicId,
+            final Instant consensusTimestamp,
+            final long sequenceNumber,
+            final byte[] message) {
+        final var length = FIXED_BYTES + prevRunningHash.length;
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(length);
+        }
+        buffer.clear();
+        buffer.put(HEADER_AND_ARRAY_PREFIX)
+                .putInt(prevRunningHash.length)
+                .put(prevRunningHash)
+                .put(TC_BLOCKDATA)
+                .put((byte) BLOCK_DATA_BYTES)
+                .putLong(RUNNING_HASH_VERSION)
+                .putLong(payer.getShardNum())
+                .putLong(payer.getRealmNum())
+                .putLong(payer.getAccountNum())
+                .putLong(topicId.getShardNum())
+                .putLong(topicId.getRealmNum())
+                .putLong(topicId.getTopicNum())
+                .putLong(consensusTimestamp.getEpochSecond())
+                .putInt(consensusTimestamp.getNano())
+                .putLong(sequenceNumber)
+                .put(ARRAY_BACK_REFERENCE_PREFIX)
+                .putInt(SHA_384_BYTES);
+        final var bytes = buffer.array();
+        try {
+            digest.update(message);
+            digest.digest(bytes, buffer.position(), SHA_384_BYTES);
+        } catch (final DigestException fatal) {
+            throw new IllegalStateException(fatal);
+        }
+        digest.update(bytes, 0, length);
+        return digest.digest();
+    }
+
+    private static byte[] headerAndArrayPrefix() {
+        final var className = byte[].class.getName().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(21 + className.length)
+                .putShort(STREAM_MAGIC)
+                .putShort(STREAM_VERSION)
+                .put(TC_ARRAY)
+                .put(TC_CLASSDESC)
+                .putShort((short) className.length)
+                .put(className)
+                .putLong(ObjectStreamClass.lookup(byte[].class).getSerialVersionUID())
+                .put(SC_SERIALIZABLE)
+                .putShort((short) 0)
+                .put(TC_ENDBLOCKDATA)
+                .put(TC_NULL)
+                .array();
+    }
+}
@@ -27,10 +27,22 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
+/**
+ * The key of a blob in the {@code VirtualMap<VirtualBlobKey, VirtualBlobValue>}; serialized as a
+ * one-byte type code followed by the packed entity number.
+ *
+ * <p>Type codes below {@link #FILE_DATA_CHUNK_CODE_BASE} are the ordinals of the original blob
+ * types. The codes from {@link #FILE_DATA_CHUNK_CODE_BASE} up identify the chunks appended to a
+ * file's data, with the chunk index in the low seven bits; so a file can have at most {@link
+ * #MAX_FILE_DATA_CHUNKS} appended chunks, and the serialized form keeps its fixed size.
+ */
 public class VirtualBlobKey implements VirtualKey<VirtualBlobKey> {
     static final int CURRENT_VERSION = 1;
     static final int BYTES_IN_SERIALIZED_FORM = 5;
     static final long CLASS_ID = 0x11b982c14217d523L;
+    static final int FILE_DATA_CHUNK_CODE_BASE = 0x80;
+
+    public static final int MAX_FILE_DATA_CHUNKS = 0x80;
 
     private static final Type[] BLOB_TYPES = Type.values();
 
@@ -38,21 +50,46 @@ public class VirtualBlobKey implements VirtualKey<VirtualBlobKey> {
         FILE_DATA,
         FILE_METADATA,
         CONTRACT_BYTECODE,
-        SYSTEM_DELETED_ENTITY_EXPIRY
+        SYSTEM_DELETED_ENTITY_EXPIRY,
+        FILE_DATA_CHUNK
     }
 
     private Type type;
     private int entityNumCode;
+    private int chunkIndex;
 
     public VirtualBlobKey() {
         /* Required by deserialization facility */
     }
 
     public VirtualBlobKey(final Type type, final int entityNumCode) {
+        if (type == Type.FILE_DATA_CHUNK) {
+            throw new IllegalArgumentException("File data chunk keys need a chunk index");
+        }
         this.type = type;
         this.entityNumCode = entityNumCode;
     }
 
+    private VirtualBlobKey(final int entityNumCode, final int chunkIndex) {
+        this.type = Type.FILE_DATA_CHUNK;
+        this.entityNumCode = entityNumCode;
+        this.chunkIndex = chunkIndex;
+    }
+
+    /**
+     * Returns the key of the given chunk appended to the data of the file with the given code.
+     *
+     * @param fileNumCode the packed number of the file
+     * @param chunkIndex the index of the chunk, in {@code [0, MAX_FILE_DATA_CHUNKS)}
+     * @return the chunk key
+     */
+    public static VirtualBlobKey forFileDataChunk(final int fileNumCode, final int chunkIndex) {
+        if (chunkIndex < 0 || chunkIndex >= MAX_FILE_DATA_CHUNKS) {
+            throw new IllegalArgumentException("Invalid file data chunk index " + chunkIndex);
+        }
+        return new VirtualBlobKey(fileNumCode, chunkIndex);
+    }
+
     public static VirtualBlobKey fromPath(final String path) {
         final var code = path.charAt(LEGACY_BLOB_CODE_INDEX);
         final var packedNum =
@@ -74,23 +111,44 @@ public class VirtualBlobKey implements VirtualKey<VirtualBlobKey> {
 
     @Override
     public void serialize(final ByteBuffer buffer) throws IOException {
-        buffer.put((byte) type.ordinal());
+        buffer.put((byte) typeCode());
         buffer.putInt(entityNumCode);
     }
 
     @Override
     public void deserialize(final ByteBuffer buffer, final int version) throws IOException {
-        type = BLOB_TYPES[0xff & buffer.get()];
+        setTypeFrom(0xff & buffer.get());
         entityNumCode = buffer.getInt();
     }
 
     @Override
     public void deserialize(final SerializableDataInputStream in, final int version)
             throws IOException {
-        type = BLOB_TYPES[0xff & in.readByte()];
+        setTypeFrom(0xff & in.readByte());
         entityNumCode = in.readInt();
     }
 
+    /**
+     * Returns the one-byte code of this key's type (and chunk index, for a file data chunk).
+     *
+     * @return the serialized type code
+     */
+    public int typeCode() {
+        return (type == Type.FILE_DATA_CHUNK)
+                ? FILE_DATA_CHUNK_CODE_BASE | chunkIndex
+                : type.ordinal();
+    }
+
+    private void setTypeFrom(final int code) {
+        if (code >= FILE_DATA_CHUNK_CODE_BASE) {
+            type = Type.FILE_DATA_CHUNK;
+            chunkIndex = code - FILE_DATA_CHUNK_CODE_BASE;
+        } else {
+            type = BLOB_TYPES[code];
+            chunkIndex = 0;
+        }
+    }
+
     @Override
     public long getClassId() {
         return CLASS_ID;
@@ -98,7 +156,7 @@ public class VirtualBlobKey implements VirtualKey<VirtualBlobKey> {
 
     @Override
     public void serialize(final SerializableDataOutputStream out) throws IOException {
-        out.writeByte(type.ordinal());
+        out.writeByte(typeCode());
         out.writeInt(entityNumCode);
     }
 
@@ -118,11 +176,17 @@ public class VirtualBlobKey implements VirtualKey<VirtualBlobKey> {
 
         final var that = (VirtualBlobKey) o;
 
-        return this.type == that.type && this.entityNumCode == that.entityNumCode;
+        return this.type == that.type
+                && this.entityNumCode == that.entityNumCode
+                && this.chunkIndex == that.chunkIndex;
     }
 
     @Override
     public int hashCode() {
+        if (type == Type.FILE_DATA_CHUNK) {
+            return (int) MiscUtils.perm64(entityNumCode | ((long) typeCode()) << 32);
+        }
+        // Unchanged for the original types, whose hashes are already in saved states
         return (int) MiscUtils.perm64(entityNumCode | ((long) type.ordinal()) << 4);
     }
 
@@ -138,6 +202,10 @@ public class VirtualBlobKey implements VirtualKey<VirtualBlobKey> {
         return entityNumCode;
     }
 
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
     @Override
     public int compareTo(@NonNull final VirtualBlobKey that) {
         if (this == that) {
@@ -147,7 +215,11 @@ public class VirtualBlobKey implements VirtualKey<VirtualBlobKey> {
         if (order != 0) {
             return order;
         }
-        return this.type.compareTo(that.type);
+        final int typeOrder = this.type.compareTo(that.type);
+        if (typeOrder != 0) {
+            return typeOrder;
+        }
+        return Integer.compare(this.chunkIndex, that.chunkIndex);
     }
 
     @Override
@@ -58,6 +58,7 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
@@ -66,6 +67,14 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
 
+/**
+ * An account as stored in the on-disk accounts {@link com.swirlds.virtualmap.VirtualMap}.
+ *
+ * <p>Its fixed-width fields (the flags, ints, and longs) are always decoded eagerly. But since
+ * most reads only need these, the variable-length part (key, memo, alias, allowances, and first
+ * contract storage key) read from disk is kept in serialized form until one of its fields is first
+ * accessed; and is written back as-is, without re-encoding, as long as it is known to be unchanged.
+ */
 public class OnDiskAccount implements VirtualValue, HederaAccount {
     private static final int CURRENT_VERSION = 1;
     private static final long CLASS_ID = 0xc88e3a5c7b497468L;
@@ -93,6 +102,12 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
     private final int[] ints = new int[IntValues.COUNT];
     private final long[] longs = new long[LongValues.COUNT];
 
+    // The serialized variable-length part, while it agrees with the fields above; else null
+    @Nullable private byte[] variablePart = null;
+    // Whether the variable-length fields have yet to be decoded from variablePart; the decoding
+    // is synchronized since immutable copies can be read from more than one thread
+    private volatile boolean variablePartPending = false;
+
     private boolean immutable = false;
 
     public OnDiskAccount() {
@@ -102,6 +117,9 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
     }
 
     public OnDiskAccount(final OnDiskAccount that) {
+        // Read the volatile flag first, so the fields below are fully decoded if it is false
+        this.variablePartPending = that.variablePartPending;
+        this.variablePart = that.variablePart;
         this.key = that.key;
         this.memo = that.memo;
         this.flags = that.flags;
@@ -109,6 +127,8 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
         this.hbarAllowances = that.hbarAllowances;
         this.fungibleAllowances = that.fungibleAllowances;
         this.nftOperatorApprovals = that.nftOperatorApprovals;
+        this.firstStorageKey = that.firstStorageKey;
+        this.firstStorageKeyNonZeroBytes = that.firstStorageKeyNonZeroBytes;
         System.arraycopy(that.ints, 0, this.ints, 0, IntValues.COUNT);
         System.arraycopy(that.longs, 0, this.longs, 0, LongValues.COUNT);
     }
@@ -226,7 +246,11 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
         for (final var v : longs) {
             writeLongFn.accept(v);
         }
-        writeBytes(serializedVariablePart(), writeIntFn, writeBytesFn);
+        final var unchangedVariablePart = variablePart;
+        writeBytes(
+                unchangedVariablePart != null ? unchangedVariablePart : serializedVariablePart(),
+                writeIntFn,
+                writeBytesFn);
     }
 
     private void deserializeFrom(
@@ -243,8 +267,40 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
         for (var i = 0; i < LongValues.COUNT; i++) {
             longs[i] = readLongFn.get();
         }
-        final var variableSource = readBytes(readIntFn, readBytesFn);
-        deserializeVariablePart(variableSource);
+        variablePart = readBytes(readIntFn, readBytesFn);
+        variablePartPending = true;
+    }
+
+    private void decodeVariablePartIfPending() {
+        if (variablePartPending) {
+            synchronized (this) {
+                if (variablePartPending) {
+                    try {
+                        deserializeVariablePart(variablePart);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    variablePartPending = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Called before a mutable account hands out a variable-length field that can be changed in
+     * place (a key, allowance collection, or storage key), since after that its serialized
+     * variable part can no longer be trusted.
+     */
+    private void decodeVariablePartForPossibleChange() {
+        decodeVariablePartIfPending();
+        if (!immutable) {
+            variablePart = null;
+        }
+    }
+
+    private void decodeVariablePartForChange() {
+        decodeVariablePartIfPending();
+        variablePart = null;
     }
 
     private byte[] serializedVariablePart() throws IOException {
@@ -292,73 +348,87 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
 
     // Object getters and setters
     public JKey getKey() {
+        decodeVariablePartForPossibleChange();
         return key;
     }
 
     @StateSetter
     public void setKey(final JKey key) {
         throwIfImmutable("Tried to set the key on an immutable OnDiskAccount");
+        decodeVariablePartForChange();
         this.key = key;
     }
 
     public String getMemo() {
+        decodeVariablePartIfPending();
         return memo;
     }
 
     @StateSetter
     public void setMemo(final String memo) {
         throwIfImmutable("Tried to set the memo on an immutable OnDiskAccount");
+        decodeVariablePartForChange();
         this.memo = memo;
     }
 
     public ByteString getAlias() {
+        decodeVariablePartIfPending();
         return alias;
     }
 
     @StateSetter
     public void setAlias(final ByteString alias) {
         throwIfImmutable("Tried to set the alias on an immutable OnDiskAccount");
+        decodeVariablePartForChange();
         this.alias = alias;
     }
 
     public Map<EntityNum, Long> getHbarAllowances() {
+        decodeVariablePartForPossibleChange();
         return hbarAllowances;
     }
 
     @StateSetter
     public void setHbarAllowances(final Map<EntityNum, Long> hbarAllowances) {
         throwIfImmutable("Tried to set the hbar allowances on an immutable OnDiskAccount");
+        decodeVariablePartForChange();
         this.hbarAllowances = hbarAllowances;
     }
 
     public Map<FcTokenAllowanceId, Long> getFungibleAllowances() {
+        decodeVariablePartForPossibleChange();
         return fungibleAllowances;
     }
 
     @StateSetter
     public void setFungibleAllowances(final Map<FcTokenAllowanceId, Long> fungibleAllowances) {
         throwIfImmutable("Tried to set the fungible allowances on an immutable OnDiskAccount");
+        decodeVariablePartForChange();
         this.fungibleAllowances = fungibleAllowances;
     }
 
     public Set<FcTokenAllowanceId> getNftOperatorApprovals() {
+        decodeVariablePartForPossibleChange();
         return nftOperatorApprovals;
     }
 
     @StateSetter
     public void setNftOperatorApprovals(final Set<FcTokenAllowanceId> nftOperatorApprovals) {
         throwIfImmutable("Tried to set the NFT operator approvals on an immutable OnDiskAccount");
+        decodeVariablePartForChange();
         this.nftOperatorApprovals = nftOperatorApprovals;
     }
 
     // Misc getters and setters
     public int[] getFirstStorageKey() {
+        decodeVariablePartForPossibleChange();
         return firstStorageKey;
     }
 
     @StateSetter
     public void setFirstStorageKey(final int[] firstStorageKey) {
         throwIfImmutable("Tried to set the first storage key on an immutable OnDiskAccount");
+        decodeVariablePartForChange();
         this.firstStorageKey = firstStorageKey;
         if (firstStorageKey != null) {
             firstStorageKeyNonZeroBytes = computeNonZeroBytes(firstStorageKey);
@@ -368,6 +438,7 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
     }
 
     public byte getFirstStorageKeyNonZeroBytes() {
+        decodeVariablePartIfPending();
         return firstStorageKeyNonZeroBytes;
     }
 
@@ -393,6 +464,10 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
     @StateSetter
     public void setIsContract(final boolean flag) {
         throwIfImmutable("Tried to set IS_CONTRACT on an immutable OnDiskAccount");
+        if (flag != isContract()) {
+            // Only a contract's serialized variable part includes its first storage key
+            decodeVariablePartForChange();
+        }
         if (flag) {
             flags |= Masks.IS_CONTRACT;
         } else {
@@ -755,9 +830,8 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
 
     @Override
     public ContractKey getFirstContractStorageKey() {
-        return firstStorageKey == null
-                ? null
-                : new ContractKey(getAccountNumber(), firstStorageKey);
+        final var storageKey = getFirstStorageKey();
+        return storageKey == null ? null : new ContractKey(getAccountNumber(), storageKey);
     }
 
     @Override
@@ -910,6 +984,8 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final OnDiskAccount that = (OnDiskAccount) o;
+        this.decodeVariablePartIfPending();
+        that.decodeVariablePartIfPending();
         return flags == that.flags
                 && firstStorageKeyNonZeroBytes == that.firstStorageKeyNonZeroBytes
                 && equalUpToDecodability(this.key, that.key)
@@ -925,6 +1001,7 @@ public class OnDiskAccount implements VirtualValue, HederaAccount {
 
     @Override
     public int hashCode() {
+        decodeVariablePartIfPending();
         int result =
                 Objects.hash(
                         flags,
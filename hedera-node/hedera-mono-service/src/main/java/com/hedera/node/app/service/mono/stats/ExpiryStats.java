@@ -15,11 +15,13 @@
  */
 package com.hedera.node.app.service.mono.stats;
 
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.GAUGE_FORMAT;
 import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.RUNNING_AVG_FORMAT;
 import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.STAT_CATEGORY;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.swirlds.common.metrics.Counter;
+import com.swirlds.common.metrics.DoubleGauge;
 import com.swirlds.common.metrics.RunningAverageMetric;
 import com.swirlds.common.system.Platform;
 import javax.inject.Singleton;
@@ -30,6 +32,11 @@ public class ExpiryStats {
     private Counter contractsRemoved;
     private Counter contractsRenewed;
     private RunningAverageMetric idsScannedPerConsSec;
+    private DoubleGauge payerRecordsReviewMs;
+    private DoubleGauge payerRecordsReviewMsSaved;
+    // The payer records review runs during init, which can precede registration
+    private long lastReviewMs;
+    private long lastReviewMsSaved;
 
     public ExpiryStats(final double halfLife) {
         this.halfLife = halfLife;
@@ -60,6 +67,21 @@ public class ExpiryStats {
                                         .withDescription(Descriptions.IDS_SCANNED_PER_CONSENSUS_SEC)
                                         .withFormat(RUNNING_AVG_FORMAT)
                                         .withHalfLife(halfLife));
+        payerRecordsReviewMs =
+                platform.getMetrics()
+                        .getOrCreate(
+                                new DoubleGauge.Config(STAT_CATEGORY, Names.PAYER_RECORDS_REVIEW_MS)
+                                        .withDescription(Descriptions.PAYER_RECORDS_REVIEW_MS)
+                                        .withFormat(GAUGE_FORMAT));
+        payerRecordsReviewMsSaved =
+                platform.getMetrics()
+                        .getOrCreate(
+                                new DoubleGauge.Config(
+                                                STAT_CATEGORY, Names.PAYER_RECORDS_REVIEW_MS_SAVED)
+                                        .withDescription(
+                                                Descriptions.PAYER_RECORDS_REVIEW_MS_SAVED)
+                                        .withFormat(GAUGE_FORMAT));
+        updateReviewGauges();
     }
 
     public void countRemovedContract() {
@@ -74,6 +96,26 @@ public class ExpiryStats {
         idsScannedPerConsSec.update(n);
     }
 
+    /**
+     * Records how long the last review of payer records on restart or reconnect took, and about
+     * how much time reviewing in parallel saved compared to a single thread.
+     *
+     * @param reviewMs the wall-clock duration of the review
+     * @param reviewMsSaved the estimated time saved by parallelism
+     */
+    public void includePayerRecordsReview(final long reviewMs, final long reviewMsSaved) {
+        lastReviewMs = reviewMs;
+        lastReviewMsSaved = reviewMsSaved;
+        updateReviewGauges();
+    }
+
+    private void updateReviewGauges() {
+        if (payerRecordsReviewMs != null) {
+            payerRecordsReviewMs.set(lastReviewMs);
+            payerRecordsReviewMsSaved.set(lastReviewMsSaved);
+        }
+    }
+
     public static final class Descriptions {
         static final String IDS_SCANNED_PER_CONSENSUS_SEC =
                 "average entity ids scanned per second of consensus time";
@@ -81,6 +123,10 @@ public class ExpiryStats {
                 "number of expired contracts removed since last restart";
         static final String CONTRACTS_RENEWED_SINCE_RESTART =
                 "number of expired contracts renewed since last restart";
+        static final String PAYER_RECORDS_REVIEW_MS =
+                "ms taken to rebuild payer record expiries at the last restart or reconnect";
+        static final String PAYER_RECORDS_REVIEW_MS_SAVED =
+                "estimated ms saved by rebuilding payer record expiries in parallel";
 
         private Descriptions() {
             throw new UnsupportedOperationException("Utility Class");
@@ -91,6 +137,8 @@ public class ExpiryStats {
         static final String IDS_SCANNED_PER_CONSENSUS_SEC = "idsScannedPerConsSec";
         static final String CONTRACTS_REMOVED_SINCE_RESTART = "contractsRemoved";
         static final String CONTRACTS_RENEWED_SINCE_RESTART = "contractsRenewed";
+        static final String PAYER_RECORDS_REVIEW_MS = "payerRecordsReviewMs";
+        static final String PAYER_RECORDS_REVIEW_MS_SAVED = "payerRecordsReviewMsSaved";
 
         private Names() {
             throw new UnsupportedOperationException("Utility Class");
@@ -107,6 +155,13 @@ public class ExpiryStats {
         this.contractsRenewed = contractsRenewed;
     }
 
+    @VisibleForTesting
+    void setPayerRecordsReviewGauges(
+            final DoubleGauge payerRecordsReviewMs, final DoubleGauge payerRecordsReviewMsSaved) {
+        this.payerRecordsReviewMs = payerRecordsReviewMs;
+        this.payerRecordsReviewMsSaved = payerRecordsReviewMsSaved;
+    }
+
     @VisibleForTesting
     void setIdsScannedPerConsSec(final RunningAverageMetric idsScannedPerConsSec) {
         this.idsScannedPerConsSec = idsScannedPerConsSec;
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stats;
+
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.GAUGE_FORMAT;
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.STAT_CATEGORY;
+
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.swirlds.common.metrics.DoubleGauge;
+import com.swirlds.common.metrics.Metrics;
+import com.swirlds.common.system.Platform;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Per-stage, per-{@link HederaFunctionality} latency histograms for the stages of handling a
+ * transaction. Each stage is timed by calling {@link #startNanos()} before it and {@link
+ * #recordSince(Stage, HederaFunctionality, long)} after it.
+ *
+ * <p>When disabled (the default), both calls return immediately after a check of a final field,
+ * so the instrumented code pays nothing measurable. When enabled, recording is allocation-free
+ * once the first value for a stage and function has created its {@link LatencyHistogram}.
+ *
+ * <p>On each {@link #updateAll()}, the values recorded since the previous update are drained into
+ * gauges with the p50, p99 and max latency (in microseconds) of each stage over all functions,
+ * plus the p99 of each stage for each function that was handled at least once.
+ */
+public class HandleStageLatencies {
+    private static final Logger log = LogManager.getLogger(HandleStageLatencies.class);
+
+    private static final int NUM_FUNCTIONS = HederaFunctionality.values().length;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    static final String STAGE_NAME_TPL = "%s%sUs";
+    static final String FUNCTION_STAGE_NAME_TPL = "%s%sP99Us";
+    static final String STAGE_DESC_TPL = "%s latency of %s over the last interval (in micros)";
+    static final String FUNCTION_STAGE_DESC_TPL =
+            "p99 latency of %s for %s over the last interval (in micros)";
+
+    /** The instrumented stages of handling a transaction. */
+    public enum Stage {
+        /** all of handling a transaction, from the process logic's point of view */
+        HANDLE("handle"),
+        /** screening the (rationalized) signatures and the payer's key */
+        SIG_RATIONALIZATION("sigRationalization"),
+        /** computing and charging fees */
+        FEE_CHARGING("feeCharging"),
+        /** the requested state transition itself */
+        TRANSITION_LOGIC("transitionLogic"),
+        /** committing the ledgers */
+        LEDGER_COMMIT("ledgerCommit"),
+        /** handing the records of the transaction to the record stream */
+        RECORD_STREAMING("recordStreaming");
+
+        private final String statName;
+
+        Stage(final String statName) {
+            this.statName = statName;
+        }
+    }
+
+    private final boolean enabled;
+    private final Function<HederaFunctionality, String> statNameFn;
+    private final AtomicReferenceArray<LatencyHistogram> histograms;
+
+    /* --- Only accessed by the stats update thread --- */
+    private final long[] counts = new long[LatencyHistogram.NUM_BUCKETS];
+    private final long[][] stageCounts = new long[Stage.values().length][];
+    private final Map<Stage, DoubleGauge[]> stageGauges = new EnumMap<>(Stage.class);
+    private final DoubleGauge[] functionGauges;
+    private Metrics metrics;
+
+    public HandleStageLatencies(
+            final boolean enabled, final Function<HederaFunctionality, String> statNameFn) {
+        this.enabled = enabled;
+        this.statNameFn = statNameFn;
+        final var n = enabled ? Stage.values().length * NUM_FUNCTIONS : 0;
+        this.histograms = new AtomicReferenceArray<>(n);
+        this.functionGauges = new DoubleGauge[n];
+        if (enabled) {
+            log.info("Tracking handle latencies by stage and functionality");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the current value of the high-resolution time source if latencies are being
+     * tracked; or zero if not.
+     *
+     * @return the start time of a stage
+     */
+    public long startNanos() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the latency of the given stage, for a transaction of the given type, that started
+     * at the given time (as returned by {@link #startNanos()}).
+     *
+     * @param stage the stage that just finished
+     * @param function the type of the transaction
+     * @param startNanos the start time of the stage
+     */
+    public void recordSince(
+            final Stage stage, final HederaFunctionality function, final long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        histogramFor(stage, function).recordValue(System.nanoTime() - startNanos);
+    }
+
+    public void registerWith(final Platform platform) {
+        if (!enabled) {
+            return;
+        }
+        metrics = platform.getMetrics();
+        for (final var stage : Stage.values()) {
+            stageCounts[stage.ordinal()] = new long[LatencyHistogram.NUM_BUCKETS];
+            stageGauges.put(
+                    stage,
+                    new DoubleGauge[] {
+                        gaugeFor(stage, "P50", "p50"),
+                        gaugeFor(stage, "P99", "p99"),
+                        gaugeFor(stage, "Max", "max")
+                    });
+        }
+    }
+
+    public void updateAll() {
+        if (!enabled || metrics == null) {
+            return;
+        }
+        for (final var stage : Stage.values()) {
+            final var totalCounts = stageCounts[stage.ordinal()];
+            Arrays.fill(totalCounts, 0L);
+            var total = 0L;
+            for (int i = 0; i < NUM_FUNCTIONS; i++) {
+                final var histogram = histograms.get(stage.ordinal() * NUM_FUNCTIONS + i);
+                if (histogram == null) {
+                    continue;
+                }
+                Arrays.fill(counts, 0L);
+                final var n = histogram.drainInto(counts);
+                total += n;
+                for (int j = 0; j < counts.length; j++) {
+                    totalCounts[j] += counts[j];
+                }
+                functionGaugeFor(stage, i)
+                        .set(micros(LatencyHistogram.valueAtPercentile(counts, n, 99.0)));
+            }
+            final var gauges = stageGauges.get(stage);
+            gauges[0].set(micros(LatencyHistogram.valueAtPercentile(totalCounts, total, 50.0)));
+            gauges[1].set(micros(LatencyHistogram.valueAtPercentile(totalCounts, total, 99.0)));
+            gauges[2].set(micros(LatencyHistogram.maxValue(totalCounts)));
+        }
+    }
+
+    private LatencyHistogram histogramFor(
+            final Stage stage, final HederaFunctionality function) {
+        final var i = stage.ordinal() * NUM_FUNCTIONS + function.ordinal();
+        final var histogram = histograms.get(i);
+        if (histogram != null) {
+            return histogram;
+        }
+        histograms.compareAndSet(i, null, new LatencyHistogram());
+        return histograms.get(i);
+    }
+
+    private DoubleGauge functionGaugeFor(final Stage stage, final int functionOrdinal) {
+        final var i = stage.ordinal() * NUM_FUNCTIONS + functionOrdinal;
+        if (functionGauges[i] == null) {
+            final var baseName = statNameFn.apply(HederaFunctionality.values()[functionOrdinal]);
+            final var name = String.format(FUNCTION_STAGE_NAME_TPL, baseName, capitalized(stage));
+            final var desc = String.format(FUNCTION_STAGE_DESC_TPL, stage.statName, baseName);
+            functionGauges[i] =
+                    metrics.getOrCreate(
+                            new DoubleGauge.Config(STAT_CATEGORY, name)
+                                    .withDescription(desc)
+                                    .withFormat(GAUGE_FORMAT));
+        }
+        return functionGauges[i];
+    }
+
+    private DoubleGauge gaugeFor(final Stage stage, final String suffix, final String measure) {
+        final var name = String.format(STAGE_NAME_TPL, stage.statName, suffix);
+        return metrics.getOrCreate(
+                new DoubleGauge.Config(STAT_CATEGORY, name)
+                        .withDescription(String.format(STAGE_DESC_TPL, measure, stage.statName))
+                        .withFormat(GAUGE_FORMAT));
+    }
+
+    private static String capitalized(final Stage stage) {
+        return Character.toUpperCase(stage.statName.charAt(0)) + stage.statName.substring(1);
+    }
+
+    private static double micros(final long nanos) {
+        return nanos / NANOS_PER_MICRO;
+    }
+}
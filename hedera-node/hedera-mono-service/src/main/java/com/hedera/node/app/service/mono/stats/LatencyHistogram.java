@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, log-linear histogram of latencies in nanoseconds, in the style of HdrHistogram.
+ * Values below {@code 32} get their own bucket; above that, each power of two is split into {@code
+ * 16} equal buckets, so a recorded value is known to within about 6%. Values beyond {@link
+ * #HIGHEST_TRACKABLE_NANOS} (about 36 minutes) are counted in the highest bucket.
+ *
+ * <p>Recording a value never allocates, and is safe from any thread. The counts are drained (and
+ * reset) by a single reader, usually the stats update thread, using {@link #drainInto(long[])}.
+ */
+public class LatencyHistogram {
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_EXPONENT = Integer.numberOfTrailingZeros(LINEAR_BUCKETS);
+    private static final int HIGHEST_EXPONENT = 40;
+
+    public static final long HIGHEST_TRACKABLE_NANOS = (1L << (HIGHEST_EXPONENT + 1)) - 1;
+    public static final int NUM_BUCKETS =
+            LINEAR_BUCKETS + (HIGHEST_EXPONENT - LINEAR_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+
+    /**
+     * Counts the given latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordValue(final long nanos) {
+        counts.incrementAndGet(bucketOf(nanos));
+    }
+
+    /**
+     * Moves the counts recorded since the last drain into the given array, which must have at
+     * least {@link #NUM_BUCKETS} elements, and resets them here.
+     *
+     * @param into the array to add the counts to
+     * @return the number of values moved
+     */
+    public long drainInto(final long[] into) {
+        var total = 0L;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            if (counts.get(i) != 0) {
+                final var n = counts.getAndSet(i, 0);
+                into[i] += n;
+                total += n;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the (highest equivalent) value at the given percentile of the given bucket counts.
+     *
+     * @param counts the bucket counts, as filled by {@link #drainInto(long[])}
+     * @param total the sum of the counts
+     * @param percentile the percentile, in {@code (0, 100]}
+     * @return the value at the percentile, or zero if there are no counts
+     */
+    public static long valueAtPercentile(
+            final long[] counts, final long total, final double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        final var rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        var seen = 0L;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(NUM_BUCKETS - 1);
+    }
+
+    /**
+     * Returns the (highest equivalent) largest value in the given bucket counts.
+     *
+     * @param counts the bucket counts, as filled by {@link #drainInto(long[])}
+     * @return the largest value, or zero if there are no counts
+     */
+    public static long maxValue(final long[] counts) {
+        for (int i = NUM_BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+
+    static int bucketOf(final long nanos) {
+        if (nanos < LINEAR_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+        final var value = Math.min(nanos, HIGHEST_TRACKABLE_NANOS);
+        final var exponent = 63 - Long.numberOfLeadingZeros(value);
+        final var shift = exponent - SUB_BUCKET_BITS;
+        final var subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - LINEAR_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestEquivalentValue(final int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        final var exponent = LINEAR_EXPONENT + (bucket - LINEAR_BUCKETS) / SUB_BUCKETS;
+        final var subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        final var shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
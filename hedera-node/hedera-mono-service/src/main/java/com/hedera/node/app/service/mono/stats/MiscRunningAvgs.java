@@ -28,6 +28,9 @@ public class MiscRunningAvgs {
     private RunningAverageMetric handledSubmitMessageSize;
     private RunningAverageMetric writeQueueSizeRecordStream;
     private RunningAverageMetric hashQueueSizeRecordStream;
+    private RunningAverageMetric handoffOccupancyRecordStream;
+    private RunningAverageMetric handoffStallMicrosRecordStream;
+    private RunningAverageMetric sigExpansionMicrosPerEvent;
 
     public MiscRunningAvgs(final double halfLife) {
         this.halfLife = halfLife;
@@ -67,6 +70,35 @@ public class MiscRunningAvgs {
                                         .withDescription(Descriptions.HASH_QUEUE_SIZE_RECORD_STREAM)
                                         .withFormat(RUNNING_AVG_FORMAT)
                                         .withHalfLife(halfLife));
+        handoffOccupancyRecordStream =
+                platform.getMetrics()
+                        .getOrCreate(
+                                new RunningAverageMetric.Config(
+                                                STAT_CATEGORY,
+                                                Names.HANDOFF_OCCUPANCY_RECORD_STREAM)
+                                        .withDescription(
+                                                Descriptions.HANDOFF_OCCUPANCY_RECORD_STREAM)
+                                        .withFormat(RUNNING_AVG_FORMAT)
+                                        .withHalfLife(halfLife));
+        handoffStallMicrosRecordStream =
+                platform.getMetrics()
+                        .getOrCreate(
+                                new RunningAverageMetric.Config(
+                                                STAT_CATEGORY,
+                                                Names.HANDOFF_STALL_MICROS_RECORD_STREAM)
+                                        .withDescription(
+                                                Descriptions.HANDOFF_STALL_MICROS_RECORD_STREAM)
+                                        .withFormat(RUNNING_AVG_FORMAT)
+                                        .withHalfLife(halfLife));
+        sigExpansionMicrosPerEvent =
+                platform.getMetrics()
+                        .getOrCreate(
+                                new RunningAverageMetric.Config(
+                                                STAT_CATEGORY, Names.SIG_EXPANSION_MICROS_PER_EVENT)
+                                        .withDescription(
+                                                Descriptions.SIG_EXPANSION_MICROS_PER_EVENT)
+                                        .withFormat(RUNNING_AVG_FORMAT)
+                                        .withHalfLife(halfLife));
     }
 
     public void recordHandledSubmitMessageSize(final int bytes) {
@@ -85,12 +117,27 @@ public class MiscRunningAvgs {
         gasPerConsSec.update(gas);
     }
 
+    public void handoffOccupancyRecordStream(final int num) {
+        handoffOccupancyRecordStream.update(num);
+    }
+
+    public void handoffStallMicrosRecordStream(final long micros) {
+        handoffStallMicrosRecordStream.update(micros);
+    }
+
+    public void recordSigExpansionMicrosPerEvent(final long micros) {
+        sigExpansionMicrosPerEvent.update(micros);
+    }
+
     public static final class Names {
         static final String GAS_PER_CONSENSUS_SEC = "gasPerConsSec";
         static final String HANDLED_SUBMIT_MESSAGE_SIZE = "avgHdlSubMsgSize";
 
         static final String WRITE_QUEUE_SIZE_RECORD_STREAM = "writeQueueSizeRecordStream";
         static final String HASH_QUEUE_SIZE_RECORD_STREAM = "hashQueueSizeRecordStream";
+        static final String HANDOFF_OCCUPANCY_RECORD_STREAM = "handoffOccupancyRecordStream";
+        static final String HANDOFF_STALL_MICROS_RECORD_STREAM = "handoffStallMicrosRecordStream";
+        static final String SIG_EXPANSION_MICROS_PER_EVENT = "sigExpansionMicrosPerEvent";
 
         private Names() {
             throw new UnsupportedOperationException("Utility Class");
@@ -106,6 +153,14 @@ public class MiscRunningAvgs {
                 "size of the queue from which we take records and write to RecordStream file";
         static final String HASH_QUEUE_SIZE_RECORD_STREAM =
                 "size of working queue for calculating hash and runningHash";
+        static final String HANDOFF_OCCUPANCY_RECORD_STREAM =
+                "number of records waiting in the handoff from handleTransaction to the"
+                        + " RecordStream";
+        static final String HANDOFF_STALL_MICROS_RECORD_STREAM =
+                "microseconds handleTransaction waited for room in the RecordStream handoff, per"
+                        + " stall";
+        static final String SIG_EXPANSION_MICROS_PER_EVENT =
+                "microseconds spent expanding the signatures of all transactions in an event";
 
         private Descriptions() {
             throw new UnsupportedOperationException("Utility Class");
@@ -131,4 +186,19 @@ public class MiscRunningAvgs {
     void setHashQueueSizeRecordStream(RunningAverageMetric hashQueueSizeRecordStream) {
         this.hashQueueSizeRecordStream = hashQueueSizeRecordStream;
     }
+
+    @VisibleForTesting
+    void setHandoffOccupancyRecordStream(RunningAverageMetric handoffOccupancyRecordStream) {
+        this.handoffOccupancyRecordStream = handoffOccupancyRecordStream;
+    }
+
+    @VisibleForTesting
+    void setHandoffStallMicrosRecordStream(RunningAverageMetric handoffStallMicrosRecordStream) {
+        this.handoffStallMicrosRecordStream = handoffStallMicrosRecordStream;
+    }
+
+    @VisibleForTesting
+    void setSigExpansionMicrosPerEvent(RunningAverageMetric sigExpansionMicrosPerEvent) {
+        this.sigExpansionMicrosPerEvent = sigExpansionMicrosPerEvent;
+    }
 }
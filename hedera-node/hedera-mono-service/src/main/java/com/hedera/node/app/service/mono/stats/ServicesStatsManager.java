@@ -18,10 +18,13 @@ package com.hedera.node.app.service.mono.stats;
 import static com.hedera.node.app.service.mono.utils.SleepingPause.SLEEPING_PAUSE;
 
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache;
+import com.hedera.node.app.service.mono.sigs.verification.VerifiedSigCache;
 import com.hedera.node.app.service.mono.state.virtual.ContractKey;
 import com.hedera.node.app.service.mono.state.virtual.IterableContractValue;
 import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
 import com.hedera.node.app.service.mono.state.virtual.VirtualBlobValue;
+import com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor;
 import com.hedera.node.app.service.mono.utils.Pause;
 import com.swirlds.common.system.Platform;
 import com.swirlds.virtualmap.VirtualMap;
@@ -55,6 +58,10 @@ public class ServicesStatsManager {
     private final MiscRunningAvgs runningAvgs;
     private final MiscSpeedometers speedometers;
     private final HapiOpSpeedometers opSpeedometers;
+    private final HandleStageLatencies handleLatencies;
+    private final BalanceResponseCache balanceResponseCache;
+    private final VerifiedSigCache verifiedSigCache;
+    private final PrefetchProcessor prefetchProcessor;
     private final NodeLocalProperties localProperties;
     private final ThrottleGauges throttleGauges;
     private final EntityUtilGauges entityUtilGauges;
@@ -70,6 +77,10 @@ public class ServicesStatsManager {
             final EntityUtilGauges entityUtilGauges,
             final MiscSpeedometers speedometers,
             final HapiOpSpeedometers opSpeedometers,
+            final HandleStageLatencies handleLatencies,
+            final BalanceResponseCache balanceResponseCache,
+            final VerifiedSigCache verifiedSigCache,
+            final PrefetchProcessor prefetchProcessor,
             final NodeLocalProperties localProperties,
             final Supplier<VirtualMap<ContractKey, IterableContractValue>> storage,
             final Supplier<VirtualMap<VirtualBlobKey, VirtualBlobValue>> bytecode) {
@@ -81,6 +92,10 @@ public class ServicesStatsManager {
         this.runningAvgs = runningAvgs;
         this.speedometers = speedometers;
         this.opSpeedometers = opSpeedometers;
+        this.handleLatencies = handleLatencies;
+        this.balanceResponseCache = balanceResponseCache;
+        this.verifiedSigCache = verifiedSigCache;
+        this.prefetchProcessor = prefetchProcessor;
         this.throttleGauges = throttleGauges;
         this.entityUtilGauges = entityUtilGauges;
     }
@@ -93,6 +108,10 @@ public class ServicesStatsManager {
         throttleGauges.registerWith(platform);
         opSpeedometers.registerWith(platform);
         entityUtilGauges.registerWith(platform);
+        handleLatencies.registerWith(platform);
+        balanceResponseCache.registerWith(platform);
+        verifiedSigCache.registerWith(platform);
+        prefetchProcessor.registerWith(platform);
         storage.get().registerMetrics(platform.getMetrics());
         bytecode.get().registerMetrics(platform.getMetrics());
 
@@ -124,6 +143,7 @@ public class ServicesStatsManager {
                             final var n = numPauses.incrementAndGet();
                             if (n % pausesBetweenHapiOpsUpdate == 0) {
                                 opSpeedometers.updateAll();
+                                handleLatencies.updateAll();
                             }
                             if (n % pausesBetweenThrottleUtilUpdate == 0) {
                                 throttleGauges.updateAll();
@@ -63,6 +63,14 @@ public final class StatsModule {
         return new HapiOpSpeedometers(counters, nodeLocalProperties, MiscUtils::baseStatNameOf);
     }
 
+    @Provides
+    @Singleton
+    public static HandleStageLatencies provideHandleStageLatencies(
+            final NodeLocalProperties nodeLocalProperties) {
+        return new HandleStageLatencies(
+                nodeLocalProperties.isHandleLatenciesEnabled(), MiscUtils::baseStatNameOf);
+    }
+
     @Provides
     @Singleton
     public static HapiOpCounters provideHapiOpCounters(
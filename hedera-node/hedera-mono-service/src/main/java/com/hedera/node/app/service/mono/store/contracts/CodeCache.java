@@ -15,26 +15,118 @@
  */
 package com.hedera.node.app.service.mono.store.contracts;
 
+import static com.hedera.node.app.service.evm.accounts.HederaEvmContractAliases.isMirror;
+import static com.hedera.node.app.service.mono.utils.EntityIdUtils.numOfMirror;
+
 import com.hedera.node.app.service.evm.store.contracts.AbstractCodeCache;
+import com.hedera.node.app.service.evm.store.contracts.utils.BytesKey;
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.utils.EntityNum;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.Code;
 
 /**
- * Weak reference cache with expiration TTL for EVM bytecode. This cache is primarily used to store
+ * Two-tier cache with expiration TTL for EVM bytecode. This cache is primarily used to store
  * bytecode pre-fetched during prepare phase (aka expand signatures) to be used later on during the
  * handle phase (aka handle transaction). The cache also has the side effect of eliminating bytecode
  * reads from the underlying store if the contract is called repeatedly during a short period of
  * time.
  *
+ * <p>The first tier is on-heap, and bounded by {@code hedera.prefetch.codeCacheMaxBytes} (with a
+ * non-positive value meaning {@link AbstractCodeCache#DEFAULT_MAX_BYTES}). The second tier is a
+ * {@link MappedBytecodeStore} of the code of contracts at mirror addresses, which survives
+ * restarts; at startup, {@link #warmUp()} pre-loads the most-called contracts from it. The second
+ * tier is disabled by default, since its entries are not checked against state.
+ *
  * <p>This cache assumes that the bytecode values are immutable, hence no logic to determine whether
  * a value is stale is present.
  */
 @Singleton
 public class CodeCache extends AbstractCodeCache {
+    private static final Logger log = LogManager.getLogger(CodeCache.class);
+
+    private final MappedBytecodeStore diskTier;
+    private final int warmUpContracts;
 
     @Inject
+    public CodeCache(
+            final NodeLocalProperties properties,
+            final EntityAccess entityAccess,
+            final MappedBytecodeStore diskTier) {
+        super(properties.prefetchCodeCacheTtlSecs(), maxBytesFrom(properties), entityAccess);
+        this.diskTier = diskTier;
+        this.warmUpContracts = properties.prefetchCodeCacheWarmUpContracts();
+    }
+
+    /**
+     * Creates an on-heap cache only; for example, to answer a single {@code ContractCallLocal}
+     * query against a signed state.
+     *
+     * @param properties the node-local properties
+     * @param entityAccess the source of bytecode
+     */
     public CodeCache(final NodeLocalProperties properties, final EntityAccess entityAccess) {
-        super(properties.prefetchCodeCacheTtlSecs(), entityAccess);
+        this(properties, entityAccess, new MappedBytecodeStore(null, 0));
+    }
+
+    @Override
+    public Code getIfPresent(final Address address) {
+        final var code = super.getIfPresent(address);
+        if (code != null && isMirror(address.toArrayUnsafe())) {
+            diskTier.recordCall(numOfMirror(address.toArrayUnsafe()));
+        }
+        return code;
+    }
+
+    @Override
+    protected Code loadCode(final Address address) {
+        if (!diskTier.isEnabled() || !isMirror(address.toArrayUnsafe())) {
+            return super.loadCode(address);
+        }
+        final var num = numOfMirror(address.toArrayUnsafe());
+        var code = diskTier.peek(num);
+        if (code == null) {
+            code = super.loadCode(address);
+            if (code != null) {
+                diskTier.put(num, code);
+            }
+        }
+        return code;
+    }
+
+    @Override
+    public void invalidate(final Address address) {
+        super.invalidate(address);
+        if (isMirror(address.toArrayUnsafe())) {
+            diskTier.remove(numOfMirror(address.toArrayUnsafe()));
+        }
+    }
+
+    /**
+     * Pre-loads the code of (up to) {@code hedera.prefetch.codeCacheWarmUpContracts} of the
+     * most-called contracts from the disk tier into the on-heap tier, also computing their jump
+     * destinations so the first call to each does not have to.
+     */
+    public void warmUp() {
+        final var nums = diskTier.mostCalled(warmUpContracts);
+        for (final var num : nums) {
+            final var code = diskTier.peek(num);
+            if (code != null) {
+                code.isJumpDestInvalid(0);
+                cache.put(new BytesKey(EntityNum.fromLong(num).toRawEvmAddress()), code);
+            }
+        }
+        if (!nums.isEmpty()) {
+            log.info("Pre-loaded code of {} most-called contracts", nums.size());
+        }
+    }
+
+    private static long maxBytesFrom(final NodeLocalProperties properties) {
+        final var maxBytes = properties.prefetchCodeCacheMaxBytes();
+        return maxBytes > 0 ? maxBytes : DEFAULT_MAX_BYTES;
     }
 }
@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.store.contracts;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+
+/**
+ * The on-disk tier of the {@link CodeCache}: an append-only, memory-mapped file of contract
+ * bytecode and code hashes, keyed by contract number. A hit saves both the read from the {@code
+ * VirtualMap} of bytecode and the Keccak-256 hash.
+ *
+ * <p>Since state does not record a hash of each contract's bytecode, hits are <b>not</b> checked
+ * against state; an entry is only valid as long as the node keeps running the network history it
+ * was written from. So the store is disabled by default (empty {@code
+ * hedera.prefetch.codeCacheDiskDir}, zero {@code hedera.prefetch.codeCacheDiskMaxBytes}), and its
+ * directory must be deleted whenever the node's state is reset or reloaded from elsewhere.
+ *
+ * <p>Each record also holds a count of calls to its contract, so the hottest contracts can be
+ * pre-loaded at startup. Calls are counted in memory, and written to the file every {@link
+ * #CALLS_PER_FLUSH} calls, before ranking the most-called contracts, and on closing. Records are
+ * checksummed with CRC32C, and the file is scanned from the start up to the first invalid record
+ * when opened. The mapping starts at (at least) {@link #INITIAL_MAPPED_BYTES} and is doubled as
+ * the store fills, up to {@code hedera.prefetch.codeCacheDiskMaxBytes}; once that is reached, new
+ * bytecode is simply not added. If the file cannot be opened, the store is disabled and every
+ * lookup misses.
+ *
+ * <p>Except for {@link #isEnabled()} and {@link #recordCall(long)}, which are on the hot path of
+ * contract calls, all methods are synchronized, since both pre-fetch workers and the thread
+ * handling transactions use the store.
+ */
+@Singleton
+public class MappedBytecodeStore {
+    private static final Logger log = LogManager.getLogger(MappedBytecodeStore.class);
+
+    static final String FILE_NAME = "bytecode.bin";
+    static final int RECORD_MAGIC = 0xC0DEC0DE;
+    static final int CALLS_PER_FLUSH = 4096;
+    static final int INITIAL_MAPPED_BYTES = 1 << 20;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CHECKSUM_OFFSET = 4;
+    static final int CALLS_OFFSET = 8;
+    // The checksum covers everything from the number through the end of the bytecode
+    private static final int NUM_OFFSET = 16;
+    private static final int LENGTH_OFFSET = 24;
+    private static final int HASH_OFFSET = 28;
+    static final int HEADER_BYTES = HASH_OFFSET + 32;
+
+    private final Map<Long, Integer> offsets = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> unflushedCalls = new ConcurrentHashMap<>();
+    private final AtomicInteger callsSinceFlush = new AtomicInteger();
+    private final CRC32C crc = new CRC32C();
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private int capacity;
+    private int end;
+    private boolean warnedFull;
+
+    @Inject
+    public MappedBytecodeStore(final NodeLocalProperties properties) {
+        this(
+                properties.prefetchCodeCacheDiskDir(),
+                properties.prefetchCodeCacheDiskMaxBytes());
+    }
+
+    public MappedBytecodeStore(final String dir, final long maxBytes) {
+        if (maxBytes <= HEADER_BYTES || dir == null || dir.isBlank()) {
+            return;
+        }
+        capacity = (int) Math.min(maxBytes, Integer.MAX_VALUE);
+        try {
+            final var path = Path.of(dir);
+            Files.createDirectories(path);
+            channel =
+                    FileChannel.open(
+                            path.resolve(FILE_NAME),
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+            final var initialBytes =
+                    Math.min(capacity, Math.max(channel.size(), INITIAL_MAPPED_BYTES));
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, initialBytes);
+            scan();
+            log.info("Loaded {} bytecode entries ({} bytes) from {}", offsets.size(), end, dir);
+        } catch (final IOException e) {
+            log.warn("Unable to map bytecode store in {}, continuing without it", dir, e);
+            buffer = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /**
+     * Returns the code stored for the given contract, if any, without counting a call.
+     *
+     * @param num the contract number
+     * @return the code, or null if not stored
+     */
+    public synchronized Code peek(final long num) {
+        final var offset = offsets.get(num);
+        if (offset == null) {
+            return null;
+        }
+        final var length = buffer.getInt(offset + LENGTH_OFFSET);
+        if (checksumAt(offset, length) != buffer.getInt(offset + CHECKSUM_OFFSET)) {
+            log.warn("Bytecode entry for contract {} is corrupt, ignoring it", num);
+            offsets.remove(num);
+            return null;
+        }
+        final var hash = new byte[32];
+        buffer.get(offset + HASH_OFFSET, hash);
+        final var bytecode = new byte[length];
+        buffer.get(offset + HEADER_BYTES, bytecode);
+        return CodeFactory.createCode(
+                Bytes.wrap(bytecode), Hash.wrap(Bytes32.wrap(hash)), 0, false);
+    }
+
+    /**
+     * Stores the given (non-empty) code for a contract, unless it is already stored or there is no
+     * room left in the file.
+     *
+     * @param num the contract number
+     * @param code the contract's code
+     */
+    public synchronized void put(final long num, final Code code) {
+        final var bytecode = code.getContainerBytes();
+        if (buffer == null || offsets.containsKey(num) || bytecode.isEmpty()) {
+            return;
+        }
+        final var offset = append(num, code.getCodeHash().toArrayUnsafe(), bytecode.toArray());
+        if (offset >= 0) {
+            offsets.put(num, offset);
+        }
+    }
+
+    /**
+     * Forgets any code stored for the given contract, including after a restart.
+     *
+     * @param num the contract number
+     */
+    public synchronized void remove(final long num) {
+        unflushedCalls.remove(num);
+        if (buffer != null && offsets.remove(num) != null) {
+            append(num, new byte[32], new byte[0]);
+        }
+    }
+
+    /**
+     * Counts a call to the given contract, if its code is stored; the count is only written to the
+     * file in batches, so calls counted since the last flush are lost if the node stops abruptly.
+     *
+     * @param num the contract number
+     */
+    public void recordCall(final long num) {
+        if (!offsets.containsKey(num)) {
+            return;
+        }
+        unflushedCalls.computeIfAbsent(num, ignore -> new LongAdder()).increment();
+        if (callsSinceFlush.incrementAndGet() >= CALLS_PER_FLUSH) {
+            flushCalls();
+        }
+    }
+
+    /** Adds the calls counted in memory since the last flush to the counts in the file. */
+    public synchronized void flushCalls() {
+        callsSinceFlush.set(0);
+        if (buffer == null) {
+            unflushedCalls.clear();
+            return;
+        }
+        unflushedCalls.forEach(
+                (num, calls) -> {
+                    final var offset = offsets.get(num);
+                    final var n = calls.sumThenReset();
+                    if (offset != null && n > 0) {
+                        final var callsAt = offset + CALLS_OFFSET;
+                        buffer.putLong(callsAt, buffer.getLong(callsAt) + n);
+                    }
+                });
+    }
+
+    /**
+     * Returns the numbers of (at most) the given number of stored contracts with the most calls,
+     * in descending order of calls.
+     *
+     * @param n the maximum number of contracts to return
+     * @return the most-called contracts
+     */
+    public synchronized List<Long> mostCalled(final int n) {
+        if (n <= 0) {
+            return List.of();
+        }
+        flushCalls();
+        final Comparator<long[]> byCalls = Comparator.comparingLong(numAndCalls -> numAndCalls[1]);
+        final var top = new PriorityQueue<>(n + 1, byCalls);
+        offsets.forEach(
+                (num, offset) -> {
+                    top.add(new long[] {num, buffer.getLong(offset + CALLS_OFFSET)});
+                    if (top.size() > n) {
+                        top.poll();
+                    }
+                });
+        final List<Long> nums = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            nums.add(top.poll()[0]);
+        }
+        Collections.reverse(nums);
+        return nums;
+    }
+
+    public synchronized int size() {
+        return offsets.size();
+    }
+
+    public synchronized void close() throws IOException {
+        if (buffer != null) {
+            flushCalls();
+            buffer.force();
+            buffer = null;
+            channel.close();
+        }
+    }
+
+    private int append(final long num, final byte[] hash, final byte[] bytecode) {
+        final var length = bytecode.length;
+        if ((long) end + HEADER_BYTES + length > capacity
+                || !ensureMapped((long) end + HEADER_BYTES + length + 4)) {
+            if (!warnedFull) {
+                log.warn("Bytecode store is full at {} entries, no longer adding", offsets.size());
+                warnedFull = true;
+            }
+            return -1;
+        }
+        final var offset = end;
+        buffer.putLong(offset + CALLS_OFFSET, 0L);
+        buffer.putLong(offset + NUM_OFFSET, num);
+        buffer.putInt(offset + LENGTH_OFFSET, length);
+        buffer.put(offset + HASH_OFFSET, hash);
+        buffer.put(offset + HEADER_BYTES, bytecode);
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksumAt(offset, length));
+        end = offset + HEADER_BYTES + length;
+        // Terminate the scan at this record, whatever an earlier (torn) write left after it
+        if (end + 4 <= buffer.capacity()) {
+            buffer.putInt(end + MAGIC_OFFSET, 0);
+        }
+        buffer.putInt(offset + MAGIC_OFFSET, RECORD_MAGIC);
+        return offset;
+    }
+
+    private boolean ensureMapped(final long bytes) {
+        final var mapped = buffer.capacity();
+        if (bytes <= mapped || mapped == capacity) {
+            return true;
+        }
+        final var newMapped = Math.min(capacity, Math.max(bytes, 2L * mapped));
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newMapped);
+            return true;
+        } catch (final IOException e) {
+            log.warn("Unable to grow bytecode store mapping to {} bytes", newMapped, e);
+            return false;
+        }
+    }
+
+    private void scan() {
+        var offset = 0;
+        final var capacity = buffer.capacity();
+        while (offset + HEADER_BYTES <= capacity
+                && buffer.getInt(offset + MAGIC_OFFSET) == RECORD_MAGIC) {
+            final var length = buffer.getInt(offset + LENGTH_OFFSET);
+            if (length < 0
+                    || (long) offset + HEADER_BYTES + length > capacity
+                    || checksumAt(offset, length) != buffer.getInt(offset + CHECKSUM_OFFSET)) {
+                break;
+            }
+            final var num = buffer.getLong(offset + NUM_OFFSET);
+            if (length == 0) {
+                offsets.remove(num);
+            } else {
+                offsets.put(num, offset);
+            }
+            offset += HEADER_BYTES + length;
+        }
+        end = offset;
+    }
+
+    private int checksumAt(final int offset, final int length) {
+        crc.reset();
+        crc.update(buffer.slice(offset + NUM_OFFSET, HEADER_BYTES - NUM_OFFSET + length));
+        return (int) crc.getValue();
+    }
+
+    @VisibleForTesting
+    int end() {
+        return end;
+    }
+
+    @VisibleForTesting
+    int mappedBytes() {
+        return buffer.capacity();
+    }
+}
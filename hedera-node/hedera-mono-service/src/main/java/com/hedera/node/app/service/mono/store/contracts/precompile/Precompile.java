@@ -82,6 +82,16 @@ public interface Precompile {
         // custom fees
     }
 
+    /**
+     * Returns whether {@link #addImplicitCostsIn(TxnAccessor)} would change the fees implied by
+     * just the synthetic transaction body; if not, those fees can be memoized.
+     *
+     * @return whether this precompile has implicit costs
+     */
+    default boolean hasImplicitCosts() {
+        return false;
+    }
+
     // Change the world state through the given frame
     void run(MessageFrame frame);
 
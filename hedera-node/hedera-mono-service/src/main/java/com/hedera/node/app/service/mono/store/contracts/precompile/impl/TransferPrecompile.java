@@ -196,6 +196,11 @@ public class TransferPrecompile extends AbstractWritePrecompile {
         }
     }
 
+    @Override
+    public boolean hasImplicitCosts() {
+        return impliedTransfers != null && !impliedTransfers.getAssessedCustomFees().isEmpty();
+    }
+
     @Override
     public void run(final MessageFrame frame) {
         if (impliedValidity == null) {
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.store.contracts.precompile.utils;
+
+import static com.hedera.node.app.service.mono.utils.MiscUtils.FUNCTION_EXTRACTOR;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenBurn;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenDelete;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenFreezeAccount;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenGrantKycToAccount;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenPause;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenRevokeKycFromAccount;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenUnfreezeAccount;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenUnpause;
+
+import com.hedera.node.app.hapi.utils.fee.FeeObject;
+import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.fees.HbarCentExchange;
+import com.hedera.node.app.service.mono.fees.annotations.GenericPriceMultiplier;
+import com.hedera.node.app.service.mono.fees.calculation.UsagePricesProvider;
+import com.hedera.node.app.service.mono.fees.congestion.FeeMultiplierSource;
+import com.hedera.node.app.service.mono.store.contracts.precompile.Precompile;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.FeeData;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.SubType;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Memoizes the fees of the synthetic transactions that {@link PrecompilePricingUtils} prices, so
+ * that a contract calling the same precompile with the same arguments in a loop pays for building
+ * a {@link TxnAccessor} and computing its fees only once.
+ *
+ * <p>Only synthetic transactions whose resource usage follows from their body alone are memoized;
+ * so not, for example, a token association (whose usage depends on the account's expiry), nor a
+ * transfer that triggers custom fees. Each entry is keyed by the body (less its transaction id),
+ * the usage prices and exchange rate in effect, and the token transfer usage multiplier; and holds
+ * the fees <i>before</i> the congestion multiplier, which is re-applied on every hit.
+ */
+@Singleton
+public class PrecompileFeeMemo {
+    static final int MAX_ENTRIES = 1024;
+
+    private static final EnumSet<HederaFunctionality> BODY_PRICED_FUNCTIONS =
+            EnumSet.of(
+                    CryptoTransfer,
+                    TokenBurn,
+                    TokenDelete,
+                    TokenFreezeAccount,
+                    TokenUnfreezeAccount,
+                    TokenGrantKycToAccount,
+                    TokenRevokeKycFromAccount,
+                    TokenPause,
+                    TokenUnpause);
+
+    private final HbarCentExchange exchange;
+    private final UsagePricesProvider resourceCosts;
+    private final FeeMultiplierSource feeMultiplierSource;
+    private final GlobalDynamicProperties dynamicProperties;
+    private final Map<Key, UnscaledFees> memo =
+            new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, UnscaledFees> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    public record Key(
+            TransactionBody body,
+            Map<SubType, FeeData> prices,
+            ExchangeRate rate,
+            int tokenTransferUsageMultiplier) {}
+
+    private record UnscaledFees(
+            long nodeFee, long networkFee, long serviceFee, TxnAccessor accessor) {}
+
+    @Inject
+    public PrecompileFeeMemo(
+            final HbarCentExchange exchange,
+            final UsagePricesProvider resourceCosts,
+            final @GenericPriceMultiplier FeeMultiplierSource feeMultiplierSource,
+            final GlobalDynamicProperties dynamicProperties) {
+        this.exchange = exchange;
+        this.resourceCosts = resourceCosts;
+        this.feeMultiplierSource = feeMultiplierSource;
+        this.dynamicProperties = dynamicProperties;
+    }
+
+    /**
+     * Returns the key under which the fees of the given synthetic transaction can be memoized, or
+     * null if they depend on more than its body.
+     *
+     * @param body the synthetic transaction body
+     * @param precompile the precompile that built it
+     * @param consensusTime the consensus time of the pricing
+     * @return the memo key, or null if the fees should not be memoized
+     */
+    @Nullable
+    public Key keyFor(
+            final TransactionBody body, final Precompile precompile, final Instant consensusTime) {
+        final var function = FUNCTION_EXTRACTOR.apply(body);
+        if (!BODY_PRICED_FUNCTIONS.contains(function) || precompile.hasImplicitCosts()) {
+            return null;
+        }
+        return new Key(
+                body.toBuilder().clearTransactionID().build(),
+                resourceCosts.pricesGiven(
+                        function, body.getTransactionID().getTransactionValidStart()),
+                exchange.activeRate(consensusTime),
+                dynamicProperties.feesTokenTransferUsageMultiplier());
+    }
+
+    /**
+     * Returns the total memoized fee for the given key, scaled by the current congestion
+     * multiplier; or empty if there is no such fee, or if scaling it would overflow.
+     *
+     * @param key the memo key
+     * @return the total fee in tinybars, if memoized
+     */
+    public synchronized OptionalLong totalFeeFor(final Key key) {
+        final var fees = memo.get(key);
+        if (fees == null) {
+            return OptionalLong.empty();
+        }
+        final var multiplier = feeMultiplierSource.currentMultiplier(fees.accessor());
+        final var maxUnscaled = Long.MAX_VALUE / multiplier;
+        if (fees.nodeFee() > maxUnscaled
+                || fees.networkFee() > maxUnscaled
+                || fees.serviceFee() > maxUnscaled) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(
+                fees.nodeFee() * multiplier
+                        + fees.networkFee() * multiplier
+                        + fees.serviceFee() * multiplier);
+    }
+
+    /**
+     * Memoizes the fees just computed for the synthetic transaction with the given key and
+     * accessor.
+     *
+     * @param key the memo key
+     * @param accessor the accessor the fees were computed from
+     * @param fees the fees, scaled by the current congestion multiplier
+     */
+    public synchronized void memoize(
+            final Key key, final TxnAccessor accessor, final FeeObject fees) {
+        final var multiplier = feeMultiplierSource.currentMultiplier(accessor);
+        memo.put(
+                key,
+                new UnscaledFees(
+                        fees.getNodeFee() / multiplier,
+                        fees.getNetworkFee() / multiplier,
+                        fees.getServiceFee() / multiplier,
+                        accessor));
+    }
+
+    synchronized int size() {
+        return memo.size();
+    }
+}
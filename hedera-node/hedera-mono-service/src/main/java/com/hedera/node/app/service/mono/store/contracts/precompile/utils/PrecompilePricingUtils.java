@@ -90,6 +90,7 @@ public class PrecompilePricingUtils {
     private final UsagePricesProvider resourceCosts;
     private final StateView currentView;
     private final AccessorFactory accessorFactory;
+    private final PrecompileFeeMemo feeMemo;
     Map<GasCostType, Long> canonicalOperationCostsInTinyCents;
 
     @Inject
@@ -99,12 +100,14 @@ public class PrecompilePricingUtils {
             final Provider<FeeCalculator> feeCalculator,
             final UsagePricesProvider resourceCosts,
             final StateView currentView,
-            final AccessorFactory accessorFactory) {
+            final AccessorFactory accessorFactory,
+            final PrecompileFeeMemo feeMemo) {
         this.exchange = exchange;
         this.feeCalculator = feeCalculator;
         this.resourceCosts = resourceCosts;
         this.currentView = currentView;
         this.accessorFactory = accessorFactory;
+        this.feeMemo = feeMemo;
 
         canonicalOperationCostsInTinyCents = new EnumMap<>(GasCostType.class);
         final Map<HederaFunctionality, Map<SubType, BigDecimal>> canonicalPrices;
@@ -139,9 +142,18 @@ public class PrecompilePricingUtils {
             final TransactionBody.Builder txBody,
             final Instant consensusTime,
             final Precompile precompile) {
+        final var body = txBody.build();
+        final var memoKey = feeMemo.keyFor(body, precompile, consensusTime);
+        if (memoKey != null) {
+            final var memoizedFee = feeMemo.totalFeeFor(memoKey);
+            if (memoizedFee.isPresent()) {
+                return memoizedFee.getAsLong();
+            }
+        }
+
         final var signedTxn =
                 SignedTransaction.newBuilder()
-                        .setBodyBytes(txBody.build().toByteString())
+                        .setBodyBytes(body.toByteString())
                         .setSigMap(SignatureMap.getDefaultInstance())
                         .build();
         final var txn =
@@ -153,6 +165,9 @@ public class PrecompilePricingUtils {
         precompile.addImplicitCostsIn(accessor);
         final var fees =
                 feeCalculator.get().computeFee(accessor, EMPTY_KEY, currentView, consensusTime);
+        if (memoKey != null) {
+            feeMemo.memoize(memoKey, accessor, fees);
+        }
         return fees.getServiceFee() + fees.getNetworkFee() + fees.getNodeFee();
     }
 
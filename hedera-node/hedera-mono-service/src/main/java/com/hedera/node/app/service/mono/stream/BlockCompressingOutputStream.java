@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An in-memory {@link OutputStream} that cuts everything written to it into fixed-size blocks and,
+ * if compression is enabled, gzips each full block as an independent gzip member as soon as it is
+ * sealed. The members are later written to a sink in the order their bytes were received; since
+ * concatenated gzip members form a valid gzip stream, the result decompresses to exactly the bytes
+ * written here.
+ *
+ * <p>With a non-null executor, blocks are compressed off the writing thread; otherwise each block
+ * is compressed inline when it is sealed. Either way, by the time {@link #writeTo(OutputStream)}
+ * is called at most one (partial) block is still left to compress.
+ *
+ * <p>Not thread-safe; only the worker threads given by the executor ever touch a sealed block.
+ */
+final class BlockCompressingOutputStream extends OutputStream {
+    private final int blockSize;
+    private final boolean compress;
+    @Nullable private final Executor executor;
+    private final List<CompletableFuture<byte[]>> blocks = new ArrayList<>();
+
+    private byte[] buffer;
+    private int count;
+
+    BlockCompressingOutputStream(
+            final int blockSize, final boolean compress, @Nullable final Executor executor) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive, not " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.compress = compress;
+        this.executor = executor;
+        this.buffer = new byte[blockSize];
+    }
+
+    @Override
+    public void write(final int b) {
+        buffer[count++] = (byte) b;
+        if (count == blockSize) {
+            seal();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        var from = off;
+        var remaining = len;
+        while (remaining > 0) {
+            final var n = Math.min(remaining, blockSize - count);
+            System.arraycopy(b, from, buffer, count, n);
+            count += n;
+            from += n;
+            remaining -= n;
+            if (count == blockSize) {
+                seal();
+            }
+        }
+    }
+
+    /**
+     * Seals the current partial block, waits for all blocks to be compressed, and writes them to
+     * the given sink in order. The stream is empty afterwards and may be reused.
+     *
+     * @param out the sink for the (possibly compressed) blocks
+     * @throws IOException if the sink fails, or if compressing any block failed
+     */
+    void writeTo(final OutputStream out) throws IOException {
+        seal();
+        if (blocks.isEmpty() && compress) {
+            // an empty gzip file is still a gzip file
+            out.write(gzip(new byte[0]));
+        }
+        try {
+            for (final var block : blocks) {
+                out.write(block.join());
+            }
+        } catch (final CompletionException | CancellationException e) {
+            final var cause = e.getCause();
+            throw cause instanceof UncheckedIOException uioe
+                    ? uioe.getCause()
+                    : new IOException("Could not compress record file block", e);
+        } finally {
+            blocks.clear();
+        }
+    }
+
+    /** Drops everything written since the last {@link #writeTo(OutputStream)}. */
+    void discard() {
+        blocks.forEach(block -> block.cancel(false));
+        blocks.clear();
+        count = 0;
+    }
+
+    int numSealedBlocks() {
+        return blocks.size();
+    }
+
+    private void seal() {
+        if (count == 0) {
+            return;
+        }
+        final byte[] block;
+        if (count == blockSize) {
+            block = buffer;
+            buffer = new byte[blockSize];
+        } else {
+            block = new byte[count];
+            System.arraycopy(buffer, 0, block, 0, count);
+        }
+        count = 0;
+        if (!compress) {
+            blocks.add(CompletableFuture.completedFuture(block));
+        } else if (executor == null) {
+            blocks.add(CompletableFuture.completedFuture(gzip(block)));
+        } else {
+            blocks.add(CompletableFuture.supplyAsync(() -> gzip(block), executor));
+        }
+    }
+
+    static byte[] gzip(final byte[] block) {
+        final var baos = new ByteArrayOutputStream(block.length / 4 + 64);
+        try (final var gzipStream = new GZIPOutputStream(baos)) {
+            gzipStream.write(block);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return baos.toByteArray();
+    }
+}
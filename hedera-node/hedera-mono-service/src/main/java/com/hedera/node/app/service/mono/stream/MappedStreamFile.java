@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import static com.hedera.node.app.hapi.utils.exports.FileCompressionUtils.COMPRESSION_ALGORITHM_EXTENSION;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.hedera.services.stream.proto.RecordStreamFile;
+import com.hedera.services.stream.proto.RecordStreamItem;
+import com.hedera.services.stream.proto.SidecarFile;
+import com.hedera.services.stream.proto.TransactionSidecarRecord;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Read access to the items of a record stream or sidecar file written by {@link
+ * RecordStreamFileWriter}, without decompressing and parsing the whole file up front.
+ *
+ * <p>An uncompressed file is memory-mapped, while a compressed file is decompressed once into a
+ * heap buffer. Either way, each item is exposed as a {@link ByteBuffer} slice of that buffer, so
+ * iterating the items copies none of their bytes; and {@link #parseRecordStreamItem} and {@link
+ * #parseSidecarRecord} alias the slice for their {@code bytes} fields. (Slices of a mapped file are
+ * read-only; slices of a decompressed file are not, since protobuf would have to copy a read-only
+ * heap buffer before parsing it, but changing them never changes the file.)
+ *
+ * <p>If the file has an index side file (see {@link StreamFileIndex}), it is used to seek to a
+ * transaction or time range directly; otherwise the index is built by scanning the file once.
+ */
+public final class MappedStreamFile {
+    /** The kinds of stream file that can be read, with the layout of their items. */
+    public enum Kind {
+        /** a v6 record file: a version int followed by a {@link RecordStreamFile} */
+        RECORD(Integer.BYTES, RecordStreamFile.RECORD_STREAM_ITEMS_FIELD_NUMBER),
+        /** a sidecar file: a {@link SidecarFile} */
+        SIDECAR(0, SidecarFile.SIDECAR_RECORDS_FIELD_NUMBER);
+
+        private final int headerBytes;
+        private final int itemFieldNumber;
+
+        Kind(final int headerBytes, final int itemFieldNumber) {
+            this.headerBytes = headerBytes;
+            this.itemFieldNumber = itemFieldNumber;
+        }
+    }
+
+    private final Kind kind;
+    private final ByteBuffer contents;
+    @Nullable private StreamFileIndex index;
+
+    private MappedStreamFile(
+            final Kind kind, final ByteBuffer contents, @Nullable final StreamFileIndex index) {
+        this.kind = kind;
+        this.contents = contents;
+        this.index = index;
+    }
+
+    /**
+     * Opens the given record stream or sidecar file, using its index side file if there is one.
+     * (The index of a compressed file is named after its uncompressed variant.)
+     *
+     * @param kind the kind of stream file
+     * @param path the file, compressed or not
+     * @return the opened file
+     * @throws IOException if the file (or its index) could not be read
+     */
+    public static MappedStreamFile open(final Kind kind, final Path path) throws IOException {
+        final var fileName = path.getFileName().toString();
+        final var compressed = fileName.endsWith(COMPRESSION_ALGORITHM_EXTENSION);
+        final var uncompressedName =
+                compressed
+                        ? fileName.substring(
+                                0, fileName.length() - COMPRESSION_ALGORITHM_EXTENSION.length())
+                        : fileName;
+        final var indexPath =
+                path.resolveSibling(StreamFileIndex.indexFilePathFor(uncompressedName));
+        final var index = Files.exists(indexPath) ? StreamFileIndex.readFrom(indexPath) : null;
+        return new MappedStreamFile(kind, contentsOf(path, compressed), index);
+    }
+
+    /**
+     * Wraps the given uncompressed contents of a record stream or sidecar file.
+     *
+     * @param kind the kind of stream file
+     * @param contents the uncompressed contents
+     * @param index the index of the contents, if known
+     * @return the wrapped contents
+     */
+    public static MappedStreamFile wrap(
+            final Kind kind, final ByteBuffer contents, @Nullable final StreamFileIndex index) {
+        return new MappedStreamFile(kind, contents.duplicate(), index);
+    }
+
+    /**
+     * Streams each item of the file, in order, to the given consumer as a slice of the file
+     * contents. This never needs (or builds) the index.
+     *
+     * @param consumer the consumer of the item bytes
+     */
+    public void forEachItem(final Consumer<ByteBuffer> consumer) {
+        scan((offset, length) -> consumer.accept(slice(offset, length)));
+    }
+
+    @FunctionalInterface
+    private interface ItemVisitor {
+        void visit(int offset, int length);
+    }
+
+    private void scan(final ItemVisitor visitor) {
+        final var input = CodedInputStream.newInstance(contents.duplicate());
+        try {
+            input.skipRawBytes(kind.headerBytes);
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                if (WireFormat.getTagFieldNumber(tag) == kind.itemFieldNumber
+                        && WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                    final var length = input.readRawVarint32();
+                    final var offset = input.getTotalBytesRead();
+                    if (length < 0 || length > contents.remaining() - offset) {
+                        throw new InvalidProtocolBufferException(
+                                "Item at " + offset + " runs past the end of the file");
+                    }
+                    visitor.visit(offset, length);
+                    input.skipRawBytes(length);
+                } else {
+                    input.skipField(tag);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Malformed " + kind + " stream file", e);
+        }
+    }
+
+    /**
+     * Returns the number of items in the file.
+     *
+     * @return the number of items
+     */
+    public int numItems() {
+        return index().size();
+    }
+
+    /**
+     * Returns the bytes of the given item as a slice of the file contents.
+     *
+     * @param i the position of the item in the file
+     * @return the bytes of the item
+     */
+    public ByteBuffer itemBytes(final int i) {
+        final var index = index();
+        return slice(index.offsetAt(i), index.lengthAt(i));
+    }
+
+    /**
+     * Returns the consensus time of the given item.
+     *
+     * @param i the position of the item in the file
+     * @return its consensus time
+     */
+    public Instant consensusTimeOf(final int i) {
+        return index().consensusTimeAt(i);
+    }
+
+    /**
+     * Returns the position of the first item with the given consensus time; or -1 if the file has
+     * no such item.
+     *
+     * @param consensusTime the consensus time of the transaction to seek
+     * @return the position of its (first) item, or -1
+     */
+    public int indexOf(final Instant consensusTime) {
+        return index().indexOf(consensusTime);
+    }
+
+    /**
+     * Streams the items whose consensus times are in {@code [fromInclusive, toExclusive)}, in
+     * order, to the given consumer as slices of the file contents.
+     *
+     * @param fromInclusive the start of the time range
+     * @param toExclusive the end of the time range
+     * @param consumer the consumer of the item bytes
+     */
+    public void forEachItemBetween(
+            final Instant fromInclusive,
+            final Instant toExclusive,
+            final Consumer<ByteBuffer> consumer) {
+        final var index = index();
+        final var end = index.firstAtOrAfter(toExclusive);
+        for (int i = index.firstAtOrAfter(fromInclusive); i < end; i++) {
+            consumer.accept(slice(index.offsetAt(i), index.lengthAt(i)));
+        }
+    }
+
+    /**
+     * Returns the index of this file, building it from the file contents if it was not given.
+     *
+     * @return the index
+     * @throws IllegalStateException if the items of the file are not in consensus order
+     */
+    public StreamFileIndex index() {
+        if (index == null) {
+            final var builder = new StreamFileIndex.Builder();
+            scan(
+                    (offset, length) -> {
+                        final var consensusTime = consensusTimeIn(slice(offset, length));
+                        if (!builder.add(consensusTime, offset, length)) {
+                            throw new IllegalStateException(
+                                    "Items of " + kind + " stream file are not in consensus order");
+                        }
+                    });
+            index = builder.build();
+        }
+        return index;
+    }
+
+    /**
+     * Parses the given record stream item bytes, aliasing (not copying) them for its {@code bytes}
+     * fields.
+     *
+     * @param itemBytes the bytes of a record stream item
+     * @return the parsed item
+     * @throws InvalidProtocolBufferException if the bytes are not a valid item
+     */
+    public static RecordStreamItem parseRecordStreamItem(final ByteBuffer itemBytes)
+            throws InvalidProtocolBufferException {
+        try {
+            return RecordStreamItem.parseFrom(aliasingInputFor(itemBytes));
+        } catch (final InvalidProtocolBufferException e) {
+            throw e;
+        } catch (final IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+    }
+
+    /**
+     * Parses the given sidecar record bytes, aliasing (not copying) them for its {@code bytes}
+     * fields.
+     *
+     * @param itemBytes the bytes of a sidecar record
+     * @return the parsed sidecar record
+     * @throws InvalidProtocolBufferException if the bytes are not a valid sidecar record
+     */
+    public static TransactionSidecarRecord parseSidecarRecord(final ByteBuffer itemBytes)
+            throws InvalidProtocolBufferException {
+        try {
+            return TransactionSidecarRecord.parseFrom(aliasingInputFor(itemBytes));
+        } catch (final InvalidProtocolBufferException e) {
+            throw e;
+        } catch (final IOException e) {
+            throw new InvalidProtocolBufferException(e);
+        }
+    }
+
+    private Instant consensusTimeIn(final ByteBuffer item) {
+        try {
+            final Timestamp timestamp =
+                    switch (kind) {
+                        case RECORD -> parseRecordStreamItem(item.duplicate())
+                                .getRecord()
+                                .getConsensusTimestamp();
+                        case SIDECAR -> parseSidecarRecord(item.duplicate())
+                                .getConsensusTimestamp();
+                    };
+            return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+        } catch (final InvalidProtocolBufferException e) {
+            throw new UncheckedIOException("Malformed item in " + kind + " stream file", e);
+        }
+    }
+
+    private ByteBuffer slice(final int offset, final int length) {
+        return contents.slice(contents.position() + offset, length);
+    }
+
+    private static CodedInputStream aliasingInputFor(final ByteBuffer itemBytes) {
+        final var input = CodedInputStream.newInstance(itemBytes.duplicate());
+        input.enableAliasing(true);
+        return input;
+    }
+
+    private static ByteBuffer contentsOf(final Path path, final boolean compressed)
+            throws IOException {
+        if (compressed) {
+            try (final var in = new GZIPInputStream(Files.newInputStream(path))) {
+                return ByteBuffer.wrap(in.readAllBytes());
+            }
+        }
+        // the mapping stays valid after the channel is closed
+        try (final var channel = FileChannel.open(path)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -18,43 +18,115 @@ package com.hedera.node.app.service.mono.stream;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.stats.MiscRunningAvgs;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+/**
+ * Hands off {@link RecordStreamObject}s from the thread handling transactions to the {@link
+ * RecordStreamManager} without blocking the former. By default the handoff goes through a bounded
+ * {@link BlockingQueue}; if {@code hedera.recordStream.handoffUsesRingBuffer=true}, it instead goes
+ * through a pre-allocated {@link SpscRingBuffer}, whose consumer idles according to the configured
+ * {@link WaitStrategy} when there is nothing to hand off.
+ *
+ * <p>Either way, {@link #offer(RecordStreamObject)} must only be called from a single thread.
+ */
 @Singleton
 public class NonBlockingHandoff {
     private static final int MIN_CAPACITY = 5_000;
 
+    /** How the ring buffer consumer waits for the next record to arrive. */
+    public enum WaitStrategy {
+        /** spin on the CPU; lowest latency, but burns a core while idle */
+        BUSY_SPIN {
+            @Override
+            void idle() {
+                Thread.onSpinWait();
+            }
+        },
+        /** park the consumer thread briefly; trades a few microseconds of latency for a core */
+        PARK {
+            @Override
+            void idle() {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        };
+
+        private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+        abstract void idle();
+    }
+
     private ExecutorService executor = newSingleThreadExecutor();
 
     private final AtomicBoolean timeToStop = new AtomicBoolean(false);
-    private final RecordStreamManager recordStreamManager;
+    private final Consumer<RecordStreamObject> recordStream;
+    private final MiscRunningAvgs runningAvgs;
     private final BlockingQueue<RecordStreamObject> queue;
+    private final SpscRingBuffer<RecordStreamObject> ringBuffer;
+    private final WaitStrategy waitStrategy;
+
+    /** when the producer's first failed offer in the current stall happened; 0 if not stalled */
+    private long stallStartNanos = 0L;
 
     @Inject
     public NonBlockingHandoff(
             final RecordStreamManager recordStreamManager,
-            final NodeLocalProperties nodeLocalProperties) {
-        this.recordStreamManager = recordStreamManager;
+            final NodeLocalProperties nodeLocalProperties,
+            final MiscRunningAvgs runningAvgs) {
+        this(recordStreamManager::addRecordStreamObject, nodeLocalProperties, runningAvgs);
+    }
+
+    NonBlockingHandoff(
+            final Consumer<RecordStreamObject> recordStream,
+            final NodeLocalProperties nodeLocalProperties,
+            final MiscRunningAvgs runningAvgs) {
+        this.recordStream = recordStream;
+        this.runningAvgs = runningAvgs;
         final int capacity =
                 Math.max(MIN_CAPACITY, nodeLocalProperties.recordStreamQueueCapacity());
-        queue = new ArrayBlockingQueue<>(capacity);
-        executor.execute(this::handoff);
+        if (nodeLocalProperties.recordStreamHandoffUsesRingBuffer()) {
+            queue = null;
+            ringBuffer = new SpscRingBuffer<>(capacity);
+            waitStrategy =
+                    WaitStrategy.valueOf(nodeLocalProperties.recordStreamHandoffWaitStrategy());
+            executor.execute(this::ringBufferHandoff);
+        } else {
+            queue = new ArrayBlockingQueue<>(capacity);
+            ringBuffer = null;
+            waitStrategy = null;
+            executor.execute(this::handoff);
+        }
         Runtime.getRuntime().addShutdownHook(new Thread(getShutdownHook()));
     }
 
     public boolean offer(RecordStreamObject rso) {
-        return queue.offer(rso);
+        final var accepted = (ringBuffer != null) ? ringBuffer.offer(rso) : queue.offer(rso);
+        if (accepted) {
+            if (stallStartNanos != 0L) {
+                runningAvgs.handoffStallMicrosRecordStream(
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - stallStartNanos));
+                stallStartNanos = 0L;
+            }
+        } else if (stallStartNanos == 0L) {
+            stallStartNanos = System.nanoTime();
+        }
+        return accepted;
     }
 
     private void handoff() {
         while (!timeToStop.get()) {
             try {
-                recordStreamManager.addRecordStreamObject(queue.take());
+                final var rso = queue.take();
+                runningAvgs.handoffOccupancyRecordStream(queue.size());
+                recordStream.accept(rso);
             } catch (final InterruptedException e) {
                 // Thread interrupted because of shutdown.
                 Thread.currentThread().interrupt();
@@ -63,6 +135,18 @@ public class NonBlockingHandoff {
         }
     }
 
+    private void ringBufferHandoff() {
+        while (!timeToStop.get() && !Thread.currentThread().isInterrupted()) {
+            final var rso = ringBuffer.poll();
+            if (rso == null) {
+                waitStrategy.idle();
+            } else {
+                runningAvgs.handoffOccupancyRecordStream(ringBuffer.size());
+                recordStream.accept(rso);
+            }
+        }
+    }
+
     ExecutorService getExecutor() {
         return executor;
     }
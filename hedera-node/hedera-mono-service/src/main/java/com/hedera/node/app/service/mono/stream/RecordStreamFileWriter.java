@@ -25,21 +25,20 @@ import static com.swirlds.logging.LogMarker.OBJECT_STREAM;
 import static com.swirlds.logging.LogMarker.OBJECT_STREAM_FILE;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Ints;
 import com.google.protobuf.CodedOutputStream;
-import com.google.protobuf.Message;
 import com.hedera.node.app.hapi.utils.ByteStringUtils;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
 import com.hedera.services.stream.proto.HashAlgorithm;
 import com.hedera.services.stream.proto.HashObject;
 import com.hedera.services.stream.proto.RecordStreamFile;
 import com.hedera.services.stream.proto.RecordStreamItem;
-import com.hedera.services.stream.proto.SidecarFile;
-import com.hedera.services.stream.proto.SidecarFile.Builder;
 import com.hedera.services.stream.proto.SidecarMetadata;
 import com.hedera.services.stream.proto.SidecarType;
 import com.hedera.services.stream.proto.SignatureFile;
 import com.hedera.services.stream.proto.SignatureObject;
 import com.hedera.services.stream.proto.SignatureType;
+import com.hedera.services.stream.proto.TransactionSidecarRecord;
 import com.hedera.services.stream.proto.TransactionSidecarRecord.SidecarRecordsCase;
 import com.hederahashgraph.api.proto.java.SemanticVersion;
 import com.swirlds.common.crypto.Cryptography;
@@ -52,16 +51,21 @@ import com.swirlds.common.stream.Signer;
 import com.swirlds.common.stream.StreamAligned;
 import com.swirlds.common.stream.internal.LinkedObjectStream;
 import com.swirlds.logging.LogMarker;
-import java.io.BufferedOutputStream;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.EnumSet;
 import java.util.concurrent.ExecutionException;
-import java.util.zip.GZIPOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -70,6 +74,11 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 
     private static final DigestType currentDigestType = Cryptography.DEFAULT_DIGEST_TYPE;
 
+    /** the number of uncompressed record file bytes that are compressed as one gzip member */
+    static final int COMPRESSION_BLOCK_SIZE = 1 << 20;
+
+    private static final long IDLE_COMPRESSION_THREAD_KEEP_ALIVE_SECS = 60L;
+
     /** < * the current record stream type; used to obtain file extensions and versioning */
     private final RecordStreamType streamType;
 
@@ -95,6 +104,34 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
      */
     private SerializableDataOutputStream dosMeta = null;
 
+    /**
+     * Holds the (possibly compressed) blocks of the record file for the current period. Record
+     * stream items are serialized into it as they are consumed, so that closing the period only
+     * needs to append the trailing fields and write out the blocks.
+     */
+    private BlockCompressingOutputStream recordFileBlocks = null;
+
+    /**
+     * Output stream for the record file contents. Any data written to this stream is used to
+     * generate the running hash of the entire (uncompressed) record file, in order.
+     */
+    private CodedOutputStream recordFileOutput = null;
+
+    /** whether the record file of the current period is being compressed */
+    private boolean compressCurrentRecordFile;
+
+    /** the pool compressing record file blocks; null if blocks are compressed inline */
+    @Nullable private final ExecutorService compressionExecutor;
+
+    /** whether an index side file is written for each record and sidecar file */
+    private final boolean writeIndexFiles;
+
+    /** the index of the record file for the current period; null if not writing index files */
+    @Nullable private StreamFileIndex.Builder recordFileIndex = null;
+
+    /** the index of the current sidecar file; null if not writing index files */
+    @Nullable private StreamFileIndex.Builder sidecarFileIndex = null;
+
     /**
      * current runningHash before consuming the object added by calling {@link
      * #addObject(RecordStreamObject)} method
@@ -133,10 +170,11 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
     private int sidecarFileId;
 
     /**
-     * Used to keep track of the size that the current {@code sidecarFileBuilder} will be on disk
-     * and externalizing it before it goes over {@code maxSidecarFileSize}
+     * The sidecar file of the current period that sidecar records are being streamed to; null
+     * until the first sidecar record for it arrives. Its size (in bytes already written) is used
+     * to start a new sidecar file before it goes over {@code maxSidecarFileSize}
      */
-    private int currentSidecarFileSize;
+    private SidecarFileStream currentSidecar;
 
     /** the max file size (in bytes) a sidecar file can have */
     private final int maxSidecarFileSize;
@@ -152,7 +190,6 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
 
     private int recordFileVersion;
     private RecordStreamFile.Builder recordStreamFileBuilder;
-    private SidecarFile.Builder sidecarFileBuilder;
     private final EnumSet<SidecarType> sidecarTypesInCurrentSidecar;
     private final GlobalDynamicProperties dynamicProperties;
 
@@ -164,6 +201,8 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
             final RecordStreamType streamType,
             final String sidecarDirPath,
             final int maxSidecarFileSize,
+            final int compressionThreads,
+            final boolean writeIndexFiles,
             final GlobalDynamicProperties globalDynamicProperties)
             throws NoSuchAlgorithmException {
         this.dirPath = dirPath;
@@ -179,6 +218,9 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
         this.sidecarFileId = 1;
         this.maxSidecarFileSize = maxSidecarFileSize;
         this.dynamicProperties = globalDynamicProperties;
+        this.compressionExecutor =
+                compressionThreads > 0 ? newCompressionExecutor(compressionThreads) : null;
+        this.writeIndexFiles = writeIndexFiles;
     }
 
     @Override
@@ -263,11 +305,10 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
     public void closeCurrentAndSign() {
         if (recordStreamFileBuilder != null) {
             // generate record file name
-            assertFirstTxnInstantIsKnown();
             final var uncompressedRecordFilePath = generateRecordFilePath(firstTxnInstant);
             final var recordFile =
                     new File(
-                            dynamicProperties.shouldCompressRecordFilesOnCreation()
+                            compressCurrentRecordFile
                                     ? uncompressedRecordFilePath + COMPRESSION_ALGORITHM_EXTENSION
                                     : uncompressedRecordFilePath);
             final var recordFileNameShort = recordFile.getName(); // for logging purposes
@@ -276,6 +317,20 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
                         OBJECT_STREAM.getMarker(),
                         "Stream file already exists {}",
                         recordFileNameShort);
+                // its sidecar records were still streamed as they arrived, so complete the
+                // (re-written) sidecar file instead of leaving it truncated on disk
+                if (currentSidecar != null) {
+                    try {
+                        currentSidecar.close();
+                    } catch (final IOException e) {
+                        LOG.warn(
+                                EXCEPTION.getMarker(),
+                                "closeCurrentAndSign :: {} when completing existing sidecar file",
+                                e.getClass().getSimpleName(),
+                                e);
+                    }
+                    currentSidecar = null;
+                }
             } else {
                 try {
                     // write endRunningHash
@@ -313,8 +368,8 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
                     return;
                 }
 
-                // create sidecar file
-                if (sidecarFileBuilder.getSidecarRecordsCount() > 0) {
+                // complete sidecar file
+                if (currentSidecar != null) {
                     try {
                         finalizeCurrentSidecar();
                     } catch (final IOException e) {
@@ -329,37 +384,26 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
                 }
 
                 // create record file
-                try (final FileOutputStream stream = new FileOutputStream(recordFile, false);
-                        final GZIPOutputStream gzipStream =
-                                dynamicProperties.shouldCompressRecordFilesOnCreation()
-                                        ? new GZIPOutputStream(stream)
-                                        : null;
-                        final SerializableDataOutputStream dos =
-                                new SerializableDataOutputStream(
-                                        new BufferedOutputStream(
-                                                new HashingOutputStream(
-                                                        streamDigest,
-                                                        gzipStream != null
-                                                                ? gzipStream
-                                                                : stream)))) {
+                try (final FileOutputStream stream = new FileOutputStream(recordFile, false)) {
                     LOG.debug(
                             OBJECT_STREAM_FILE.getMarker(),
                             "Stream file created {}",
                             recordFileNameShort);
 
-                    // write contents of record file - record file version and serialized RecordFile
-                    // protobuf
-                    dos.writeInt(recordFileVersion);
-                    dos.write(serialize(recordStreamFileBuilder));
+                    // the record file version, hapi version, start running hash and all items were
+                    // already serialized into recordFileBlocks; finish with the trailing fields
+                    // of the RecordStreamFile protobuf, in field number order
+                    recordStreamFileBuilder
+                            .clone()
+                            .clearHapiProtoVersion()
+                            .clearStartObjectRunningHash()
+                            .build()
+                            .writeTo(recordFileOutput);
+                    recordFileOutput.flush();
 
                     // make sure the whole file is written to disk
-                    dos.flush();
-                    if (gzipStream != null) {
-                        // GZIPOutputStream takes care of flushing its wrapped stream
-                        gzipStream.flush();
-                    } else {
-                        stream.flush();
-                    }
+                    recordFileBlocks.writeTo(stream);
+                    stream.flush();
                     stream.getChannel().force(true);
                     stream.getFD().sync();
                     LOG.debug(
@@ -367,9 +411,11 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
                             "Stream file written successfully {}",
                             recordFileNameShort);
 
-                    // close dosMeta manually; stream and dos will be automatically closed
+                    // close dosMeta manually; stream will be automatically closed
                     dosMeta.close();
                     dosMeta = null;
+                    recordFileOutput = null;
+                    recordFileBlocks = null;
                     recordStreamFileBuilder = null;
 
                     LOG.debug(
@@ -387,6 +433,9 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
                     return;
                 }
 
+                writeIndexFile(recordFileIndex, uncompressedRecordFilePath);
+                recordFileIndex = null;
+
                 // if this line is reached, record file has been created successfully, so create its
                 // signature
                 createSignatureFileFor(uncompressedRecordFilePath);
@@ -400,9 +449,9 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
      */
     private void beginNew(final RecordStreamObject object) {
         final var fileHeader = streamType.getFileHeader();
-        // instead of creating the record file here and writing
-        // the record file version in it, save the version and
-        // perform the whole file creation in {@link #closeCurrentAndSign()} method
+        // instead of creating the record file here, serialize its contents into in-memory
+        // blocks as objects arrive and perform the file creation in {@link
+        // #closeCurrentAndSign()} method
         recordFileVersion = fileHeader[0];
         // reset fields
         firstTxnInstant = null;
@@ -443,6 +492,35 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
                             + " stream",
                     e);
         }
+        beginRecordFile();
+    }
+
+    /**
+     * Starts serializing the record file of the new period: the record file version, followed by
+     * the leading fields of the RecordStreamFile protobuf (in field number order, so the file is
+     * byte-for-byte what serializing the whole protobuf at once would give).
+     */
+    private void beginRecordFile() {
+        compressCurrentRecordFile = dynamicProperties.shouldCompressRecordFilesOnCreation();
+        recordFileBlocks =
+                new BlockCompressingOutputStream(
+                        COMPRESSION_BLOCK_SIZE, compressCurrentRecordFile, compressionExecutor);
+        streamDigest.reset();
+        recordFileOutput =
+                CodedOutputStream.newInstance(
+                        new HashingOutputStream(streamDigest, recordFileBlocks));
+        recordFileOutput.useDeterministicSerialization();
+        recordFileIndex = writeIndexFiles ? new StreamFileIndex.Builder() : null;
+        try {
+            recordFileOutput.writeRawBytes(Ints.toByteArray(recordFileVersion));
+            recordStreamFileBuilder.clone().clearBlockNumber().build().writeTo(recordFileOutput);
+        } catch (final IOException e) {
+            Thread.currentThread().interrupt();
+            LOG.error(
+                    EXCEPTION.getMarker(),
+                    "beginNew :: Got IOException when writing the record file header",
+                    e);
+        }
     }
 
     /**
@@ -451,53 +529,112 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
      * @param object object to be added to the record stream file
      */
     private void consume(final RecordStreamObject object) {
-        recordStreamFileBuilder.addRecordStreamItems(
+        final var item =
                 RecordStreamItem.newBuilder()
                         .setTransaction(object.getTransaction())
                         .setRecord(object.getTransactionRecord())
-                        .build());
+                        .build();
+        if (firstTxnInstant == null) {
+            final var firstTxnTimestamp = item.getRecord().getConsensusTimestamp();
+            firstTxnInstant =
+                    Instant.ofEpochSecond(
+                            firstTxnTimestamp.getSeconds(), firstTxnTimestamp.getNanos());
+        }
+        try {
+            recordFileOutput.writeMessage(RecordStreamFile.RECORD_STREAM_ITEMS_FIELD_NUMBER, item);
+            if (recordFileIndex != null) {
+                // the item's bytes end at the current (uncompressed) offset
+                final var itemSize = item.getSerializedSize();
+                if (!recordFileIndex.add(
+                        object.getTimestamp(),
+                        recordFileOutput.getTotalBytesWritten() - itemSize,
+                        itemSize)) {
+                    LOG.warn("Record file starting at {} cannot be indexed", firstTxnInstant);
+                    recordFileIndex = null;
+                }
+            }
+        } catch (final IOException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn(
+                    EXCEPTION.getMarker(),
+                    "consume :: IOException when serializing record stream item",
+                    e);
+            return;
+        }
 
         final var sidecars = object.getSidecars();
         if (!sidecars.isEmpty()) {
             for (final var sidecarBuilder : sidecars) {
-                // build() and getSerializedSize() would have been called anyway by the proto
-                // library downstream, so we do not incur any performance losses calling them here
-                // getSerializedSize() caches its result internally
                 final var sidecar = sidecarBuilder.build();
-                final var sidecarSizeInBytes = sidecar.getSerializedSize();
-                if (currentSidecarFileSize + sidecarSizeInBytes >= maxSidecarFileSize) {
-                    assertFirstTxnInstantIsKnown();
-                    try {
-                        finalizeCurrentSidecar();
-                    } catch (final IOException e) {
-                        Thread.currentThread().interrupt();
-                        LOG.warn(
-                                EXCEPTION.getMarker(),
-                                "consume :: {} when creating sidecar files",
-                                e.getClass().getSimpleName(),
-                                e);
-                        return;
-                    }
-                    resetSidecarFields();
-                    sidecarFileId++;
-                }
-                if (sidecar.getSidecarRecordsCase() != SidecarRecordsCase.SIDECARRECORDS_NOT_SET) {
-                    if (sidecar.getSidecarRecordsCase() == SidecarRecordsCase.STATE_CHANGES) {
-                        sidecarTypesInCurrentSidecar.add(SidecarType.CONTRACT_STATE_CHANGE);
-                    } else if (sidecar.getSidecarRecordsCase() == SidecarRecordsCase.ACTIONS) {
-                        sidecarTypesInCurrentSidecar.add(SidecarType.CONTRACT_ACTION);
-                    } else if (sidecar.getSidecarRecordsCase() == SidecarRecordsCase.BYTECODE) {
-                        sidecarTypesInCurrentSidecar.add(SidecarType.CONTRACT_BYTECODE);
-                    }
-                    currentSidecarFileSize += sidecarSizeInBytes;
-                    sidecarFileBuilder.addSidecarRecords(sidecar);
-                } else {
+                if (sidecar.getSidecarRecordsCase() == SidecarRecordsCase.SIDECARRECORDS_NOT_SET) {
                     LOG.warn("A sidecar record without an actual sidecar has been received");
+                    continue;
+                }
+                try {
+                    append(sidecar);
+                } catch (final IOException e) {
+                    Thread.currentThread().interrupt();
+                    LOG.warn(
+                            EXCEPTION.getMarker(),
+                            "consume :: {} when creating sidecar files",
+                            e.getClass().getSimpleName(),
+                            e);
+                    return;
                 }
             }
         }
     }
 
+    /**
+     * Streams the given sidecar record to the current sidecar file of this period, first
+     * completing that file and starting the next one if the record would take it over {@code
+     * maxSidecarFileSize}.
+     *
+     * @param sidecar the sidecar record to write
+     * @throws IOException if a sidecar file could not be completed, created or written
+     */
+    private void append(final TransactionSidecarRecord sidecar) throws IOException {
+        final var sizeInFile = SidecarFileStream.sizeInFileOf(sidecar);
+        if (currentSidecar != null
+                && currentSidecar.bytesWritten() + sizeInFile >= maxSidecarFileSize) {
+            finalizeCurrentSidecar();
+            resetSidecarFields();
+            sidecarFileId++;
+        }
+        if (currentSidecar == null) {
+            final var sidecarFile =
+                    new File(generateSidecarFilePath(firstTxnInstant, sidecarFileId));
+            sidecarStreamDigest.reset();
+            currentSidecar =
+                    new SidecarFileStream(
+                            sidecarFile,
+                            dynamicProperties.shouldCompressRecordFilesOnCreation(),
+                            sidecarStreamDigest);
+            sidecarFileIndex = writeIndexFiles ? new StreamFileIndex.Builder() : null;
+        }
+        switch (sidecar.getSidecarRecordsCase()) {
+            case STATE_CHANGES -> sidecarTypesInCurrentSidecar.add(
+                    SidecarType.CONTRACT_STATE_CHANGE);
+            case ACTIONS -> sidecarTypesInCurrentSidecar.add(SidecarType.CONTRACT_ACTION);
+            case BYTECODE -> sidecarTypesInCurrentSidecar.add(SidecarType.CONTRACT_BYTECODE);
+            default -> {
+                // no other kinds of sidecar records yet
+            }
+        }
+        currentSidecar.append(sidecar);
+        if (sidecarFileIndex != null) {
+            final var sidecarSize = sidecar.getSerializedSize();
+            final var consensusTime = sidecar.getConsensusTimestamp();
+            if (!sidecarFileIndex.add(
+                    Instant.ofEpochSecond(consensusTime.getSeconds(), consensusTime.getNanos()),
+                    currentSidecar.bytesWritten() - sidecarSize,
+                    sidecarSize)) {
+                LOG.warn("Sidecar file {} cannot be indexed", currentSidecar.file().getName());
+                sidecarFileIndex = null;
+            }
+        }
+    }
+
     /**
      * generate full record file path from given Instant object
      *
@@ -555,6 +692,14 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
                         e);
             }
         }
+        if (recordFileBlocks != null) {
+            recordFileBlocks.discard();
+            recordFileBlocks = null;
+        }
+        resetSidecarFields();
+        recordFileIndex = null;
+        recordFileOutput = null;
+        streamDigest.reset();
         recordStreamFileBuilder = null;
         LOG.debug(OBJECT_STREAM.getMarker(), "RecordStreamFileWriter::clear executed.");
     }
@@ -578,36 +723,6 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
         return this.startWriteAtCompleteWindow;
     }
 
-    private void assertFirstTxnInstantIsKnown() {
-        if (firstTxnInstant == null) {
-            final var firstTxnTimestamp =
-                    recordStreamFileBuilder
-                            .getRecordStreamItems(0)
-                            .getRecord()
-                            .getConsensusTimestamp();
-            firstTxnInstant =
-                    Instant.ofEpochSecond(
-                            firstTxnTimestamp.getSeconds(), firstTxnTimestamp.getNanos());
-        }
-    }
-
-    /**
-     * Helper method that serializes an arbitrary Message.Builder. Uses deterministic serialization
-     * to ensure multiple invocations on the same object lead to identical serialization.
-     *
-     * @param messageBuilder the object that needs to be serialized
-     * @return the serialized bytes
-     */
-    private byte[] serialize(final Message.Builder messageBuilder) throws IOException {
-        final var messageProto = messageBuilder.build();
-        final var result = new byte[messageProto.getSerializedSize()];
-        final var output = CodedOutputStream.newInstance(result);
-        output.useDeterministicSerialization();
-        messageProto.writeTo(output);
-        output.checkNoSpaceLeft();
-        return result;
-    }
-
     private HashObject toProto(final byte[] hash) {
         return HashObject.newBuilder()
                 .setAlgorithm(HashAlgorithm.SHA_384)
@@ -657,41 +772,6 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
                 .build();
     }
 
-    private void createSidecarFile(final Builder sidecarFileBuilder, final File sidecarFile)
-            throws IOException {
-        try (final FileOutputStream stream = new FileOutputStream(sidecarFile, false);
-                final GZIPOutputStream gzipStream =
-                        dynamicProperties.shouldCompressRecordFilesOnCreation()
-                                ? new GZIPOutputStream(stream)
-                                : null;
-                final SerializableDataOutputStream dos =
-                        new SerializableDataOutputStream(
-                                new BufferedOutputStream(
-                                        new HashingOutputStream(
-                                                sidecarStreamDigest,
-                                                gzipStream != null ? gzipStream : stream)))) {
-            // write contents of sidecar
-            dos.write(serialize(sidecarFileBuilder));
-
-            // make sure the whole sidecar is written to disk before continuing
-            // with calculating its hash and saving it as part of the SidecarMetadata
-            dos.flush();
-            if (gzipStream != null) {
-                // GZIPOutputStream takes care of flushing its wrapped stream
-                gzipStream.flush();
-            } else {
-                stream.flush();
-            }
-            stream.getChannel().force(true);
-            stream.getFD().sync();
-
-            LOG.debug(
-                    OBJECT_STREAM_FILE.getMarker(),
-                    "Sidecar file created successfully {}",
-                    sidecarFile.getName());
-        }
-    }
-
     private SidecarMetadata.Builder createSidecarMetadata() {
         return SidecarMetadata.newBuilder()
                 .setHash(toProto(sidecarStreamDigest.digest()))
@@ -700,21 +780,79 @@ class RecordStreamFileWriter implements LinkedObjectStream<RecordStreamObject> {
     }
 
     private void finalizeCurrentSidecar() throws IOException {
-        final var sidecarFile = new File(generateSidecarFilePath(firstTxnInstant, sidecarFileId));
-        createSidecarFile(sidecarFileBuilder, sidecarFile);
+        // the sidecar is fully on disk (and its digest complete) once closed
+        currentSidecar.close();
+        LOG.debug(
+                OBJECT_STREAM_FILE.getMarker(),
+                "Sidecar file created successfully {}",
+                currentSidecar.file().getName());
+        final var sidecarPath = currentSidecar.file().getPath();
+        writeIndexFile(
+                sidecarFileIndex,
+                sidecarPath.endsWith(COMPRESSION_ALGORITHM_EXTENSION)
+                        ? sidecarPath.substring(
+                                0, sidecarPath.length() - COMPRESSION_ALGORITHM_EXTENSION.length())
+                        : sidecarPath);
+        currentSidecar = null;
+        sidecarFileIndex = null;
         recordStreamFileBuilder.addSidecars(createSidecarMetadata());
     }
 
+    /**
+     * Writes the given index (if any) as the side file of the given uncompressed stream file. The
+     * index is only an aid to readers, so failing to write it is logged but does not interrupt
+     * the stream.
+     */
+    private void writeIndexFile(
+            @Nullable final StreamFileIndex.Builder index, final String uncompressedPath) {
+        if (index == null) {
+            return;
+        }
+        final var indexPath = StreamFileIndex.indexFilePathFor(uncompressedPath);
+        try {
+            index.build().writeTo(Paths.get(indexPath));
+            LOG.debug(OBJECT_STREAM_FILE.getMarker(), "Index file written {}", indexPath);
+        } catch (final IOException e) {
+            LOG.warn(EXCEPTION.getMarker(), "Could not write index file {}", indexPath, e);
+        }
+    }
+
     private void resetSidecarFields() {
-        sidecarFileBuilder = SidecarFile.newBuilder();
+        if (currentSidecar != null) {
+            // only reached when a period is abandoned before its sidecar was completed
+            currentSidecar.abandon();
+            currentSidecar = null;
+        }
+        sidecarFileIndex = null;
         sidecarTypesInCurrentSidecar.clear();
-        currentSidecarFileSize = 0;
     }
 
     public int getMaxSidecarFileSize() {
         return this.maxSidecarFileSize;
     }
 
+    private static ExecutorService newCompressionExecutor(final int numThreads) {
+        final var threadNo = new AtomicInteger();
+        final var executor =
+                new ThreadPoolExecutor(
+                        numThreads,
+                        numThreads,
+                        IDLE_COMPRESSION_THREAD_KEEP_ALIVE_SECS,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            final var thread =
+                                    new Thread(
+                                            runnable,
+                                            "recordFileCompression-" + threadNo.getAndIncrement());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        // idle workers exit between periods, so an unused writer holds no threads
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     @VisibleForTesting
     void clearRunningHash() {
         runningHash = new RunningHash();
@@ -134,6 +134,8 @@ public class RecordStreamManager {
                                 streamType,
                                 nodeScopedSidecarDir,
                                 globalDynamicProperties.getSidecarMaxSizeMb() * MB_TO_BYTES,
+                                nodeLocalProperties.recordStreamCompressionThreads(),
+                                nodeLocalProperties.shouldWriteRecordStreamIndexFiles(),
                                 globalDynamicProperties);
             } else {
                 v5StreamFileWriter =
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import com.google.protobuf.CodedOutputStream;
+import com.hedera.services.stream.proto.SidecarFile;
+import com.hedera.services.stream.proto.TransactionSidecarRecord;
+import com.swirlds.common.crypto.HashingOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Streams the {@link TransactionSidecarRecord}s of one sidecar file to disk as they arrive, instead
+ * of accumulating a {@link SidecarFile.Builder} in memory. Each record is written as an element of
+ * the {@code sidecar_records} field, so the (uncompressed) file is byte-for-byte what serializing
+ * the equivalent {@link SidecarFile} at once would give; and the given digest is updated with
+ * those uncompressed bytes, in order.
+ */
+class SidecarFileStream {
+    private static final Logger log = LogManager.getLogger(SidecarFileStream.class);
+
+    private final File file;
+    private final FileOutputStream fileStream;
+    private final GZIPOutputStream gzipStream;
+    private final CodedOutputStream output;
+
+    SidecarFileStream(final File file, final boolean compress, final MessageDigest digest)
+            throws IOException {
+        this.file = file;
+        this.fileStream = new FileOutputStream(file, false);
+        try {
+            this.gzipStream = compress ? new GZIPOutputStream(fileStream) : null;
+        } catch (final IOException e) {
+            fileStream.close();
+            throw e;
+        }
+        final OutputStream sink = gzipStream != null ? gzipStream : fileStream;
+        this.output = CodedOutputStream.newInstance(new HashingOutputStream(digest, sink));
+        this.output.useDeterministicSerialization();
+    }
+
+    /**
+     * Appends the given sidecar record to the file.
+     *
+     * @param sidecar the record to append
+     * @throws IOException if the record could not be written
+     */
+    void append(final TransactionSidecarRecord sidecar) throws IOException {
+        output.writeMessage(SidecarFile.SIDECAR_RECORDS_FIELD_NUMBER, sidecar);
+    }
+
+    /**
+     * Returns the number of (uncompressed) bytes appended so far; this bounds the size of the file
+     * once closed.
+     *
+     * @return the number of bytes appended
+     */
+    long bytesWritten() {
+        return output.getTotalBytesWritten();
+    }
+
+    /**
+     * Returns the number of bytes that appending the given record would add to the file.
+     *
+     * @param sidecar the record that may be appended
+     * @return its size within the file
+     */
+    static int sizeInFileOf(final TransactionSidecarRecord sidecar) {
+        return CodedOutputStream.computeMessageSize(
+                SidecarFile.SIDECAR_RECORDS_FIELD_NUMBER, sidecar);
+    }
+
+    /**
+     * Flushes everything appended, makes sure it is on disk, and closes the file.
+     *
+     * @throws IOException if the file could not be completed
+     */
+    void close() throws IOException {
+        try (fileStream;
+                gzipStream) {
+            output.flush();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+            fileStream.flush();
+            fileStream.getChannel().force(true);
+            fileStream.getFD().sync();
+        }
+    }
+
+    /**
+     * Closes the file without caring whether its contents are complete, and then deletes it, so
+     * that readers never see a truncated sidecar file.
+     */
+    void abandon() {
+        try (fileStream;
+                gzipStream) {
+            // nothing to do but release the file
+        } catch (final IOException ignore) {
+            // nothing more we can do with this file
+        }
+        try {
+            Files.deleteIfExists(file.toPath());
+            log.warn("Deleted incomplete sidecar file {}", file);
+        } catch (final IOException e) {
+            log.warn("Could not delete incomplete sidecar file {}", file, e);
+        }
+    }
+
+    File file() {
+        return file;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free ring buffer for exactly one producer thread and one consumer thread. All
+ * slots are allocated up front, so neither {@link #offer(Object)} nor {@link #poll()} allocates.
+ *
+ * <p>The producer publishes a slot with an ordered write of the tail index after filling it, and
+ * the consumer frees a slot with an ordered write of the head index after clearing it; each side
+ * caches the other's index and only re-reads it when the buffer looks full (or empty).
+ *
+ * @param <E> the type of element handed off
+ */
+final class SpscRingBuffer<E> {
+    private final int mask;
+    private final Object[] slots;
+
+    // padded to keep the producer's and consumer's indices on different cache lines
+    private final AtomicLong head = new PaddedAtomicLong();
+    private final AtomicLong tail = new PaddedAtomicLong();
+
+    /** producer-local copy of {@code head} */
+    private long cachedHead;
+    /** consumer-local copy of {@code tail} */
+    private long cachedTail;
+
+    SpscRingBuffer(final int minCapacity) {
+        if (minCapacity <= 0 || minCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity " + minCapacity);
+        }
+        final var capacity = Integer.highestOneBit(minCapacity - 1) << 1;
+        this.slots = new Object[Math.max(1, capacity)];
+        this.mask = slots.length - 1;
+    }
+
+    /**
+     * Adds the given element if there is room. Must only be called from the producer thread.
+     *
+     * @param e the element to add
+     * @return whether the element was added
+     */
+    boolean offer(final E e) {
+        final var t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) {
+                return false;
+            }
+        }
+        slots[(int) t & mask] = e;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest element, if any. Must only be called from the consumer thread.
+     *
+     * @return the oldest element, or null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        final var h = head.get();
+        if (h == cachedTail) {
+            cachedTail = tail.get();
+            if (h == cachedTail) {
+                return null;
+            }
+        }
+        final var i = (int) h & mask;
+        final var e = (E) slots[i];
+        slots[i] = null;
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    /**
+     * Returns an estimate of the number of elements in the buffer; exact when called from either
+     * the producer or the consumer while the other is idle.
+     *
+     * @return the approximate size
+     */
+    int size() {
+        final var h = head.get();
+        return (int) Math.max(0, Math.min(slots.length, tail.get() - h));
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class PaddedAtomicLong extends AtomicLong {
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * A compact index of the items in a record stream or sidecar file, mapping the consensus timestamp
+ * of each item to the offset and length of its serialized bytes in the <i>uncompressed</i> file.
+ * Entries are in file order, which is also (non-decreasing) consensus order; so a given
+ * transaction or time range can be found by binary search, and its bytes read without parsing
+ * anything else in the file.
+ *
+ * <p>The index of a file is written as a side file with the same name as the uncompressed stream
+ * file plus {@link #INDEX_FILE_EXTENSION}. Its format is a version int and an entry count int,
+ * followed by each entry as its consensus time in nanos since the epoch (long), offset (int) and
+ * length (int).
+ */
+public final class StreamFileIndex {
+    public static final String INDEX_FILE_EXTENSION = ".idx";
+
+    static final int INDEX_FILE_VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int size;
+    private final long[] consensusNanos;
+    private final int[] offsets;
+    private final int[] lengths;
+
+    private StreamFileIndex(
+            final int size, final long[] consensusNanos, final int[] offsets, final int[] lengths) {
+        this.size = size;
+        this.consensusNanos = consensusNanos;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Returns the path of the index side file for the given uncompressed stream file path.
+     *
+     * @param uncompressedStreamFilePath the path of the (uncompressed) stream file
+     * @return the path of its index file
+     */
+    public static String indexFilePathFor(final String uncompressedStreamFilePath) {
+        return uncompressedStreamFilePath + INDEX_FILE_EXTENSION;
+    }
+
+    /**
+     * Reads an index from the given file.
+     *
+     * @param path the index file
+     * @return the index
+     * @throws IOException if the file could not be read or is not a valid index
+     */
+    public static StreamFileIndex readFrom(final Path path) throws IOException {
+        final var buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new IOException("Index file " + path + " is truncated");
+        }
+        final var version = buffer.getInt();
+        if (version != INDEX_FILE_VERSION) {
+            throw new IOException("Index file " + path + " has unknown version " + version);
+        }
+        final var n = buffer.getInt();
+        if (n < 0 || buffer.remaining() != (long) n * ENTRY_BYTES) {
+            throw new IOException("Index file " + path + " does not hold " + n + " entries");
+        }
+        final var builder = new Builder(n);
+        for (int i = 0; i < n; i++) {
+            if (!builder.add(buffer.getLong(), buffer.getInt(), buffer.getInt())) {
+                throw new IOException("Index file " + path + " is not in consensus order");
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes this index to the given file, replacing any existing contents.
+     *
+     * @param path the index file
+     * @throws IOException if the file could not be written
+     */
+    public void writeTo(final Path path) throws IOException {
+        try (final var out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(INDEX_FILE_VERSION);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(consensusNanos[i]);
+                out.writeInt(offsets[i]);
+                out.writeInt(lengths[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Instant consensusTimeAt(final int i) {
+        checkIndex(i);
+        return Instant.ofEpochSecond(
+                consensusNanos[i] / NANOS_PER_SECOND, consensusNanos[i] % NANOS_PER_SECOND);
+    }
+
+    public int offsetAt(final int i) {
+        checkIndex(i);
+        return offsets[i];
+    }
+
+    public int lengthAt(final int i) {
+        checkIndex(i);
+        return lengths[i];
+    }
+
+    /**
+     * Returns the position of the first entry whose consensus time is not before the given time;
+     * or {@link #size()} if there is no such entry.
+     *
+     * @param consensusTime the time to search for
+     * @return the first entry at or after the time
+     */
+    public int firstAtOrAfter(final Instant consensusTime) {
+        final var target = nanosOf(consensusTime);
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            final var mid = (lo + hi) >>> 1;
+            if (consensusNanos[mid] < target) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the position of the first entry with exactly the given consensus time; or -1 if
+     * there is no such entry.
+     *
+     * @param consensusTime the time to search for
+     * @return the first entry at the time, or -1
+     */
+    public int indexOf(final Instant consensusTime) {
+        final var i = firstAtOrAfter(consensusTime);
+        return (i < size && consensusNanos[i] == nanosOf(consensusTime)) ? i : -1;
+    }
+
+    static long nanosOf(final Instant consensusTime) {
+        return consensusTime.getEpochSecond() * NANOS_PER_SECOND + consensusTime.getNano();
+    }
+
+    private void checkIndex(final int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("No entry " + i + " in index of size " + size);
+        }
+    }
+
+    /** Accumulates the entries of an index as the items of its stream file are written. */
+    public static final class Builder {
+        private int size;
+        private long[] consensusNanos;
+        private int[] offsets;
+        private int[] lengths;
+
+        public Builder() {
+            this(64);
+        }
+
+        Builder(final int initialCapacity) {
+            consensusNanos = new long[Math.max(initialCapacity, 1)];
+            offsets = new int[consensusNanos.length];
+            lengths = new int[consensusNanos.length];
+        }
+
+        /**
+         * Adds the next item of the file to the index, unless it would break the consensus order
+         * of the entries (or its offset is beyond what a buffer can address); in which case the
+         * file cannot be indexed.
+         *
+         * @param consensusTime the consensus time of the item
+         * @param offset the offset of the item's serialized bytes in the uncompressed file
+         * @param length the length of the item's serialized bytes
+         * @return whether the item was added
+         */
+        public boolean add(final Instant consensusTime, final long offset, final int length) {
+            return offset <= Integer.MAX_VALUE
+                    && add(nanosOf(consensusTime), (int) offset, length);
+        }
+
+        private boolean add(final long nanos, final int offset, final int length) {
+            if (size > 0 && nanos < consensusNanos[size - 1]) {
+                return false;
+            }
+            if (size == consensusNanos.length) {
+                final var capacity = 2 * size;
+                consensusNanos = Arrays.copyOf(consensusNanos, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            consensusNanos[size] = nanos;
+            offsets[size] = offset;
+            lengths[size] = length;
+            size++;
+            return true;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public StreamFileIndex build() {
+            return new StreamFileIndex(size, consensusNanos, offsets, lengths);
+        }
+    }
+}
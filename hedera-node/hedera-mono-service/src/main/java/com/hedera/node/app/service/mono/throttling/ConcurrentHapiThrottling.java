@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.throttling;
+
+import static com.hedera.node.app.hapi.utils.CommonUtils.productWouldOverflow;
+
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ScaleFactor;
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleDefinitions;
+import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
+import com.hedera.node.app.hapi.utils.throttles.GasLimitDeterministicThrottle;
+import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
+import com.hedera.node.app.service.mono.store.schedule.ScheduleStore;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.Query;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A frontend (HAPI) throttle that lets many ingest threads admit transactions at once, instead of
+ * serializing them through a {@link DeterministicThrottling} as {@link HapiThrottling} does.
+ *
+ * <p>The throttle definitions are still resolved by a {@link DeterministicThrottling} in {@code
+ * HAPI} mode; but each of its buckets is mirrored by a {@link ConcurrentLeakyBucket}, and only the
+ * mirrors are used to make throttling decisions. Each decision takes the capacity it needs from
+ * every relevant bucket with a CAS, and returns that capacity if any bucket is too full; so there
+ * is no shared "last allowed use" to reset and reclaim. The decisions themselves are made by the
+ * same {@link ThrottleRules} as those of {@link DeterministicThrottling} in {@code HAPI} mode.
+ *
+ * <p>Costs are truncated to whole nanoseconds of leakage; so when a bucket's leak rate does not
+ * evenly divide the capacity an operation needs, this throttle can admit slightly (by less than a
+ * nanosecond's worth of leakage per operation) more than a {@link DeterministicThrottle} would.
+ *
+ * <p>Since the mirrored {@link DeterministicThrottle}s no longer see any traffic, {@link
+ * #allActiveThrottles()} and {@link #gasLimitThrottle()} first copy the current usage of the
+ * concurrent buckets into them, so that throttle gauges still report live utilization.
+ */
+public class ConcurrentHapiThrottling implements FunctionalityThrottling {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final String STABLE_SOURCE_OF_THROTTLES_ERROR =
+            "HAPI throttling should not be treated as a stable source of throttles";
+
+    private final DeterministicThrottling delegate;
+    private final AliasManager aliasManager;
+    private final ThrottleRules rules;
+
+    private volatile Buckets buckets = Buckets.NONE;
+
+    public ConcurrentHapiThrottling(
+            final DeterministicThrottling delegate,
+            final AliasManager aliasManager,
+            final GlobalDynamicProperties dynamicProperties,
+            final ScheduleStore scheduleStore) {
+        this.delegate = delegate;
+        this.aliasManager = aliasManager;
+        this.rules = new ThrottleRules(aliasManager, dynamicProperties, scheduleStore);
+    }
+
+    @Override
+    public boolean shouldThrottleTxn(final TxnAccessor accessor) {
+        return shouldThrottleTxn(accessor, Instant.now());
+    }
+
+    /**
+     * Decides whether the given transaction should be throttled at the given time.
+     *
+     * @param accessor the transaction of interest
+     * @param now the time of the decision
+     * @return whether the transaction should be throttled
+     */
+    public boolean shouldThrottleTxn(final TxnAccessor accessor, final Instant now) {
+        final var admission = new Admission(buckets, nanosOf(now));
+        return admission.settle(shouldThrottle(admission, accessor));
+    }
+
+    /**
+     * Decides, in order, whether each of the given transactions should be throttled at the given
+     * time; the decision for each transaction takes into account the capacity used by all the
+     * transactions before it that were not throttled.
+     *
+     * @param accessors the transactions of interest
+     * @param now the time of the decisions
+     * @return for each transaction, whether it should be throttled
+     */
+    public boolean[] shouldThrottle(final List<TxnAccessor> accessors, final Instant now) {
+        final var decisions = new boolean[accessors.size()];
+        final var admission = new Admission(buckets, nanosOf(now));
+        for (int i = 0; i < decisions.length; i++) {
+            decisions[i] = admission.settle(shouldThrottle(admission, accessors.get(i)));
+        }
+        return decisions;
+    }
+
+    @Override
+    public boolean shouldThrottleQuery(
+            final HederaFunctionality queryFunction, final Query query) {
+        final var admission = new Admission(buckets, nanosOf(Instant.now()));
+        return admission.settle(rules.shouldThrottleQuery(queryFunction, query, admission));
+    }
+
+    @Override
+    public void leakUnusedGasPreviouslyReserved(final TxnAccessor accessor, final long value) {
+        if (accessor.throttleExempt()) {
+            return;
+        }
+        final var curBuckets = buckets;
+        if (curBuckets.gas != null) {
+            curBuckets.gas.release(curBuckets.gasCostNanosOf(value));
+        }
+    }
+
+    @Override
+    public synchronized void rebuildFor(final ThrottleDefinitions defs) {
+        delegate.rebuildFor(defs);
+        buckets = buckets.withThrottlesFrom(delegate);
+    }
+
+    @Override
+    public synchronized void applyGasConfig() {
+        delegate.applyGasConfig();
+        buckets = buckets.withGasThrottle(delegate.gasLimitThrottle());
+    }
+
+    @Override
+    public List<DeterministicThrottle> activeThrottlesFor(final HederaFunctionality function) {
+        throw new UnsupportedOperationException(STABLE_SOURCE_OF_THROTTLES_ERROR);
+    }
+
+    @Override
+    public List<DeterministicThrottle> allActiveThrottles() {
+        final var curBuckets = buckets;
+        final var now = Instant.now();
+        final var nowNanos = nanosOf(now);
+        curBuckets.mirrors.forEach(
+                (throttle, bucket) -> {
+                    final var used =
+                            Math.min(
+                                    throttle.capacity(),
+                                    bucket.usedNanosAt(nowNanos) * throttle.mtps());
+                    throttle.resetUsageTo(new DeterministicThrottle.UsageSnapshot(used, now));
+                });
+        return delegate.allActiveThrottles();
+    }
+
+    @Override
+    public GasLimitDeterministicThrottle gasLimitThrottle() {
+        final var curBuckets = buckets;
+        final var gasThrottle = curBuckets.gasThrottle;
+        if (gasThrottle != null && curBuckets.gas != null) {
+            final var now = Instant.now();
+            final var usedNanos = curBuckets.gas.usedNanosAt(nanosOf(now));
+            final var capacity = gasThrottle.capacity();
+            final var used =
+                    productWouldOverflow(usedNanos, capacity)
+                            ? capacity
+                            : usedNanos * capacity / NANOS_PER_SECOND;
+            gasThrottle.resetUsageTo(new DeterministicThrottle.UsageSnapshot(used, now));
+        }
+        return gasThrottle;
+    }
+
+    @Override
+    public synchronized void resetUsage() {
+        delegate.resetUsage();
+        final var curBuckets = buckets;
+        curBuckets.mirrors.values().forEach(ConcurrentLeakyBucket::reset);
+        if (curBuckets.gas != null) {
+            curBuckets.gas.reset();
+        }
+    }
+
+    @Override
+    public boolean wasLastTxnGasThrottled() {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean shouldThrottle(final Admission admission, final TxnAccessor accessor) {
+        final var details = new ThrottleRules.AccessorTransactionDetails(aliasManager);
+        return rules.shouldThrottleTxn(details.reset(accessor), admission, true);
+    }
+
+    static long nanosOf(final Instant when) {
+        return when.getEpochSecond() * NANOS_PER_SECOND + when.getNano();
+    }
+
+    /**
+     * A mirrored bucket that a function draws from, with the number of logical operations each
+     * transaction of that function requires, and the capacity those operations cost.
+     */
+    private record Requirement(
+            ConcurrentLeakyBucket bucket, int opsRequired, long mtps, long baseCostNanos) {
+        private static Requirement of(
+                final ConcurrentLeakyBucket bucket, final int opsRequired, final long mtps) {
+            return new Requirement(bucket, opsRequired, mtps, costNanosOf(opsRequired, mtps));
+        }
+
+        private long costNanosOf(final int ops) {
+            return costNanosOf(ops, mtps);
+        }
+
+        private static long costNanosOf(final int ops, final long mtps) {
+            final var units = DeterministicThrottle.capacityRequiredFor(ops);
+            if (units < 0) {
+                return Long.MAX_VALUE;
+            }
+            return units / mtps;
+        }
+    }
+
+    /**
+     * An immutable view of the concurrent buckets mirroring the delegate's throttles, replaced
+     * whenever the throttle definitions or gas configuration change.
+     */
+    private record Buckets(
+            EnumMap<HederaFunctionality, Requirement[]> reqs,
+            Map<DeterministicThrottle, ConcurrentLeakyBucket> mirrors,
+            GasLimitDeterministicThrottle gasThrottle,
+            ConcurrentLeakyBucket gas) {
+        private static final Buckets NONE =
+                new Buckets(
+                        new EnumMap<>(HederaFunctionality.class),
+                        new IdentityHashMap<>(),
+                        null,
+                        null);
+
+        private Buckets withThrottlesFrom(final DeterministicThrottling throttling) {
+            final Map<DeterministicThrottle, ConcurrentLeakyBucket> newMirrors =
+                    new IdentityHashMap<>();
+            final EnumMap<HederaFunctionality, Requirement[]> newReqs =
+                    new EnumMap<>(HederaFunctionality.class);
+            for (final var entry : throttling.functionReqs().entrySet()) {
+                final var managerReqs = entry.getValue().requirements();
+                final var functionReqs = new Requirement[managerReqs.size()];
+                for (int i = 0; i < functionReqs.length; i++) {
+                    final var throttle = managerReqs.get(i).getLeft();
+                    final var bucket = newMirrors.computeIfAbsent(throttle, Buckets::mirrorOf);
+                    functionReqs[i] =
+                            Requirement.of(bucket, managerReqs.get(i).getRight(), throttle.mtps());
+                }
+                newReqs.put(entry.getKey(), functionReqs);
+            }
+            return new Buckets(newReqs, newMirrors, gasThrottle, gas);
+        }
+
+        private Buckets withGasThrottle(final GasLimitDeterministicThrottle gasThrottle) {
+            return new Buckets(reqs, mirrors, gasThrottle, gasBucketFor(gasThrottle));
+        }
+
+        private long gasCostNanosOf(final long gasLimit) {
+            if (gasLimit < 0 || gasLimit > gasThrottle.capacity()) {
+                return Long.MAX_VALUE;
+            }
+            // Only gas limits over ~9.2B overflow here, and those never fit a real gas throttle
+            if (productWouldOverflow(gasLimit, NANOS_PER_SECOND)) {
+                return NANOS_PER_SECOND;
+            }
+            return gasLimit * NANOS_PER_SECOND / gasThrottle.capacity();
+        }
+
+        private static ConcurrentLeakyBucket mirrorOf(final DeterministicThrottle throttle) {
+            return new ConcurrentLeakyBucket(throttle.capacity() / throttle.mtps());
+        }
+
+        private static ConcurrentLeakyBucket gasBucketFor(
+                final GasLimitDeterministicThrottle gasThrottle) {
+            return (gasThrottle == null) ? null : new ConcurrentLeakyBucket(NANOS_PER_SECOND);
+        }
+    }
+
+    /**
+     * The capacity taken by a single throttling decision, so it can be returned to the buckets if
+     * the decision is to throttle.
+     */
+    private static final class Admission implements ThrottleRules.Capacity<Requirement[]> {
+        private final Buckets buckets;
+        private final long nowNanos;
+
+        private int numUsed;
+        private long[] costs = new long[4];
+        private ConcurrentLeakyBucket[] used = new ConcurrentLeakyBucket[4];
+
+        private Admission(final Buckets buckets, final long nowNanos) {
+            this.buckets = buckets;
+            this.nowNanos = nowNanos;
+        }
+
+        @Override
+        public Requirement[] reqsFor(final HederaFunctionality function) {
+            return buckets.reqs.get(function);
+        }
+
+        @Override
+        public boolean tryUseAll(final Requirement[] reqs) {
+            for (final var req : reqs) {
+                if (!tryUse(req.bucket(), req.baseCostNanos())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean tryUseAll(
+                final Requirement[] reqs, final int nTransactions, final ScaleFactor scaleFactor) {
+            for (final var req : reqs) {
+                final var ops = scaleFactor.scaling(nTransactions * req.opsRequired());
+                if (!tryUse(req.bucket(), req.costNanosOf(ops))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean tryUseGas(final long gasLimit) {
+            return buckets.gas != null && tryUse(buckets.gas, buckets.gasCostNanosOf(gasLimit));
+        }
+
+        private boolean tryUse(final ConcurrentLeakyBucket bucket, final long costNanos) {
+            if (!bucket.tryUse(costNanos, nowNanos)) {
+                return false;
+            }
+            if (numUsed == used.length) {
+                used = Arrays.copyOf(used, 2 * numUsed);
+                costs = Arrays.copyOf(costs, 2 * numUsed);
+            }
+            used[numUsed] = bucket;
+            costs[numUsed++] = costNanos;
+            return true;
+        }
+
+        /**
+         * Returns all capacity used since the last settlement if the decision was to throttle;
+         * and in either case, starts tracking capacity afresh.
+         *
+         * @param throttled the decision
+         * @return the same decision
+         */
+        private boolean settle(final boolean throttled) {
+            if (throttled) {
+                for (int i = 0; i < numUsed; i++) {
+                    used[i].release(costs[i]);
+                }
+            }
+            numUsed = 0;
+            return throttled;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.throttling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A leaky bucket that many threads can draw from concurrently, kept as a single {@link AtomicLong}
+ * "drain time"; that is, the nanosecond at which the bucket would be empty if nothing more were
+ * added to it. (This is the generic cell rate algorithm, in which a bucket's usage at time {@code
+ * t} is proportional to how far its drain time is past {@code t}.)
+ *
+ * <p>Times are nanoseconds since the epoch, so an unused bucket simply has a drain time of zero.
+ * All amounts are expressed in nanoseconds of leakage. A bucket that leaks {@code r} units per
+ * nanosecond and holds {@code c} units has a window of {@code c / r} nanoseconds; and using {@code
+ * u} units of its capacity costs {@code u / r} nanoseconds.
+ */
+public final class ConcurrentLeakyBucket {
+    private final long windowNanos;
+    private final AtomicLong drainTime = new AtomicLong();
+
+    public ConcurrentLeakyBucket(final long windowNanos) {
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("Window must be positive, not " + windowNanos);
+        }
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * Tries to use the given number of nanoseconds of capacity at the given time.
+     *
+     * @param costNanos the capacity to use
+     * @param nowNanos the current time
+     * @return whether the capacity was available (and is now used)
+     */
+    public boolean tryUse(final long costNanos, final long nowNanos) {
+        if (costNanos > windowNanos) {
+            return false;
+        }
+        while (true) {
+            final var curDrainTime = drainTime.get();
+            final var base = Math.max(curDrainTime, nowNanos);
+            if (base - nowNanos > windowNanos - costNanos) {
+                return false;
+            }
+            if (drainTime.compareAndSet(curDrainTime, base + costNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the given capacity to the bucket, as if it had leaked early; used to undo a {@link
+     * #tryUse(long, long)} that turned out to be part of a throttled request. Never returns more
+     * than the bucket's window, which is enough to empty it.
+     *
+     * @param costNanos the capacity to return
+     */
+    public void release(final long costNanos) {
+        drainTime.getAndAdd(-Math.min(costNanos, windowNanos));
+    }
+
+    /**
+     * Returns how many nanoseconds of capacity are in use at the given time.
+     *
+     * @param nowNanos the time of interest
+     * @return the capacity in use
+     */
+    public long usedNanosAt(final long nowNanos) {
+        return Math.min(windowNanos, Math.max(0, drainTime.get() - nowNanos));
+    }
+
+    public long windowNanos() {
+        return windowNanos;
+    }
+
+    public void reset() {
+        drainTime.set(0);
+    }
+}
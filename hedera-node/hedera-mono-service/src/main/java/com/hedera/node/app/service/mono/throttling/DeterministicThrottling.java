@@ -15,12 +15,6 @@
  */
 package com.hedera.node.app.service.mono.throttling;
 
-import static com.hedera.node.app.service.mono.context.properties.StaticPropertiesHolder.STATIC_PROPERTIES;
-import static com.hedera.node.app.service.mono.grpc.marshalling.AliasResolver.usesAliases;
-import static com.hedera.node.app.service.mono.utils.MiscUtils.isGasThrottled;
-import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoCreate;
-import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
-
 import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ScaleFactor;
 import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleBucket;
 import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleDefinitions;
@@ -28,17 +22,12 @@ import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleGroup;
 import com.hedera.node.app.hapi.utils.throttles.DeterministicThrottle;
 import com.hedera.node.app.hapi.utils.throttles.GasLimitDeterministicThrottle;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
-import com.hedera.node.app.service.mono.exceptions.UnknownHederaFunctionality;
-import com.hedera.node.app.service.mono.grpc.marshalling.AliasResolver;
 import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
 import com.hedera.node.app.service.mono.store.schedule.ScheduleStore;
 import com.hedera.node.app.service.mono.utils.MiscUtils;
 import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
-import com.hederahashgraph.api.proto.java.AccountID;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.Query;
-import com.hederahashgraph.api.proto.java.TokenMintTransactionBody;
-import com.hederahashgraph.api.proto.java.TransactionBody;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -65,9 +54,8 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
     }
 
     private final IntSupplier capacitySplitSource;
-    private final AliasManager aliasManager;
     private final GlobalDynamicProperties dynamicProperties;
-    private final ScheduleStore scheduleStore;
+    private final ThrottleRules rules;
 
     private List<DeterministicThrottle> activeThrottles = Collections.emptyList();
     private EnumMap<HederaFunctionality, ThrottleReqsManager> functionReqs =
@@ -78,9 +66,9 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
     private boolean lastTxnWasGasThrottled;
     private GasLimitDeterministicThrottle gasThrottle;
 
-    // we reuse this instance as an optimization
-    private final AccessorTransactionDetails accessorTransactionDetails =
-            new AccessorTransactionDetails();
+    // we reuse these instances as an optimization
+    private final ThrottleRules.AccessorTransactionDetails accessorTransactionDetails;
+    private final ManagerCapacity capacity = new ManagerCapacity();
 
     public DeterministicThrottling(
             final IntSupplier capacitySplitSource,
@@ -91,8 +79,9 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
         this.capacitySplitSource = capacitySplitSource;
         this.dynamicProperties = dynamicProperties;
         this.mode = mode;
-        this.aliasManager = aliasManager;
-        this.scheduleStore = scheduleStore;
+        this.rules = new ThrottleRules(aliasManager, dynamicProperties, scheduleStore);
+        this.accessorTransactionDetails =
+                new ThrottleRules.AccessorTransactionDetails(aliasManager);
     }
 
     @Override
@@ -109,8 +98,10 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
     public boolean shouldThrottleTxn(final TxnAccessor accessor, final Instant now) {
         resetLastAllowedUse();
         lastTxnWasGasThrottled = false;
-        accessorTransactionDetails.reset(accessor);
-        if (shouldThrottleTxn(false, accessorTransactionDetails, now)) {
+        if (rules.shouldThrottleTxn(
+                accessorTransactionDetails.reset(accessor),
+                capacity.at(now),
+                mode == DeterministicThrottlingMode.HAPI)) {
             reclaimLastAllowedUse();
             return true;
         }
@@ -134,19 +125,7 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
     public boolean shouldThrottleQuery(
             HederaFunctionality queryFunction, Instant now, Query query) {
         resetLastAllowedUse();
-        if (isGasThrottled(queryFunction)
-                && dynamicProperties.shouldThrottleByGas()
-                && (gasThrottle == null
-                        || !gasThrottle.allow(now, query.getContractCallLocal().getGas()))) {
-            reclaimLastAllowedUse();
-            return true;
-        }
-        ThrottleReqsManager manager;
-        if ((manager = functionReqs.get(queryFunction)) == null) {
-            reclaimLastAllowedUse();
-            return true;
-        }
-        if (!manager.allReqsMetAt(now)) {
+        if (rules.shouldThrottleQuery(queryFunction, query, capacity.at(now))) {
             reclaimLastAllowedUse();
             return true;
         }
@@ -280,196 +259,6 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
         log.info("{}", () -> sb.toString().trim());
     }
 
-    private boolean shouldThrottleTxn(
-            boolean isChild, final TransactionDetails details, final Instant now) {
-
-        final TransactionBody txn = details.getTxn();
-        final HederaFunctionality function = details.getFunction();
-
-        if (details.throttleExempt()) {
-            return false;
-        }
-
-        if (isGasExhausted(function, now, details)) {
-            lastTxnWasGasThrottled = true;
-            return true;
-        }
-
-        ThrottleReqsManager manager;
-
-        if ((manager = functionReqs.get(function)) == null) {
-            return true;
-        }
-
-        switch (function) {
-            case ScheduleCreate:
-                if (isChild) {
-                    throw new IllegalStateException("ScheduleCreate cannot be a child!");
-                }
-                return shouldThrottleScheduleCreate(manager, details, now);
-            case ScheduleSign:
-                if (isChild) {
-                    throw new IllegalStateException("ScheduleSign cannot be a child!");
-                }
-                return shouldThrottleScheduleSign(manager, details, now);
-            case TokenMint:
-                return shouldThrottleMint(manager, txn.getTokenMint(), now);
-            case CryptoTransfer:
-                if (dynamicProperties.isAutoCreationEnabled()
-                        || dynamicProperties.isLazyCreationEnabled()) {
-                    return shouldThrottleTransfer(manager, details.getNumImplicitCreations(), now);
-                } else {
-                    /* Since auto-creation is disabled, if this transfer does attempt one, it will
-                    resolve to NOT_SUPPORTED right away; so we don't want to ask for capacity from the
-                    CryptoCreate throttle bucket. */
-                    return !manager.allReqsMetAt(now);
-                }
-            default:
-                return !manager.allReqsMetAt(now);
-        }
-    }
-
-    private boolean shouldThrottleScheduleCreate(
-            final ThrottleReqsManager manager,
-            final TransactionDetails details,
-            final Instant now) {
-        final TransactionBody txn = details.getTxn();
-        final var scheduleCreate = txn.getScheduleCreate();
-        final var scheduled = scheduleCreate.getScheduledTransactionBody();
-
-        final var normalTxn = MiscUtils.asOrdinary(scheduled, txn.getTransactionID());
-
-        HederaFunctionality scheduledFunction;
-        try {
-            scheduledFunction = MiscUtils.functionOf(normalTxn);
-        } catch (UnknownHederaFunctionality ex) {
-            log.debug("ScheduleCreate was associated with an invalid txn.", ex);
-            return true;
-        }
-
-        // maintain legacy behaviour
-        if (!dynamicProperties.schedulingLongTermEnabled()) {
-            if ((dynamicProperties.isAutoCreationEnabled()
-                            || dynamicProperties.isLazyCreationEnabled())
-                    && scheduledFunction == CryptoTransfer) {
-                final var xfer = scheduled.getCryptoTransfer();
-                if (usesAliases(xfer)) {
-                    final var resolver = new AliasResolver();
-                    resolver.resolve(xfer, aliasManager);
-                    final var numImplicitCreations =
-                            resolver.perceivedAutoCreations() + resolver.perceivedLazyCreations();
-                    if (numImplicitCreations > 0) {
-                        return shouldThrottleImplicitCreations(numImplicitCreations, now);
-                    }
-                }
-            }
-            return !manager.allReqsMetAt(now);
-        }
-
-        if (!manager.allReqsMetAt(now)) {
-            return true;
-        }
-
-        // deeply check throttle at the hapi level if the schedule could immediately execute
-        if ((!scheduleCreate.getWaitForExpiry()) && (mode == DeterministicThrottlingMode.HAPI)) {
-
-            var effectivePayer =
-                    scheduleCreate.hasPayerAccountID()
-                            ? scheduleCreate.getPayerAccountID()
-                            : txn.getTransactionID().getAccountID();
-
-            return shouldThrottleTxn(
-                    true,
-                    new ChildTransactionDetails(normalTxn, scheduledFunction, effectivePayer),
-                    now);
-        }
-
-        return false;
-    }
-
-    private boolean shouldThrottleScheduleSign(
-            final ThrottleReqsManager manager,
-            final TransactionDetails details,
-            final Instant now) {
-        final TransactionBody txn = details.getTxn();
-        if (!manager.allReqsMetAt(now)) {
-            return true;
-        }
-
-        // maintain legacy behaviour
-        if (!dynamicProperties.schedulingLongTermEnabled()) {
-            return false;
-        }
-
-        // deeply check throttle only at the hapi level
-        if (mode != DeterministicThrottlingMode.HAPI) {
-            return false;
-        }
-
-        final var scheduledId = txn.getScheduleSign().getScheduleID();
-
-        var scheduleValue = scheduleStore.getNoError(scheduledId);
-        if (scheduleValue == null) {
-            log.error(
-                    "Tried to throttle a ScheduleSign at the HAPI level that does not exist! We"
-                            + " should not get here.");
-            return true;
-        }
-
-        // only check deeply if the schedule could immediately execute
-        if (scheduleValue.calculatedWaitForExpiry()) {
-            return false;
-        }
-
-        final var normalTxn = scheduleValue.ordinaryViewOfScheduledTxn();
-
-        HederaFunctionality scheduledFunction;
-        try {
-            scheduledFunction = MiscUtils.functionOf(normalTxn);
-        } catch (UnknownHederaFunctionality ex) {
-            log.error("ScheduleSign was associated with an invalid txn.", ex);
-            return true;
-        }
-
-        return shouldThrottleTxn(
-                true,
-                new ChildTransactionDetails(
-                        normalTxn,
-                        scheduledFunction,
-                        scheduleValue.effectivePayer().toGrpcAccountId()),
-                now);
-    }
-
-    private boolean shouldThrottleTransfer(
-            final ThrottleReqsManager manager, final int numImplicitCreations, final Instant now) {
-        return (numImplicitCreations == 0)
-                ? !manager.allReqsMetAt(now)
-                : shouldThrottleImplicitCreations(numImplicitCreations, now);
-    }
-
-    private boolean shouldThrottleImplicitCreations(final int n, final Instant now) {
-        final var manager = functionReqs.get(CryptoCreate);
-        return manager == null || !manager.allReqsMetAt(now, n, ONE_TO_ONE);
-    }
-
-    private boolean shouldThrottleMint(
-            ThrottleReqsManager manager, TokenMintTransactionBody op, Instant now) {
-        final var numNfts = op.getMetadataCount();
-        if (numNfts == 0) {
-            return !manager.allReqsMetAt(now);
-        } else {
-            return !manager.allReqsMetAt(now, numNfts, dynamicProperties.nftMintScaleFactor());
-        }
-    }
-
-    private boolean isGasExhausted(
-            final HederaFunctionality function, final Instant now, TransactionDetails details) {
-        return dynamicProperties.shouldThrottleByGas()
-                && isGasThrottled(function)
-                && (gasThrottle == null
-                        || !gasThrottle.allow(now, details.getGasLimitForContractTx()));
-    }
-
     private void reclaimLastAllowedUse() {
         activeThrottles.forEach(DeterministicThrottle::reclaimLastAllowedUse);
         if (gasThrottle != null) {
@@ -659,94 +448,44 @@ public class DeterministicThrottling implements TimedFunctionalityThrottling {
         calculateThrottles(defsCopy, capacitySplitSource.getAsInt());
     }
 
-    private interface TransactionDetails {
-        int getNumImplicitCreations();
-
-        long getGasLimitForContractTx();
-
-        boolean throttleExempt();
-
-        TransactionBody getTxn();
-
-        HederaFunctionality getFunction();
-    }
-
-    private class AccessorTransactionDetails implements TransactionDetails {
-        private TxnAccessor accessor;
+    /** The capacity of this throttle's buckets at the time of its current decision. */
+    private class ManagerCapacity implements ThrottleRules.Capacity<ThrottleReqsManager> {
+        private Instant now;
 
-        private void reset(final TxnAccessor accessor) {
-            this.accessor = accessor;
+        private ManagerCapacity at(final Instant now) {
+            this.now = now;
+            return this;
         }
 
         @Override
-        public int getNumImplicitCreations() {
-            if (!accessor.areImplicitCreationsCounted()) {
-                accessor.countImplicitCreationsWith(aliasManager);
-            }
-            return accessor.getNumImplicitCreations();
+        public ThrottleReqsManager reqsFor(final HederaFunctionality function) {
+            return functionReqs.get(function);
         }
 
         @Override
-        public long getGasLimitForContractTx() {
-            return accessor.getGasLimitForContractTx();
+        public boolean tryUseAll(final ThrottleReqsManager manager) {
+            return manager.allReqsMetAt(now);
         }
 
         @Override
-        public boolean throttleExempt() {
-            return accessor.throttleExempt();
+        public boolean tryUseAll(
+                final ThrottleReqsManager manager, final int n, final ScaleFactor scaleFactor) {
+            return manager.allReqsMetAt(now, n, scaleFactor);
         }
 
         @Override
-        public TransactionBody getTxn() {
-            return accessor.getTxn();
+        public boolean tryUseGas(final long gasLimit) {
+            return gasThrottle != null && gasThrottle.allow(now, gasLimit);
         }
 
         @Override
-        public HederaFunctionality getFunction() {
-            return accessor.getFunction();
+        public void onGasThrottled() {
+            lastTxnWasGasThrottled = true;
         }
     }
 
-    private class ChildTransactionDetails implements TransactionDetails {
-        private final TransactionBody txn;
-        private final HederaFunctionality function;
-        private final AccountID payer;
-
-        private ChildTransactionDetails(
-                final TransactionBody txn,
-                final HederaFunctionality function,
-                final AccountID payer) {
-            this.txn = txn;
-            this.function = function;
-            this.payer = payer;
-        }
-
-        @Override
-        public int getNumImplicitCreations() {
-            final var resolver = new AliasResolver();
-            resolver.resolve(txn.getCryptoTransfer(), aliasManager);
-            return resolver.perceivedAutoCreations() + resolver.perceivedLazyCreations();
-        }
-
-        @Override
-        public long getGasLimitForContractTx() {
-            return MiscUtils.getGasLimitForContractTx(txn, function, null);
-        }
-
-        @Override
-        public boolean throttleExempt() {
-            return STATIC_PROPERTIES.isThrottleExempt(payer.getAccountNum());
-        }
-
-        @Override
-        public TransactionBody getTxn() {
-            return txn;
-        }
-
-        @Override
-        public HederaFunctionality getFunction() {
-            return function;
-        }
+    EnumMap<HederaFunctionality, ThrottleReqsManager> functionReqs() {
+        return functionReqs;
     }
 
     /* --- Only used by unit tests --- */
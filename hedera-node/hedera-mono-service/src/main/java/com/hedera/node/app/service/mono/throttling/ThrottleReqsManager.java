@@ -63,6 +63,10 @@ public class ThrottleReqsManager {
         return usages;
     }
 
+    List<Pair<DeterministicThrottle, Integer>> requirements() {
+        return allReqs;
+    }
+
     List<DeterministicThrottle> managedThrottles() {
         return allReqs.stream().map(Pair::getLeft).toList();
     }
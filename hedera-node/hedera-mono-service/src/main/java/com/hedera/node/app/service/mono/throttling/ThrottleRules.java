@@ -0,0 +1,452 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.throttling;
+
+import static com.hedera.node.app.service.mono.context.properties.StaticPropertiesHolder.STATIC_PROPERTIES;
+import static com.hedera.node.app.service.mono.grpc.marshalling.AliasResolver.usesAliases;
+import static com.hedera.node.app.service.mono.utils.MiscUtils.isGasThrottled;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoCreate;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ScaleFactor;
+import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.exceptions.UnknownHederaFunctionality;
+import com.hedera.node.app.service.mono.grpc.marshalling.AliasResolver;
+import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
+import com.hedera.node.app.service.mono.store.schedule.ScheduleStore;
+import com.hedera.node.app.service.mono.utils.MiscUtils;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.Query;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Decides which throttle buckets a transaction or query must draw from, and how much capacity it
+ * needs from each; both {@link DeterministicThrottling} and {@link ConcurrentHapiThrottling} make
+ * their decisions here, over their own kind of bucket, so that a change to these rules applies to
+ * the frontend and consensus throttles alike.
+ */
+final class ThrottleRules {
+    private static final Logger log = LogManager.getLogger(ThrottleRules.class);
+
+    private static final ScaleFactor ONE_TO_ONE = ScaleFactor.from("1:1");
+
+    private final AliasManager aliasManager;
+    private final GlobalDynamicProperties dynamicProperties;
+    private final ScheduleStore scheduleStore;
+
+    ThrottleRules(
+            final AliasManager aliasManager,
+            final GlobalDynamicProperties dynamicProperties,
+            final ScheduleStore scheduleStore) {
+        this.aliasManager = aliasManager;
+        this.dynamicProperties = dynamicProperties;
+        this.scheduleStore = scheduleStore;
+    }
+
+    /**
+     * The capacity available to a single throttling decision, in terms of a throttle's own buckets.
+     *
+     * @param <R> the type of a function's requirements on the buckets
+     */
+    interface Capacity<R> {
+        /**
+         * Gets the requirements of the given function on the buckets.
+         *
+         * @param function the function of interest
+         * @return its requirements, or null if it has none
+         */
+        @Nullable
+        R reqsFor(HederaFunctionality function);
+
+        /**
+         * Tries to use the capacity one operation needs from each bucket in the requirements.
+         *
+         * @param reqs the requirements to meet
+         * @return whether all the requirements were met
+         */
+        boolean tryUseAll(R reqs);
+
+        /**
+         * Tries to use the capacity the given number of operations, scaled by the given factor,
+         * needs from each bucket in the requirements.
+         *
+         * @param reqs the requirements to meet
+         * @param n the number of operations
+         * @param scaleFactor the factor to scale the operations by
+         * @return whether all the requirements were met
+         */
+        boolean tryUseAll(R reqs, int n, ScaleFactor scaleFactor);
+
+        /**
+         * Tries to use the given amount of gas.
+         *
+         * @param gasLimit the gas to use
+         * @return whether the gas was available; false if there is no gas throttle
+         */
+        boolean tryUseGas(long gasLimit);
+
+        /** Notes that the transaction being decided was throttled for lack of gas. */
+        default void onGasThrottled() {
+            // No-op by default
+        }
+    }
+
+    /**
+     * Decides whether the given transaction should be throttled.
+     *
+     * @param details the transaction of interest
+     * @param capacity the capacity to draw from
+     * @param checkScheduledTxns whether to also throttle schedules that could immediately execute
+     *     by their scheduled transactions
+     * @param <R> the type of a function's requirements on the buckets
+     * @return whether the transaction should be throttled
+     */
+    <R> boolean shouldThrottleTxn(
+            final TransactionDetails details,
+            final Capacity<R> capacity,
+            final boolean checkScheduledTxns) {
+        return shouldThrottleTxn(false, details, capacity, checkScheduledTxns);
+    }
+
+    /**
+     * Decides whether the given query should be throttled.
+     *
+     * @param queryFunction the function of the query
+     * @param query the query of interest
+     * @param capacity the capacity to draw from
+     * @param <R> the type of a function's requirements on the buckets
+     * @return whether the query should be throttled
+     */
+    <R> boolean shouldThrottleQuery(
+            final HederaFunctionality queryFunction,
+            final Query query,
+            final Capacity<R> capacity) {
+        if (isGasThrottled(queryFunction)
+                && dynamicProperties.shouldThrottleByGas()
+                && !capacity.tryUseGas(query.getContractCallLocal().getGas())) {
+            return true;
+        }
+        final var reqs = capacity.reqsFor(queryFunction);
+        return reqs == null || !capacity.tryUseAll(reqs);
+    }
+
+    private <R> boolean shouldThrottleTxn(
+            final boolean isChild,
+            final TransactionDetails details,
+            final Capacity<R> capacity,
+            final boolean checkScheduledTxns) {
+        final TransactionBody txn = details.getTxn();
+        final HederaFunctionality function = details.getFunction();
+
+        if (details.throttleExempt()) {
+            return false;
+        }
+
+        if (isGasExhausted(function, details, capacity)) {
+            capacity.onGasThrottled();
+            return true;
+        }
+
+        final R reqs;
+        if ((reqs = capacity.reqsFor(function)) == null) {
+            return true;
+        }
+
+        switch (function) {
+            case ScheduleCreate:
+                if (isChild) {
+                    throw new IllegalStateException("ScheduleCreate cannot be a child!");
+                }
+                return shouldThrottleScheduleCreate(reqs, details, capacity, checkScheduledTxns);
+            case ScheduleSign:
+                if (isChild) {
+                    throw new IllegalStateException("ScheduleSign cannot be a child!");
+                }
+                return shouldThrottleScheduleSign(reqs, details, capacity, checkScheduledTxns);
+            case TokenMint:
+                return shouldThrottleMint(reqs, txn.getTokenMint().getMetadataCount(), capacity);
+            case CryptoTransfer:
+                if (isImplicitCreationEnabled()) {
+                    return shouldThrottleTransfer(
+                            reqs, details.getNumImplicitCreations(), capacity);
+                } else {
+                    /* Since auto-creation is disabled, if this transfer does attempt one, it will
+                    resolve to NOT_SUPPORTED right away; so we don't want to ask for capacity from the
+                    CryptoCreate throttle bucket. */
+                    return !capacity.tryUseAll(reqs);
+                }
+            default:
+                return !capacity.tryUseAll(reqs);
+        }
+    }
+
+    private <R> boolean shouldThrottleScheduleCreate(
+            final R reqs,
+            final TransactionDetails details,
+            final Capacity<R> capacity,
+            final boolean checkScheduledTxns) {
+        final TransactionBody txn = details.getTxn();
+        final var scheduleCreate = txn.getScheduleCreate();
+        final var scheduled = scheduleCreate.getScheduledTransactionBody();
+
+        final var normalTxn = MiscUtils.asOrdinary(scheduled, txn.getTransactionID());
+
+        HederaFunctionality scheduledFunction;
+        try {
+            scheduledFunction = MiscUtils.functionOf(normalTxn);
+        } catch (UnknownHederaFunctionality ex) {
+            log.debug("ScheduleCreate was associated with an invalid txn.", ex);
+            return true;
+        }
+
+        // maintain legacy behaviour
+        if (!dynamicProperties.schedulingLongTermEnabled()) {
+            if (isImplicitCreationEnabled() && scheduledFunction == CryptoTransfer) {
+                final var xfer = scheduled.getCryptoTransfer();
+                if (usesAliases(xfer)) {
+                    final var numImplicitCreations = implicitCreationsIn(xfer, aliasManager);
+                    if (numImplicitCreations > 0) {
+                        return shouldThrottleImplicitCreations(numImplicitCreations, capacity);
+                    }
+                }
+            }
+            return !capacity.tryUseAll(reqs);
+        }
+
+        if (!capacity.tryUseAll(reqs)) {
+            return true;
+        }
+
+        // deeply check throttle at the hapi level if the schedule could immediately execute
+        if (!scheduleCreate.getWaitForExpiry() && checkScheduledTxns) {
+            final var effectivePayer =
+                    scheduleCreate.hasPayerAccountID()
+                            ? scheduleCreate.getPayerAccountID()
+                            : txn.getTransactionID().getAccountID();
+
+            return shouldThrottleTxn(
+                    true,
+                    new ChildTransactionDetails(
+                            normalTxn, scheduledFunction, effectivePayer, aliasManager),
+                    capacity,
+                    true);
+        }
+
+        return false;
+    }
+
+    private <R> boolean shouldThrottleScheduleSign(
+            final R reqs,
+            final TransactionDetails details,
+            final Capacity<R> capacity,
+            final boolean checkScheduledTxns) {
+        final TransactionBody txn = details.getTxn();
+        if (!capacity.tryUseAll(reqs)) {
+            return true;
+        }
+
+        // maintain legacy behaviour
+        if (!dynamicProperties.schedulingLongTermEnabled()) {
+            return false;
+        }
+
+        // deeply check throttle only at the hapi level
+        if (!checkScheduledTxns) {
+            return false;
+        }
+
+        final var scheduledId = txn.getScheduleSign().getScheduleID();
+
+        final var scheduleValue = scheduleStore.getNoError(scheduledId);
+        if (scheduleValue == null) {
+            log.error(
+                    "Tried to throttle a ScheduleSign at the HAPI level that does not exist! We"
+                            + " should not get here.");
+            return true;
+        }
+
+        // only check deeply if the schedule could immediately execute
+        if (scheduleValue.calculatedWaitForExpiry()) {
+            return false;
+        }
+
+        final var normalTxn = scheduleValue.ordinaryViewOfScheduledTxn();
+
+        HederaFunctionality scheduledFunction;
+        try {
+            scheduledFunction = MiscUtils.functionOf(normalTxn);
+        } catch (UnknownHederaFunctionality ex) {
+            log.error("ScheduleSign was associated with an invalid txn.", ex);
+            return true;
+        }
+
+        return shouldThrottleTxn(
+                true,
+                new ChildTransactionDetails(
+                        normalTxn,
+                        scheduledFunction,
+                        scheduleValue.effectivePayer().toGrpcAccountId(),
+                        aliasManager),
+                capacity,
+                true);
+    }
+
+    private <R> boolean shouldThrottleTransfer(
+            final R reqs, final int numImplicitCreations, final Capacity<R> capacity) {
+        return (numImplicitCreations == 0)
+                ? !capacity.tryUseAll(reqs)
+                : shouldThrottleImplicitCreations(numImplicitCreations, capacity);
+    }
+
+    private <R> boolean shouldThrottleImplicitCreations(final int n, final Capacity<R> capacity) {
+        final var reqs = capacity.reqsFor(CryptoCreate);
+        return reqs == null || !capacity.tryUseAll(reqs, n, ONE_TO_ONE);
+    }
+
+    private <R> boolean shouldThrottleMint(
+            final R reqs, final int numNfts, final Capacity<R> capacity) {
+        if (numNfts == 0) {
+            return !capacity.tryUseAll(reqs);
+        } else {
+            return !capacity.tryUseAll(reqs, numNfts, dynamicProperties.nftMintScaleFactor());
+        }
+    }
+
+    private boolean isGasExhausted(
+            final HederaFunctionality function,
+            final TransactionDetails details,
+            final Capacity<?> capacity) {
+        return dynamicProperties.shouldThrottleByGas()
+                && isGasThrottled(function)
+                && !capacity.tryUseGas(details.getGasLimitForContractTx());
+    }
+
+    private boolean isImplicitCreationEnabled() {
+        return dynamicProperties.isAutoCreationEnabled()
+                || dynamicProperties.isLazyCreationEnabled();
+    }
+
+    private static int implicitCreationsIn(
+            final CryptoTransferTransactionBody xfer, final AliasManager aliasManager) {
+        final var resolver = new AliasResolver();
+        resolver.resolve(xfer, aliasManager);
+        return resolver.perceivedAutoCreations() + resolver.perceivedLazyCreations();
+    }
+
+    interface TransactionDetails {
+        int getNumImplicitCreations();
+
+        long getGasLimitForContractTx();
+
+        boolean throttleExempt();
+
+        TransactionBody getTxn();
+
+        HederaFunctionality getFunction();
+    }
+
+    static final class AccessorTransactionDetails implements TransactionDetails {
+        private final AliasManager aliasManager;
+
+        private TxnAccessor accessor;
+
+        AccessorTransactionDetails(final AliasManager aliasManager) {
+            this.aliasManager = aliasManager;
+        }
+
+        AccessorTransactionDetails reset(final TxnAccessor accessor) {
+            this.accessor = accessor;
+            return this;
+        }
+
+        @Override
+        public int getNumImplicitCreations() {
+            if (!accessor.areImplicitCreationsCounted()) {
+                accessor.countImplicitCreationsWith(aliasManager);
+            }
+            return accessor.getNumImplicitCreations();
+        }
+
+        @Override
+        public long getGasLimitForContractTx() {
+            return accessor.getGasLimitForContractTx();
+        }
+
+        @Override
+        public boolean throttleExempt() {
+            return accessor.throttleExempt();
+        }
+
+        @Override
+        public TransactionBody getTxn() {
+            return accessor.getTxn();
+        }
+
+        @Override
+        public HederaFunctionality getFunction() {
+            return accessor.getFunction();
+        }
+    }
+
+    private static final class ChildTransactionDetails implements TransactionDetails {
+        private final TransactionBody txn;
+        private final HederaFunctionality function;
+        private final AccountID payer;
+        private final AliasManager aliasManager;
+
+        private ChildTransactionDetails(
+                final TransactionBody txn,
+                final HederaFunctionality function,
+                final AccountID payer,
+                final AliasManager aliasManager) {
+            this.txn = txn;
+            this.function = function;
+            this.payer = payer;
+            this.aliasManager = aliasManager;
+        }
+
+        @Override
+        public int getNumImplicitCreations() {
+            return implicitCreationsIn(txn.getCryptoTransfer(), aliasManager);
+        }
+
+        @Override
+        public long getGasLimitForContractTx() {
+            return MiscUtils.getGasLimitForContractTx(txn, function, null);
+        }
+
+        @Override
+        public boolean throttleExempt() {
+            return STATIC_PROPERTIES.isThrottleExempt(payer.getAccountNum());
+        }
+
+        @Override
+        public TransactionBody getTxn() {
+            return txn;
+        }
+
+        @Override
+        public HederaFunctionality getFunction() {
+            return function;
+        }
+    }
+}
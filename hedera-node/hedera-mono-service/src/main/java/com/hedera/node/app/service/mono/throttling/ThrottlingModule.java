@@ -17,6 +17,7 @@ package com.hedera.node.app.service.mono.throttling;
 
 import com.hedera.node.app.service.mono.context.TransactionContext;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
 import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
 import com.hedera.node.app.service.mono.store.schedule.ScheduleStore;
 import com.hedera.node.app.service.mono.throttling.annotations.HandleThrottle;
@@ -37,6 +38,7 @@ public final class ThrottlingModule {
             final AliasManager aliasManager,
             final Supplier<AddressBook> addressBook,
             final GlobalDynamicProperties dynamicProperties,
+            final NodeLocalProperties nodeLocalProperties,
             final ScheduleStore scheduleStore) {
         final var delegate =
                 new DeterministicThrottling(
@@ -45,6 +47,10 @@ public final class ThrottlingModule {
                         dynamicProperties,
                         DeterministicThrottling.DeterministicThrottlingMode.HAPI,
                         scheduleStore);
+        if (nodeLocalProperties.isHapiThrottleConcurrentAdmission()) {
+            return new ConcurrentHapiThrottling(
+                    delegate, aliasManager, dynamicProperties, scheduleStore);
+        }
         return new HapiThrottling(delegate);
     }
 
@@ -32,6 +32,7 @@ import com.hedera.node.app.service.mono.txns.file.FileLogicModule;
 import com.hedera.node.app.service.mono.txns.file.FileSysDelTransitionLogic;
 import com.hedera.node.app.service.mono.txns.file.FileSysUndelTransitionLogic;
 import com.hedera.node.app.service.mono.txns.network.NetworkLogicModule;
+import com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor;
 import com.hedera.node.app.service.mono.txns.schedule.ScheduleLogicModule;
 import com.hedera.node.app.service.mono.txns.span.ExpandHandleSpan;
 import com.hedera.node.app.service.mono.txns.span.SpanMapManager;
@@ -76,8 +77,10 @@ public interface TransactionsModule {
     @Provides
     @Singleton
     static ExpandHandleSpan provideExpandHandleSpan(
-            SpanMapManager spanMapManager, AccessorFactory factory) {
-        return new ExpandHandleSpan(spanMapManager, factory);
+            SpanMapManager spanMapManager,
+            AccessorFactory factory,
+            PrefetchProcessor prefetchProcessor) {
+        return new ExpandHandleSpan(spanMapManager, factory, prefetchProcessor);
     }
 
     @Provides
@@ -15,16 +15,29 @@
  */
 package com.hedera.node.app.service.mono.txns.prefetch;
 
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.GAUGE_FORMAT;
+import static com.hedera.node.app.service.mono.stats.ServicesStatsManager.STAT_CATEGORY;
+
 import com.google.common.annotations.VisibleForTesting;
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
 import com.hedera.node.app.service.mono.txns.PreFetchableTransition;
 import com.hedera.node.app.service.mono.txns.TransitionLogicLookup;
 import com.hedera.node.app.service.mono.utils.accessors.SwirldsTxnAccessor;
-import java.util.concurrent.ArrayBlockingQueue;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.swirlds.common.metrics.Counter;
+import com.swirlds.common.metrics.DoubleGauge;
+import com.swirlds.common.system.Platform;
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.apache.logging.log4j.LogManager;
@@ -32,68 +45,175 @@ import org.apache.logging.log4j.Logger;
 
 /**
  * Processing dispatch layer for transactions submitted during the prepare stage (aka expand
- * signatures) that uses an {@code ExecutorService} to schedule the tasks to a static thread pool.
- * The tasks are responsible for fetching data that can be used during the serial execution portion
- * of the transaction (for example, loading of EVM contract bytecode).
+ * signatures) that uses an {@code ExecutorService} to schedule the tasks to a thread pool. The
+ * tasks are responsible for fetching data that can be used during the serial execution portion of
+ * the transaction (for example, loading of EVM contract bytecode).
+ *
+ * <p>Pending tasks are ordered by the creation time of their event, since older events generally
+ * reach consensus (and hence {@code handleTransaction}) first; and a task whose transaction already
+ * reached {@code handleTransaction} is skipped. At most once per {@link
+ * #ADJUSTMENT_INTERVAL_NANOS}, the number of workers is adjusted between {@code
+ * hedera.prefetch.threadPoolSize} and {@code hedera.prefetch.maxThreadPoolSize}:
+ *
+ * <ul>
+ *   <li>Doubled (or raised to the maximum) if tasks were dropped, the queue is more than {@link
+ *       #HIGH_QUEUE_DEPTH} full, or there is a backlog while fewer than {@link #LOW_HIT_RATIO} of
+ *       transactions found their pre-fetch done on reaching {@code handleTransaction}.
+ *   <li>Reduced by one if the queue is empty and at least {@link #HIGH_HIT_RATIO} of transactions
+ *       found their pre-fetch done.
+ * </ul>
  */
 @Singleton
 public class PrefetchProcessor {
     private static final Logger logger = LogManager.getLogger(PrefetchProcessor.class);
 
+    static final String HITS_NAME = "prefetchHits";
+    static final String MISSES_NAME = "prefetchMisses";
+    static final String DROPS_NAME = "prefetchDrops";
+    static final String WORKERS_NAME = "prefetchWorkers";
+
     @VisibleForTesting static final int MINIMUM_QUEUE_CAPACITY = 10_000;
 
     @VisibleForTesting static final int MINIMUM_THREAD_POOL_SIZE = 2;
 
+    @VisibleForTesting static final long ADJUSTMENT_INTERVAL_NANOS = 1_000_000_000L;
+
+    static final double HIGH_QUEUE_DEPTH = 0.25;
+    static final double LOW_HIT_RATIO = 0.5;
+    static final double HIGH_HIT_RATIO = 0.9;
+
+    // Under this key in the accessor's span map, the task (if any) pre-fetching for the transaction
+    private static final String PREFETCH_TASK_KEY = "prefetchTask";
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+    private static final int HANDLED = 3;
+
+    final int queueCapacity;
+    final int minWorkers;
+    final int maxWorkers;
     BlockingQueue<Runnable> queue;
     ExecutorService executorService;
     TransitionLogicLookup lookup;
+    LongSupplier nanoClock = System::nanoTime;
+
+    private final AtomicLong nextSeqNo = new AtomicLong();
+    private final AtomicLong nextAdjustmentNanos = new AtomicLong();
+    private final LongAdder windowHits = new LongAdder();
+    private final LongAdder windowMisses = new LongAdder();
+    private final LongAdder windowDrops = new LongAdder();
+    private volatile int workers;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter drops;
+    private DoubleGauge workersGauge;
 
     @Inject
     public PrefetchProcessor(NodeLocalProperties properties, TransitionLogicLookup lookup) {
-        final int queueSize = Math.max(properties.prefetchQueueCapacity(), MINIMUM_QUEUE_CAPACITY);
-        final int threadPoolSize =
-                Math.max(properties.prefetchThreadPoolSize(), MINIMUM_THREAD_POOL_SIZE);
+        queueCapacity = Math.max(properties.prefetchQueueCapacity(), MINIMUM_QUEUE_CAPACITY);
+        minWorkers = Math.max(properties.prefetchThreadPoolSize(), MINIMUM_THREAD_POOL_SIZE);
+        maxWorkers = Math.max(properties.prefetchMaxThreadPoolSize(), minWorkers);
 
         this.lookup = lookup;
-        queue = new ArrayBlockingQueue<>(queueSize);
-        executorService = createExecutorService(threadPoolSize, queue);
+        workers = minWorkers;
+        nextAdjustmentNanos.set(nanoClock.getAsLong() + ADJUSTMENT_INTERVAL_NANOS);
+        queue = new PriorityBlockingQueue<>(Math.min(queueCapacity, 1024));
+        executorService = createExecutorService(minWorkers, queue);
     }
 
     @VisibleForTesting
     ExecutorService createExecutorService(int threadPoolSize, BlockingQueue<Runnable> queue) {
         final var executor =
-                new ThreadPoolExecutor(
-                        threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS, queue);
-        executor.setRejectedExecutionHandler(
-                (runnable, execService) -> logger.warn("Pre-fetch queue is FULL!"));
+                new ThreadPoolExecutor(threadPoolSize, maxWorkers, 60L, TimeUnit.SECONDS, queue);
         executor.prestartAllCoreThreads();
         return executor;
     }
 
+    public void registerWith(final Platform platform) {
+        final var metrics = platform.getMetrics();
+        hits =
+                metrics.getOrCreate(
+                        new Counter.Config(STAT_CATEGORY, HITS_NAME)
+                                .withDescription(
+                                        "number of transactions whose pre-fetch finished before"
+                                                + " handleTransaction"));
+        misses =
+                metrics.getOrCreate(
+                        new Counter.Config(STAT_CATEGORY, MISSES_NAME)
+                                .withDescription(
+                                        "number of transactions whose pre-fetch had not finished"
+                                                + " before handleTransaction"));
+        drops =
+                metrics.getOrCreate(
+                        new Counter.Config(STAT_CATEGORY, DROPS_NAME)
+                                .withDescription(
+                                        "number of pre-fetch tasks dropped with a full queue"));
+        workersGauge =
+                metrics.getOrCreate(
+                        new DoubleGauge.Config(STAT_CATEGORY, WORKERS_NAME)
+                                .withDescription("number of pre-fetch worker threads")
+                                .withFormat(GAUGE_FORMAT));
+        workersGauge.set(workers);
+    }
+
     /**
      * Attempts to schedule a pre-fetch task for the given transaction. A task will be created only
      * if the transition logic associated with the transaction request type implements {@code
      * PreFetchableTransition}. If the task cannot be scheduled due to the schedule queue being
-     * full, the task will be skipped. The pre-fetch action is optional and is only intended for
-     * performance optimization; the handleTransaction portion of {@code EventFlow} will pay the
-     * cost of whatever the pre-fetch operation was.
+     * full, the task will be skipped (and counted as a drop). The pre-fetch action is optional and
+     * is only intended for performance optimization; the handleTransaction portion of {@code
+     * EventFlow} will pay the cost of whatever the pre-fetch operation was.
      *
      * @param accessor the transaction accessor
+     * @param eventCreation the creation time of the event containing the transaction
      */
-    public void submit(SwirldsTxnAccessor accessor) {
+    public void submit(SwirldsTxnAccessor accessor, Instant eventCreation) {
         final var opt = lookup.lookupFor(accessor.getFunction(), accessor.getTxn());
 
         if (opt.isPresent()) {
             final var logic = opt.get();
             if (logic instanceof PreFetchableTransition transition) {
-                executorService.execute(
-                        () -> {
-                            try {
-                                transition.preFetch(accessor);
-                            } catch (RuntimeException e) {
-                                logger.warn("Exception thrown during pre-fetch", e);
-                            }
-                        });
+                if (queue.size() >= queueCapacity) {
+                    windowDrops.increment();
+                    if (drops != null) {
+                        drops.increment();
+                    }
+                } else {
+                    final var task =
+                            new PrefetchTask(
+                                    transition,
+                                    accessor,
+                                    eventCreation,
+                                    nextSeqNo.getAndIncrement());
+                    accessor.getSpanMap().put(PREFETCH_TASK_KEY, task);
+                    executorService.execute(task);
+                }
+            }
+        }
+        maybeAdjustWorkers();
+    }
+
+    /**
+     * Called when the given transaction reaches {@code handleTransaction}, so that any pre-fetch
+     * task still pending for it will be skipped; and to count whether its pre-fetch was done.
+     *
+     * @param accessor the accessor for the transaction about to be handled
+     */
+    public void reachedHandle(TxnAccessor accessor) {
+        if (!(accessor.getSpanMap().get(PREFETCH_TASK_KEY) instanceof PrefetchTask task)) {
+            return;
+        }
+        if (task.state.getAndSet(HANDLED) == DONE) {
+            windowHits.increment();
+            if (hits != null) {
+                hits.increment();
+            }
+        } else {
+            windowMisses.increment();
+            if (misses != null) {
+                misses.increment();
             }
         }
     }
@@ -101,4 +221,106 @@ public class PrefetchProcessor {
     public void shutdown() {
         executorService.shutdownNow();
     }
+
+    @VisibleForTesting
+    int currentWorkers() {
+        return workers;
+    }
+
+    @VisibleForTesting
+    void maybeAdjustWorkers() {
+        final var now = nanoClock.getAsLong();
+        final var next = nextAdjustmentNanos.get();
+        if (now - next < 0
+                || !nextAdjustmentNanos.compareAndSet(next, now + ADJUSTMENT_INTERVAL_NANOS)) {
+            return;
+        }
+        final var numHits = windowHits.sumThenReset();
+        final var numMisses = windowMisses.sumThenReset();
+        final var numDrops = windowDrops.sumThenReset();
+        final var depth = queue.size();
+        final var numHandled = numHits + numMisses;
+        final var hitRatio = numHandled == 0 ? 1.0 : (double) numHits / numHandled;
+
+        var target = workers;
+        if (numDrops > 0
+                || depth > HIGH_QUEUE_DEPTH * queueCapacity
+                || (depth > 0 && hitRatio < LOW_HIT_RATIO)) {
+            target = Math.min(maxWorkers, 2 * workers);
+        } else if (depth == 0 && hitRatio >= HIGH_HIT_RATIO) {
+            target = Math.max(minWorkers, workers - 1);
+        }
+        if (numDrops > 0) {
+            logger.warn(
+                    "Pre-fetch queue was full, dropped {} tasks (now using {} workers)",
+                    numDrops,
+                    target);
+        }
+        if (target != workers) {
+            resizeTo(target);
+        }
+    }
+
+    private void resizeTo(final int target) {
+        if (executorService instanceof ThreadPoolExecutor executor) {
+            executor.setCorePoolSize(target);
+        }
+        workers = target;
+        if (workersGauge != null) {
+            workersGauge.set(target);
+        }
+    }
+
+    static final class PrefetchTask implements Runnable, Comparable<PrefetchTask> {
+        private static final Comparator<PrefetchTask> HANDLE_ORDER =
+                Comparator.comparing((PrefetchTask task) -> task.eventCreation)
+                        .thenComparingLong(task -> task.seqNo);
+
+        private final PreFetchableTransition transition;
+        private final SwirldsTxnAccessor accessor;
+        private final Instant eventCreation;
+        private final long seqNo;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        PrefetchTask(
+                final PreFetchableTransition transition,
+                final SwirldsTxnAccessor accessor,
+                final Instant eventCreation,
+                final long seqNo) {
+            this.transition = transition;
+            this.accessor = accessor;
+            this.eventCreation = eventCreation;
+            this.seqNo = seqNo;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                // The transaction already reached handleTransaction, too late to help
+                return;
+            }
+            try {
+                transition.preFetch(accessor);
+            } catch (RuntimeException e) {
+                logger.warn("Exception thrown during pre-fetch", e);
+            } finally {
+                state.compareAndSet(RUNNING, DONE);
+            }
+        }
+
+        @Override
+        public int compareTo(final PrefetchTask that) {
+            return HANDLE_ORDER.compare(this, that);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(seqNo);
+        }
+    }
 }
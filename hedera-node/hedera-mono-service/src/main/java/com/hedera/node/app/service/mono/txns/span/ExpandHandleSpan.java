@@ -18,6 +18,7 @@ package com.hedera.node.app.service.mono.txns.span;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.node.app.service.mono.ServicesState;
 import com.hedera.node.app.service.mono.sigs.EventExpansion;
+import com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor;
 import com.hedera.node.app.service.mono.utils.accessors.AccessorFactory;
 import com.hedera.node.app.service.mono.utils.accessors.PlatformTxnAccessor;
 import com.hedera.node.app.service.mono.utils.accessors.SwirldsTxnAccessor;
@@ -50,10 +51,15 @@ import com.swirlds.common.system.transaction.Transaction;
 public class ExpandHandleSpan {
     private final SpanMapManager spanMapManager;
     private final AccessorFactory factory;
+    private final PrefetchProcessor prefetchProcessor;
 
-    public ExpandHandleSpan(final SpanMapManager spanMapManager, final AccessorFactory factory) {
+    public ExpandHandleSpan(
+            final SpanMapManager spanMapManager,
+            final AccessorFactory factory,
+            final PrefetchProcessor prefetchProcessor) {
         this.spanMapManager = spanMapManager;
         this.factory = factory;
+        this.prefetchProcessor = prefetchProcessor;
     }
 
     public SwirldsTxnAccessor track(final Transaction transaction)
@@ -67,6 +73,7 @@ public class ExpandHandleSpan {
             throws InvalidProtocolBufferException {
         final SwirldsTxnAccessor cachedAccessor = transaction.getMetadata();
         if (cachedAccessor != null) {
+            prefetchProcessor.reachedHandle(cachedAccessor);
             spanMapManager.rationalizeSpan(cachedAccessor);
             transaction.setMetadata(null);
             return cachedAccessor;
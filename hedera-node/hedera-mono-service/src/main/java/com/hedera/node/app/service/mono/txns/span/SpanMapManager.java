@@ -31,6 +31,7 @@ import com.hedera.node.app.service.mono.context.StateChildren;
 import com.hedera.node.app.service.mono.context.primitives.SignedStateViewFactory;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
 import com.hedera.node.app.service.mono.files.MetadataMapFactory;
+import com.hedera.node.app.service.mono.files.store.ChunkedFileContents;
 import com.hedera.node.app.service.mono.grpc.marshalling.ImpliedTransfers;
 import com.hedera.node.app.service.mono.grpc.marshalling.ImpliedTransfersMarshal;
 import com.hedera.node.app.service.mono.ledger.SigImpactHistorian;
@@ -285,7 +286,7 @@ public class SpanMapManager {
         if (linkedRefs != null) {
             linkedRefs.link(callDataId.getFileNum());
         }
-        final var fileMeta = curBlobs.get(metadataKeyFor(callDataId));
+        final var fileMeta = curBlobs.get(MetadataMapFactory.toBlobKey(callDataId));
         if (fileMeta == null) {
             return Pair.of(INVALID_FILE_ID, ethTxData);
         } else {
@@ -295,7 +296,9 @@ public class SpanMapManager {
                 return Pair.of(FILE_DELETED, ethTxData);
             } else {
                 final var hexedCallData =
-                        Objects.requireNonNull(curBlobs.get(dataKeyFor(callDataId))).getData();
+                        Objects.requireNonNull(
+                                ChunkedFileContents.contentsOf(
+                                        curBlobs, codeFromNum(callDataId.getFileNum())));
                 final byte[] callData;
                 try {
                     callData = Hex.decode(hexedCallData);
@@ -313,15 +316,6 @@ public class SpanMapManager {
         return Pair.of(OK, ethTxData);
     }
 
-    private VirtualBlobKey dataKeyFor(final FileID fileId) {
-        return new VirtualBlobKey(VirtualBlobKey.Type.FILE_DATA, codeFromNum(fileId.getFileNum()));
-    }
-
-    private VirtualBlobKey metadataKeyFor(final FileID fileId) {
-        return new VirtualBlobKey(
-                VirtualBlobKey.Type.FILE_METADATA, codeFromNum(fileId.getFileNum()));
-    }
-
     private void rationalizeImpliedTransfers(final TxnAccessor accessor) {
         final var impliedTransfers = spanMapAccessor.getImpliedTransfers(accessor);
         if (!impliedTransfers
@@ -37,6 +37,7 @@ import com.hedera.node.app.service.mono.state.logic.StatusChangeListener;
 import com.hedera.node.app.service.mono.state.migration.AccountStorageAdapter;
 import com.hedera.node.app.service.mono.state.validation.LedgerValidator;
 import com.hedera.node.app.service.mono.stats.ServicesStatsManager;
+import com.hedera.node.app.service.mono.store.contracts.CodeCache;
 import com.hedera.node.app.service.mono.stream.RecordStreamManager;
 import com.hedera.node.app.service.mono.utils.NamedDigestFactory;
 import com.hedera.node.app.service.mono.utils.SystemExits;
@@ -87,6 +88,7 @@ class ServicesMainTest {
     @Mock private ServicesStatsManager statsManager;
     @Mock private AccountsExporter accountsExporter;
     @Mock private GrpcStarter grpcStarter;
+    @Mock private CodeCache codeCache;
     @Mock private CurrentPlatformStatus currentPlatformStatus;
     @Mock private RecordStreamManager recordStreamManager;
 
@@ -152,6 +154,7 @@ class ServicesMainTest {
         verify(notificationEngine)
                 .register(StateWriteToDiskCompleteListener.class, stateToDiskListener);
         verify(grpcStarter).startIfAppropriate();
+        verify(codeCache).warmUp();
     }
 
     @Test
@@ -257,6 +260,7 @@ class ServicesMainTest {
         given(app.statsManager()).willReturn(statsManager);
         given(app.accountsExporter()).willReturn(accountsExporter);
         given(app.grpcStarter()).willReturn(grpcStarter);
+        given(app.codeCache()).willReturn(codeCache);
     }
 
     private void withChangeableApp() {
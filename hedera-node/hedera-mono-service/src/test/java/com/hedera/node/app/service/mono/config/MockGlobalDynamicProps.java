@@ -15,6 +15,7 @@
  */
 package com.hedera.node.app.service.mono.config;
 
+import com.hedera.node.app.service.mono.context.properties.ExpiryIndexMode;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
 import com.hedera.node.app.service.mono.fees.calculation.CongestionMultipliers;
 import com.hedera.node.app.service.mono.fees.calculation.EntityScaleFactors;
@@ -40,6 +41,9 @@ public class MockGlobalDynamicProps extends GlobalDynamicProperties {
             EntityScaleFactors.from("DEFAULT(90,10:1,95,25:1,99,100:1)");
     private boolean throttleByGas;
     private boolean shouldCompressAccountFiles;
+    private boolean shouldStreamBalancesExport;
+    private int balancesSummaryParallelism = 1;
+    private ExpiryIndexMode expiryIndexMode = ExpiryIndexMode.OFF;
 
     public MockGlobalDynamicProps() {
         super(null, null);
@@ -213,6 +217,15 @@ public class MockGlobalDynamicProps extends GlobalDynamicProperties {
         this.maxToTouch = maxToTouch;
     }
 
+    @Override
+    public ExpiryIndexMode expiryIndexMode() {
+        return expiryIndexMode;
+    }
+
+    public void setExpiryIndexMode(final ExpiryIndexMode expiryIndexMode) {
+        this.expiryIndexMode = expiryIndexMode;
+    }
+
     @Override
     public long autoRenewGracePeriod() {
         return gracePeriod;
@@ -284,6 +297,24 @@ public class MockGlobalDynamicProps extends GlobalDynamicProperties {
         this.shouldCompressAccountFiles = isEnabled;
     }
 
+    @Override
+    public boolean shouldStreamBalancesExport() {
+        return shouldStreamBalancesExport;
+    }
+
+    public void setBalancesExportStreaming(final boolean isEnabled) {
+        this.shouldStreamBalancesExport = isEnabled;
+    }
+
+    @Override
+    public int balancesSummaryParallelism() {
+        return balancesSummaryParallelism;
+    }
+
+    public void setBalancesSummaryParallelism(final int parallelism) {
+        this.balancesSummaryParallelism = parallelism;
+    }
+
     @Override
     public EntityScaleFactors entityScaleFactors() {
         return scaleFactors;
@@ -23,12 +23,15 @@ import static org.mockito.Mockito.verify;
 import com.hedera.node.app.service.mono.context.MutableStateChildren;
 import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
 import com.hedera.node.app.service.mono.ledger.backing.BackingStore;
+import com.hedera.node.app.service.mono.state.expiry.EntityExpiryIndex;
 import com.hedera.node.app.service.mono.state.merkle.MerkleAccount;
+import com.hedera.node.app.service.mono.state.merkle.MerkleNetworkContext;
 import com.hedera.node.app.service.mono.state.merkle.MerkleToken;
 import com.hedera.node.app.service.mono.state.migration.AccountStorageAdapter;
 import com.hedera.node.app.service.mono.state.migration.HederaAccount;
 import com.hedera.node.app.service.mono.state.migration.HederaTokenRel;
 import com.hedera.node.app.service.mono.state.migration.UniqueTokenAdapter;
+import com.hedera.node.app.service.mono.state.submerkle.SequenceNumber;
 import com.hedera.node.app.service.mono.state.validation.UsageLimits;
 import com.hedera.node.app.service.mono.store.models.NftId;
 import com.hedera.node.app.service.mono.utils.EntityNum;
@@ -56,6 +59,9 @@ class StoreInitializationFlowTest {
     @Mock private BackingStore<TokenID, MerkleToken> backingTokens;
     @Mock private BackingStore<Pair<AccountID, TokenID>, HederaTokenRel> backingTokenRels;
     @Mock private MerkleMap<EntityNum, MerkleAccount> accounts;
+    @Mock private EntityExpiryIndex expiryIndex;
+    @Mock private MerkleNetworkContext networkCtx;
+    @Mock private SequenceNumber seqNo;
 
     private StoreInitializationFlow subject;
 
@@ -69,7 +75,8 @@ class StoreInitializationFlowTest {
                         backingAccounts,
                         backingTokens,
                         backingNfts,
-                        backingTokenRels);
+                        backingTokenRels,
+                        expiryIndex);
     }
 
     @Test
@@ -78,6 +85,9 @@ class StoreInitializationFlowTest {
         final ArgumentCaptor<BiConsumer<EntityNum, HederaAccount>> captor =
                 ArgumentCaptor.forClass(BiConsumer.class);
         given(workingState.accounts()).willReturn(AccountStorageAdapter.fromInMemory(accounts));
+        given(workingState.networkCtx()).willReturn(networkCtx);
+        given(networkCtx.seqNo()).willReturn(seqNo);
+        given(seqNo.current()).willReturn(1234L);
 
         // when:
         subject.run();
@@ -89,9 +99,14 @@ class StoreInitializationFlowTest {
         verify(usageLimits).resetNumContracts();
         verify(aliasManager).rebuildAliasesMap(any(), captor.capture());
         final var observer = captor.getValue();
-        observer.accept(EntityNum.fromInt(1), MerkleAccountFactory.newAccount().get());
+        observer.accept(
+                EntityNum.fromInt(1),
+                MerkleAccountFactory.newAccount().expirationTime(666L).get());
         observer.accept(EntityNum.fromInt(2), MerkleAccountFactory.newContract().get());
         observer.accept(EntityNum.fromInt(3), MerkleAccountFactory.newContract().get());
         verify(usageLimits, times(2)).recordContracts(1);
+        verify(expiryIndex).beginRebuild();
+        verify(expiryIndex).include(1L, 666L);
+        verify(expiryIndex).finishRebuild(1234L);
     }
 }
@@ -92,6 +92,8 @@ class BootstrapPropertiesTest {
                     entry(BALANCES_EXPORT_TOKEN_BALANCES, true),
                     entry(BALANCES_NODE_BALANCE_WARN_THRESHOLD, 0L),
                     entry(BALANCES_COMPRESS_ON_CREATION, true),
+                    entry(BALANCES_EXPORT_STREAMING, true),
+                    entry(BALANCES_SUMMARY_PARALLELISM, 1),
                     entry(ACCOUNTS_EXCHANGE_RATES_ADMIN, 57L),
                     entry(ACCOUNTS_FEE_SCHEDULE_ADMIN, 56L),
                     entry(ACCOUNTS_NODE_REWARD_ACCOUNT, 801L),
@@ -161,7 +163,13 @@ class BootstrapPropertiesTest {
                     entry(HEDERA_FIRST_USER_ENTITY, 1001L),
                     entry(HEDERA_PREFETCH_QUEUE_CAPACITY, 10000),
                     entry(HEDERA_PREFETCH_THREAD_POOL_SIZE, 2),
+                    entry(HEDERA_PREFETCH_MAX_THREAD_POOL_SIZE, 8),
                     entry(HEDERA_PREFETCH_CODE_CACHE_TTL_SECS, 120),
+                    entry(HEDERA_PREFETCH_CODE_CACHE_MAX_BYTES, 268435456L),
+                    entry(HEDERA_PREFETCH_CODE_CACHE_DISK_DIR, ""),
+                    entry(HEDERA_PREFETCH_CODE_CACHE_DISK_MAX_BYTES, 0L),
+                    entry(HEDERA_PREFETCH_CODE_CACHE_WARM_UP_CONTRACTS, 100),
+                    entry(HEDERA_HAPI_THROTTLE_CONCURRENT_ADMISSION, true),
                     entry(HEDERA_PROFILES_ACTIVE, Profile.PROD),
                     entry(HEDERA_REALM, 0L),
                     entry(HEDERA_RECORD_STREAM_LOG_DIR, "/opt/hgcapp/recordStreams"),
@@ -169,6 +177,10 @@ class BootstrapPropertiesTest {
                     entry(HEDERA_RECORD_STREAM_LOG_PERIOD, 2L),
                     entry(HEDERA_RECORD_STREAM_IS_ENABLED, true),
                     entry(HEDERA_RECORD_STREAM_QUEUE_CAPACITY, 5000),
+                    entry(HEDERA_RECORD_STREAM_COMPRESSION_THREADS, 2),
+                    entry(HEDERA_RECORD_STREAM_HANDOFF_USES_RING_BUFFER, true),
+                    entry(HEDERA_RECORD_STREAM_HANDOFF_WAIT_STRATEGY, "BUSY_SPIN"),
+                    entry(HEDERA_RECORD_STREAM_WRITE_INDEX_FILES, true),
                     entry(HEDERA_SHARD, 0L),
                     entry(HEDERA_TXN_MAX_MEMO_UTF8_BYTES, 100),
                     entry(HEDERA_TXN_MIN_VALID_DURATION, 15L),
@@ -188,6 +200,7 @@ class BootstrapPropertiesTest {
                     entry(AUTO_RENEW_TARGET_TYPES, EnumSet.of(EntityType.CONTRACT)),
                     entry(AUTO_RENEW_NUM_OF_ENTITIES_TO_SCAN, 100),
                     entry(AUTO_RENEW_MAX_NUM_OF_ENTITIES_TO_RENEW_OR_DELETE, 2),
+                    entry(AUTO_RENEW_EXPIRY_INDEX_MODE, "OFF"),
                     entry(AUTO_RENEW_GRACE_PERIOD, 604800L),
                     entry(LEDGER_AUTO_RENEW_PERIOD_MAX_DURATION, 8000001L),
                     entry(LEDGER_AUTO_RENEW_PERIOD_MIN_DURATION, 2592000L),
@@ -207,6 +220,12 @@ class BootstrapPropertiesTest {
                     entry(NETTY_TLS_CERT_PATH, "hedera.crt"),
                     entry(NETTY_TLS_KEY_PATH, "hedera.key"),
                     entry(QUERIES_BLOB_LOOK_UP_RETRIES, 3),
+                    entry(QUERIES_BALANCE_CACHE_IS_ENABLED, false),
+                    entry(QUERIES_BALANCE_CACHE_MAX_ENTRIES, 100000),
+                    entry(SIGS_VERIFIED_CACHE_IS_ENABLED, true),
+                    entry(SIGS_VERIFIED_CACHE_MAX_ENTRIES, 50000),
+                    entry(SIGS_PARALLEL_EXPANSION_IS_ENABLED, false),
+                    entry(SIGS_PARALLEL_EXPANSION_THREAD_POOL_SIZE, 4),
                     entry(TOKENS_MAX_RELS_PER_INFO_QUERY, 1_000),
                     entry(TOKENS_MAX_PER_ACCOUNT, 1_000),
                     entry(TOKENS_STORE_RELS_ON_DISK, true),
@@ -243,6 +262,7 @@ class BootstrapPropertiesTest {
                     entry(STATS_THROTTLE_UTILS_GAUGE_UPDATE_INTERVAL_MS, 1_000L),
                     entry(STATS_SPEEDOMETER_HALF_LIFE_SECS, 10.0),
                     entry(STATS_EXECUTION_TIMES_TO_TRACK, 0),
+                    entry(STATS_HANDLE_LATENCIES_IS_ENABLED, true),
                     entry(STAKING_IS_ENABLED, true),
                     entry(STAKING_NODE_MAX_TO_MIN_STAKE_RATIOS, Map.of()),
                     entry(STAKING_PERIOD_MINS, 1440L),
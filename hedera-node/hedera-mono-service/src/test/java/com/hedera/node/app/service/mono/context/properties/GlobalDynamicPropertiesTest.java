@@ -106,6 +106,7 @@ class GlobalDynamicPropertiesTest {
         assertTrue(subject.areTokenAutoCreationsEnabled());
         assertFalse(subject.dynamicEvmVersion());
         assertFalse(subject.shouldCompressAccountBalanceFilesOnCreation());
+        assertTrue(subject.shouldStreamBalancesExport());
         assertTrue(subject.shouldDoTraceabilityExport());
         assertTrue(subject.isLazyCreationEnabled());
         assertFalse(subject.isCryptoCreateWithAliasEnabled());
@@ -152,8 +153,10 @@ class GlobalDynamicPropertiesTest {
         assertEquals(30, subject.feesMinCongestionPeriod());
         assertEquals(32, subject.autoRenewNumberOfEntitiesToScan());
         assertEquals(33, subject.autoRenewMaxNumberOfEntitiesToRenewOrDelete());
+        assertEquals(ExpiryIndexMode.VERIFY, subject.expiryIndexMode());
         assertEquals(78, subject.recordFileVersion());
         assertEquals(79, subject.recordSignatureFileVersion());
+        assertEquals(93, subject.balancesSummaryParallelism());
     }
 
     @Test
@@ -266,6 +269,7 @@ class GlobalDynamicPropertiesTest {
         assertFalse(subject.areTokenAutoCreationsEnabled());
         assertTrue(subject.dynamicEvmVersion());
         assertTrue(subject.shouldCompressAccountBalanceFilesOnCreation());
+        assertFalse(subject.shouldStreamBalancesExport());
         assertFalse(subject.isLazyCreationEnabled());
         assertTrue(subject.isCryptoCreateWithAliasEnabled());
         assertFalse(subject.shouldEnforceAccountCreationThrottleForContracts());
@@ -310,6 +314,7 @@ class GlobalDynamicPropertiesTest {
         assertEquals(31, subject.feesMinCongestionPeriod());
         assertEquals(33, subject.autoRenewNumberOfEntitiesToScan());
         assertEquals(34, subject.autoRenewMaxNumberOfEntitiesToRenewOrDelete());
+        assertEquals(ExpiryIndexMode.ON, subject.expiryIndexMode());
         assertEquals(37, subject.maxCustomFeesAllowed());
         assertEquals(47, subject.maxXferBalanceChanges());
         assertEquals(48, subject.maxCustomFeeDepth());
@@ -324,6 +329,7 @@ class GlobalDynamicPropertiesTest {
         assertEquals(79, subject.recordFileVersion());
         assertEquals(80, subject.recordSignatureFileVersion());
         assertEquals(90, subject.getSidecarMaxSizeMb());
+        assertEquals(94, subject.balancesSummaryParallelism());
     }
 
     @Test
@@ -544,6 +550,11 @@ class GlobalDynamicPropertiesTest {
                 .willReturn(entityScaleFactors);
         given(properties.getBooleanProperty(CONTRACTS_ENFORCE_CREATION_THROTTLE))
                 .willReturn((i + 91) % 2 == 0);
+        given(properties.getBooleanProperty(BALANCES_EXPORT_STREAMING))
+                .willReturn((i + 92) % 2 == 1);
+        given(properties.getIntProperty(BALANCES_SUMMARY_PARALLELISM)).willReturn(i + 92);
+        given(properties.getStringProperty(AUTO_RENEW_EXPIRY_INDEX_MODE))
+                .willReturn(i % 2 == 0 ? "on" : "verify");
     }
 
     private Set<EntityType> typesFor(final int i) {
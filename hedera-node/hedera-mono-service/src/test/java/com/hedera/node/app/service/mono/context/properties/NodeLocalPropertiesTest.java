@@ -24,15 +24,25 @@ import static com.hedera.node.app.service.mono.context.properties.PropertyNames.
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.GRPC_TLS_PORT;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_ACCOUNTS_EXPORT_PATH;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_EXPORT_ACCOUNTS_ON_STARTUP;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_HAPI_THROTTLE_CONCURRENT_ADMISSION;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_DISK_DIR;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_DISK_MAX_BYTES;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_MAX_BYTES;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_TTL_SECS;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_CODE_CACHE_WARM_UP_CONTRACTS;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_MAX_THREAD_POOL_SIZE;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_QUEUE_CAPACITY;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PREFETCH_THREAD_POOL_SIZE;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_PROFILES_ACTIVE;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_COMPRESSION_THREADS;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_HANDOFF_USES_RING_BUFFER;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_HANDOFF_WAIT_STRATEGY;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_IS_ENABLED;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_LOG_DIR;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_LOG_PERIOD;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_QUEUE_CAPACITY;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_SIDE_CAR_DIR;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.HEDERA_RECORD_STREAM_WRITE_INDEX_FILES;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.ISS_RESET_PERIOD;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.ISS_ROUNDS_TO_LOG;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.NETTY_MODE;
@@ -47,10 +57,17 @@ import static com.hedera.node.app.service.mono.context.properties.PropertyNames.
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.NETTY_START_RETRY_INTERVAL_MS;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.NETTY_TLS_CERT_PATH;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.NETTY_TLS_KEY_PATH;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.QUERIES_BALANCE_CACHE_IS_ENABLED;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.QUERIES_BALANCE_CACHE_MAX_ENTRIES;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.QUERIES_BLOB_LOOK_UP_RETRIES;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.SIGS_PARALLEL_EXPANSION_IS_ENABLED;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.SIGS_PARALLEL_EXPANSION_THREAD_POOL_SIZE;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.SIGS_VERIFIED_CACHE_IS_ENABLED;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.SIGS_VERIFIED_CACHE_MAX_ENTRIES;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_CONS_THROTTLES_TO_SAMPLE;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_ENTITY_UTILS_GAUGE_UPDATE_INTERVAL_MS;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_EXECUTION_TIMES_TO_TRACK;
+import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_HANDLE_LATENCIES_IS_ENABLED;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_HAPI_OPS_SPEEDOMETER_UPDATE_INTERVAL_MS;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_HAPI_THROTTLES_TO_SAMPLE;
 import static com.hedera.node.app.service.mono.context.properties.PropertyNames.STATS_RUNNING_AVG_HALF_LIFE_SECS;
@@ -99,6 +116,7 @@ class NodeLocalPropertiesTest {
         assertEquals(30, subject.prefetchCodeCacheTtlSecs());
         assertEquals(List.of("80"), subject.consThrottlesToSample());
         assertEquals(List.of("81"), subject.hapiThrottlesToSample());
+        assertEquals(85, subject.recordStreamCompressionThreads());
     }
 
     @Test
@@ -127,6 +145,22 @@ class NodeLocalPropertiesTest {
         assertFalse(subject.exportAccountsOnStartup());
         assertEquals(Profile.PROD, subject.nettyMode());
         assertEquals(24L, subject.nettyStartRetryIntervalMs());
+        assertTrue(subject.isHapiThrottleConcurrentAdmission());
+        assertTrue(subject.recordStreamHandoffUsesRingBuffer());
+        assertEquals("BUSY_SPIN", subject.recordStreamHandoffWaitStrategy());
+        assertFalse(subject.shouldWriteRecordStreamIndexFiles());
+        assertTrue(subject.isHandleLatenciesEnabled());
+        assertFalse(subject.isBalanceCacheEnabled());
+        assertEquals(89, subject.balanceCacheMaxEntries());
+        assertTrue(subject.isVerifiedSigCacheEnabled());
+        assertEquals(90, subject.verifiedSigCacheMaxEntries());
+        assertEquals(91, subject.prefetchMaxThreadPoolSize());
+        assertEquals(92L, subject.prefetchCodeCacheMaxBytes());
+        assertEquals("codeCache93", subject.prefetchCodeCacheDiskDir());
+        assertEquals(94L, subject.prefetchCodeCacheDiskMaxBytes());
+        assertEquals(95, subject.prefetchCodeCacheWarmUpContracts());
+        assertTrue(subject.isParallelSigExpansionEnabled());
+        assertEquals(96, subject.parallelSigExpansionThreadPoolSize());
     }
 
     @Test
@@ -152,6 +186,7 @@ class NodeLocalPropertiesTest {
         assertEquals(30, subject.prefetchThreadPoolSize());
         assertEquals(31, subject.prefetchCodeCacheTtlSecs());
         assertEquals(logDir(32), subject.sidecarDir());
+        assertEquals(86, subject.recordStreamCompressionThreads());
     }
 
     @Test
@@ -185,6 +220,22 @@ class NodeLocalPropertiesTest {
         assertEquals(83L, subject.entityUtilStatsUpdateIntervalMs());
         assertEquals(84L, subject.throttleUtilStatsUpdateIntervalMs());
         assertEquals(logDir(32), subject.sidecarDir());
+        assertFalse(subject.isHapiThrottleConcurrentAdmission());
+        assertFalse(subject.recordStreamHandoffUsesRingBuffer());
+        assertEquals("PARK", subject.recordStreamHandoffWaitStrategy());
+        assertTrue(subject.shouldWriteRecordStreamIndexFiles());
+        assertFalse(subject.isHandleLatenciesEnabled());
+        assertTrue(subject.isBalanceCacheEnabled());
+        assertEquals(90, subject.balanceCacheMaxEntries());
+        assertFalse(subject.isVerifiedSigCacheEnabled());
+        assertEquals(91, subject.verifiedSigCacheMaxEntries());
+        assertEquals(92, subject.prefetchMaxThreadPoolSize());
+        assertEquals(93L, subject.prefetchCodeCacheMaxBytes());
+        assertEquals("codeCache94", subject.prefetchCodeCacheDiskDir());
+        assertEquals(95L, subject.prefetchCodeCacheDiskMaxBytes());
+        assertEquals(96, subject.prefetchCodeCacheWarmUpContracts());
+        assertFalse(subject.isParallelSigExpansionEnabled());
+        assertEquals(97, subject.parallelSigExpansionThreadPoolSize());
     }
 
     private void givenPropsWithSeed(int i) {
@@ -239,6 +290,36 @@ class NodeLocalPropertiesTest {
                 .willReturn(i + 81L);
         given(properties.getLongProperty(STATS_THROTTLE_UTILS_GAUGE_UPDATE_INTERVAL_MS))
                 .willReturn(i + 82L);
+        given(properties.getBooleanProperty(HEDERA_HAPI_THROTTLE_CONCURRENT_ADMISSION))
+                .willReturn((i + 83) % 2 == 0);
+        given(properties.getIntProperty(HEDERA_RECORD_STREAM_COMPRESSION_THREADS))
+                .willReturn(i + 84);
+        given(properties.getBooleanProperty(HEDERA_RECORD_STREAM_HANDOFF_USES_RING_BUFFER))
+                .willReturn((i + 85) % 2 == 0);
+        given(properties.getStringProperty(HEDERA_RECORD_STREAM_HANDOFF_WAIT_STRATEGY))
+                .willReturn(i % 2 == 0 ? "PARK" : "BUSY_SPIN");
+        given(properties.getBooleanProperty(HEDERA_RECORD_STREAM_WRITE_INDEX_FILES))
+                .willReturn((i + 86) % 2 == 0);
+        given(properties.getBooleanProperty(STATS_HANDLE_LATENCIES_IS_ENABLED))
+                .willReturn((i + 87) % 2 == 0);
+        given(properties.getBooleanProperty(QUERIES_BALANCE_CACHE_IS_ENABLED))
+                .willReturn((i + 88) % 2 == 0);
+        given(properties.getIntProperty(QUERIES_BALANCE_CACHE_MAX_ENTRIES)).willReturn(i + 88);
+        given(properties.getBooleanProperty(SIGS_VERIFIED_CACHE_IS_ENABLED))
+                .willReturn((i + 89) % 2 == 0);
+        given(properties.getIntProperty(SIGS_VERIFIED_CACHE_MAX_ENTRIES)).willReturn(i + 89);
+        given(properties.getIntProperty(HEDERA_PREFETCH_MAX_THREAD_POOL_SIZE)).willReturn(i + 90);
+        given(properties.getLongProperty(HEDERA_PREFETCH_CODE_CACHE_MAX_BYTES)).willReturn(i + 91L);
+        given(properties.getStringProperty(HEDERA_PREFETCH_CODE_CACHE_DISK_DIR))
+                .willReturn("codeCache" + (i + 92));
+        given(properties.getLongProperty(HEDERA_PREFETCH_CODE_CACHE_DISK_MAX_BYTES))
+                .willReturn(i + 93L);
+        given(properties.getIntProperty(HEDERA_PREFETCH_CODE_CACHE_WARM_UP_CONTRACTS))
+                .willReturn(i + 94);
+        given(properties.getBooleanProperty(SIGS_PARALLEL_EXPANSION_IS_ENABLED))
+                .willReturn((i + 95) % 2 == 0);
+        given(properties.getIntProperty(SIGS_PARALLEL_EXPANSION_THREAD_POOL_SIZE))
+                .willReturn(i + 95);
         given(properties.getStringProperty(HEDERA_RECORD_STREAM_SIDE_CAR_DIR))
                 .willReturn(logDir(i + 30));
     }
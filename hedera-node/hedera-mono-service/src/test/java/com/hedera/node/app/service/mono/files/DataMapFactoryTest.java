@@ -16,6 +16,7 @@
 package com.hedera.node.app.service.mono.files;
 
 import static com.hedera.node.app.service.mono.files.DataMapFactory.dataMapFrom;
+import static com.hedera.node.app.service.mono.files.DataMapFactory.toBlobKey;
 import static com.hedera.node.app.service.mono.files.DataMapFactory.toFid;
 import static com.hedera.node.app.service.mono.files.DataMapFactory.toKeyString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.hedera.node.app.service.mono.fees.calculation.FeeCalcUtilsTest;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
 import com.hedera.test.utils.IdUtils;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -60,6 +62,13 @@ class DataMapFactoryTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void blobKeyMatchesLegacyPath() {
+        final var fid = IdUtils.asFile("0.2.3");
+
+        assertEquals(VirtualBlobKey.fromPath(toKeyString(fid)), toBlobKey(fid));
+    }
+
     private String asLegacyPath(final String fid) {
         return FeeCalcUtilsTest.pathOf(IdUtils.asFile(fid));
     }
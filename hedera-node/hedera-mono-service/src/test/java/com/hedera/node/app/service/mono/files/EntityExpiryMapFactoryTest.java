@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.google.common.primitives.Longs;
 import com.hedera.node.app.service.mono.fees.calculation.FeeCalcUtilsTest;
 import com.hedera.node.app.service.mono.state.submerkle.EntityId;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
 import com.hedera.test.utils.IdUtils;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -62,6 +63,15 @@ class EntityExpiryMapFactoryTest {
         return FeeCalcUtilsTest.pathOf(IdUtils.asFile(fid)).replace("f", "e");
     }
 
+    @Test
+    void blobKeyMatchesLegacyPath() {
+        final var id = new EntityId(0, 2, 3);
+
+        assertEquals(
+                VirtualBlobKey.fromPath(EntityExpiryMapFactory.toKeyString(id)),
+                EntityExpiryMapFactory.toBlobKey(id));
+    }
+
     @Test
     void productHasMapSemantics() {
         // setup:
@@ -17,6 +17,7 @@ package com.hedera.node.app.service.mono.files;
 
 import static com.hedera.node.app.service.mono.files.MetadataMapFactory.metaMapFrom;
 import static com.hedera.node.app.service.mono.files.MetadataMapFactory.toAttr;
+import static com.hedera.node.app.service.mono.files.MetadataMapFactory.toBlobKey;
 import static com.hedera.node.app.service.mono.files.MetadataMapFactory.toFid;
 import static com.hedera.node.app.service.mono.files.MetadataMapFactory.toKeyString;
 import static com.hedera.node.app.service.mono.files.MetadataMapFactory.toValueBytes;
@@ -31,6 +32,7 @@ import static org.mockito.BDDMockito.mock;
 
 import com.hedera.node.app.service.mono.fees.calculation.FeeCalcUtilsTest;
 import com.hedera.node.app.service.mono.files.store.FcBlobsBytesStore;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
 import com.hedera.test.factories.scenarios.TxnHandlingScenario;
 import com.hedera.test.utils.IdUtils;
 import java.io.IOException;
@@ -110,6 +112,13 @@ class MetadataMapFactoryTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void blobKeyMatchesLegacyPath() {
+        final var fid = IdUtils.asFile("0.2.3");
+
+        assertEquals(VirtualBlobKey.fromPath(toKeyString(fid)), toBlobKey(fid));
+    }
+
     @Test
     void productHasMapSemantics() throws Exception {
         final Map<String, byte[]> delegate = new HashMap<>();
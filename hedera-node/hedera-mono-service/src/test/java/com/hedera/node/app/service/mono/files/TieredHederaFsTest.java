@@ -36,6 +36,7 @@ import static org.mockito.BDDMockito.verify;
 
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
 import com.hedera.node.app.service.mono.files.TieredHederaFs.IllegalArgumentType;
+import com.hedera.node.app.service.mono.files.store.ChunkedFileContents;
 import com.hedera.node.app.service.mono.ledger.ids.EntityIdSource;
 import com.hedera.node.app.service.mono.legacy.core.jproto.JKey;
 import com.hedera.node.app.service.mono.state.merkle.MerkleSpecialFiles;
@@ -79,6 +80,7 @@ class TieredHederaFsTest {
     private Map<FileID, byte[]> data;
     private Map<FileID, HFileMeta> metadata;
     private MerkleSpecialFiles specialFiles;
+    private ChunkedFileContents chunkedContents;
     private TieredHederaFs subject;
 
     @BeforeEach
@@ -101,6 +103,7 @@ class TieredHederaFsTest {
         data = mock(Map.class);
         metadata = mock(Map.class);
         specialFiles = mock(MerkleSpecialFiles.class);
+        chunkedContents = mock(ChunkedFileContents.class);
 
         clock = mock(Supplier.class);
         given(clock.get()).willReturn(now);
@@ -108,7 +111,15 @@ class TieredHederaFsTest {
         properties = mock(GlobalDynamicProperties.class);
         given(properties.maxFileSizeKb()).willReturn(1);
 
-        subject = new TieredHederaFs(ids, properties, clock, data, metadata, () -> specialFiles);
+        subject =
+                new TieredHederaFs(
+                        ids,
+                        properties,
+                        clock,
+                        data,
+                        metadata,
+                        () -> specialFiles,
+                        chunkedContents);
     }
 
     @Test
@@ -129,7 +140,26 @@ class TieredHederaFsTest {
     }
 
     @Test
-    void appendsWithExpectedResultSansInterception() {
+    void appendsChunkWiseSansInterception() {
+        subject.register(noInterceptor);
+        given(metadata.containsKey(fid)).willReturn(true);
+        given(metadata.get(fid)).willReturn(livingAttr);
+        given(chunkedContents.sizeOf(fid)).willReturn(origContents.length);
+
+        final var result = subject.append(fid, moreContents);
+
+        assertEquals(SUCCESS, result.outcome());
+        assertTrue(result.fileReplaced());
+        verify(chunkedContents).append(fid, moreContents);
+        verify(data, never()).get(fid);
+        verify(data, never()).put(any(), any());
+    }
+
+    @Test
+    void appendsFullContentsWithInterception() {
+        given(lowInterceptor.preUpdate(any(), any()))
+                .willReturn(new AbstractMap.SimpleEntry<>(ResponseCodeEnum.OK, true));
+        subject.register(lowInterceptor);
         given(metadata.containsKey(fid)).willReturn(true);
         given(metadata.get(fid)).willReturn(livingAttr);
         given(data.get(fid)).willReturn(origContents);
@@ -138,6 +168,7 @@ class TieredHederaFsTest {
 
         assertEquals(SUCCESS, result.outcome());
         assertTrue(result.fileReplaced());
+        verify(chunkedContents, never()).append(any(), any());
         verify(data)
                 .put(
                         argThat(fid::equals),
@@ -226,7 +257,7 @@ class TieredHederaFsTest {
         final var burstContents = new byte[2];
         given(metadata.containsKey(fid)).willReturn(true);
         given(metadata.get(fid)).willReturn(livingAttr);
-        given(data.get(fid)).willReturn(stretchContents);
+        given(chunkedContents.sizeOf(fid)).willReturn(stretchContents.length);
         given(properties.maxFileSizeKb()).willReturn(1);
 
         final var iae =
@@ -236,6 +267,7 @@ class TieredHederaFsTest {
         assertEquals(
                 IllegalArgumentType.OVERSIZE_CONTENTS,
                 IllegalArgumentType.valueOf(iae.getMessage()));
+        verify(chunkedContents, never()).append(any(), any());
     }
 
     @Test
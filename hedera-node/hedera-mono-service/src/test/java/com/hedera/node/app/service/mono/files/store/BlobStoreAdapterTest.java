@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.files.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.verify;
+
+import com.hedera.node.app.service.mono.files.DataMapFactory;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
+import com.hederahashgraph.api.proto.java.FileID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BlobStoreAdapterTest {
+    private static final FileID fid = FileID.newBuilder().setFileNum(123).build();
+    private static final VirtualBlobKey blobKey =
+            new VirtualBlobKey(VirtualBlobKey.Type.FILE_DATA, 123);
+    private static final byte[] blob = "BLOB".getBytes();
+
+    @Mock private FcBlobsBytesStore delegate;
+
+    private BlobStoreAdapter<FileID, String> subject;
+
+    @BeforeEach
+    void setUp() {
+        subject =
+                new BlobStoreAdapter<>(
+                        FileID.class,
+                        bytes -> bytes == null ? null : new String(bytes),
+                        String::getBytes,
+                        DataMapFactory::toBlobKey,
+                        delegate);
+    }
+
+    @Test
+    void getsAndChecksByBlobKey() {
+        given(delegate.getBlob(blobKey)).willReturn(blob);
+        given(delegate.containsBlob(blobKey)).willReturn(true);
+
+        assertEquals("BLOB", subject.get(fid));
+        assertTrue(subject.containsKey(fid));
+    }
+
+    @Test
+    void putsAndRemovesByBlobKey() {
+        assertNull(subject.put(fid, "BLOB"));
+        assertNull(subject.remove(fid));
+
+        verify(delegate).putBlob(blobKey, blob);
+        verify(delegate).removeBlob(blobKey);
+    }
+
+    @Test
+    void delegatesIsEmpty() {
+        given(delegate.isEmpty()).willReturn(true);
+
+        assertTrue(subject.isEmpty());
+    }
+
+    @Test
+    void rejectsWrongKeyType() {
+        assertThrows(ClassCastException.class, () -> subject.get("/0/f123"));
+    }
+
+    @Test
+    void doesNotSupportBulkOperations() {
+        assertThrows(UnsupportedOperationException.class, subject::size);
+        assertThrows(UnsupportedOperationException.class, subject::clear);
+        assertThrows(UnsupportedOperationException.class, subject::entrySet);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.files.store;
+
+import static com.hedera.node.app.service.mono.files.store.ChunkedFileContents.CHUNK_SIZE;
+import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.MAX_FILE_DATA_CHUNKS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
+import com.hedera.node.app.service.mono.state.virtual.VirtualBlobValue;
+import com.hederahashgraph.api.proto.java.FileID;
+import com.swirlds.virtualmap.VirtualMap;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChunkedFileContentsTest {
+    private static final int fileNumCode = 1234;
+    private static final FileID fid = FileID.newBuilder().setFileNum(fileNumCode).build();
+    private static final byte[] headContents = "Where, like a pillow on a bed".getBytes();
+
+    private final Map<VirtualBlobKey, VirtualBlobValue> backing = new HashMap<>();
+    private VirtualMap<VirtualBlobKey, VirtualBlobValue> blobs;
+
+    private ChunkedFileContents subject;
+
+    @BeforeEach
+    void setUp() {
+        blobs = mock(VirtualMap.class);
+        given(blobs.get(any())).willAnswer(invocation -> backing.get(invocation.getArgument(0)));
+        given(blobs.containsKey(any()))
+                .willAnswer(invocation -> backing.containsKey(invocation.getArgument(0)));
+        willAnswer(
+                        invocation ->
+                                backing.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .given(blobs)
+                .put(any(), any());
+        given(blobs.remove(any()))
+                .willAnswer(invocation -> backing.remove(invocation.getArgument(0)));
+
+        subject = new ChunkedFileContents(() -> blobs);
+    }
+
+    @Test
+    void returnsNullForMissingFile() {
+        assertNull(ChunkedFileContents.contentsOf(blobs, fileNumCode));
+        assertEquals(0, subject.sizeOf(fid));
+    }
+
+    @Test
+    void returnsHeadDataAsIsWithoutChunks() {
+        ChunkedFileContents.overwrite(blobs, fileNumCode, headContents);
+
+        assertSame(headContents, ChunkedFileContents.contentsOf(blobs, fileNumCode));
+        assertEquals(headContents.length, subject.sizeOf(fid));
+    }
+
+    @Test
+    void appendsFillLastChunkBeforeStartingNew() {
+        final var expected = new ByteArrayOutputStream();
+        ChunkedFileContents.overwrite(blobs, fileNumCode, headContents);
+        expected.writeBytes(headContents);
+
+        final var small = bytes(CHUNK_SIZE / 3, 1);
+        final var large = bytes(2 * CHUNK_SIZE, 2);
+        subject.append(fid, small);
+        subject.append(fid, large);
+        subject.append(fid, new byte[0]);
+        expected.writeBytes(small);
+        expected.writeBytes(large);
+
+        assertEquals(3, ChunkedFileContents.numChunks(blobs, fileNumCode));
+        assertEquals(CHUNK_SIZE, chunkLength(0));
+        assertEquals(CHUNK_SIZE, chunkLength(1));
+        assertEquals(CHUNK_SIZE / 3, chunkLength(2));
+        assertEquals(expected.size(), subject.sizeOf(fid));
+        assertArrayEquals(
+                expected.toByteArray(), ChunkedFileContents.contentsOf(blobs, fileNumCode));
+    }
+
+    @Test
+    void lastAllowedChunkAbsorbsFurtherAppends() {
+        ChunkedFileContents.overwrite(blobs, fileNumCode, new byte[0]);
+        final var capacity = MAX_FILE_DATA_CHUNKS * CHUNK_SIZE;
+
+        subject.append(fid, bytes(capacity - 1, 3));
+        subject.append(fid, bytes(CHUNK_SIZE, 4));
+
+        assertEquals(MAX_FILE_DATA_CHUNKS, ChunkedFileContents.numChunks(blobs, fileNumCode));
+        assertEquals(2 * CHUNK_SIZE - 1, chunkLength(MAX_FILE_DATA_CHUNKS - 1));
+        assertEquals(capacity - 1 + CHUNK_SIZE, subject.sizeOf(fid));
+    }
+
+    @Test
+    void overwriteAndClearRemoveChunks() {
+        ChunkedFileContents.overwrite(blobs, fileNumCode, headContents);
+        subject.append(fid, bytes(3 * CHUNK_SIZE, 5));
+
+        ChunkedFileContents.overwrite(blobs, fileNumCode, headContents);
+
+        assertEquals(0, ChunkedFileContents.numChunks(blobs, fileNumCode));
+        assertArrayEquals(headContents, ChunkedFileContents.contentsOf(blobs, fileNumCode));
+
+        subject.append(fid, bytes(CHUNK_SIZE, 6));
+        ChunkedFileContents.clear(blobs, fileNumCode);
+
+        assertEquals(1, backing.size());
+        assertEquals(0, ChunkedFileContents.contentsOf(blobs, fileNumCode).length);
+    }
+
+    @Test
+    void bytesStoreSeesAppendedChunks() {
+        final var store = new FcBlobsBytesStore(() -> blobs);
+        final var path = "/0/f" + fileNumCode;
+        store.put(path, headContents);
+        final var more = bytes(CHUNK_SIZE + 1, 7);
+
+        subject.append(fid, more);
+
+        final var expected = new ByteArrayOutputStream();
+        expected.writeBytes(headContents);
+        expected.writeBytes(more);
+        assertArrayEquals(expected.toByteArray(), store.get(path));
+
+        store.remove(path);
+        assertEquals(0, store.get(path).length);
+        assertEquals(0, ChunkedFileContents.numChunks(blobs, fileNumCode));
+    }
+
+    private int chunkLength(final int index) {
+        return backing.get(VirtualBlobKey.forFileDataChunk(fileNumCode, index)).getData().length;
+    }
+
+    private static byte[] bytes(final int n, final int seed) {
+        final var ans = new byte[n];
+        for (int i = 0; i < n; i++) {
+            ans[i] = (byte) (seed * 31 + i);
+        }
+        return ans;
+    }
+}
@@ -624,6 +624,24 @@ class TransactionalLedgerTest {
         assertTrue(testLedger.getChanges().isEmpty());
     }
 
+    @Test
+    void reusesChangeSetsOnceNextTxnBegins() {
+        setupTestLedger();
+
+        testLedger.begin();
+        testLedger.create(1L);
+        testLedger.set(1L, LONG, 5L);
+        final var firstChanges = testLedger.getChanges().get(1L);
+        testLedger.commit();
+
+        assertEquals(Map.of(LONG, 5L), firstChanges);
+
+        testLedger.begin();
+        assertTrue(firstChanges.isEmpty());
+        testLedger.create(2L);
+        assertSame(firstChanges, testLedger.getChanges().get(2L));
+    }
+
     @Test
     void throwsOnRollbackWithoutActiveTxn() {
         setupTestLedger();
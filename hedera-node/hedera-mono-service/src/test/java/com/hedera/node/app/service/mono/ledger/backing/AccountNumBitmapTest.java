@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.ledger.backing;
+
+import static com.hedera.node.app.service.mono.state.merkle.internals.BitPackUtils.MAX_NUM_ALLOWED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AccountNumBitmapTest {
+    private final AccountNumBitmap subject = new AccountNumBitmap();
+
+    @Test
+    void addsAndRemovesNumbers() {
+        assertTrue(subject.add(2L));
+        assertFalse(subject.add(2L));
+        assertTrue(subject.add(MAX_NUM_ALLOWED));
+
+        assertTrue(subject.contains(2L));
+        assertTrue(subject.contains(MAX_NUM_ALLOWED));
+        assertFalse(subject.contains(3L));
+        assertEquals(2, subject.size());
+
+        assertTrue(subject.remove(2L));
+        assertFalse(subject.remove(2L));
+        assertFalse(subject.contains(2L));
+        assertEquals(1, subject.size());
+    }
+
+    @Test
+    void invalidNumbersAreNeverPresent() {
+        assertThrows(IllegalArgumentException.class, () -> subject.add(-1L));
+        assertThrows(IllegalArgumentException.class, () -> subject.add(MAX_NUM_ALLOWED + 1));
+
+        assertFalse(subject.contains(-1L));
+        assertFalse(subject.contains(MAX_NUM_ALLOWED + 1));
+        assertFalse(subject.remove(-1L));
+    }
+
+    @Test
+    void missingPagesAreNeitherAllocatedNorPresent() {
+        subject.add(1L);
+
+        assertFalse(subject.contains(5L << AccountNumBitmap.PAGE_SHIFT));
+        assertFalse(subject.remove(5L << AccountNumBitmap.PAGE_SHIFT));
+        assertEquals(-1L, subject.nextSetBit(2L));
+    }
+
+    @Test
+    void iteratesNumbersInOrderAcrossPages() {
+        final var farNum = 3L << AccountNumBitmap.PAGE_SHIFT;
+        subject.add(farNum + 64);
+        subject.add(63L);
+        subject.add(64L);
+        subject.add(farNum);
+
+        assertEquals(63L, subject.nextSetBit(-1L));
+        assertEquals(64L, subject.nextSetBit(64L));
+        assertEquals(farNum, subject.nextSetBit(65L));
+        assertEquals(farNum + 64, subject.nextSetBit(farNum + 1));
+        assertEquals(-1L, subject.nextSetBit(farNum + 65));
+    }
+
+    @Test
+    void clearReleasesEverything() {
+        subject.add(1L);
+        subject.add(1L << 20);
+
+        subject.clear();
+
+        assertEquals(0, subject.size());
+        assertFalse(subject.contains(1L));
+        assertEquals(-1L, subject.nextSetBit(0L));
+    }
+
+    @Test
+    void concurrentAddsAreAllRetained() throws InterruptedException {
+        final var numsPerTask = 100_000;
+        final var nextStart = new AtomicLong();
+        final Callable<Void> task =
+                () -> {
+                    final var start = nextStart.getAndIncrement();
+                    for (long i = 0; i < numsPerTask; i++) {
+                        subject.add(start + 8 * i * 3);
+                    }
+                    return null;
+                };
+        final var executor = Executors.newFixedThreadPool(8);
+        try {
+            executor.invokeAll(Collections.nCopies(8, task));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(8L * numsPerTask, subject.size());
+        for (long num = 0; num < 8L * numsPerTask * 3; num++) {
+            assertEquals(num % 24 < 8, subject.contains(num));
+        }
+    }
+}
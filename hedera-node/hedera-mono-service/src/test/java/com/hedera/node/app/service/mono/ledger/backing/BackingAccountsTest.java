@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.protobuf.ByteString;
 import com.hedera.node.app.service.mono.state.merkle.MerkleAccount;
 import com.hedera.node.app.service.mono.state.migration.AccountStorageAdapter;
 import com.hedera.node.app.service.mono.state.migration.RecordsStorageAdapter;
@@ -35,6 +36,9 @@ import com.swirlds.common.constructable.ConstructableRegistryException;
 import com.swirlds.common.exceptions.MutabilityException;
 import com.swirlds.common.merkle.utility.KeyedMerkleLong;
 import com.swirlds.merkle.map.MerkleMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -103,6 +107,40 @@ class BackingAccountsTest {
         assertTrue(subject.contains(b));
     }
 
+    @Test
+    void onlyCanonicalIdsAreContained() {
+        final var otherRealm = a.toBuilder().setRealmNum(1L).build();
+        final var withAlias = a.toBuilder().setAlias(ByteString.copyFromUtf8("a")).build();
+
+        assertFalse(subject.contains(otherRealm));
+        assertFalse(subject.contains(withAlias));
+        assertFalse(subject.idSet().contains(otherRealm));
+        assertFalse(subject.idSet().contains("0.0.1"));
+    }
+
+    @Test
+    void idSetIsLiveView() {
+        final var c = asAccount("0.0.3");
+        final var idSet = subject.idSet();
+
+        subject.put(c, MerkleAccountFactory.newAccount().get());
+        subject.remove(a);
+
+        assertEquals(Set.of(b, c), idSet);
+        assertEquals(List.of(b, c), new ArrayList<>(idSet));
+        assertThrows(UnsupportedOperationException.class, () -> idSet.add(a));
+    }
+
+    @Test
+    void idSetIteratorThrowsWhenExhausted() {
+        final var iter = subject.idSet().iterator();
+        iter.next();
+        iter.next();
+
+        assertFalse(iter.hasNext());
+        assertThrows(NoSuchElementException.class, iter::next);
+    }
+
     @Test
     void putUpdatesKnownAccounts() {
         // when:
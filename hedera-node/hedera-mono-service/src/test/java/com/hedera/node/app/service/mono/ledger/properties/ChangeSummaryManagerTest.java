@@ -25,6 +25,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import com.hedera.node.app.service.mono.ledger.PropertyChangeObserver;
 import com.hedera.node.app.service.mono.ledger.accounts.TestAccount;
 import java.util.EnumMap;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -73,6 +74,20 @@ class ChangeSummaryManagerTest {
         assertEquals(new TestAccount(5L, thing, true), testAccount);
     }
 
+    @Test
+    void persistsSpecializedChangesWithoutBoxing() {
+        final var thing = new Object();
+        final var testAccount = new TestAccount(1L, thing, false);
+        final var specialized = new PropertyChanges<>(TestAccountProperty.class);
+
+        subject.update(specialized, LONG, 5L);
+        subject.update(specialized, FLAG, true);
+        subject.persist(specialized, testAccount);
+
+        assertEquals(Map.of(LONG, 5L, FLAG, true), specialized);
+        assertEquals(new TestAccount(5L, thing, true), testAccount);
+    }
+
     @Test
     void setsFlagWithPrimitiveArg() {
         subject.update(changes, FLAG, true);
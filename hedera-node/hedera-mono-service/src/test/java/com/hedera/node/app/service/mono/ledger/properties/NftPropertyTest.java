@@ -62,4 +62,22 @@ class NftPropertyTest {
         // expect:
         assertEquals(bSubject, aSubject);
     }
+
+    @Test
+    void onlyCreationTimeIsPrimitive() {
+        final var aSubject =
+                UniqueTokenAdapter.wrap(new MerkleUniqueToken(aEntity, aMeta, aInstant));
+        final var bSubject =
+                UniqueTokenAdapter.wrap(new MerkleUniqueToken(aEntity, aMeta, bInstant));
+
+        NftProperty.CREATION_TIME.setPrimitive(
+                aSubject, packedTime(bInstant.getSeconds(), bInstant.getNanos()));
+
+        // expect:
+        assertEquals(bSubject, aSubject);
+        assertEquals(ValueKind.LONG, NftProperty.CREATION_TIME.valueKind());
+        assertEquals(ValueKind.OBJECT, NftProperty.OWNER.valueKind());
+        assertEquals(ValueKind.OBJECT, NftProperty.METADATA.valueKind());
+        assertEquals(ValueKind.OBJECT, NftProperty.SPENDER.valueKind());
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.ledger.properties;
+
+import static com.hedera.node.app.service.mono.ledger.properties.TestAccountProperty.FLAG;
+import static com.hedera.node.app.service.mono.ledger.properties.TestAccountProperty.LONG;
+import static com.hedera.node.app.service.mono.ledger.properties.TestAccountProperty.OBJ;
+import static com.hedera.node.app.service.mono.ledger.properties.TestAccountProperty.TOKEN_LONG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.node.app.service.mono.ledger.accounts.TestAccount;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class PropertyChangesTest {
+    private final PropertyChanges<TestAccount, TestAccountProperty> subject =
+            new PropertyChanges<>(TestAccountProperty.class);
+
+    @Test
+    void rejectsFamiliesTooLargeForBitmask() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new PropertyChanges<>(TooManyProperties.class));
+    }
+
+    @Test
+    void behavesLikeEnumMap() {
+        final var thing = new Object();
+        final var expected = new EnumMap<TestAccountProperty, Object>(TestAccountProperty.class);
+        expected.put(FLAG, true);
+        expected.put(LONG, 5L);
+        expected.put(OBJ, thing);
+
+        subject.set(OBJ, thing);
+        subject.set(LONG, 5L);
+        subject.set(FLAG, true);
+
+        assertEquals(expected, subject);
+        assertEquals(subject, expected);
+        assertEquals(expected.hashCode(), subject.hashCode());
+        assertEquals(expected.toString(), subject.toString());
+        assertEquals(3, subject.size());
+        assertTrue(subject.containsKey(LONG));
+        assertFalse(subject.containsKey(TOKEN_LONG));
+        assertFalse(subject.containsKey(AccountProperty.BALANCE));
+        assertNull(subject.get(AccountProperty.BALANCE));
+        assertNull(subject.get(TOKEN_LONG));
+    }
+
+    @Test
+    void boxesUnboxedValuesToOriginalType() {
+        subject.set(LONG, Long.MAX_VALUE);
+        subject.set(FLAG, false);
+
+        assertEquals(Long.MAX_VALUE, subject.get(LONG));
+        assertEquals(Boolean.FALSE, subject.get(FLAG));
+    }
+
+    @Test
+    void keepsValuesOfUnexpectedTypeAsIs() {
+        subject.set(LONG, 5);
+        subject.set(TOKEN_LONG, null);
+
+        assertInstanceOf(Integer.class, subject.get(LONG));
+        assertTrue(subject.containsKey(TOKEN_LONG));
+        assertNull(subject.get(TOKEN_LONG));
+    }
+
+    @Test
+    void overwritesAcrossSlots() {
+        final var thing = new Object();
+        subject.set(LONG, 5);
+        subject.set(LONG, 6L);
+        assertEquals(6L, subject.put(LONG, thing));
+
+        assertSame(thing, subject.get(LONG));
+        assertEquals(1, subject.size());
+    }
+
+    @Test
+    void removesAndClears() {
+        subject.set(LONG, 5L);
+        subject.set(OBJ, "a");
+
+        assertEquals(5L, subject.remove(LONG));
+        assertNull(subject.remove(LONG));
+        assertNull(subject.remove(AccountProperty.BALANCE));
+        assertEquals(Map.of(OBJ, "a"), subject);
+
+        subject.clear();
+
+        assertTrue(subject.isEmpty());
+        assertNull(subject.get(OBJ));
+        assertFalse(subject.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    void iteratesInPropertyOrder() {
+        final List<TestAccountProperty> seen = new ArrayList<>();
+        subject.set(TOKEN_LONG, 1L);
+        subject.set(OBJ, "a");
+        subject.set(FLAG, true);
+
+        subject.forEach((property, value) -> seen.add(property));
+
+        assertEquals(List.of(FLAG, OBJ, TOKEN_LONG), seen);
+        assertEquals(List.copyOf(seen), List.copyOf(subject.keySet()));
+        final var entries = subject.entrySet().iterator();
+        entries.next();
+        entries.next();
+        entries.next();
+        assertThrows(NoSuchElementException.class, entries::next);
+    }
+
+    @Test
+    void appliesBothUnboxedAndObjectChanges() {
+        final var thing = new Object();
+        final var account = new TestAccount(1L, new Object(), false);
+        subject.set(LONG, 5L);
+        subject.set(FLAG, true);
+        subject.set(OBJ, thing);
+
+        subject.applyTo(account);
+
+        assertEquals(new TestAccount(5L, thing, true), account);
+    }
+
+    private enum TooManyProperties implements BeanProperty<Object> {
+        P00, P01, P02, P03, P04, P05, P06, P07, P08, P09, P10, P11, P12, P13, P14, P15, P16,
+        P17, P18, P19, P20, P21, P22, P23, P24, P25, P26, P27, P28, P29, P30, P31, P32, P33,
+        P34, P35, P36, P37, P38, P39, P40, P41, P42, P43, P44, P45, P46, P47, P48, P49, P50,
+        P51, P52, P53, P54, P55, P56, P57, P58, P59, P60, P61, P62, P63, P64;
+
+        @Override
+        public BiConsumer<Object, Object> setter() {
+            return (a, v) -> {};
+        }
+
+        @Override
+        public Function<Object, Object> getter() {
+            return a -> null;
+        }
+    }
+}
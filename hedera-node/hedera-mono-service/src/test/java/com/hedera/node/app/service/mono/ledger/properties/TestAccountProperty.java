@@ -30,6 +30,11 @@ public enum TestAccountProperty implements BeanProperty<TestAccount> {
         public Function<TestAccount, Object> getter() {
             return TestAccount::isFlag;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.BOOLEAN;
+        }
     },
     LONG {
         @Override
@@ -41,6 +46,16 @@ public enum TestAccountProperty implements BeanProperty<TestAccount> {
         public Function<TestAccount, Object> getter() {
             return TestAccount::getValue;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
+
+        @Override
+        public void setPrimitive(final TestAccount target, final long value) {
+            target.setValue(value);
+        }
     },
     OBJ {
         @Override
@@ -63,6 +78,11 @@ public enum TestAccountProperty implements BeanProperty<TestAccount> {
         public Function<TestAccount, Object> getter() {
             return TestAccount::getTokenThing;
         }
+
+        @Override
+        public ValueKind valueKind() {
+            return ValueKind.LONG;
+        }
     },
     HBAR_ALLOWANCES {
         @Override
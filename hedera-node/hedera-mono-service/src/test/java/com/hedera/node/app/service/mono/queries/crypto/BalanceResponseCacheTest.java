@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.queries.crypto;
+
+import static com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache.BYTES_NAME;
+import static com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache.ENTRIES_NAME;
+import static com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache.HITS_NAME;
+import static com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache.HIT_RATIO_NAME;
+import static com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache.MISSES_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.utils.EntityNum;
+import com.hederahashgraph.api.proto.java.CryptoGetAccountBalanceResponse;
+import com.hederahashgraph.api.proto.java.Response;
+import com.swirlds.common.metrics.Counter;
+import com.swirlds.common.metrics.DoubleGauge;
+import com.swirlds.common.metrics.Metrics;
+import com.swirlds.common.system.Platform;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceResponseCacheTest {
+    private static final EntityNum ACCOUNT = EntityNum.fromLong(1234L);
+    private static final Response RESPONSE =
+            Response.newBuilder()
+                    .setCryptogetAccountBalance(
+                            CryptoGetAccountBalanceResponse.newBuilder().setBalance(5L))
+                    .build();
+
+    @Mock private Platform platform;
+    @Mock private Metrics metrics;
+    @Mock private NodeLocalProperties nodeLocalProperties;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final Map<String, DoubleGauge> gauges = new HashMap<>();
+
+    @Test
+    void doesNothingWhenDisabled() {
+        final var subject = new BalanceResponseCache(nodeLocalProperties);
+
+        subject.registerWith(platform);
+        subject.cache(ACCOUNT, RESPONSE);
+        subject.invalidateFor(1L);
+
+        assertFalse(subject.isEnabled());
+        assertNull(subject.getIfPresent(ACCOUNT));
+        assertEquals(-1L, subject.currentRound());
+        verifyNoInteractions(platform);
+    }
+
+    @Test
+    void answersFromCacheUntilNextSignedState() {
+        final var subject = enabledSubject(10);
+
+        assertNull(subject.getIfPresent(ACCOUNT));
+        subject.cache(ACCOUNT, RESPONSE);
+        assertSame(RESPONSE, subject.getIfPresent(ACCOUNT));
+
+        subject.invalidateFor(1L);
+
+        assertEquals(1L, subject.currentRound());
+        assertNull(subject.getIfPresent(ACCOUNT));
+    }
+
+    @Test
+    void ignoresStaleRounds() {
+        final var subject = enabledSubject(10);
+        subject.invalidateFor(2L);
+        subject.cache(ACCOUNT, RESPONSE);
+
+        subject.invalidateFor(2L);
+        subject.invalidateFor(1L);
+
+        assertEquals(2L, subject.currentRound());
+        assertSame(RESPONSE, subject.getIfPresent(ACCOUNT));
+    }
+
+    @Test
+    void stopsCachingWhenFull() {
+        final var subject = enabledSubject(1);
+        final var otherAccount = EntityNum.fromLong(4321L);
+
+        subject.cache(ACCOUNT, RESPONSE);
+        subject.cache(otherAccount, RESPONSE);
+
+        assertEquals(1, subject.currentSize());
+        assertNull(subject.getIfPresent(otherAccount));
+    }
+
+    @Test
+    void reportsUsageOfFinishedRound() {
+        givenMetrics();
+        final var subject = enabledSubject(10);
+        subject.registerWith(platform);
+
+        subject.getIfPresent(ACCOUNT);
+        subject.cache(ACCOUNT, RESPONSE);
+        subject.getIfPresent(ACCOUNT);
+        subject.getIfPresent(ACCOUNT);
+        subject.getIfPresent(ACCOUNT);
+        subject.invalidateFor(1L);
+
+        assertTrue(subject.isEnabled());
+        verify(counters.get(MISSES_NAME)).increment();
+        verify(counters.get(HITS_NAME), times(3)).increment();
+        verify(gauges.get(HIT_RATIO_NAME)).set(0.75);
+        verify(gauges.get(ENTRIES_NAME)).set(1.0);
+        verify(gauges.get(BYTES_NAME)).set(RESPONSE.getSerializedSize());
+    }
+
+    private BalanceResponseCache enabledSubject(final int maxEntries) {
+        given(nodeLocalProperties.isBalanceCacheEnabled()).willReturn(true);
+        given(nodeLocalProperties.balanceCacheMaxEntries()).willReturn(maxEntries);
+        return new BalanceResponseCache(nodeLocalProperties);
+    }
+
+    private void givenMetrics() {
+        given(platform.getMetrics()).willReturn(metrics);
+        given(metrics.getOrCreate(any(Counter.Config.class)))
+                .willAnswer(
+                        invocation ->
+                                counters.computeIfAbsent(
+                                        invocation.<Counter.Config>getArgument(0).getName(),
+                                        name -> mock(Counter.class)));
+        given(metrics.getOrCreate(any(DoubleGauge.Config.class)))
+                .willAnswer(
+                        invocation ->
+                                gauges.computeIfAbsent(
+                                        invocation.<DoubleGauge.Config>getArgument(0).getName(),
+                                        name -> mock(DoubleGauge.class)));
+    }
+}
@@ -28,9 +28,14 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.PLATFORM_NOT_A
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.RESULT_SIZE_LIMIT_EXCEEDED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.verifyNoInteractions;
 
 import com.google.protobuf.ByteString;
 import com.hedera.node.app.hapi.utils.ByteStringUtils;
@@ -75,12 +80,15 @@ class GetAccountBalanceAnswerTest {
     @Mock private GlobalDynamicProperties dynamicProperties;
     @Mock private OptionValidator optionValidator;
     @Mock private AliasManager aliasManager;
+    @Mock private BalanceResponseCache responseCache;
 
     private GetAccountBalanceAnswer subject;
 
     @BeforeEach
     void setup() {
-        subject = new GetAccountBalanceAnswer(aliasManager, optionValidator, dynamicProperties);
+        subject =
+                new GetAccountBalanceAnswer(
+                        aliasManager, optionValidator, dynamicProperties, responseCache);
     }
 
     @Test
@@ -287,6 +295,33 @@ class GetAccountBalanceAnswerTest {
         assertEquals(OK, status);
         assertEquals(balance, answer);
         assertEquals(id, response.getCryptogetAccountBalance().getAccountID());
+        verify(responseCache).cache(wellKnownId, response);
+    }
+
+    @Test
+    void answersFromCacheIfPresent() {
+        final AccountID id = asAccount(accountIdLit);
+        final var query = accountQueryWith(id);
+        final var cached = Response.newBuilder().build();
+        given(responseCache.getIfPresent(EntityNum.fromAccountId(id))).willReturn(cached);
+
+        final var response = subject.responseGiven(query, wellKnownView(), OK);
+
+        assertSame(cached, response);
+        verify(responseCache, never()).cache(any(), any());
+    }
+
+    @Test
+    void neverCachesFailedAnswers() {
+        final AccountID id = asAccount(accountIdLit);
+        final var query = accountQueryWith(id);
+
+        final var response = subject.responseGiven(query, wellKnownView(), ACCOUNT_DELETED);
+
+        assertEquals(
+                ACCOUNT_DELETED,
+                response.getCryptogetAccountBalance().getHeader().getNodeTransactionPrecheckCode());
+        verifyNoInteractions(responseCache);
     }
 
     @Test
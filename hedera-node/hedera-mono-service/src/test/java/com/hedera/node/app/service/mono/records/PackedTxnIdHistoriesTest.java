@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.records;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.node.app.service.mono.state.submerkle.EntityId;
+import com.hedera.node.app.service.mono.state.submerkle.RichInstant;
+import com.hedera.node.app.service.mono.state.submerkle.TxnId;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PackedTxnIdHistoriesTest {
+    private static final TransactionID unpackableId =
+            TransactionID.newBuilder()
+                    .setAccountID(AccountID.newBuilder().setShardNum(1).setAccountNum(2))
+                    .build();
+
+    private PackedTxnIdHistories subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = new PackedTxnIdHistories(4);
+    }
+
+    @Test
+    void putsGetsAndRemovesPackableIds() {
+        final var history = new TxnIdRecentHistory();
+
+        assertNull(subject.put(idWith(2, 1), history));
+        assertSame(history, subject.get(idWith(2, 1)));
+        assertTrue(subject.containsKey(idWith(2, 1)));
+        assertFalse(subject.containsKey(idWith(2, 2)));
+        assertEquals(1, subject.size());
+
+        assertSame(history, subject.remove(idWith(2, 1)));
+        assertNull(subject.get(idWith(2, 1)));
+        assertTrue(subject.isEmpty());
+    }
+
+    @Test
+    void replacesExistingHistory() {
+        final var first = new TxnIdRecentHistory();
+        final var second = new TxnIdRecentHistory();
+
+        subject.put(idWith(2, 1), first);
+
+        assertSame(first, subject.put(idWith(2, 1), second));
+        assertSame(second, subject.get(idWith(2, 1)));
+        assertEquals(1, subject.size());
+    }
+
+    @Test
+    void growsAndKeepsAllEntriesReachableAcrossRemovals() {
+        final Map<TransactionID, TxnIdRecentHistory> expected = new HashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            final var history = new TxnIdRecentHistory();
+            subject.put(idWith(2 + i % 7, i), history);
+            expected.put(idWith(2 + i % 7, i), history);
+        }
+        for (int i = 0; i < 1_000; i += 3) {
+            assertSame(expected.remove(idWith(2 + i % 7, i)), subject.remove(idWith(2 + i % 7, i)));
+        }
+
+        assertTrue(subject.capacity() >= 2 * 1_000);
+        assertEquals(expected.size(), subject.size());
+        expected.forEach((id, history) -> assertSame(history, subject.get(id)));
+        assertEquals(expected, new HashMap<>(subject));
+    }
+
+    @Test
+    void fallsBackForUnpackableIds() {
+        final var history = new TxnIdRecentHistory();
+
+        subject.put(unpackableId, history);
+
+        assertSame(history, subject.get(unpackableId));
+        assertEquals(1, subject.size());
+        assertEquals(Map.of(unpackableId, history), new HashMap<>(subject));
+        assertSame(history, subject.remove(unpackableId));
+        assertTrue(subject.isEmpty());
+    }
+
+    @Test
+    void computesOnlyIfAbsent() {
+        final var history = new TxnIdRecentHistory();
+
+        assertSame(history, subject.computeIfAbsent(idWith(3, 1), ignore -> history));
+        assertSame(
+                history, subject.computeIfAbsent(idWith(3, 1), ignore -> new TxnIdRecentHistory()));
+        assertNull(subject.computeIfAbsent(idWith(3, 2), ignore -> null));
+        assertEquals(1, subject.size());
+    }
+
+    @Test
+    void putsOnlyIfAbsent() {
+        final var history = new TxnIdRecentHistory();
+        final var other = new TxnIdRecentHistory();
+
+        assertNull(subject.putIfAbsent(idWith(3, 1), history));
+        assertSame(history, subject.putIfAbsent(idWith(3, 1), other));
+        assertNull(subject.putIfAbsent(unpackableId, history));
+        assertSame(history, subject.putIfAbsent(unpackableId, other));
+        assertSame(history, subject.get(idWith(3, 1)));
+        assertSame(history, subject.get(unpackableId));
+        assertEquals(2, subject.size());
+    }
+
+    @Test
+    void racingComputesShareOneHistory() throws InterruptedException {
+        final var numThreads = 4;
+        final var numIds = 256;
+        final var seen = new TxnIdRecentHistory[numThreads][numIds];
+        final var start = new CountDownLatch(1);
+        final var threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            final var row = seen[t];
+            threads[t] =
+                    new Thread(
+                            () -> {
+                                awaitQuietly(start);
+                                for (int i = 0; i < numIds; i++) {
+                                    row[i] =
+                                            subject.computeIfAbsent(
+                                                    idWith(2, i),
+                                                    ignore -> new TxnIdRecentHistory());
+                                }
+                            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(numIds, subject.size());
+        for (int i = 0; i < numIds; i++) {
+            final var stored = subject.get(idWith(2, i));
+            for (int t = 0; t < numThreads; t++) {
+                assertSame(stored, seen[t][i]);
+            }
+        }
+    }
+
+    @Test
+    void supportsSubmerkleIdsWithoutConversion() {
+        final var history = new TxnIdRecentHistory();
+        final var submerkleId = new TxnId(new EntityId(0, 0, 5), new RichInstant(1, 2), true, 3);
+        final var grpcId = submerkleId.toGrpc();
+
+        subject.put(grpcId, history);
+
+        assertSame(history, subject.get(submerkleId));
+        assertSame(history, subject.remove(submerkleId));
+        assertNull(subject.get(grpcId));
+    }
+
+    @Test
+    void supportsUnpackableSubmerkleIds() {
+        final var history = new TxnIdRecentHistory();
+        final var submerkleId = new TxnId(new EntityId(1, 0, 5), new RichInstant(1, 2), false, 0);
+
+        subject.put(submerkleId.toGrpc(), history);
+
+        assertSame(history, subject.get(submerkleId));
+        assertSame(history, subject.remove(submerkleId));
+    }
+
+    @Test
+    void ignoresNonIdKeys() {
+        assertNull(subject.get("NOPE"));
+        assertFalse(subject.containsKey("NOPE"));
+        assertNull(subject.remove("NOPE"));
+    }
+
+    @Test
+    void clearResetsBothTables() {
+        subject.put(idWith(2, 1), new TxnIdRecentHistory());
+        subject.put(unpackableId, new TxnIdRecentHistory());
+        for (int i = 0; i < 100; i++) {
+            subject.put(idWith(4, i), new TxnIdRecentHistory());
+        }
+
+        subject.clear();
+
+        assertTrue(subject.isEmpty());
+        assertEquals(4, subject.capacity());
+        assertNull(subject.get(idWith(2, 1)));
+    }
+
+    @Test
+    void snapshotsAreUnaffectedByLaterChanges() {
+        final var history = new TxnIdRecentHistory();
+        subject.put(idWith(2, 1), history);
+        subject.put(unpackableId, history);
+
+        final var entries = subject.entrySet();
+        final var values = subject.values();
+        subject.clear();
+
+        assertEquals(2, entries.size());
+        assertEquals(2, values.size());
+        assertTrue(values.stream().allMatch(value -> value == history));
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TransactionID idWith(final long payerNum, final long seconds) {
+        return TransactionID.newBuilder()
+                .setAccountID(AccountID.newBuilder().setAccountNum(payerNum))
+                .setTransactionValidStart(Timestamp.newBuilder().setSeconds(seconds))
+                .build();
+    }
+}
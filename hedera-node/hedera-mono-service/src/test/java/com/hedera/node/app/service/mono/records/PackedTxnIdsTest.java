@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.records;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.node.app.service.mono.state.submerkle.TxnId;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import org.junit.jupiter.api.Test;
+
+class PackedTxnIdsTest {
+    private static final TransactionID packable =
+            TransactionID.newBuilder()
+                    .setAccountID(AccountID.newBuilder().setAccountNum(0xFFFF_FFFFL))
+                    .setTransactionValidStart(
+                            Timestamp.newBuilder()
+                                    .setSeconds(PackedTxnIds.MAX_PACKABLE_SECONDS)
+                                    .setNanos(999_999_999))
+                    .setScheduled(true)
+                    .setNonce(PackedTxnIds.MAX_PACKABLE_NONCE)
+                    .build();
+
+    @Test
+    void roundTripsPackableIds() {
+        final var hi = PackedTxnIds.hiWordOf(packable);
+        final var lo = PackedTxnIds.loWordOf(packable);
+
+        assertTrue(PackedTxnIds.canPack(packable));
+        assertEquals(packable, PackedTxnIds.unpack(hi, lo));
+    }
+
+    @Test
+    void submerkleIdsPackTheSameAsGrpc() {
+        final var submerkle = TxnId.fromGrpc(packable);
+
+        assertTrue(PackedTxnIds.canPack(submerkle));
+        assertEquals(PackedTxnIds.hiWordOf(packable), PackedTxnIds.hiWordOf(submerkle));
+        assertEquals(PackedTxnIds.loWordOf(packable), PackedTxnIds.loWordOf(submerkle));
+    }
+
+    @Test
+    void distinguishesScheduledAndNonceVariants() {
+        final var base = packable.toBuilder().setScheduled(false).setNonce(0).build();
+        final var scheduled = base.toBuilder().setScheduled(true).build();
+        final var child = base.toBuilder().setNonce(1).build();
+
+        assertNotEquals(PackedTxnIds.hiWordOf(base), PackedTxnIds.hiWordOf(scheduled));
+        assertNotEquals(PackedTxnIds.hiWordOf(base), PackedTxnIds.hiWordOf(child));
+        final var unpacked =
+                PackedTxnIds.unpack(PackedTxnIds.hiWordOf(base), PackedTxnIds.loWordOf(base));
+        assertEquals(base, unpacked);
+    }
+
+    @Test
+    void rejectsIdsOutsideThePackableRange() {
+        assertFalse(PackedTxnIds.canPack(TransactionID.getDefaultInstance()));
+        assertFalse(PackedTxnIds.canPack(withPayer(AccountID.newBuilder().setShardNum(1))));
+        assertFalse(PackedTxnIds.canPack(withPayer(AccountID.newBuilder().setRealmNum(1))));
+        assertFalse(
+                PackedTxnIds.canPack(withPayer(AccountID.newBuilder().setAccountNum(1L << 32))));
+        assertFalse(
+                PackedTxnIds.canPack(
+                        packable.toBuilder()
+                                .setTransactionValidStart(
+                                        Timestamp.newBuilder()
+                                                .setSeconds(PackedTxnIds.MAX_PACKABLE_SECONDS + 1))
+                                .build()));
+        final var tooBigNonce = PackedTxnIds.MAX_PACKABLE_NONCE + 1;
+        assertFalse(PackedTxnIds.canPack(packable.toBuilder().setNonce(tooBigNonce).build()));
+        assertFalse(PackedTxnIds.canPack(packable.toBuilder().setNonce(-1).build()));
+    }
+
+    @Test
+    void hashesSpreadAdjacentIds() {
+        final var hi = PackedTxnIds.hiWordOf(packable);
+        final var lo = PackedTxnIds.loWordOf(packable);
+
+        assertNotEquals(PackedTxnIds.hashOf(hi, lo), PackedTxnIds.hashOf(hi, lo + 1));
+    }
+
+    private static TransactionID withPayer(final AccountID.Builder payer) {
+        return packable.toBuilder().setAccountID(payer).build();
+    }
+}
@@ -33,7 +33,6 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.verify;
 
-import com.google.common.cache.Cache;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.node.app.service.mono.legacy.core.jproto.TxnReceipt;
 import com.hedera.node.app.service.mono.state.EntityCreator;
@@ -68,7 +67,7 @@ class RecordCacheTest {
     private static final long submittingMember = 1L;
 
     @Mock private EntityCreator creator;
-    @Mock private Cache<TransactionID, Boolean> receiptCache;
+    @Mock private TimedTxnIdSet receiptCache;
     @Mock private Map<TransactionID, TxnIdRecentHistory> histories;
     @Mock private TxnIdRecentHistory recentHistory;
     @Mock private TxnIdRecentHistory recentChildHistory;
@@ -176,7 +175,7 @@ class RecordCacheTest {
     @Test
     void getsReceiptWithUnknownStatusPreconsensus() {
         given(histories.get(txnIdA)).willReturn(null);
-        given(receiptCache.getIfPresent(txnIdA)).willReturn(Boolean.TRUE);
+        given(receiptCache.contains(txnIdA)).willReturn(true);
 
         assertEquals(unknownReceipt, subject.getPriorityReceipt(txnIdA));
     }
@@ -222,7 +221,7 @@ class RecordCacheTest {
     void addsMarkerForPreconsensusReceipt() {
         subject.addPreConsensus(txnIdB);
 
-        verify(receiptCache).put(txnIdB, Boolean.TRUE);
+        verify(receiptCache).add(txnIdB);
     }
 
     @Test
@@ -317,9 +316,9 @@ class RecordCacheTest {
     void usesHistoryThenCacheToTestReceiptPresence() {
         given(histories.containsKey(txnIdA)).willReturn(true);
         given(histories.containsKey(txnIdB)).willReturn(false);
-        given(receiptCache.getIfPresent(txnIdB)).willReturn(RecordCache.MARKER);
+        given(receiptCache.contains(txnIdB)).willReturn(true);
         given(histories.containsKey(txnIdC)).willReturn(false);
-        given(receiptCache.getIfPresent(txnIdC)).willReturn(null);
+        given(receiptCache.contains(txnIdC)).willReturn(false);
 
         final var hasA = subject.isReceiptPresent(txnIdA);
         final var hasB = subject.isReceiptPresent(txnIdB);
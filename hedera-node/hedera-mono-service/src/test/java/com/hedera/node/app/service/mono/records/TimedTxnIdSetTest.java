@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.records;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TimedTxnIdSetTest {
+    private static final int TTL_SECS = 4;
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(TTL_SECS);
+    private static final TransactionID unpackableId =
+            TransactionID.newBuilder()
+                    .setAccountID(AccountID.newBuilder().setRealmNum(1).setAccountNum(2))
+                    .build();
+
+    private long now = 1_234_567L;
+    private TimedTxnIdSet subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = new TimedTxnIdSet(TTL_SECS, () -> now);
+    }
+
+    @Test
+    void expiresExactlyOneTtlAfterWrite() {
+        subject.add(idWith(2, 1));
+
+        assertTrue(subject.contains(idWith(2, 1)));
+        assertFalse(subject.contains(idWith(2, 2)));
+        now += TTL_NANOS - 1;
+        assertTrue(subject.contains(idWith(2, 1)));
+        now += 1;
+        assertFalse(subject.contains(idWith(2, 1)));
+    }
+
+    @Test
+    void reAddingRefreshesWriteTime() {
+        subject.add(idWith(2, 1));
+        now += TTL_NANOS - 1;
+        subject.add(idWith(2, 1));
+        now += TTL_NANOS - 1;
+
+        assertTrue(subject.contains(idWith(2, 1)));
+        now += 1;
+        assertFalse(subject.contains(idWith(2, 1)));
+    }
+
+    @Test
+    void dropsExpiredGenerationsWhenAdding() {
+        final var bucketNanos = TTL_NANOS / TimedTxnIdSet.BUCKETS_PER_TTL;
+        for (int i = 0; i < 3 * TimedTxnIdSet.BUCKETS_PER_TTL; i++) {
+            subject.add(idWith(2, i));
+            now += bucketNanos;
+        }
+        subject.add(idWith(3, 0));
+
+        assertTrue(subject.numGenerations() <= TimedTxnIdSet.BUCKETS_PER_TTL + 1);
+        assertFalse(subject.contains(idWith(2, 0)));
+        assertTrue(subject.contains(idWith(2, 3 * TimedTxnIdSet.BUCKETS_PER_TTL - 1)));
+        assertTrue(subject.contains(idWith(3, 0)));
+    }
+
+    @Test
+    void growsGenerationsBeyondMinimumCapacity() {
+        final var n = 4 * TimedTxnIdSet.MIN_GENERATION_CAPACITY;
+        for (int i = 0; i < n; i++) {
+            subject.add(idWith(2 + i % 5, i));
+        }
+
+        assertEquals(1, subject.numGenerations());
+        for (int i = 0; i < n; i++) {
+            assertTrue(subject.contains(idWith(2 + i % 5, i)));
+        }
+        assertFalse(subject.contains(idWith(1, 0)));
+    }
+
+    @Test
+    void concurrentAddsAcrossStripesAreAllVisible() throws InterruptedException {
+        final var numThreads = 4;
+        final var perThread = 2 * TimedTxnIdSet.MIN_GENERATION_CAPACITY;
+        final var threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            final var payerNum = 2L + t;
+            threads[t] =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < perThread; i++) {
+                                    subject.add(idWith(payerNum, i));
+                                }
+                            });
+            threads[t].start();
+        }
+        for (final var thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 0; t < numThreads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertTrue(subject.contains(idWith(2L + t, i)));
+            }
+        }
+    }
+
+    @Test
+    void fallsBackForUnpackableIds() {
+        subject.add(unpackableId);
+
+        assertTrue(subject.contains(unpackableId));
+        assertEquals(0, subject.numGenerations());
+        now += TTL_NANOS;
+        assertFalse(subject.contains(unpackableId));
+    }
+
+    private static TransactionID idWith(final long payerNum, final long seconds) {
+        return TransactionID.newBuilder()
+                .setAccountID(AccountID.newBuilder().setAccountNum(payerNum))
+                .setTransactionValidStart(Timestamp.newBuilder().setSeconds(seconds))
+                .build();
+    }
+}
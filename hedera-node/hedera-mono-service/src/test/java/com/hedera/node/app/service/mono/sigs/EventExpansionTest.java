@@ -18,15 +18,20 @@ package com.hedera.node.app.service.mono.sigs;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.node.app.service.mono.ServicesState;
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
 import com.hedera.node.app.service.mono.sigs.order.SigReqsManager;
+import com.hedera.node.app.service.mono.stats.MiscRunningAvgs;
 import com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor;
 import com.hedera.node.app.service.mono.txns.span.ExpandHandleSpan;
 import com.hedera.node.app.service.mono.utils.accessors.PlatformTxnAccessor;
@@ -37,8 +42,13 @@ import com.hedera.test.extensions.LoggingTarget;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.system.events.Event;
 import com.swirlds.common.system.transaction.Transaction;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -48,6 +58,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith({MockitoExtension.class, LogCaptureExtension.class})
 class EventExpansionTest {
+    private static final Instant eventCreation = Instant.ofEpochSecond(1_234_567L, 890);
+
     @Mock private Event event;
     @Mock private ServicesState sourceState;
     @Mock private PlatformTxnAccessor txnAccessor;
@@ -55,13 +67,20 @@ class EventExpansionTest {
     @Mock private SigReqsManager sigReqsManager;
     @Mock private ExpandHandleSpan expandHandleSpan;
     @Mock private PrefetchProcessor prefetchProcessor;
+    @Mock private NodeLocalProperties properties;
+    @Mock private MiscRunningAvgs runningAvgs;
 
     @LoggingTarget private LogCaptor logCaptor;
     @LoggingSubject private EventExpansion subject;
 
     @BeforeEach
     void setUp() {
-        subject = new EventExpansion(engine, sigReqsManager, expandHandleSpan, prefetchProcessor);
+        subject = newSubject();
+    }
+
+    @AfterEach
+    void tearDown() {
+        subject.shutdown();
     }
 
     @Test
@@ -69,14 +88,100 @@ class EventExpansionTest {
         final var n = 3;
         givenNTransactions(n);
         given(expandHandleSpan.track(any())).willReturn(txnAccessor);
+        given(event.getTimeCreated()).willReturn(eventCreation);
+
+        subject.expandAllSigs(event, sourceState);
+
+        verify(prefetchProcessor, times(n)).submit(txnAccessor, eventCreation);
+        verify(sigReqsManager, times(n)).expandSigs(sourceState, txnAccessor);
+        verify(engine, times(n)).verifyAsync(Collections.emptyList());
+    }
+
+    @Test
+    void expandsAndSubmitsSigsForEachTransactionInParallel()
+            throws InvalidProtocolBufferException {
+        final var n = 16;
+        givenParallelSubject();
+        givenNTransactions(n);
+        given(expandHandleSpan.track(any())).willReturn(txnAccessor);
+        given(event.getTimeCreated()).willReturn(eventCreation);
 
         subject.expandAllSigs(event, sourceState);
 
-        verify(prefetchProcessor, times(n)).submit(txnAccessor);
+        verify(prefetchProcessor, times(n)).submit(txnAccessor, eventCreation);
         verify(sigReqsManager, times(n)).expandSigs(sourceState, txnAccessor);
         verify(engine, times(n)).verifyAsync(Collections.emptyList());
     }
 
+    @Test
+    void expandsOnCallingThreadIfPoolRejectsTransactions() throws InvalidProtocolBufferException {
+        final var n = 3;
+        givenParallelSubject();
+        givenNTransactions(n);
+        given(expandHandleSpan.track(any())).willReturn(txnAccessor);
+        given(event.getTimeCreated()).willReturn(eventCreation);
+
+        subject.shutdown();
+        subject.expandAllSigs(event, sourceState);
+
+        verify(sigReqsManager, times(n)).expandSigs(sourceState, txnAccessor);
+        verify(engine, times(n)).verifyAsync(Collections.emptyList());
+    }
+
+    @Test
+    void awaitsEveryExpansionEvenIfInterrupted() throws InvalidProtocolBufferException {
+        final var n = 4;
+        final var caller = Thread.currentThread();
+        final var expanded = new AtomicInteger();
+        givenParallelSubject();
+        givenNTransactions(n);
+        given(expandHandleSpan.track(any())).willReturn(txnAccessor);
+        willAnswer(
+                        invocation -> {
+                            if (Thread.currentThread() != caller) {
+                                Thread.sleep(50L);
+                            }
+                            expanded.incrementAndGet();
+                            return null;
+                        })
+                .given(sigReqsManager)
+                .expandSigs(sourceState, txnAccessor);
+
+        caller.interrupt();
+        subject.expandAllSigs(event, sourceState);
+
+        assertTrue(Thread.interrupted());
+        assertEquals(n, expanded.get());
+        assertThat(
+                logCaptor.warnLogs(),
+                contains(startsWith("Interrupted while awaiting parallel signature expansion")));
+    }
+
+    @Test
+    void poolThreadsAreNamedDaemons() throws ExecutionException, InterruptedException {
+        final var pool = subject.createExecutorService(1);
+        try {
+            final var worker = pool.submit(Thread::currentThread).get();
+
+            assertTrue(worker.isDaemon());
+            assertThat(worker.getName(), startsWith("sigExpansion-"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void recordsExpansionLatencyPerEvent() {
+        final var nanos = new AtomicLong(1_000_000L);
+        givenParallelSubject();
+        givenNTransactions(0);
+        subject.nanoClock = () -> nanos.getAndAdd(2_345_000L);
+
+        subject.expandAllSigs(event, sourceState);
+
+        verify(runningAvgs).recordSigExpansionMicrosPerEvent(2_345L);
+    }
+
     @Test
     void warnsOfNonGrpcTransaction() throws InvalidProtocolBufferException {
         givenNTransactions(1);
@@ -107,6 +212,22 @@ class EventExpansionTest {
                                         + "synchronously in handleTransaction")));
     }
 
+    private void givenParallelSubject() {
+        given(properties.isParallelSigExpansionEnabled()).willReturn(true);
+        given(properties.parallelSigExpansionThreadPoolSize()).willReturn(2);
+        subject = newSubject();
+    }
+
+    private EventExpansion newSubject() {
+        return new EventExpansion(
+                engine,
+                sigReqsManager,
+                expandHandleSpan,
+                prefetchProcessor,
+                properties,
+                runningAvgs);
+    }
+
     @SuppressWarnings("unchecked")
     private void givenNTransactions(final int n) {
         Mockito.doAnswer(
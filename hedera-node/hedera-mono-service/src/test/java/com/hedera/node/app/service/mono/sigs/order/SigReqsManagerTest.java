@@ -19,6 +19,7 @@ import static com.hedera.node.app.service.mono.sigs.order.SigReqsManager.TOKEN_M
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.service.mono.ServicesState;
@@ -173,6 +174,31 @@ class SigReqsManagerTest {
         verify(expansionHelper).expandIn(accessor, immutableStateSigReqs, pubKeyToSigBytes);
     }
 
+    @Test
+    void loadsImmutableChildrenOnlyOncePerSourceState() {
+        given(
+                        lookupsFactory.from(
+                                fileNumbers, subject.getImmutableChildren(), TOKEN_META_TRANSFORM))
+                .willReturn(immutableStateLookup);
+        given(sigReqsFactory.from(immutableStateLookup, signatureWaivers))
+                .willReturn(immutableStateSigReqs);
+        given(dynamicProperties.expandSigsFromImmutableState()).willReturn(true);
+        given(sourceState.getTimeOfLastHandledTxn()).willReturn(lastHandleTime);
+        given(sourceState.getStateVersion()).willReturn(StateVersions.CURRENT_VERSION);
+        given(sourceState.isInitialized()).willReturn(true);
+        // and:
+        subject.setLookupsFactory(lookupsFactory);
+        subject.setSigReqsFactory(sigReqsFactory);
+
+        subject.expandSigs(sourceState, accessor);
+        subject.expandSigs(sourceState, accessor);
+
+        verify(sourceState).accounts();
+        verify(sigReqsFactory).from(immutableStateLookup, signatureWaivers);
+        verify(expansionHelper, times(2))
+                .expandIn(accessor, immutableStateSigReqs, pubKeyToSigBytes);
+    }
+
     @Test
     void usesWorkingStateLookupIfPropertiesInsist() {
         given(lookupsFactory.from(fileNumbers, workingState, TOKEN_META_TRANSFORM))
@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -183,6 +184,83 @@ class PojoSigMapPubKeyToSigBytesTest {
                 exception.getMessage());
     }
 
+    @Test
+    void indexedLookupsMatchLinearScanAndTrackUsedSigs() throws Exception {
+        final var numFull = 2 * PojoSigMapPubKeyToSigBytes.MIN_PAIRS_TO_INDEX;
+        final var sigMap = SignatureMap.newBuilder();
+        for (int i = 0; i < numFull; i++) {
+            sigMap.addSigPair(ed25519Pair(fullKey(i), fullKey(i)));
+        }
+        final var shortPrefixKey = fullKey(numFull);
+        shortPrefixKey[0] = (byte) 0xff;
+        sigMap.addSigPair(ed25519Pair(new byte[] {(byte) 0xff, 0x01}, shortPrefixKey));
+        final var subject = new PojoSigMapPubKeyToSigBytes(sigMap.build());
+
+        for (int i = 0; i < numFull; i += 2) {
+            assertArrayEquals(fullKey(i), subject.sigBytesFor(fullKey(i)));
+        }
+        assertArrayEquals(shortPrefixKey, subject.sigBytesFor(shortPrefixKey));
+        assertSame(PubKeyToSigBytes.EMPTY_SIG, subject.sigBytesFor(fullKey(numFull + 1)));
+        assertSame(PubKeyToSigBytes.EMPTY_SIG, subject.sigBytesFor(new byte[] {0x00}));
+
+        final var numUnusedFullPrefixSigs = new AtomicInteger(0);
+        subject.forEachUnusedSigWithFullPrefix(
+                (type, pubKey, sig) -> numUnusedFullPrefixSigs.getAndIncrement());
+        assertEquals(numFull / 2, numUnusedFullPrefixSigs.get());
+    }
+
+    @Test
+    void indexedLookupRejectsAmbiguousPrefixesWithSameMessage() {
+        final var sigMap = SignatureMap.newBuilder();
+        final var ambiguousKey = fullKey(0);
+        sigMap.addSigPair(ed25519Pair(new byte[] {ambiguousKey[0]}, ambiguousKey));
+        for (int i = 0; i < PojoSigMapPubKeyToSigBytes.MIN_PAIRS_TO_INDEX; i++) {
+            sigMap.addSigPair(ed25519Pair(fullKey(i), fullKey(i)));
+        }
+        final var subject = new PojoSigMapPubKeyToSigBytes(sigMap.build());
+
+        final var exception =
+                assertThrows(
+                        KeyPrefixMismatchException.class, () -> subject.sigBytesFor(ambiguousKey));
+
+        final var hexKey = com.swirlds.common.utility.CommonUtils.hex(ambiguousKey);
+        assertEquals(
+                "Source signature map with prefix "
+                        + hexKey
+                        + " is ambiguous for given public key! ("
+                        + hexKey
+                        + ")",
+                exception.getMessage());
+    }
+
+    @Test
+    void indexedLookupRejectsDuplicatePrefixes() {
+        final var sigMap = SignatureMap.newBuilder();
+        for (int i = 0; i < PojoSigMapPubKeyToSigBytes.MIN_PAIRS_TO_INDEX; i++) {
+            sigMap.addSigPair(ed25519Pair(fullKey(i), fullKey(i)));
+        }
+        sigMap.addSigPair(ed25519Pair(fullKey(3), fullKey(3)));
+        final var subject = new PojoSigMapPubKeyToSigBytes(sigMap.build());
+
+        assertThrows(KeyPrefixMismatchException.class, () -> subject.sigBytesFor(fullKey(3)));
+        assertDoesNotThrow(() -> subject.sigBytesFor(fullKey(4)));
+    }
+
+    private static SignaturePair ed25519Pair(final byte[] prefix, final byte[] sig) {
+        return SignaturePair.newBuilder()
+                .setPubKeyPrefix(ByteString.copyFrom(prefix))
+                .setEd25519(ByteString.copyFrom(sig))
+                .build();
+    }
+
+    private static byte[] fullKey(final int i) {
+        final var key = new byte[32];
+        for (int j = 0; j < key.length; j++) {
+            key[j] = (byte) (i * 31 + j * 7);
+        }
+        return key;
+    }
+
     private void lookupsMatch(
             final KeyTree kt,
             final KeyFactory factory,
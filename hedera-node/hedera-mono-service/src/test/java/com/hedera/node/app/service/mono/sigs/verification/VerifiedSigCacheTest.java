@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.sigs.verification;
+
+import static com.hedera.node.app.service.mono.sigs.factories.PlatformSigFactory.ed25519Sig;
+import static com.hedera.node.app.service.mono.sigs.verification.VerifiedSigCache.HITS_NAME;
+import static com.hedera.node.app.service.mono.sigs.verification.VerifiedSigCache.HIT_RATIO_NAME;
+import static com.hedera.node.app.service.mono.sigs.verification.VerifiedSigCache.MISSES_NAME;
+import static com.hedera.node.app.service.mono.sigs.verification.VerifiedSigCache.SYNC_AVOIDED_NAME;
+import static com.swirlds.common.crypto.VerificationStatus.INVALID;
+import static com.swirlds.common.crypto.VerificationStatus.UNKNOWN;
+import static com.swirlds.common.crypto.VerificationStatus.VALID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.VerificationStatus;
+import com.swirlds.common.metrics.Counter;
+import com.swirlds.common.metrics.DoubleGauge;
+import com.swirlds.common.metrics.Metrics;
+import com.swirlds.common.system.Platform;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedSigCacheTest {
+    private static final byte[] DATA = "DATA".getBytes();
+
+    @Mock private Platform platform;
+    @Mock private Metrics metrics;
+    @Mock private NodeLocalProperties nodeLocalProperties;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final Map<String, DoubleGauge> gauges = new HashMap<>();
+
+    @Test
+    void doesNothingWhenDisabled() {
+        final var subject = new VerifiedSigCache(nodeLocalProperties);
+        final var sigs = List.of(sigWithStatus("a", VALID));
+
+        subject.registerWith(platform);
+        subject.observe(sigs);
+
+        assertFalse(subject.isEnabled());
+        assertSame(sigs, subject.resolveCached(sigs));
+        assertEquals(0, subject.size());
+        verifyNoInteractions(platform);
+    }
+
+    @Test
+    void resolvesOnlyFinishedVerifications() {
+        final var subject = enabledSubject(10);
+
+        subject.observe(
+                List.of(
+                        sigWithStatus("a", VALID),
+                        sigWithStatus("b", INVALID),
+                        sigWithStatus("c", UNKNOWN)));
+        final var a = sigWithStatus("a", UNKNOWN);
+        final var b = sigWithStatus("b", UNKNOWN);
+        final var c = sigWithStatus("c", UNKNOWN);
+        final var unresolved = subject.resolveCached(List.of(a, b, c));
+
+        assertEquals(2, subject.size());
+        assertEquals(List.of(c), unresolved);
+        assertEquals(VALID, a.getSignatureStatus());
+        assertEquals(INVALID, b.getSignatureStatus());
+        assertEquals(UNKNOWN, c.getSignatureStatus());
+    }
+
+    @Test
+    void returnsSameListWithNoHits() {
+        final var subject = enabledSubject(10);
+        final var sigs = List.of(sigWithStatus("a", UNKNOWN), sigWithStatus("b", UNKNOWN));
+
+        assertSame(sigs, subject.resolveCached(sigs));
+    }
+
+    @Test
+    void distinguishesMessagesWithSameKeyAndSig() {
+        final var subject = enabledSubject(10);
+        subject.observe(List.of(sigWithStatus("a", VALID)));
+
+        final var other = ed25519Sig("pk-a".getBytes(), "sig-a".getBytes(), "OTHER".getBytes());
+        final var sigs = List.of(other);
+
+        assertSame(sigs, subject.resolveCached(sigs));
+        assertEquals(UNKNOWN, other.getSignatureStatus());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final var subject = enabledSubject(2);
+
+        subject.observe(List.of(sigWithStatus("a", VALID), sigWithStatus("b", VALID)));
+        subject.resolveCached(List.of(sigWithStatus("a", UNKNOWN)));
+        subject.observe(List.of(sigWithStatus("c", VALID)));
+
+        assertEquals(2, subject.size());
+        assertTrue(subject.resolveCached(List.of(sigWithStatus("a", UNKNOWN))).isEmpty());
+        assertEquals(1, subject.resolveCached(List.of(sigWithStatus("b", UNKNOWN))).size());
+    }
+
+    @Test
+    void reportsHitsAndMisses() {
+        givenMetrics();
+        final var subject = enabledSubject(10);
+        subject.registerWith(platform);
+
+        subject.observe(List.of(sigWithStatus("a", VALID)));
+        subject.resolveCached(List.of(sigWithStatus("a", UNKNOWN), sigWithStatus("b", UNKNOWN)));
+        subject.resolveCached(List.of(sigWithStatus("a", UNKNOWN), sigWithStatus("a", UNKNOWN)));
+
+        verify(counters.get(HITS_NAME)).add(1);
+        verify(counters.get(HITS_NAME)).add(2);
+        verify(counters.get(SYNC_AVOIDED_NAME)).add(2);
+        verify(counters.get(MISSES_NAME)).add(0);
+        verify(gauges.get(HIT_RATIO_NAME)).set(0.5);
+        verify(gauges.get(HIT_RATIO_NAME)).set(0.75);
+    }
+
+    private VerifiedSigCache enabledSubject(final int maxEntries) {
+        given(nodeLocalProperties.isVerifiedSigCacheEnabled()).willReturn(true);
+        given(nodeLocalProperties.verifiedSigCacheMaxEntries()).willReturn(maxEntries);
+        return new VerifiedSigCache(nodeLocalProperties);
+    }
+
+    private static TransactionSignature sigWithStatus(
+            final String name, final VerificationStatus status) {
+        final var sig = ed25519Sig(("pk-" + name).getBytes(), ("sig-" + name).getBytes(), DATA);
+        sig.setSignatureStatus(status);
+        return sig;
+    }
+
+    private void givenMetrics() {
+        given(platform.getMetrics()).willReturn(metrics);
+        given(metrics.getOrCreate(any(Counter.Config.class)))
+                .willAnswer(
+                        invocation ->
+                                counters.computeIfAbsent(
+                                        invocation.<Counter.Config>getArgument(0).getName(),
+                                        name -> mock(Counter.class)));
+        given(metrics.getOrCreate(any(DoubleGauge.Config.class)))
+                .willAnswer(
+                        invocation ->
+                                gauges.computeIfAbsent(
+                                        invocation.<DoubleGauge.Config>getArgument(0).getName(),
+                                        name -> mock(DoubleGauge.class)));
+    }
+}
@@ -15,7 +15,9 @@
  */
 package com.hedera.node.app.service.mono.state.expiry;
 
+import static com.hedera.node.app.service.mono.state.expiry.EntityExpiryIndex.NO_DUE_NUM;
 import static com.hedera.node.app.service.mono.state.tasks.SystemTaskResult.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
@@ -24,15 +26,22 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 import com.hedera.node.app.service.mono.config.HederaNumbers;
 import com.hedera.node.app.service.mono.config.MockGlobalDynamicProps;
 import com.hedera.node.app.service.mono.config.MockHederaNumbers;
+import com.hedera.node.app.service.mono.context.properties.ExpiryIndexMode;
 import com.hedera.node.app.service.mono.records.ConsensusTimeTracker;
 import com.hedera.node.app.service.mono.records.RecordsHistorian;
+import com.hedera.node.app.service.mono.state.expiry.classification.EntityLookup;
 import com.hedera.node.app.service.mono.state.logic.NetworkCtxManager;
 import com.hedera.node.app.service.mono.state.merkle.MerkleNetworkContext;
 import com.hedera.node.app.service.mono.state.submerkle.SequenceNumber;
 import com.hedera.node.app.service.mono.state.tasks.SystemTaskManager;
 import com.hedera.node.app.service.mono.stats.ExpiryStats;
 import com.hedera.node.app.service.mono.throttling.ExpiryThrottle;
+import com.hedera.node.app.service.mono.utils.EntityNum;
+import com.hedera.test.factories.accounts.MerkleAccountFactory;
 import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -55,6 +64,8 @@ class EntityAutoExpiryTest {
     @Mock private ExpiryThrottle expiryThrottle;
     @Mock private RecordsHistorian recordsHistorian;
     @Mock private ExpiryStats expiryStats;
+    @Mock private EntityExpiryIndex expiryIndex;
+    @Mock private EntityLookup lookup;
 
     private EntityAutoExpiry subject;
 
@@ -71,7 +82,8 @@ class EntityAutoExpiryTest {
                         networkCtxManager,
                         () -> networkCtx,
                         consensusTimeTracker,
-                        () -> seqNo);
+                        () -> seqNo,
+                        expiryIndex);
     }
 
     @Test
@@ -275,6 +287,167 @@ class EntityAutoExpiryTest {
         verify(networkCtx).updateAutoRenewSummaryCounts(4, 2);
     }
 
+    @Test
+    void verifiesIndexForEachScannedNumInVerifyMode() {
+        given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+        mockDynamicProps.setExpiryIndexMode(ExpiryIndexMode.VERIFY);
+        long numToScan = mockDynamicProps.autoRenewNumberOfEntitiesToScan();
+
+        givenWrapNum(aNum + numToScan);
+        givenLastScanned(aNum - 1);
+        given(taskManager.process(anyLong(), eq(instantNow), eq(networkCtx)))
+                .willReturn(NOTHING_TO_DO);
+
+        subject.execute(instantNow);
+
+        verify(expiryIndex).advanceTo(instantNow, aNum + numToScan);
+        for (long i = aNum; i < aNum + numToScan; i++) {
+            verify(expiryIndex).verify(i, instantNow);
+        }
+        verify(networkCtx).updateLastScannedEntity(aNum + numToScan - 1);
+    }
+
+    @Test
+    void stillScansLinearlyInOnModeUntilPreUpgradeEntitiesScanned() {
+        given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+        mockDynamicProps.setExpiryIndexMode(ExpiryIndexMode.ON);
+        long numToScan = mockDynamicProps.autoRenewNumberOfEntitiesToScan();
+
+        givenWrapNum(aNum + numToScan);
+        givenLastScanned(aNum - 1);
+        given(expiryIndex.isReady()).willReturn(true);
+        given(taskManager.process(anyLong(), eq(instantNow), eq(networkCtx)))
+                .willReturn(NOTHING_TO_DO);
+
+        subject.execute(instantNow);
+
+        verify(expiryIndex, never()).nextDueAfter(anyLong(), anyLong(), anyLong(), any());
+        verify(networkCtx).updateLastScannedEntity(aNum + numToScan - 1);
+    }
+
+    @Test
+    void jumpsBetweenDueNumsInOnMode() {
+        final var firstNum = mockHederaNums.numReservedSystemEntities() + 1;
+        final var wrapNum = aNum + 123;
+        givenIndexedMode(wrapNum, aNum - 1);
+        given(expiryIndex.nextDueAfter(aNum - 1, firstNum, wrapNum, instantNow)).willReturn(cNum);
+        given(expiryIndex.nextDueAfter(cNum, firstNum, wrapNum, instantNow))
+                .willReturn(NO_DUE_NUM);
+        given(taskManager.process(cNum, instantNow, networkCtx)).willReturn(DONE);
+
+        subject.execute(instantNow);
+
+        verify(expiryIndex).advanceTo(instantNow, wrapNum);
+        verify(taskManager).process(cNum, instantNow, networkCtx);
+        verifyNoMoreInteractions(taskManager);
+        verify(networkCtx).updateAutoRenewSummaryCounts(1, 1);
+        verify(networkCtx).updateLastScannedEntity(cNum);
+    }
+
+    @Test
+    void visitsDueNumsAtMostOnceAfterWrappingInOnMode() {
+        final var firstNum = mockHederaNums.numReservedSystemEntities() + 1;
+        final var wrapNum = aNum + 123;
+        givenIndexedMode(wrapNum, bNum);
+        given(expiryIndex.nextDueAfter(bNum, firstNum, wrapNum, instantNow)).willReturn(aNum);
+        given(expiryIndex.nextDueAfter(aNum, firstNum, wrapNum, instantNow)).willReturn(aNum);
+        given(taskManager.process(aNum, instantNow, networkCtx)).willReturn(NOTHING_TO_DO);
+
+        subject.execute(instantNow);
+
+        verify(taskManager, times(1)).process(aNum, instantNow, networkCtx);
+        verify(networkCtx).updateAutoRenewSummaryCounts(1, 0);
+        verify(networkCtx).updateLastScannedEntity(aNum);
+    }
+
+    @Test
+    void stopsAtUnfinishedDueNumInOnMode() {
+        final var firstNum = mockHederaNums.numReservedSystemEntities() + 1;
+        final var wrapNum = aNum + 123;
+        givenIndexedMode(wrapNum, aNum - 1);
+        given(expiryIndex.nextDueAfter(aNum - 1, firstNum, wrapNum, instantNow)).willReturn(bNum);
+        given(taskManager.process(bNum, instantNow, networkCtx)).willReturn(NO_CAPACITY_LEFT);
+
+        subject.execute(instantNow);
+
+        verify(networkCtx).updateAutoRenewSummaryCounts(1, 0);
+        verify(networkCtx).updateLastScannedEntity(bNum - 1);
+    }
+
+    @Test
+    void processesSameEntitiesAfterSwitchingFromOffToOnWithoutRestart() {
+        final var now = instantNow.getEpochSecond();
+        // bNum was indexed at a lower bound that has since been extended, and
+        // cNum was created after store initialization rebuilt the index
+        final Map<Long, Long> expiries = Map.of(aNum, now - 10, bNum, now + 10, cNum, now - 1);
+        given(lookup.getImmutableAccount(any()))
+                .willAnswer(
+                        invocation -> {
+                            final var expiry =
+                                    expiries.get(invocation.<EntityNum>getArgument(0).longValue());
+                            return expiry == null
+                                    ? null
+                                    : MerkleAccountFactory.newAccount()
+                                            .expirationTime(expiry)
+                                            .get();
+                        });
+        final var index = new EntityExpiryIndex(lookup);
+        index.beginRebuild();
+        index.include(aNum, now - 10);
+        index.include(bNum, now - 100);
+        index.finishRebuild(cNum);
+        final var indexedSubject =
+                new EntityAutoExpiry(
+                        expiryStats,
+                        mockHederaNums,
+                        expiryThrottle,
+                        recordsHistorian,
+                        taskManager,
+                        mockDynamicProps,
+                        networkCtxManager,
+                        () -> networkCtx,
+                        consensusTimeTracker,
+                        () -> seqNo,
+                        index);
+        given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+        givenWrapNum(cNum + 1);
+        givenLastScanned(aNum - 1);
+        given(networkCtx.areAllPreUpgradeEntitiesScanned()).willReturn(true);
+        final Set<Long> processed = new TreeSet<>();
+        given(taskManager.process(anyLong(), eq(instantNow), eq(networkCtx)))
+                .willAnswer(
+                        invocation -> {
+                            final long num = invocation.getArgument(0);
+                            final var expiry = expiries.get(num);
+                            if (expiry == null || expiry > now) {
+                                return NOTHING_TO_DO;
+                            }
+                            processed.add(num);
+                            return DONE;
+                        });
+
+        mockDynamicProps.setExpiryIndexMode(ExpiryIndexMode.OFF);
+        indexedSubject.execute(instantNow);
+        final var scannedProcessed = new TreeSet<>(processed);
+        processed.clear();
+        mockDynamicProps.setExpiryIndexMode(ExpiryIndexMode.ON);
+        indexedSubject.execute(instantNow);
+
+        assertEquals(Set.of(aNum, cNum), scannedProcessed);
+        assertEquals(scannedProcessed, processed);
+        // the index skipped the unexpired bNum the linear scan had to visit
+        verify(taskManager, times(1)).process(bNum, instantNow, networkCtx);
+    }
+
+    private void givenIndexedMode(final long wrapNum, final long lastScanned) {
+        given(consensusTimeTracker.hasMoreStandaloneRecordTime()).willReturn(true);
+        mockDynamicProps.setExpiryIndexMode(ExpiryIndexMode.ON);
+        givenWrapNum(wrapNum);
+        givenLastScanned(lastScanned);
+        given(expiryIndex.isReady()).willReturn(true);
+        given(networkCtx.areAllPreUpgradeEntitiesScanned()).willReturn(true);
+    }
+
     private void givenWrapNum(long num) {
         given(seqNo.current()).willReturn(num);
     }
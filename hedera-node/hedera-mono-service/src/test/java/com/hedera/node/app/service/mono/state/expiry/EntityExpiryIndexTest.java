@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.expiry;
+
+import static com.hedera.node.app.service.mono.state.expiry.EntityExpiryIndex.BUCKET_SECS;
+import static com.hedera.node.app.service.mono.state.expiry.EntityExpiryIndex.NO_DUE_NUM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hedera.node.app.service.mono.state.expiry.classification.EntityLookup;
+import com.hedera.node.app.service.mono.utils.EntityNum;
+import com.hedera.test.factories.accounts.MerkleAccountFactory;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EntityExpiryIndexTest {
+    private static final long FIRST_NUM = 1001L;
+    private static final long WRAP_NUM = 1010L;
+    private static final long NOW = 1_234_567L * BUCKET_SECS + 60L;
+    private static final Instant INSTANT_NOW = Instant.ofEpochSecond(NOW);
+
+    @Mock private EntityLookup lookup;
+
+    private EntityExpiryIndex subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = new EntityExpiryIndex(lookup);
+    }
+
+    @Test
+    void isOnlyReadyAfterRebuild() {
+        assertFalse(subject.isReady());
+
+        subject.beginRebuild();
+        assertFalse(subject.isReady());
+
+        subject.finishRebuild(WRAP_NUM);
+        assertTrue(subject.isReady());
+    }
+
+    @Test
+    void doesNothingBeforeRebuild() {
+        subject.advanceTo(INSTANT_NOW, WRAP_NUM);
+
+        assertTrue(subject.verify(FIRST_NUM, INSTANT_NOW));
+        verifyNoInteractions(lookup);
+    }
+
+    @Test
+    void findsExpiredAccountsInNumOrder() {
+        givenAccount(1003L, NOW - 10 * BUCKET_SECS);
+        givenAccount(1007L, NOW);
+        rebuildWith(1003L, NOW - 10 * BUCKET_SECS, 1005L, NOW + 5 * BUCKET_SECS, 1007L, NOW);
+
+        subject.advanceTo(INSTANT_NOW, WRAP_NUM);
+
+        assertEquals(1003L, subject.nextDueAfter(FIRST_NUM - 1, FIRST_NUM, WRAP_NUM, INSTANT_NOW));
+        assertEquals(1007L, subject.nextDueAfter(1003L, FIRST_NUM, WRAP_NUM, INSTANT_NOW));
+        assertEquals(1003L, subject.nextDueAfter(1007L, FIRST_NUM, WRAP_NUM, INSTANT_NOW));
+    }
+
+    @Test
+    void reindexesCandidatesWhoseExpiryWasExtended() {
+        givenAccount(1003L, NOW + 30);
+        rebuildWith(1003L, NOW - 1);
+
+        subject.advanceTo(INSTANT_NOW, WRAP_NUM);
+
+        assertEquals(NO_DUE_NUM, subject.nextDueAfter(1002L, FIRST_NUM, WRAP_NUM, INSTANT_NOW));
+        assertEquals(0, subject.numDue());
+
+        final var later = INSTANT_NOW.plusSeconds(30);
+        subject.advanceTo(later, WRAP_NUM);
+        assertEquals(1003L, subject.nextDueAfter(1002L, FIRST_NUM, WRAP_NUM, later));
+    }
+
+    @Test
+    void dropsCandidatesThatNoLongerExist() {
+        rebuildWith(1003L, NOW - 1);
+
+        subject.advanceTo(INSTANT_NOW, WRAP_NUM);
+
+        assertEquals(NO_DUE_NUM, subject.nextDueAfter(1002L, FIRST_NUM, WRAP_NUM, INSTANT_NOW));
+        assertEquals(0, subject.numDue());
+    }
+
+    @Test
+    void catchesUpWithNewlyCreatedNums() {
+        givenAccount(1008L, NOW);
+        rebuildWith();
+        subject.finishRebuild(1008L);
+
+        subject.advanceTo(INSTANT_NOW, WRAP_NUM);
+
+        assertEquals(1008L, subject.nextDueAfter(1002L, FIRST_NUM, WRAP_NUM, INSTANT_NOW));
+    }
+
+    @Test
+    void ignoresSystemAndUnindexableNums() {
+        rebuildWith(3L, NOW - 1);
+        subject.include(Integer.MAX_VALUE, NOW - 1);
+        subject.include(-1L, NOW - 1);
+
+        subject.advanceTo(INSTANT_NOW, WRAP_NUM);
+
+        assertEquals(NO_DUE_NUM, subject.nextDueAfter(0L, FIRST_NUM, WRAP_NUM, INSTANT_NOW));
+        assertEquals(1, subject.numDue());
+    }
+
+    @Test
+    void verifiesExpiredAccountsAreMarkedDue() {
+        givenAccount(1003L, NOW - 1);
+        givenAccount(1004L, NOW - 1);
+        givenAccount(1005L, NOW + 1);
+        rebuildWith(1003L, NOW - 1, 1005L, NOW + 1);
+
+        subject.advanceTo(INSTANT_NOW, WRAP_NUM);
+
+        assertTrue(subject.verify(1003L, INSTANT_NOW));
+        assertFalse(subject.verify(1004L, INSTANT_NOW));
+        assertTrue(subject.verify(1005L, INSTANT_NOW));
+        assertTrue(subject.verify(1006L, INSTANT_NOW));
+    }
+
+    private void rebuildWith(final long... numsAndExpiries) {
+        subject.beginRebuild();
+        for (int i = 0; i < numsAndExpiries.length; i += 2) {
+            subject.include(numsAndExpiries[i], numsAndExpiries[i + 1]);
+        }
+        subject.finishRebuild(WRAP_NUM);
+    }
+
+    private void givenAccount(final long num, final long expiry) {
+        given(lookup.getImmutableAccount(EntityNum.fromLong(num)))
+                .willReturn(MerkleAccountFactory.newAccount().expirationTime(expiry).get());
+    }
+}
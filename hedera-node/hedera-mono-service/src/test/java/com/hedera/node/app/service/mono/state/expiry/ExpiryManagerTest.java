@@ -20,6 +20,8 @@ import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.SUCCESS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.service.mono.config.HederaNumbers;
 import com.hedera.node.app.service.mono.config.MockHederaNumbers;
@@ -31,6 +33,7 @@ import com.hedera.node.app.service.mono.state.migration.RecordsStorageAdapter;
 import com.hedera.node.app.service.mono.state.submerkle.ExpirableTxnRecord;
 import com.hedera.node.app.service.mono.state.submerkle.RichInstant;
 import com.hedera.node.app.service.mono.state.submerkle.TxnId;
+import com.hedera.node.app.service.mono.stats.ExpiryStats;
 import com.hedera.node.app.service.mono.utils.EntityNum;
 import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -56,6 +59,7 @@ class ExpiryManagerTest {
     private final EntityNum aKey = EntityNum.fromAccountId(aGrpcId);
     private final EntityNum bKey = EntityNum.fromAccountId(bGrpcId);
     private final MerkleAccount anAccount = new MerkleAccount();
+    private final MerkleAccount bAccount = new MerkleAccount();
 
     private MerkleMap<EntityNum, MerkleAccount> liveAccounts = new MerkleMap<>();
     private Map<TransactionID, TxnIdRecentHistory> liveTxnHistories = new HashMap<>();
@@ -65,6 +69,7 @@ class ExpiryManagerTest {
     @Mock private SigImpactHistorian sigImpactHistorian;
     @Mock private Map<TransactionID, TxnIdRecentHistory> mockTxnHistories;
     @Mock private MerkleMap<EntityNum, MerkleAccount> mockAccounts;
+    @Mock private ExpiryStats expiryStats;
 
     private ExpiryManager subject;
 
@@ -75,7 +80,8 @@ class ExpiryManagerTest {
                         nums,
                         sigImpactHistorian,
                         mockTxnHistories,
-                        () -> RecordsStorageAdapter.fromLegacy(mockAccounts));
+                        () -> RecordsStorageAdapter.fromLegacy(mockAccounts),
+                        expiryStats);
 
         subject.reviewExistingShortLivedEntities();
         final var resultingExpiries = subject.getShortLivedEntityExpiries();
@@ -92,7 +98,8 @@ class ExpiryManagerTest {
                         nums,
                         sigImpactHistorian,
                         liveTxnHistories,
-                        () -> RecordsStorageAdapter.fromLegacy(liveAccounts));
+                        () -> RecordsStorageAdapter.fromLegacy(liveAccounts),
+                        expiryStats);
         final var newTxnId = recordWith(aGrpcId, start).getTxnId().toGrpc();
         final var leftoverTxnId = recordWith(bGrpcId, now).getTxnId().toGrpc();
         liveTxnHistories.put(leftoverTxnId, new TxnIdRecentHistory());
@@ -110,6 +117,45 @@ class ExpiryManagerTest {
                 liveTxnHistories.get(newTxnId).allDuplicateRecords().get(0).getExpiry());
     }
 
+    @Test
+    void rebuildsSameRecordsFromStateInParallelShards() {
+        subject = parallelSubject();
+        final var sharedTxnId = recordWith(aGrpcId, start).getTxnId().toGrpc();
+        anAccount.records().offer(expiring(recordWith(aGrpcId, start), firstThen));
+        bAccount.records().offer(expiring(recordWith(aGrpcId, start), secondThen));
+        liveAccounts.put(aKey, anAccount);
+        liveAccounts.put(bKey, bAccount);
+
+        subject.reviewExistingPayerRecords();
+
+        final var history = liveTxnHistories.get(sharedTxnId);
+        assertEquals(
+                firstThen + secondThen,
+                history.priorityRecord().getExpiry()
+                        + history.allDuplicateRecords().get(0).getExpiry());
+        verify(expiryStats).includePayerRecordsReview(anyLong(), anyLong());
+        // and:
+        subject.purge(now);
+        assertEquals(0, liveAccounts.get(aKey).records().size());
+        assertEquals(1, liveAccounts.get(bKey).records().size());
+    }
+
+    @Test
+    void rebuildsExpiriesTooLargeToPackInOrder() {
+        subject = parallelSubject();
+        final var farFuture = 1L << 40;
+        anAccount.records().offer(expiring(recordWith(aGrpcId, start), farFuture));
+        bAccount.records().offer(expiring(recordWith(bGrpcId, start), firstThen));
+        liveAccounts.put(aKey, anAccount);
+        liveAccounts.put(bKey, bAccount);
+
+        subject.reviewExistingPayerRecords();
+        subject.purge(now);
+
+        assertEquals(1, liveAccounts.get(aKey).records().size());
+        assertEquals(0, liveAccounts.get(bKey).records().size());
+    }
+
     @Test
     void expiresRecordsAsExpected() {
         subject =
@@ -117,7 +163,8 @@ class ExpiryManagerTest {
                         nums,
                         sigImpactHistorian,
                         liveTxnHistories,
-                        () -> RecordsStorageAdapter.fromLegacy(liveAccounts));
+                        () -> RecordsStorageAdapter.fromLegacy(liveAccounts),
+                        expiryStats);
         final var newTxnId = recordWith(aGrpcId, start).getTxnId().toGrpc();
         liveAccounts.put(aKey, anAccount);
 
@@ -148,7 +195,8 @@ class ExpiryManagerTest {
                         nums,
                         sigImpactHistorian,
                         liveTxnHistories,
-                        () -> RecordsStorageAdapter.fromLegacy(liveAccounts));
+                        () -> RecordsStorageAdapter.fromLegacy(liveAccounts),
+                        expiryStats);
         final var newTxnId = recordWith(aGrpcId, start).getTxnId().toGrpc();
         liveAccounts.put(aKey, anAccount);
 
@@ -165,6 +213,18 @@ class ExpiryManagerTest {
         assertFalse(liveTxnHistories.containsKey(newTxnId));
     }
 
+    private ExpiryManager parallelSubject() {
+        return new ExpiryManager(
+                nums,
+                sigImpactHistorian,
+                liveTxnHistories,
+                () -> RecordsStorageAdapter.fromLegacy(liveAccounts),
+                expiryStats,
+                2,
+                1,
+                1);
+    }
+
     private void addLiveRecord(EntityNum key, ExpirableTxnRecord expirableTxnRecord) {
         final var mutableAccount = liveAccounts.getForModify(key);
         mutableAccount.records().offer(expirableTxnRecord);
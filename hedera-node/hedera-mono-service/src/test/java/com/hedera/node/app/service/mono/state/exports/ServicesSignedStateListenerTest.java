@@ -20,6 +20,7 @@ import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.service.mono.ServicesState;
 import com.hedera.node.app.service.mono.context.CurrentPlatformStatus;
+import com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache;
 import com.swirlds.common.system.NodeId;
 import com.swirlds.common.system.PlatformStatus;
 import com.swirlds.common.system.state.notifications.NewSignedStateNotification;
@@ -39,17 +40,21 @@ class ServicesSignedStateListenerTest {
     @Mock private CurrentPlatformStatus currentPlatformStatus;
     @Mock private ServicesState signedState;
     @Mock private BalancesExporter balancesExporter;
+    @Mock private BalanceResponseCache balanceResponseCache;
 
     private ServicesSignedStateListener subject;
 
     @BeforeEach
     void setUp() {
-        subject = new ServicesSignedStateListener(currentPlatformStatus, balancesExporter, selfId);
+        subject =
+                new ServicesSignedStateListener(
+                        currentPlatformStatus, balancesExporter, selfId, balanceResponseCache);
     }
 
     @Test
     void exportsIfTime() {
         given(notice.getSwirldState()).willReturn(signedState);
+        given(notice.getRound()).willReturn(666L);
         given(notice.getConsensusTimestamp()).willReturn(consensusNow);
         given(balancesExporter.isTimeToExport(consensusNow)).willReturn(true);
         given(currentPlatformStatus.get()).willReturn(PlatformStatus.ACTIVE);
@@ -57,6 +62,7 @@ class ServicesSignedStateListenerTest {
         subject.notify(notice);
 
         verify(balancesExporter).exportBalancesFrom(signedState, consensusNow, selfId);
+        verify(balanceResponseCache).invalidateFor(666L);
     }
 
     @Test
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.exports;
+
+import static com.hedera.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.hedera.services.stream.proto.SingleAccountBalances;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import org.junit.jupiter.api.Test;
+
+class ShardedBalancesSummarizerTest {
+    private static final LongFunction<SingleAccountBalances> EVERY_THIRD_NUM_IS_LIVE =
+            num ->
+                    num % 3 == 0
+                            ? SingleAccountBalances.newBuilder()
+                                    .setAccountID(asAccount("0.0." + num))
+                                    .setHbarBalance(num * 10)
+                                    .build()
+                            : null;
+
+    @Test
+    void summarizesShardsInAccountNumberOrder() {
+        try (final var subject = new ShardedBalancesSummarizer(4, 5)) {
+            final var summary = subject.summarize(1, 101, EVERY_THIRD_NUM_IS_LIVE);
+
+            final List<SingleAccountBalances> expected = new ArrayList<>();
+            long expectedFloat = 0;
+            for (long num = 3; num < 101; num += 3) {
+                expected.add(EVERY_THIRD_NUM_IS_LIVE.apply(num));
+                expectedFloat += num * 10;
+            }
+            assertEquals(BigInteger.valueOf(expectedFloat), summary.totalFloat());
+            assertEquals(expected, summary.orderedBalances());
+        }
+    }
+
+    @Test
+    void parallelSummaryMatchesSingleShard() {
+        try (final var subject = new ShardedBalancesSummarizer(3, 7)) {
+            final var parallel = subject.summarize(10, 1_000, EVERY_THIRD_NUM_IS_LIVE);
+            final var sequential =
+                    ShardedBalancesSummarizer.summarizeShard(10, 1_000, EVERY_THIRD_NUM_IS_LIVE);
+
+            assertEquals(sequential, parallel);
+        }
+    }
+
+    @Test
+    void emptyRangeHasEmptySummary() {
+        try (final var subject = new ShardedBalancesSummarizer(2)) {
+            final var summary = subject.summarize(5, 5, EVERY_THIRD_NUM_IS_LIVE);
+
+            assertEquals(BigInteger.ZERO, summary.totalFloat());
+            assertEquals(List.of(), summary.orderedBalances());
+        }
+    }
+
+    @Test
+    void suggestsRangeWithSeveralShardsPerWorker() {
+        try (final var subject = new ShardedBalancesSummarizer(2, 10)) {
+            assertEquals(80, subject.suggestedRangeSize());
+        }
+    }
+}
@@ -26,14 +26,18 @@ import static com.hedera.test.utils.IdUtils.asAccount;
 import static com.hedera.test.utils.IdUtils.asToken;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.service.mono.ServicesState;
@@ -41,10 +45,12 @@ import com.hedera.node.app.service.mono.config.MockGlobalDynamicProps;
 import com.hedera.node.app.service.mono.context.properties.PropertySource;
 import com.hedera.node.app.service.mono.exceptions.NegativeAccountBalanceException;
 import com.hedera.node.app.service.mono.state.merkle.MerkleAccount;
+import com.hedera.node.app.service.mono.state.merkle.MerkleNetworkContext;
 import com.hedera.node.app.service.mono.state.merkle.MerkleToken;
 import com.hedera.node.app.service.mono.state.merkle.MerkleTokenRelStatus;
 import com.hedera.node.app.service.mono.state.migration.AccountStorageAdapter;
 import com.hedera.node.app.service.mono.state.migration.TokenRelStorageAdapter;
+import com.hedera.node.app.service.mono.state.submerkle.SequenceNumber;
 import com.hedera.node.app.service.mono.utils.EntityNum;
 import com.hedera.node.app.service.mono.utils.SystemExits;
 import com.hedera.services.stream.proto.AllAccountBalances;
@@ -72,6 +78,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
@@ -213,7 +220,11 @@ class SignedStateBalancesExporterTest {
         given(book.getAddress(0)).willReturn(firstNodeAddress);
         given(book.getAddress(1)).willReturn(secondNodeAddress);
 
+        final var networkCtx = mock(MerkleNetworkContext.class);
+        given(networkCtx.seqNo()).willReturn(new SequenceNumber(theMissingToken.getTokenNum() + 1));
+
         state = mock(ServicesState.class);
+        given(state.networkCtx()).willReturn(networkCtx);
         given(state.getAccountFromNodeId(nodeId)).willReturn(thisNode);
         given(state.tokens()).willReturn(tokens);
         given(state.accounts()).willReturn(AccountStorageAdapter.fromInMemory(accounts));
@@ -324,6 +335,60 @@ class SignedStateBalancesExporterTest {
         assertTrue(new File(loc).delete());
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void streamingExportWritesSameBytesAsSummarizedExport(final boolean isCompressed)
+            throws NoSuchAlgorithmException, IOException {
+        var loc = expectedExportLoc();
+        if (isCompressed) {
+            loc += COMPRESSION_ALGORITHM_EXTENSION;
+        }
+        dynamicProperties.setAccountBalanceCompression(isCompressed);
+        dynamicProperties.setBalancesExportStreaming(true);
+        given(sigFileWriter.writeSigFile(any(), any(), any())).willReturn(loc + "_sig");
+        final var expectedBytes =
+                AllAccountBalances.newBuilder()
+                        .addAllAllAccounts((subject.summarized(state).orderedBalances()))
+                        .setConsensusTimestamp(
+                                Timestamp.newBuilder()
+                                        .setSeconds(now.getEpochSecond())
+                                        .setNanos(now.getNano())
+                                        .build())
+                        .build()
+                        .toByteArray();
+        final var messageDigest =
+                MessageDigest.getInstance(Cryptography.DEFAULT_DIGEST_TYPE.algorithmName());
+        final var expectedHash = messageDigest.digest(expectedBytes);
+        given(signer.apply(expectedHash)).willReturn(new Signature(SignatureType.RSA, sig));
+
+        subject.exportBalancesFrom(state, now, nodeId);
+
+        final var actualBytes =
+                isCompressed
+                        ? readUncompressedFileBytes(loc)
+                        : Files.readAllBytes(new File(loc).toPath());
+        assertArrayEquals(expectedBytes, actualBytes);
+        verify(sigFileWriter).writeSigFile(loc, sig, expectedHash);
+        assertTrue(new File(loc).delete());
+    }
+
+    @Test
+    void streamingExportDeletesUnsignedFileOnUnexpectedTotalFloat()
+            throws NegativeAccountBalanceException {
+        final var loc = expectedExportLoc();
+        dynamicProperties.setBalancesExportStreaming(true);
+        final var mutableAnotherNodeAccount = accounts.getForModify(fromAccountId(anotherNode));
+        final var desiredSuffix = "had total balance 1001 not 1000; exiting";
+        mutableAnotherNodeAccount.setBalance(anotherNodeBalance + 1);
+
+        subject.exportBalancesFrom(state, now, nodeId);
+
+        assertThat(logCaptor.errorLogs(), contains(Matchers.endsWith(desiredSuffix)));
+        verify(systemExits).fail(1);
+        verify(sigFileWriter, never()).writeSigFile(any(), any(), any());
+        assertFalse(new File(loc).exists());
+    }
+
     @Test
     void protoWriteIoException() throws NoSuchAlgorithmException {
         final var otherDynamicProperties =
@@ -401,6 +466,51 @@ class SignedStateBalancesExporterTest {
         assertThat(logCaptor.warnLogs(), contains(desiredWarning));
     }
 
+    @Test
+    void parallelSummaryMatchesSequentialSummary() {
+        final var sequential = subject.summarized(state);
+        dynamicProperties.setBalancesSummaryParallelism(2);
+
+        final var parallel = subject.summarized(state);
+
+        assertEquals(sequential, parallel);
+        assertEquals(theExpectedBalances(), parallel.orderedBalances());
+    }
+
+    @Test
+    void reusesSummarizerUntilParallelismChanges() {
+        final var first = subject.summarizerFor(2);
+
+        assertSame(first, subject.summarizerFor(2));
+        final var second = subject.summarizerFor(3);
+
+        assertNotSame(first, second);
+        assertEquals(3, second.parallelism());
+        second.close();
+    }
+
+    @Test
+    void parallelStreamingExportWritesSameBytesAsSummarizedExport() throws IOException {
+        final var loc = expectedExportLoc();
+        dynamicProperties.setBalancesExportStreaming(true);
+        dynamicProperties.setBalancesSummaryParallelism(2);
+        final var expectedBytes =
+                AllAccountBalances.newBuilder()
+                        .addAllAllAccounts((subject.summarized(state).orderedBalances()))
+                        .setConsensusTimestamp(
+                                Timestamp.newBuilder()
+                                        .setSeconds(now.getEpochSecond())
+                                        .setNanos(now.getNano())
+                                        .build())
+                        .build()
+                        .toByteArray();
+
+        subject.exportBalancesFrom(state, now, nodeId);
+
+        assertArrayEquals(expectedBytes, Files.readAllBytes(new File(loc).toPath()));
+        assertTrue(new File(loc).delete());
+    }
+
     private List<SingleAccountBalances> theExpectedBalances() {
         final var singleAcctBuilder = SingleAccountBalances.newBuilder();
         final var thisNode =
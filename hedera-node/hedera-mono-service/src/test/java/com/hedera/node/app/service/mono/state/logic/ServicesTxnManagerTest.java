@@ -15,6 +15,9 @@
  */
 package com.hedera.node.app.service.mono.state.logic;
 
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.LEDGER_COMMIT;
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.RECORD_STREAMING;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenMint;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -23,6 +26,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.service.mono.context.TransactionContext;
 import com.hedera.node.app.service.mono.ledger.HederaLedger;
@@ -31,6 +35,7 @@ import com.hedera.node.app.service.mono.ledger.accounts.staking.RewardCalculator
 import com.hedera.node.app.service.mono.records.RecordCache;
 import com.hedera.node.app.service.mono.records.RecordsHistorian;
 import com.hedera.node.app.service.mono.state.migration.MigrationRecordsManager;
+import com.hedera.node.app.service.mono.stats.HandleStageLatencies;
 import com.hedera.node.app.service.mono.utils.accessors.SignedTxnAccessor;
 import com.hedera.test.extensions.LogCaptor;
 import com.hedera.test.extensions.LogCaptureExtension;
@@ -67,6 +72,7 @@ class ServicesTxnManagerTest {
     @Mock private RecordStreaming recordStreaming;
     @Mock private BlockManager blockManager;
     @Mock private RewardCalculator rewardCalculator;
+    @Mock private HandleStageLatencies handleLatencies;
 
     @LoggingTarget private LogCaptor logCaptor;
     @LoggingSubject private ServicesTxnManager subject;
@@ -85,7 +91,8 @@ class ServicesTxnManagerTest {
                         migrationRecordsManager,
                         recordStreaming,
                         blockManager,
-                        rewardCalculator);
+                        rewardCalculator,
+                        handleLatencies);
     }
 
     @Test
@@ -115,6 +122,17 @@ class ServicesTxnManagerTest {
         inOrder.verify(recordStreaming).streamUserTxnRecords();
     }
 
+    @Test
+    void recordsCommitAndStreamingLatenciesByFunction() {
+        given(accessor.getFunction()).willReturn(TokenMint);
+        given(handleLatencies.startNanos()).willReturn(1L, 2L);
+
+        subject.process(accessor, consensusTime, submittingMember);
+
+        verify(handleLatencies).recordSince(LEDGER_COMMIT, TokenMint, 1L);
+        verify(handleLatencies).recordSince(RECORD_STREAMING, TokenMint, 2L);
+    }
+
     @Test
     void warnsOnFailedRecordStreaming() {
         given(txnCtx.accessor()).willReturn(accessor);
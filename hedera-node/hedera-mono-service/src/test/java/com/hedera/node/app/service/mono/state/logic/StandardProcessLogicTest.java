@@ -15,6 +15,9 @@
  */
 package com.hedera.node.app.service.mono.state.logic;
 
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.HANDLE;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ScheduleSign;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +37,7 @@ import com.hedera.node.app.service.mono.records.ConsensusTimeTracker;
 import com.hedera.node.app.service.mono.state.expiry.EntityAutoExpiry;
 import com.hedera.node.app.service.mono.state.expiry.ExpiryManager;
 import com.hedera.node.app.service.mono.stats.ExecutionTimeTracker;
+import com.hedera.node.app.service.mono.stats.HandleStageLatencies;
 import com.hedera.node.app.service.mono.txns.schedule.ScheduleProcessing;
 import com.hedera.node.app.service.mono.txns.span.ExpandHandleSpan;
 import com.hedera.node.app.service.mono.utils.accessors.PlatformTxnAccessor;
@@ -74,6 +78,7 @@ class StandardProcessLogicTest {
     @Mock private RecordStreaming recordStreaming;
     @Mock private ScheduleProcessing scheduleProcessing;
     @Mock private StateView workingView;
+    @Mock private HandleStageLatencies handleLatencies;
 
     @LoggingTarget private LogCaptor logCaptor;
     @LoggingSubject private StandardProcessLogic subject;
@@ -93,7 +98,8 @@ class StandardProcessLogicTest {
                         scheduleProcessing,
                         executionTimeTracker,
                         recordStreaming,
-                        workingView);
+                        workingView,
+                        handleLatencies);
     }
 
     @Test
@@ -185,6 +191,9 @@ class StandardProcessLogicTest {
         given(consensusTimeTracker.nextTransactionTime(false)).willReturn(triggeredConsensusNow);
         given(invariantChecks.holdFor(accessor, allocatedConsensusTime, member)).willReturn(true);
         given(txnCtx.triggeredTxn()).willReturn(triggeredAccessor);
+        given(accessor.getFunction()).willReturn(ScheduleSign);
+        given(triggeredAccessor.getFunction()).willReturn(ContractCall);
+        given(handleLatencies.startNanos()).willReturn(1L, 2L);
         given(scheduleProcessing.shouldProcessScheduledTransactions(allocatedConsensusTime))
                 .willReturn(true);
         given(scheduleProcessing.getMaxProcessingLoopIterations()).willReturn(10L);
@@ -201,6 +210,8 @@ class StandardProcessLogicTest {
         verify(consensusTimeTracker).reset(allocatedConsensusTime);
         verify(scheduleProcessing)
                 .triggerNextTransactionExpiringAsNeeded(allocatedConsensusTime, null, true);
+        verify(handleLatencies).recordSince(HANDLE, ScheduleSign, 1L);
+        verify(handleLatencies).recordSince(HANDLE, ContractCall, 2L);
     }
 
     @Test
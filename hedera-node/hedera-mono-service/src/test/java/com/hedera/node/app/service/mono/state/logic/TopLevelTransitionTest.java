@@ -15,6 +15,10 @@
  */
 package com.hedera.node.app.service.mono.state.logic;
 
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.FEE_CHARGING;
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.SIG_RATIONALIZATION;
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.TRANSITION_LOGIC;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.INVALID_SIGNATURE;
 import static com.hederahashgraph.api.proto.java.ResponseCodeEnum.OK;
 import static org.mockito.BDDMockito.given;
@@ -24,6 +28,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 
 import com.hedera.node.app.service.mono.context.TransactionContext;
 import com.hedera.node.app.service.mono.fees.charging.TxnChargingPolicyAgent;
+import com.hedera.node.app.service.mono.stats.HandleStageLatencies;
 import com.hedera.node.app.service.mono.utils.accessors.PlatformTxnAccessor;
 import java.time.Instant;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +51,7 @@ class TopLevelTransitionTest {
     @Mock private SigsAndPayerKeyScreen sigsAndPayerKeyScreen;
     @Mock private NonPayerKeysScreen nonPayerKeysScreen;
     @Mock private NetworkUtilization networkUtilization;
+    @Mock private HandleStageLatencies handleLatencies;
 
     private TopLevelTransition subject;
 
@@ -59,7 +65,8 @@ class TopLevelTransitionTest {
                         txnCtx,
                         nonPayerKeysScreen,
                         networkUtilization,
-                        chargingPolicyAgent);
+                        chargingPolicyAgent,
+                        handleLatencies);
     }
 
     @Test
@@ -107,6 +114,24 @@ class TopLevelTransitionTest {
         inOrder.verify(requestedTransition).finishFor(accessor);
     }
 
+    @Test
+    void recordsStageLatenciesByFunction() {
+        given(txnCtx.swirldsTxnAccessor()).willReturn(accessor);
+        given(txnCtx.consensusTime()).willReturn(consensusNow);
+        given(accessor.getFunction()).willReturn(CryptoTransfer);
+        given(handleLatencies.startNanos()).willReturn(1L, 2L, 3L);
+        given(sigsAndPayerKeyScreen.applyTo(accessor)).willReturn(OK);
+        given(chargingPolicyAgent.applyPolicyFor(accessor)).willReturn(true);
+        given(nonPayerKeysScreen.reqKeysAreActiveGiven(OK)).willReturn(true);
+        given(networkUtilization.screenForAvailableCapacity()).willReturn(true);
+
+        subject.run();
+
+        verify(handleLatencies).recordSince(SIG_RATIONALIZATION, CryptoTransfer, 1L);
+        verify(handleLatencies).recordSince(FEE_CHARGING, CryptoTransfer, 2L);
+        verify(handleLatencies).recordSince(TRANSITION_LOGIC, CryptoTransfer, 3L);
+    }
+
     @Test
     void gasThrottledProcessFlows() {
         // setup:
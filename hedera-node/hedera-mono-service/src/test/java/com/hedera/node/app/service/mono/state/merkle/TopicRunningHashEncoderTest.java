@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.merkle;
+
+import static com.hedera.node.app.service.mono.state.merkle.MerkleTopic.RUNNING_HASH_VERSION;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import com.hedera.node.app.hapi.utils.CommonUtils;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.TopicID;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class TopicRunningHashEncoderTest {
+    private static final AccountID PAYER =
+            AccountID.newBuilder().setShardNum(1).setRealmNum(2).setAccountNum(3).build();
+    private static final TopicID TOPIC =
+            TopicID.newBuilder().setShardNum(4).setRealmNum(5).setTopicNum(6).build();
+    private static final Instant CONSENSUS_TIME = Instant.ofEpochSecond(1_234_567L, 890);
+
+    private final SplittableRandom r = new SplittableRandom(1_234_321L);
+
+    @Test
+    void matchesObjectStreamEncodingForRandomInputs() throws IOException {
+        for (int i = 0; i < 1_000; i++) {
+            final var prevRunningHash = randomBytes(i % 10 == 0 ? r.nextInt(1, 512) : 48);
+            final var payer =
+                    AccountID.newBuilder()
+                            .setShardNum(r.nextLong())
+                            .setRealmNum(r.nextLong())
+                            .setAccountNum(r.nextLong())
+                            .build();
+            final var topicId =
+                    TopicID.newBuilder()
+                            .setShardNum(r.nextLong())
+                            .setRealmNum(r.nextLong())
+                            .setTopicNum(r.nextLong())
+                            .build();
+            final var consensusTime =
+                    Instant.ofEpochSecond(r.nextLong(1L << 40), r.nextInt(1_000_000_000));
+            final var sequenceNumber = r.nextLong();
+            final var message = randomBytes(r.nextInt(0, 6_144));
+
+            assertArrayEquals(
+                    objectStreamRunningHash(
+                            prevRunningHash,
+                            payer,
+                            topicId,
+                            consensusTime,
+                            sequenceNumber,
+                            message),
+                    TopicRunningHashEncoder.nextRunningHash(
+                            prevRunningHash,
+                            payer,
+                            topicId,
+                            consensusTime,
+                            sequenceNumber,
+                            message));
+        }
+    }
+
+    @Test
+    void matchesObjectStreamEncodingForDefaultInputs() throws IOException {
+        final var prevRunningHash = new byte[MerkleTopic.RUNNING_HASH_BYTE_ARRAY_SIZE];
+        final var payer = AccountID.getDefaultInstance();
+        final var topicId = TopicID.getDefaultInstance();
+        final var consensusTime = Instant.EPOCH;
+        final var message = new byte[0];
+
+        assertArrayEquals(
+                objectStreamRunningHash(
+                        prevRunningHash, payer, topicId, consensusTime, 1L, message),
+                TopicRunningHashEncoder.nextRunningHash(
+                        prevRunningHash, payer, topicId, consensusTime, 1L, message));
+    }
+
+    @Test
+    void matchesObjectStreamEncodingAfterLongerPreviousHash() throws IOException {
+        final var longHash = randomBytes(4_096);
+        final var shortHash = randomBytes(48);
+        final var message = randomBytes(100);
+
+        TopicRunningHashEncoder.nextRunningHash(
+                longHash, PAYER, TOPIC, CONSENSUS_TIME, 1L, message);
+
+        assertArrayEquals(
+                objectStreamRunningHash(shortHash, PAYER, TOPIC, CONSENSUS_TIME, 2L, message),
+                TopicRunningHashEncoder.nextRunningHash(
+                        shortHash, PAYER, TOPIC, CONSENSUS_TIME, 2L, message));
+    }
+
+    @Test
+    void isSafeToUseFromMultipleThreads() throws Exception {
+        final var message = randomBytes(1_024);
+        final var prevRunningHash = randomBytes(48);
+        final var expected =
+                objectStreamRunningHash(
+                        prevRunningHash, PAYER, TOPIC, CONSENSUS_TIME, 42L, message);
+
+        final Callable<byte[]> task =
+                () ->
+                        TopicRunningHashEncoder.nextRunningHash(
+                                prevRunningHash, PAYER, TOPIC, CONSENSUS_TIME, 42L, message);
+
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var futures = executor.invokeAll(Collections.nCopies(64, task));
+            for (final var future : futures) {
+                assertArrayEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** The encoding used by {@link MerkleTopic} before {@link TopicRunningHashEncoder}. */
+    static byte[] objectStreamRunningHash(
+            final byte[] prevRunningHash,
+            final AccountID payer,
+            final TopicID topicId,
+            final Instant consensusTimestamp,
+            final long sequenceNumber,
+            final byte[] message)
+            throws IOException {
+        final var boas = new ByteArrayOutputStream();
+        try (final var out = new ObjectOutputStream(boas)) {
+            out.writeObject(prevRunningHash);
+            out.writeLong(RUNNING_HASH_VERSION);
+            out.writeLong(payer.getShardNum());
+            out.writeLong(payer.getRealmNum());
+            out.writeLong(payer.getAccountNum());
+            out.writeLong(topicId.getShardNum());
+            out.writeLong(topicId.getRealmNum());
+            out.writeLong(topicId.getTopicNum());
+            out.writeLong(consensusTimestamp.getEpochSecond());
+            out.writeInt(consensusTimestamp.getNano());
+            out.writeLong(sequenceNumber);
+            out.writeObject(CommonUtils.noThrowSha384HashOf(message));
+            out.flush();
+            return CommonUtils.noThrowSha384HashOf(boas.toByteArray());
+        }
+    }
+
+    private byte[] randomBytes(final int n) {
+        final var bytes = new byte[n];
+        r.nextBytes(bytes);
+        return bytes;
+    }
+}
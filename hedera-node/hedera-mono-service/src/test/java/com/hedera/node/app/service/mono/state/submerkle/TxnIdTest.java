@@ -17,6 +17,7 @@ package com.hedera.node.app.service.mono.state.submerkle;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.AccountID;
@@ -40,6 +41,8 @@ class TxnIdTest {
 
         assertEquals(fcPayer, subject.getPayerAccount());
         assertEquals(fcValidStart, subject.getValidStart());
+        assertTrue(subject.isScheduled());
+        assertEquals(nonce, subject.getNonce());
     }
 
     @Test
@@ -88,6 +88,21 @@ class VirtualBlobKeySerializerTest {
         assertFalse(subject.equals(bin, 1, diffTypeSameNum));
     }
 
+    @Test
+    void equalsUsingByteBufferDistinguishesChunkIndices() throws IOException {
+        final var someChunk = VirtualBlobKey.forFileDataChunk(entityNum, 5);
+        final var otherChunk = VirtualBlobKey.forFileDataChunk(entityNum, 6);
+        final var head = new VirtualBlobKey(FILE_DATA, entityNum);
+
+        final var bin = mock(ByteBuffer.class);
+        given(bin.get()).willReturn((byte) 0x85);
+        given(bin.getInt()).willReturn(entityNum);
+
+        assertTrue(subject.equals(bin, 1, someChunk));
+        assertFalse(subject.equals(bin, 1, otherChunk));
+        assertFalse(subject.equals(bin, 1, head));
+    }
+
     @Test
     void serdesAreNoop() {
         final var in = mock(SerializableDataInputStream.class);
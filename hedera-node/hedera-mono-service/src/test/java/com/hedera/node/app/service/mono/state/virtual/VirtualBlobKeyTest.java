@@ -16,8 +16,10 @@
 package com.hedera.node.app.service.mono.state.virtual;
 
 import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.BYTES_IN_SERIALIZED_FORM;
+import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.MAX_FILE_DATA_CHUNKS;
 import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.Type.CONTRACT_BYTECODE;
 import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.Type.FILE_DATA;
+import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.Type.FILE_DATA_CHUNK;
 import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.Type.FILE_METADATA;
 import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.Type.SYSTEM_DELETED_ENTITY_EXPIRY;
 import static com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey.fromPath;
@@ -26,10 +28,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import com.hedera.node.app.service.mono.utils.MiscUtils;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import java.io.IOException;
@@ -67,6 +71,50 @@ class VirtualBlobKeyTest {
         assertEquals(expectedCmp, subject.compareTo(largerType));
     }
 
+    @Test
+    void orderBreaksTypeTiesByChunkIndex() {
+        final var first = VirtualBlobKey.forFileDataChunk(entityNum, 0);
+        final var second = VirtualBlobKey.forFileDataChunk(entityNum, 1);
+
+        assertEquals(-1, first.compareTo(second));
+        assertTrue(subject.compareTo(first) < 0);
+    }
+
+    @Test
+    void chunkKeysMeetObjectContract() {
+        final var chunk = VirtualBlobKey.forFileDataChunk(entityNum, 3);
+        final var sameChunk = VirtualBlobKey.forFileDataChunk(entityNum, 3);
+        final var otherChunk = VirtualBlobKey.forFileDataChunk(entityNum, 4);
+
+        assertEquals(chunk, sameChunk);
+        assertEquals(chunk.hashCode(), sameChunk.hashCode());
+        assertNotEquals(chunk, otherChunk);
+        assertNotEquals(chunk.hashCode(), otherChunk.hashCode());
+        assertNotEquals(subject, VirtualBlobKey.forFileDataChunk(entityNum, 0));
+        assertEquals(FILE_DATA_CHUNK, chunk.getType());
+        assertEquals(3, chunk.getChunkIndex());
+    }
+
+    @Test
+    void legacyHashCodesAreUnchanged() {
+        assertEquals(
+                (int) MiscUtils.perm64(entityNum | ((long) FILE_DATA.ordinal()) << 4),
+                subject.hashCode());
+    }
+
+    @Test
+    void rejectsInvalidChunkKeys() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new VirtualBlobKey(FILE_DATA_CHUNK, entityNum));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> VirtualBlobKey.forFileDataChunk(entityNum, -1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> VirtualBlobKey.forFileDataChunk(entityNum, MAX_FILE_DATA_CHUNKS));
+    }
+
     @Test
     void objectContractMet() {
         final var one = new VirtualBlobKey(VirtualBlobKey.Type.FILE_METADATA, entityNum);
@@ -149,6 +197,29 @@ class VirtualBlobKeyTest {
         assertEquals(subject.getType(), blobKey.getType());
     }
 
+    @Test
+    void chunkKeysSerializeTypeCodeWithIndex() throws IOException {
+        final var buffer = mock(ByteBuffer.class);
+        final var chunk = VirtualBlobKey.forFileDataChunk(entityNum, MAX_FILE_DATA_CHUNKS - 1);
+
+        chunk.serialize(buffer);
+
+        verify(buffer).put((byte) 0xff);
+        verify(buffer).putInt(entityNum);
+    }
+
+    @Test
+    void chunkKeysDeserializeFromTypeCode() throws IOException {
+        final var buffer = mock(ByteBuffer.class);
+        given(buffer.get()).willReturn((byte) 0x81);
+        given(buffer.getInt()).willReturn(entityNum);
+
+        final var blobKey = new VirtualBlobKey();
+        blobKey.deserialize(buffer, VirtualBlobKey.CURRENT_VERSION);
+
+        assertEquals(VirtualBlobKey.forFileDataChunk(entityNum, 1), blobKey);
+    }
+
     @Test
     void merkleMethodsWork() {
         assertEquals(VirtualBlobKey.CURRENT_VERSION, subject.getVersion());
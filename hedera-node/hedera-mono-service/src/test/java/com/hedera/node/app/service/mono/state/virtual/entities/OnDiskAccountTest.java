@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.state.virtual.entities;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.node.app.service.mono.utils.EntityNum;
+import com.hedera.test.utils.SeededPropertySource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class OnDiskAccountTest {
+    private static final int FIXED_WIDTH_BYTES = 1 + 6 * Integer.BYTES + 14 * Long.BYTES;
+    private static final int[] FIRST_STORAGE_KEY = {0, 0, 0, 0, 0, 0, 0, 42};
+
+    @Test
+    void unchangedAccountIsReserializedAsSameBytes() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            final var account = accountFrom(i);
+            final var bytes = serialized(account);
+
+            final var read = deserialized(bytes);
+
+            assertArrayEquals(bytes, serialized(read));
+            assertArrayEquals(bytes, serialized(read.copy()));
+            assertEquals(account, read);
+            assertArrayEquals(bytes, serialized(read));
+        }
+    }
+
+    @Test
+    void fixedWidthFieldsAreReadableWithoutDecodingVariablePart() throws IOException {
+        final var account = accountFrom(1);
+        final var truncated = ByteBuffer.allocate(FIXED_WIDTH_BYTES + Integer.BYTES);
+        truncated.put(serialized(account), 0, FIXED_WIDTH_BYTES).putInt(0);
+
+        final var read = deserialized(truncated.array());
+
+        assertEquals(account.getBalance(), read.getBalance());
+        assertEquals(account.getExpiry(), read.getExpiry());
+        assertEquals(account.getStakedId(), read.getStakedId());
+        assertEquals(account.isDeleted(), read.isDeleted());
+        assertThrows(UncheckedIOException.class, read::getMemo);
+    }
+
+    @Test
+    void changedVariableFieldIsReencoded() throws IOException {
+        final var account = accountFrom(2);
+        final var mutable = deserialized(serialized(account)).copy();
+
+        mutable.setMemo("Changed");
+        account.setMemo("Changed");
+
+        assertEquals(account, deserialized(serialized(mutable)));
+    }
+
+    @Test
+    void inPlaceChangeToMutableAllowancesIsReencoded() throws IOException {
+        final var account = accountFrom(3);
+        final var allowances = new TreeMap<EntityNum, Long>();
+        allowances.put(EntityNum.fromLong(1), 1L);
+        account.setHbarAllowances(allowances);
+        final var mutable = deserialized(serialized(account)).copy();
+
+        mutable.getHbarAllowances().put(EntityNum.fromLong(2), 2L);
+
+        final var reread = deserialized(serialized(mutable));
+        assertEquals(2L, reread.getHbarAllowances().get(EntityNum.fromLong(2)));
+    }
+
+    @Test
+    void contractFlagChangeKeepsVariablePartDecodable() throws IOException {
+        final var account = accountFrom(4);
+        account.setIsContract(true);
+        account.setFirstStorageKey(FIRST_STORAGE_KEY);
+        final var mutable = deserialized(serialized(account)).copy();
+
+        mutable.setIsContract(false);
+
+        final var reread = deserialized(serialized(mutable));
+        assertFalse(reread.isContract());
+        assertEquals(account.getMemo(), reread.getMemo());
+        assertEquals(account.getAlias(), reread.getAlias());
+        assertEquals(account.getHbarAllowances(), reread.getHbarAllowances());
+    }
+
+    @Test
+    void copiesKeepFirstStorageKey() throws IOException {
+        final var account = accountFrom(5);
+        account.setIsContract(true);
+        account.setFirstStorageKey(FIRST_STORAGE_KEY);
+
+        assertArrayEquals(FIRST_STORAGE_KEY, account.copy().getFirstStorageKey());
+        final var read = deserialized(serialized(account));
+        assertArrayEquals(FIRST_STORAGE_KEY, read.copy().getFirstStorageKey());
+        assertEquals(account.getFirstContractStorageKey(), read.getFirstContractStorageKey());
+    }
+
+    @Test
+    void readOnlyCopyCanBeDecodedConcurrently() throws Exception {
+        final var account = accountFrom(6);
+        final var readOnly = (OnDiskAccount) deserialized(serialized(account)).asReadOnly();
+        final Callable<Boolean> task =
+                () ->
+                        readOnly.getMemo().equals(account.getMemo())
+                                && readOnly.getAlias().equals(account.getAlias())
+                                && readOnly.getFungibleAllowances()
+                                        .equals(account.getFungibleAllowances());
+        final var executor = Executors.newFixedThreadPool(8);
+        try {
+            for (final var result : executor.invokeAll(Collections.nCopies(32, task))) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(account, readOnly);
+    }
+
+    private static OnDiskAccount accountFrom(final long seed) {
+        return new SeededPropertySource(new SplittableRandom(seed)).nextOnDiskAccount();
+    }
+
+    private static byte[] serialized(final OnDiskAccount account) throws IOException {
+        final var buffer = ByteBuffer.allocate(64 * 1024);
+        account.serialize(buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static OnDiskAccount deserialized(final byte[] bytes) throws IOException {
+        final var account = new OnDiskAccount();
+        account.deserialize(ByteBuffer.wrap(bytes), account.getVersion());
+        return account;
+    }
+}
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.swirlds.common.metrics.Counter;
+import com.swirlds.common.metrics.DoubleGauge;
 import com.swirlds.common.metrics.Metrics;
 import com.swirlds.common.metrics.RunningAverageMetric;
 import com.swirlds.common.system.Platform;
@@ -39,6 +40,8 @@ class ExpiryStatsTest {
     @Mock private Counter contractsRemoved;
     @Mock private Counter contractsRenewed;
     @Mock private Metrics metrics;
+    @Mock private DoubleGauge payerRecordsReviewMs;
+    @Mock private DoubleGauge payerRecordsReviewMsSaved;
 
     private ExpiryStats subject;
 
@@ -54,7 +57,7 @@ class ExpiryStatsTest {
 
         subject.registerWith(platform);
 
-        verify(metrics, times(3)).getOrCreate(any());
+        verify(metrics, times(5)).getOrCreate(any());
     }
 
     @Test
@@ -70,6 +73,17 @@ class ExpiryStatsTest {
         verify(idsScannedPerConsSec).update(5.0);
     }
 
+    @Test
+    void reportsPayerRecordsReviewOnceGaugesAreAvailable() {
+        subject.includePayerRecordsReview(123L, 45L);
+
+        subject.setPayerRecordsReviewGauges(payerRecordsReviewMs, payerRecordsReviewMsSaved);
+        subject.includePayerRecordsReview(124L, 46L);
+
+        verify(payerRecordsReviewMs).set(124.0);
+        verify(payerRecordsReviewMsSaved).set(46.0);
+    }
+
     private void setMocks() {
         subject.setIdsScannedPerConsSec(idsScannedPerConsSec);
         subject.setContractsRemoved(contractsRemoved);
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stats;
+
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.HANDLE;
+import static com.hedera.node.app.service.mono.stats.HandleStageLatencies.Stage.LEDGER_COMMIT;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hedera.node.app.service.mono.utils.MiscUtils;
+import com.swirlds.common.metrics.DoubleGauge;
+import com.swirlds.common.metrics.Metrics;
+import com.swirlds.common.system.Platform;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class HandleStageLatenciesTest {
+    private static final int NUM_STAGE_GAUGES = 3 * HandleStageLatencies.Stage.values().length;
+
+    @Mock private Platform platform;
+    @Mock private Metrics metrics;
+
+    private final Map<String, DoubleGauge> gauges = new HashMap<>();
+
+    @Test
+    void doesNothingWhenDisabled() {
+        final var subject = new HandleStageLatencies(false, MiscUtils::baseStatNameOf);
+
+        assertFalse(subject.isEnabled());
+        assertEquals(0L, subject.startNanos());
+        subject.recordSince(HANDLE, CryptoTransfer, 0L);
+        subject.registerWith(platform);
+        subject.updateAll();
+
+        verifyNoInteractions(platform);
+    }
+
+    @Test
+    void updateIsNoopBeforeRegistration() {
+        final var subject = new HandleStageLatencies(true, MiscUtils::baseStatNameOf);
+
+        subject.recordSince(HANDLE, CryptoTransfer, subject.startNanos());
+
+        subject.updateAll();
+        verifyNoInteractions(platform);
+    }
+
+    @Test
+    void registersStageGaugesAndReportsRecordedLatencies() {
+        givenGauges();
+        final var subject = new HandleStageLatencies(true, MiscUtils::baseStatNameOf);
+        subject.registerWith(platform);
+        verify(metrics, times(NUM_STAGE_GAUGES)).getOrCreate(any(DoubleGauge.Config.class));
+
+        final var start = subject.startNanos();
+        subject.recordSince(HANDLE, CryptoTransfer, start - 2_000_000L);
+        subject.recordSince(LEDGER_COMMIT, CryptoTransfer, start - 500_000L);
+        subject.updateAll();
+
+        // only the handled function gets gauges, one for each stage
+        verify(metrics, times(NUM_STAGE_GAUGES + HandleStageLatencies.Stage.values().length))
+                .getOrCreate(any(DoubleGauge.Config.class));
+        assertAtLeast(2_000.0, "handleP50Us");
+        assertAtLeast(2_000.0, "handleP99Us");
+        assertAtLeast(2_000.0, "handleMaxUs");
+        assertAtLeast(2_000.0, "CryptoTransferHandleP99Us");
+        assertAtLeast(500.0, "CryptoTransferLedgerCommitP99Us");
+        verify(gauges.get("feeChargingP99Us")).set(0.0);
+        verify(gauges.get("CryptoTransferFeeChargingP99Us")).set(0.0);
+    }
+
+    private void assertAtLeast(final double micros, final String gaugeName) {
+        final var captor = ArgumentCaptor.forClass(Double.class);
+        verify(gauges.get(gaugeName)).set(captor.capture());
+        assertTrue(
+                captor.getValue() >= micros,
+                gaugeName + " was " + captor.getValue() + ", expected at least " + micros);
+    }
+
+    private void givenGauges() {
+        given(platform.getMetrics()).willReturn(metrics);
+        given(metrics.getOrCreate(any(DoubleGauge.Config.class)))
+                .willAnswer(
+                        invocation ->
+                                gauges.computeIfAbsent(
+                                        invocation.<DoubleGauge.Config>getArgument(0).getName(),
+                                        name -> mock(DoubleGauge.class)));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+    private final LatencyHistogram subject = new LatencyHistogram();
+
+    @Test
+    void smallValuesAreExact() {
+        for (long v = 0; v < 32; v++) {
+            assertEquals(v, LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketOf(v)));
+        }
+        assertEquals(0, LatencyHistogram.bucketOf(-5));
+    }
+
+    @Test
+    void largerValuesAreWithinSixPercent() {
+        var lastBucket = LatencyHistogram.bucketOf(31);
+        for (long v = 32; v < 1_000_000; v += 7) {
+            final var bucket = LatencyHistogram.bucketOf(v);
+            final var highest = LatencyHistogram.highestEquivalentValue(bucket);
+            assertTrue(highest >= v);
+            assertTrue(highest - v <= v / 16, "value " + v + " reported as " + highest);
+            assertTrue(bucket >= lastBucket);
+            lastBucket = bucket;
+        }
+    }
+
+    @Test
+    void clampsValuesBeyondHighestTrackable() {
+        assertEquals(
+                LatencyHistogram.NUM_BUCKETS - 1,
+                LatencyHistogram.bucketOf(LatencyHistogram.HIGHEST_TRACKABLE_NANOS));
+        assertEquals(LatencyHistogram.NUM_BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(
+                LatencyHistogram.HIGHEST_TRACKABLE_NANOS,
+                LatencyHistogram.highestEquivalentValue(LatencyHistogram.NUM_BUCKETS - 1));
+    }
+
+    @Test
+    void drainsPercentilesAndResets() {
+        for (int i = 1; i <= 100; i++) {
+            subject.recordValue(i);
+        }
+        final var counts = new long[LatencyHistogram.NUM_BUCKETS];
+
+        final var total = subject.drainInto(counts);
+
+        assertEquals(100, total);
+        assertEquals(31, LatencyHistogram.valueAtPercentile(counts, total, 31.0));
+        assertEquals(51, LatencyHistogram.valueAtPercentile(counts, total, 50.0));
+        assertEquals(99, LatencyHistogram.valueAtPercentile(counts, total, 99.0));
+        assertEquals(103, LatencyHistogram.maxValue(counts));
+        assertEquals(0, subject.drainInto(new long[LatencyHistogram.NUM_BUCKETS]));
+    }
+
+    @Test
+    void emptyCountsHaveZeroValues() {
+        final var counts = new long[LatencyHistogram.NUM_BUCKETS];
+
+        assertEquals(0, LatencyHistogram.valueAtPercentile(counts, 0, 99.0));
+        assertEquals(0, LatencyHistogram.maxValue(counts));
+    }
+}
@@ -39,6 +39,9 @@ class MiscRunningAvgsTest {
     @Mock private RunningAverageMetric submitSizes;
     @Mock private RunningAverageMetric queueSize;
     @Mock private RunningAverageMetric hashS;
+    @Mock private RunningAverageMetric handoffOccupancy;
+    @Mock private RunningAverageMetric handoffStalls;
+    @Mock private RunningAverageMetric sigExpansionMicros;
     @Mock private Metrics metrics;
     private MiscRunningAvgs subject;
 
@@ -54,7 +57,7 @@ class MiscRunningAvgsTest {
 
         subject.registerWith(platform);
 
-        verify(metrics, times(4)).getOrCreate(any());
+        verify(metrics, times(7)).getOrCreate(any());
     }
 
     @Test
@@ -65,11 +68,17 @@ class MiscRunningAvgsTest {
         subject.writeQueueSizeRecordStream(4);
         subject.hashQueueSizeRecordStream(5);
         subject.recordGasPerConsSec(6L);
+        subject.handoffOccupancyRecordStream(7);
+        subject.handoffStallMicrosRecordStream(8L);
+        subject.recordSigExpansionMicrosPerEvent(9L);
 
         verify(submitSizes).update(3.0);
         verify(queueSize).update(4.0);
         verify(hashS).update(5);
         verify(gasPerSec).update(6L);
+        verify(handoffOccupancy).update(7);
+        verify(handoffStalls).update(8L);
+        verify(sigExpansionMicros).update(9L);
     }
 
     private void setMocks() {
@@ -77,5 +86,8 @@ class MiscRunningAvgsTest {
         subject.setWriteQueueSizeRecordStream(queueSize);
         subject.setHashQueueSizeRecordStream(hashS);
         subject.setGasPerConsSec(gasPerSec);
+        subject.setHandoffOccupancyRecordStream(handoffOccupancy);
+        subject.setHandoffStallMicrosRecordStream(handoffStalls);
+        subject.setSigExpansionMicrosPerEvent(sigExpansionMicros);
     }
 }
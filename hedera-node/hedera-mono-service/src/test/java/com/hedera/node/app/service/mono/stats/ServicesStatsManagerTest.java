@@ -23,10 +23,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.queries.crypto.BalanceResponseCache;
+import com.hedera.node.app.service.mono.sigs.verification.VerifiedSigCache;
 import com.hedera.node.app.service.mono.state.virtual.ContractKey;
 import com.hedera.node.app.service.mono.state.virtual.IterableContractValue;
 import com.hedera.node.app.service.mono.state.virtual.VirtualBlobKey;
 import com.hedera.node.app.service.mono.state.virtual.VirtualBlobValue;
+import com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor;
 import com.hedera.node.app.service.mono.utils.Pause;
 import com.hedera.node.app.service.mono.utils.SleepingPause;
 import com.swirlds.common.system.NodeId;
@@ -54,6 +57,10 @@ class ServicesStatsManagerTest {
     @Mock private MiscRunningAvgs runningAvgs;
     @Mock private MiscSpeedometers miscSpeedometers;
     @Mock private HapiOpSpeedometers speedometers;
+    @Mock private HandleStageLatencies handleLatencies;
+    @Mock private BalanceResponseCache balanceResponseCache;
+    @Mock private VerifiedSigCache verifiedSigCache;
+    @Mock private PrefetchProcessor prefetchProcessor;
     @Mock private NodeLocalProperties properties;
     @Mock private VirtualMap<ContractKey, IterableContractValue> storage;
     @Mock private VirtualMap<VirtualBlobKey, VirtualBlobValue> bytecode;
@@ -84,6 +91,10 @@ class ServicesStatsManagerTest {
                         entityUtilGauges,
                         miscSpeedometers,
                         speedometers,
+                        handleLatencies,
+                        balanceResponseCache,
+                        verifiedSigCache,
+                        prefetchProcessor,
                         properties,
                         () -> storage,
                         () -> bytecode);
@@ -122,6 +133,10 @@ class ServicesStatsManagerTest {
         verify(runningAvgs).registerWith(platform);
         verify(throttleGauges).registerWith(platform);
         verify(entityUtilGauges).registerWith(platform);
+        verify(handleLatencies).registerWith(platform);
+        verify(balanceResponseCache).registerWith(platform);
+        verify(verifiedSigCache).registerWith(platform);
+        verify(prefetchProcessor).registerWith(platform);
         verify(storage).registerMetrics(any());
         verify(bytecode).registerMetrics(any());
         // and:
@@ -135,6 +150,7 @@ class ServicesStatsManagerTest {
         // then:
         verify(pause, times(6)).forMs(1_000L);
         verify(speedometers, times(6)).updateAll();
+        verify(handleLatencies, times(6)).updateAll();
         verify(throttleGauges, times(3)).updateAll();
         verify(entityUtilGauges, times(2)).updateAll();
     }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.store.contracts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.utils.EntityNum;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CodeCacheTest {
+    private static final long NUM = 1234L;
+    private static final Address MIRROR_ADDRESS = EntityNum.fromLong(NUM).toEvmAddress();
+    private static final Address NON_MIRROR_ADDRESS =
+            Address.fromHexString("0x7b4ecd1a8c2b4cd4a1fcd6be44e5b2a6f8b1c2d3");
+    private static final Bytes BYTECODE = Bytes.of(0x60, 0x00, 0x56, 0x5b);
+    private static final Code CODE =
+            CodeFactory.createCode(BYTECODE, Hash.hash(BYTECODE), 0, false);
+
+    @Mock private NodeLocalProperties properties;
+    @Mock private EntityAccess entityAccess;
+    @Mock private MappedBytecodeStore diskTier;
+
+    private CodeCache subject;
+
+    @BeforeEach
+    void setUp() {
+        given(properties.prefetchCodeCacheTtlSecs()).willReturn(600);
+        given(properties.prefetchCodeCacheMaxBytes()).willReturn(1_000_000L);
+        given(properties.prefetchCodeCacheWarmUpContracts()).willReturn(2);
+
+        subject = new CodeCache(properties, entityAccess, diskTier);
+    }
+
+    @Test
+    void usesDefaultMaxBytesIfNotPositive() {
+        given(properties.prefetchCodeCacheMaxBytes()).willReturn(0L);
+        given(entityAccess.fetchCodeIfPresent(MIRROR_ADDRESS)).willReturn(BYTECODE);
+
+        subject = new CodeCache(properties, entityAccess);
+        subject.getIfPresent(MIRROR_ADDRESS);
+        subject.getIfPresent(MIRROR_ADDRESS);
+
+        assertEquals(1, subject.size());
+        verify(entityAccess).fetchCodeIfPresent(MIRROR_ADDRESS);
+    }
+
+    @Test
+    void loadsMirrorCodeFromDiskTier() {
+        given(diskTier.isEnabled()).willReturn(true);
+        given(diskTier.peek(NUM)).willReturn(CODE);
+
+        assertSame(CODE, subject.getIfPresent(MIRROR_ADDRESS));
+        assertSame(CODE, subject.getIfPresent(MIRROR_ADDRESS));
+
+        verify(entityAccess, never()).fetchCodeIfPresent(MIRROR_ADDRESS);
+        verify(diskTier, never()).put(NUM, CODE);
+        verify(diskTier, times(2)).recordCall(NUM);
+    }
+
+    @Test
+    void populatesDiskTierOnMiss() {
+        given(diskTier.isEnabled()).willReturn(true);
+        given(entityAccess.fetchCodeIfPresent(MIRROR_ADDRESS)).willReturn(BYTECODE);
+
+        final var code = subject.getIfPresent(MIRROR_ADDRESS);
+
+        assertEquals(BYTECODE, code.getContainerBytes());
+        verify(diskTier).put(NUM, code);
+    }
+
+    @Test
+    void doesNotPopulateDiskTierWithMissingCode() {
+        given(diskTier.isEnabled()).willReturn(true);
+
+        assertNull(subject.getIfPresent(MIRROR_ADDRESS));
+
+        verify(diskTier, never()).put(anyLong(), any());
+    }
+
+    @Test
+    void bypassesDiskTierForNonMirrorAddresses() {
+        given(diskTier.isEnabled()).willReturn(true);
+        given(entityAccess.fetchCodeIfPresent(NON_MIRROR_ADDRESS)).willReturn(BYTECODE);
+
+        assertEquals(BYTECODE, subject.getIfPresent(NON_MIRROR_ADDRESS).getContainerBytes());
+        subject.invalidate(NON_MIRROR_ADDRESS);
+
+        verify(diskTier).isEnabled();
+        verifyNoMoreInteractions(diskTier);
+    }
+
+    @Test
+    void bypassesDisabledDiskTier() {
+        given(entityAccess.fetchCodeIfPresent(MIRROR_ADDRESS)).willReturn(BYTECODE);
+
+        assertEquals(BYTECODE, subject.getIfPresent(MIRROR_ADDRESS).getContainerBytes());
+
+        verify(diskTier, never()).peek(NUM);
+    }
+
+    @Test
+    void invalidatesBothTiers() {
+        given(entityAccess.fetchCodeIfPresent(MIRROR_ADDRESS)).willReturn(BYTECODE);
+        subject.getIfPresent(MIRROR_ADDRESS);
+
+        subject.invalidate(MIRROR_ADDRESS);
+
+        assertEquals(0, subject.size());
+        verify(diskTier).remove(NUM);
+    }
+
+    @Test
+    void warmUpPreLoadsMostCalledContracts() {
+        given(diskTier.mostCalled(2)).willReturn(List.of(NUM, NUM + 1));
+        given(diskTier.peek(NUM)).willReturn(CODE);
+
+        subject.warmUp();
+
+        assertEquals(1, subject.size());
+        assertSame(CODE, subject.getIfPresent(MIRROR_ADDRESS));
+        verifyNoInteractions(entityAccess);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.store.contracts;
+
+import static com.hedera.node.app.service.mono.store.contracts.MappedBytecodeStore.CALLS_OFFSET;
+import static com.hedera.node.app.service.mono.store.contracts.MappedBytecodeStore.CALLS_PER_FLUSH;
+import static com.hedera.node.app.service.mono.store.contracts.MappedBytecodeStore.FILE_NAME;
+import static com.hedera.node.app.service.mono.store.contracts.MappedBytecodeStore.HEADER_BYTES;
+import static com.hedera.node.app.service.mono.store.contracts.MappedBytecodeStore.INITIAL_MAPPED_BYTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedBytecodeStoreTest {
+    private static final long MAX_BYTES = 4096;
+
+    @TempDir private Path tempDir;
+
+    private MappedBytecodeStore subject;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (subject != null) {
+            subject.close();
+        }
+    }
+
+    @Test
+    void isDisabledWithoutDirOrRoom() {
+        assertFalse(new MappedBytecodeStore(null, MAX_BYTES).isEnabled());
+        assertFalse(new MappedBytecodeStore(" ", MAX_BYTES).isEnabled());
+        assertFalse(new MappedBytecodeStore(tempDir.toString(), HEADER_BYTES).isEnabled());
+        assertFalse(Files.exists(tempDir.resolve(FILE_NAME)));
+    }
+
+    @Test
+    void isDisabledIfFileCannotBeMapped() throws IOException {
+        final var notADir = Files.createFile(tempDir.resolve("file"));
+
+        subject = new MappedBytecodeStore(notADir.toString(), MAX_BYTES);
+
+        assertFalse(subject.isEnabled());
+        assertNull(subject.peek(1L));
+        subject.put(1L, codeOf(1, 2, 3));
+        subject.remove(1L);
+        subject.recordCall(1L);
+        assertEquals(0, subject.size());
+    }
+
+    @Test
+    void roundTripsCodeAndHash() {
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+        final var code = codeOf(0x60, 0x00, 0x56, 0x5b);
+
+        subject.put(1234L, code);
+        final var stored = subject.peek(1234L);
+
+        assertTrue(subject.isEnabled());
+        assertEquals(code.getContainerBytes(), stored.getContainerBytes());
+        assertEquals(code.getCodeHash(), stored.getCodeHash());
+        assertNull(subject.peek(1235L));
+    }
+
+    @Test
+    void ignoresEmptyAndAlreadyStoredCode() {
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+
+        subject.put(1L, codeOf());
+        subject.put(2L, codeOf(1, 2, 3));
+        final var end = subject.end();
+        subject.put(2L, codeOf(4, 5, 6));
+
+        assertNull(subject.peek(1L));
+        assertEquals(end, subject.end());
+        assertEquals(Bytes.of(1, 2, 3), subject.peek(2L).getContainerBytes());
+    }
+
+    @Test
+    void stopsAddingOnceFull() {
+        subject = new MappedBytecodeStore(tempDir.toString(), 2L * HEADER_BYTES + 10);
+
+        subject.put(1L, codeOf(new byte[10]));
+        subject.put(2L, codeOf(new byte[10]));
+        subject.put(3L, codeOf(1));
+
+        assertEquals(1, subject.size());
+        assertNull(subject.peek(2L));
+        assertNull(subject.peek(3L));
+    }
+
+    @Test
+    void entriesCallsAndRemovalsSurviveReopening() throws IOException {
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+        subject.put(1L, codeOf(1));
+        subject.put(2L, codeOf(2));
+        subject.put(3L, codeOf(3));
+        subject.recordCall(2L);
+        subject.recordCall(2L);
+        subject.recordCall(3L);
+        subject.recordCall(4L);
+        subject.remove(1L);
+        subject.remove(4L);
+        final var end = subject.end();
+        subject.close();
+
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+
+        assertEquals(end, subject.end());
+        assertEquals(2, subject.size());
+        assertNull(subject.peek(1L));
+        assertEquals(Bytes.of(2), subject.peek(2L).getContainerBytes());
+        assertEquals(List.of(2L, 3L), subject.mostCalled(5));
+    }
+
+    @Test
+    void writesCallsToFileOnlyInBatches() throws IOException {
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+        subject.put(1L, codeOf(1));
+        final var secondOffset = subject.end();
+        subject.put(2L, codeOf(2));
+        subject.recordCall(1L);
+        subject.recordCall(1L);
+        for (int i = 2; i < CALLS_PER_FLUSH - 1; i++) {
+            subject.recordCall(2L);
+        }
+
+        assertEquals(0L, callsInFileAt(0));
+        assertEquals(0L, callsInFileAt(secondOffset));
+
+        subject.recordCall(2L);
+
+        assertEquals(2L, callsInFileAt(0));
+        assertEquals(CALLS_PER_FLUSH - 2L, callsInFileAt(secondOffset));
+    }
+
+    @Test
+    void growsMappingAsStoreFills() throws IOException {
+        final var maxBytes = 4L * INITIAL_MAPPED_BYTES;
+        subject = new MappedBytecodeStore(tempDir.toString(), maxBytes);
+
+        assertEquals(INITIAL_MAPPED_BYTES, subject.mappedBytes());
+        assertEquals(INITIAL_MAPPED_BYTES, Files.size(tempDir.resolve(FILE_NAME)));
+
+        subject.put(1L, codeOf(new byte[INITIAL_MAPPED_BYTES]));
+
+        assertEquals(2 * INITIAL_MAPPED_BYTES, subject.mappedBytes());
+        assertEquals(INITIAL_MAPPED_BYTES, subject.peek(1L).getContainerBytes().size());
+        subject.close();
+
+        subject = new MappedBytecodeStore(tempDir.toString(), maxBytes);
+
+        assertEquals(2 * INITIAL_MAPPED_BYTES, subject.mappedBytes());
+        assertEquals(1, subject.size());
+    }
+
+    @Test
+    void returnsOnlyTheMostCalledInDescendingOrder() {
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+        for (int num = 1; num <= 4; num++) {
+            subject.put(num, codeOf(num));
+            for (int i = 0; i < num; i++) {
+                subject.recordCall(num);
+            }
+        }
+
+        assertEquals(List.of(4L, 3L), subject.mostCalled(2));
+        assertEquals(List.of(), subject.mostCalled(0));
+    }
+
+    @Test
+    void scanStopsAtCorruptRecord() throws IOException {
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+        subject.put(1L, codeOf(1));
+        final var secondOffset = subject.end();
+        subject.put(2L, codeOf(2));
+        subject.close();
+        flipByteAt(secondOffset + HEADER_BYTES);
+
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+
+        assertEquals(1, subject.size());
+        assertEquals(secondOffset, subject.end());
+        subject.put(3L, codeOf(3));
+        assertEquals(Bytes.of(3), subject.peek(3L).getContainerBytes());
+    }
+
+    @Test
+    void ignoresEntryCorruptedAfterOpening() throws IOException {
+        subject = new MappedBytecodeStore(tempDir.toString(), MAX_BYTES);
+        subject.put(1L, codeOf(1, 2, 3));
+        flipByteAt(HEADER_BYTES);
+
+        assertNull(subject.peek(1L));
+        assertEquals(0, subject.size());
+    }
+
+    private long callsInFileAt(final int offset) throws IOException {
+        try (final var file = new RandomAccessFile(tempDir.resolve(FILE_NAME).toFile(), "r")) {
+            file.seek(offset + (long) CALLS_OFFSET);
+            return file.readLong();
+        }
+    }
+
+    private void flipByteAt(final int offset) throws IOException {
+        try (final var file = new RandomAccessFile(tempDir.resolve(FILE_NAME).toFile(), "rw")) {
+            file.seek(offset);
+            final var b = file.readByte();
+            file.seek(offset);
+            file.writeByte(b ^ 0xff);
+        }
+    }
+
+    private static Code codeOf(final int... bytes) {
+        final var bytecode = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            bytecode[i] = (byte) bytes[i];
+        }
+        return codeOf(bytecode);
+    }
+
+    private static Code codeOf(final byte[] bytecode) {
+        final var wrapped = Bytes.wrap(bytecode);
+        return CodeFactory.createCode(wrapped, Hash.hash(wrapped), 0, false);
+    }
+}
@@ -63,6 +63,7 @@ import com.hedera.node.app.service.mono.store.contracts.WorldLedgers;
 import com.hedera.node.app.service.mono.store.contracts.precompile.codec.EncodingFacade;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.AssociatePrecompile;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.MultiAssociatePrecompile;
+import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompileFeeMemo;
 import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompilePricingUtils;
 import com.hedera.node.app.service.mono.store.models.Id;
 import com.hedera.node.app.service.mono.store.models.NftId;
@@ -140,6 +141,7 @@ class AssociatePrecompileTest {
     @Mock private HbarCentExchange exchange;
     @Mock private ExchangeRate exchangeRate;
     @Mock private AccessorFactory accessorFactory;
+    @Mock private PrecompileFeeMemo feeMemo;
 
     private static final long TEST_SERVICE_FEE = 5_000_000;
     private static final long TEST_NETWORK_FEE = 400_000;
@@ -176,7 +178,8 @@ class AssociatePrecompileTest {
                         () -> feeCalculator,
                         resourceCosts,
                         stateView,
-                        accessorFactory);
+                        accessorFactory,
+                        feeMemo);
         subject =
                 new HTSPrecompiledContract(
                         dynamicProperties,
@@ -67,6 +67,7 @@ import com.hedera.node.app.service.mono.store.contracts.HederaStackedWorldStateU
 import com.hedera.node.app.service.mono.store.contracts.WorldLedgers;
 import com.hedera.node.app.service.mono.store.contracts.precompile.codec.EncodingFacade;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.BurnPrecompile;
+import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompileFeeMemo;
 import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompilePricingUtils;
 import com.hedera.node.app.service.mono.store.models.NftId;
 import com.hedera.node.app.service.mono.txns.token.BurnLogic;
@@ -141,6 +142,7 @@ class BurnPrecompilesTest {
     @Mock private HbarCentExchange exchange;
     @Mock private ExchangeRate exchangeRate;
     @Mock private AccessorFactory accessorFactory;
+    @Mock private PrecompileFeeMemo feeMemo;
 
     private static final long TEST_SERVICE_FEE = 5_000_000;
     private static final long TEST_NETWORK_FEE = 400_000;
@@ -182,7 +184,8 @@ class BurnPrecompilesTest {
                         () -> feeCalculator,
                         resourceCosts,
                         stateView,
-                        accessorFactory);
+                        accessorFactory,
+                        feeMemo);
         subject =
                 new HTSPrecompiledContract(
                         dynamicProperties,
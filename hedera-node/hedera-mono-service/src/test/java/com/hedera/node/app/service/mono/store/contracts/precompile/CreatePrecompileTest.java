@@ -102,6 +102,7 @@ import com.hedera.node.app.service.mono.store.contracts.precompile.codec.KeyValu
 import com.hedera.node.app.service.mono.store.contracts.precompile.codec.TokenCreateWrapper;
 import com.hedera.node.app.service.mono.store.contracts.precompile.codec.TokenKeyWrapper;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.TokenCreatePrecompile;
+import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompileFeeMemo;
 import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompilePricingUtils;
 import com.hedera.node.app.service.mono.store.models.Id;
 import com.hedera.node.app.service.mono.store.models.NftId;
@@ -177,6 +178,7 @@ class CreatePrecompileTest {
     @Mock private AssetsLoader assetLoader;
     @Mock private HbarCentExchange exchange;
     @Mock private AccessorFactory accessorFactory;
+    @Mock private PrecompileFeeMemo feeMemo;
 
     private HTSPrecompiledContract subject;
     private UpdateTrackingLedgerAccount senderMutableAccount;
@@ -260,7 +262,8 @@ class CreatePrecompileTest {
                         () -> feeCalculator,
                         resourceCosts,
                         stateView,
-                        accessorFactory);
+                        accessorFactory,
+                        feeMemo);
         subject =
                 new HTSPrecompiledContract(
                         dynamicProperties,
@@ -58,6 +58,7 @@ import com.hedera.node.app.service.mono.store.contracts.HederaStackedWorldStateU
 import com.hedera.node.app.service.mono.store.contracts.WorldLedgers;
 import com.hedera.node.app.service.mono.store.contracts.precompile.codec.EncodingFacade;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.DeleteTokenPrecompile;
+import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompileFeeMemo;
 import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompilePricingUtils;
 import com.hedera.node.app.service.mono.store.models.NftId;
 import com.hedera.node.app.service.mono.txns.token.DeleteLogic;
@@ -117,6 +118,7 @@ class DeleteTokenPrecompileTest {
     @Mock private TransactionalLedger<TokenID, TokenProperty, MerkleToken> tokens;
     @Mock private TransactionalLedger<NftId, NftProperty, UniqueTokenAdapter> nfts;
     @Mock private AccessorFactory accessorFactory;
+    @Mock private PrecompileFeeMemo feeMemo;
 
     @Mock
     private TransactionalLedger<Pair<AccountID, TokenID>, TokenRelProperty, HederaTokenRel>
@@ -150,7 +152,8 @@ class DeleteTokenPrecompileTest {
                         () -> feeCalculator,
                         resourceCosts,
                         stateView,
-                        accessorFactory);
+                        accessorFactory,
+                        feeMemo);
         subject =
                 new HTSPrecompiledContract(
                         dynamicProperties,
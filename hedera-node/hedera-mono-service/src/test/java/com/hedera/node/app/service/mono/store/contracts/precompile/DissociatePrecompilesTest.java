@@ -64,6 +64,7 @@ import com.hedera.node.app.service.mono.store.contracts.WorldLedgers;
 import com.hedera.node.app.service.mono.store.contracts.precompile.codec.EncodingFacade;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.DissociatePrecompile;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.MultiDissociatePrecompile;
+import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompileFeeMemo;
 import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompilePricingUtils;
 import com.hedera.node.app.service.mono.store.models.NftId;
 import com.hedera.node.app.service.mono.txns.token.DissociateLogic;
@@ -124,6 +125,7 @@ class DissociatePrecompilesTest {
     @Mock private WorldLedgers wrappedLedgers;
     @Mock private TransactionalLedger<NftId, NftProperty, UniqueTokenAdapter> nfts;
     @Mock private AccessorFactory accessorFactory;
+    @Mock private PrecompileFeeMemo feeMemo;
 
     @Mock
     private TransactionalLedger<Pair<AccountID, TokenID>, TokenRelProperty, HederaTokenRel>
@@ -178,7 +180,8 @@ class DissociatePrecompilesTest {
                         () -> feeCalculator,
                         resourceCosts,
                         stateView,
-                        accessorFactory);
+                        accessorFactory,
+                        feeMemo);
         subject =
                 new HTSPrecompiledContract(
                         dynamicProperties,
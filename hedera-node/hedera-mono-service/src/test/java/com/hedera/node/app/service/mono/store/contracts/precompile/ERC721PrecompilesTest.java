@@ -126,6 +126,7 @@ import com.hedera.node.app.service.mono.store.contracts.precompile.impl.IsApprov
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.OwnerOfPrecompile;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.SetApprovalForAllPrecompile;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.TokenURIPrecompile;
+import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompileFeeMemo;
 import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompilePricingUtils;
 import com.hedera.node.app.service.mono.store.models.Account;
 import com.hedera.node.app.service.mono.store.models.NftId;
@@ -221,6 +222,7 @@ class ERC721PrecompilesTest {
     @Mock private HbarCentExchange exchange;
     @Mock private ExchangeRate exchangeRate;
     @Mock private AccessorFactory accessorFactory;
+    @Mock private PrecompileFeeMemo feeMemo;
     @Mock private Account account;
 
     private static final int CENTS_RATE = 12;
@@ -246,7 +248,8 @@ class ERC721PrecompilesTest {
                         () -> feeCalculator,
                         resourceCosts,
                         stateView,
-                        accessorFactory);
+                        accessorFactory,
+                        feeMemo);
         subject =
                 new HTSPrecompiledContract(
                         dynamicProperties,
@@ -50,6 +50,7 @@ import com.hedera.node.app.service.mono.store.contracts.WorldLedgers;
 import com.hedera.node.app.service.mono.store.contracts.precompile.codec.EncodingFacade;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.GetTokenTypePrecompile;
 import com.hedera.node.app.service.mono.store.contracts.precompile.impl.IsTokenPrecompile;
+import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompileFeeMemo;
 import com.hedera.node.app.service.mono.store.contracts.precompile.utils.PrecompilePricingUtils;
 import com.hedera.node.app.service.mono.store.models.Id;
 import com.hedera.node.app.service.mono.utils.EntityNum;
@@ -76,6 +77,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class TokenPrecompileReadOperationsTest {
     @Mock private GlobalDynamicProperties dynamicProperties;
+    @Mock private PrecompileFeeMemo feeMemo;
     @Mock private GasCalculator gasCalculator;
     @Mock private MessageFrame frame;
     @Mock private TxnAwareEvmSigsVerifier sigsVerifier;
@@ -112,7 +114,8 @@ class TokenPrecompileReadOperationsTest {
                         () -> feeCalculator,
                         resourceCosts,
                         stateView,
-                        new AccessorFactory(dynamicProperties));
+                        new AccessorFactory(dynamicProperties),
+                        feeMemo);
         subject =
                 new HTSPrecompiledContract(
                         dynamicProperties,
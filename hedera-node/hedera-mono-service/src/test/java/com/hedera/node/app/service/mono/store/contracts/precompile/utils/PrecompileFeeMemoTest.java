@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.store.contracts.precompile.utils;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hedera.node.app.hapi.utils.fee.FeeObject;
+import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.fees.HbarCentExchange;
+import com.hedera.node.app.service.mono.fees.calculation.UsagePricesProvider;
+import com.hedera.node.app.service.mono.fees.congestion.FeeMultiplierSource;
+import com.hedera.node.app.service.mono.store.contracts.precompile.Precompile;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.ExchangeRate;
+import com.hederahashgraph.api.proto.java.FeeData;
+import com.hederahashgraph.api.proto.java.SubType;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TokenAssociateTransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import java.time.Instant;
+import java.util.Map;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PrecompileFeeMemoTest {
+    private static final Instant now = Instant.ofEpochSecond(1_234_567L);
+    private static final Timestamp validStart =
+            Timestamp.newBuilder().setSeconds(1_234_567L).build();
+    private static final Map<SubType, FeeData> prices =
+            Map.of(SubType.DEFAULT, FeeData.getDefaultInstance());
+    private static final ExchangeRate rate =
+            ExchangeRate.newBuilder().setHbarEquiv(1).setCentEquiv(12).build();
+
+    @Mock private HbarCentExchange exchange;
+    @Mock private UsagePricesProvider resourceCosts;
+    @Mock private FeeMultiplierSource feeMultiplierSource;
+    @Mock private GlobalDynamicProperties dynamicProperties;
+    @Mock private Precompile precompile;
+    @Mock private TxnAccessor accessor;
+
+    private PrecompileFeeMemo subject;
+
+    @BeforeEach
+    void setUp() {
+        subject =
+                new PrecompileFeeMemo(
+                        exchange, resourceCosts, feeMultiplierSource, dynamicProperties);
+    }
+
+    @Test
+    void noKeyForFunctionPricedFromState() {
+        final var body =
+                TransactionBody.newBuilder()
+                        .setTokenAssociate(TokenAssociateTransactionBody.getDefaultInstance())
+                        .build();
+
+        assertNull(subject.keyFor(body, precompile, now));
+        verifyNoInteractions(resourceCosts, exchange, dynamicProperties);
+    }
+
+    @Test
+    void noKeyForPrecompileWithImplicitCosts() {
+        given(precompile.hasImplicitCosts()).willReturn(true);
+
+        assertNull(subject.keyFor(aTransfer(1L), precompile, now));
+    }
+
+    @Test
+    void keyIgnoresTransactionId() {
+        givenPricingContext();
+
+        final var aKey = subject.keyFor(aTransfer(1L), precompile, now);
+        final var bKey = subject.keyFor(aTransfer(2L), precompile, now);
+
+        assertNotNull(aKey);
+        assertEquals(aKey, bKey);
+        assertEquals(prices, aKey.prices());
+        assertEquals(rate, aKey.rate());
+        assertEquals(1, aKey.tokenTransferUsageMultiplier());
+    }
+
+    @Test
+    void reappliesCurrentMultiplierToMemoizedFees() {
+        givenPricingContext();
+        final var key = subject.keyFor(aTransfer(1L), precompile, now);
+        given(feeMultiplierSource.currentMultiplier(accessor)).willReturn(2L, 3L);
+
+        assertEquals(OptionalLong.empty(), subject.totalFeeFor(key));
+        subject.memoize(key, accessor, new FeeObject(10, 20, 30));
+
+        assertEquals(OptionalLong.of(90), subject.totalFeeFor(key));
+    }
+
+    @Test
+    void missesIfScaledFeeWouldOverflow() {
+        givenPricingContext();
+        final var key = subject.keyFor(aTransfer(1L), precompile, now);
+        given(feeMultiplierSource.currentMultiplier(accessor)).willReturn(1L, 2L);
+
+        subject.memoize(key, accessor, new FeeObject(Long.MAX_VALUE / 2 + 1, 0, 0));
+
+        assertTrue(subject.totalFeeFor(key).isEmpty());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        given(resourceCosts.pricesGiven(CryptoTransfer, validStart)).willReturn(prices);
+        given(exchange.activeRate(now)).willReturn(rate);
+        given(feeMultiplierSource.currentMultiplier(any())).willReturn(1L);
+        final var fees = new FeeObject(1, 2, 3);
+
+        final var firstKey = subject.keyFor(aTransferOf(0L), precompile, now);
+        subject.memoize(firstKey, accessor, fees);
+        for (long i = 1; i <= PrecompileFeeMemo.MAX_ENTRIES; i++) {
+            subject.memoize(subject.keyFor(aTransferOf(i), precompile, now), accessor, fees);
+        }
+
+        assertEquals(PrecompileFeeMemo.MAX_ENTRIES, subject.size());
+        assertTrue(subject.totalFeeFor(firstKey).isEmpty());
+    }
+
+    private void givenPricingContext() {
+        given(resourceCosts.pricesGiven(CryptoTransfer, validStart)).willReturn(prices);
+        given(exchange.activeRate(now)).willReturn(rate);
+        given(dynamicProperties.feesTokenTransferUsageMultiplier()).willReturn(1);
+    }
+
+    private static TransactionBody aTransfer(final long payerNum) {
+        return TransactionBody.newBuilder()
+                .setTransactionID(
+                        TransactionID.newBuilder()
+                                .setAccountID(AccountID.newBuilder().setAccountNum(payerNum))
+                                .setTransactionValidStart(validStart))
+                .setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance())
+                .build();
+    }
+
+    private static TransactionBody aTransferOf(final long memo) {
+        return aTransfer(1L).toBuilder().setMemo(Long.toString(memo)).build();
+    }
+}
@@ -16,23 +16,34 @@
 package com.hedera.node.app.service.mono.store.contracts.precompile.utils;
 
 import static com.hedera.node.app.hapi.fees.pricing.FeeSchedules.USD_TO_TINYCENTS;
+import static com.hedera.node.app.service.mono.context.BasicTransactionContext.EMPTY_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import com.hedera.node.app.hapi.fees.pricing.AssetsLoader;
+import com.hedera.node.app.hapi.utils.fee.FeeObject;
 import com.hedera.node.app.service.mono.context.primitives.StateView;
 import com.hedera.node.app.service.mono.fees.FeeCalculator;
 import com.hedera.node.app.service.mono.fees.HbarCentExchange;
 import com.hedera.node.app.service.mono.fees.calculation.UsagePricesProvider;
+import com.hedera.node.app.service.mono.store.contracts.precompile.Precompile;
 import com.hedera.node.app.service.mono.utils.accessors.AccessorFactory;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
 import com.hederahashgraph.api.proto.java.ExchangeRate;
 import com.hederahashgraph.api.proto.java.HederaFunctionality;
 import com.hederahashgraph.api.proto.java.SubType;
 import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TransactionBody;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Map;
+import java.util.OptionalLong;
 import javax.inject.Provider;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,6 +56,13 @@ class PrecompilePricingUtilsTest {
     private static final long COST = 36;
     private static final int CENTS_RATE = 12;
     private static final int HBAR_RATE = 1;
+    private static final Instant now = Instant.ofEpochSecond(1_234_567L);
+    private static final PrecompileFeeMemo.Key memoKey =
+            new PrecompileFeeMemo.Key(
+                    TransactionBody.getDefaultInstance(),
+                    Map.of(),
+                    ExchangeRate.getDefaultInstance(),
+                    1);
     @Mock private AssetsLoader assetLoader;
     @Mock private HbarCentExchange exchange;
     @Mock private ExchangeRate exchangeRate;
@@ -52,6 +70,10 @@ class PrecompilePricingUtilsTest {
     @Mock private UsagePricesProvider resourceCosts;
     @Mock private StateView stateView;
     @Mock private AccessorFactory accessorFactory;
+    @Mock private PrecompileFeeMemo feeMemo;
+    @Mock private FeeCalculator calculator;
+    @Mock private Precompile precompile;
+    @Mock private TxnAccessor accessor;
 
     @Test
     void failsToLoadCanonicalPrices() throws IOException {
@@ -65,7 +87,8 @@ class PrecompilePricingUtilsTest {
                                 feeCalculator,
                                 resourceCosts,
                                 stateView,
-                                accessorFactory));
+                                accessorFactory,
+                                feeMemo));
     }
 
     @Test
@@ -87,7 +110,8 @@ class PrecompilePricingUtilsTest {
                         feeCalculator,
                         resourceCosts,
                         stateView,
-                        accessorFactory);
+                        accessorFactory,
+                        feeMemo);
 
         final long price =
                 subject.getMinimumPriceInTinybars(
@@ -99,4 +123,57 @@ class PrecompilePricingUtilsTest {
                         .longValue(),
                 price);
     }
+
+    @Test
+    void usesMemoizedFeeIfPresent() throws IOException {
+        given(assetLoader.loadCanonicalPrices()).willReturn(Map.of());
+        final var txBody = aCryptoTransfer();
+        given(feeMemo.keyFor(txBody.build(), precompile, now)).willReturn(memoKey);
+        given(feeMemo.totalFeeFor(memoKey)).willReturn(OptionalLong.of(COST));
+
+        final var subject =
+                new PrecompilePricingUtils(
+                        assetLoader,
+                        exchange,
+                        feeCalculator,
+                        resourceCosts,
+                        stateView,
+                        accessorFactory,
+                        feeMemo);
+
+        assertEquals(COST, subject.gasFeeInTinybars(txBody, now, precompile));
+        verifyNoInteractions(accessorFactory, feeCalculator);
+    }
+
+    @Test
+    void memoizesComputedFeeIfEligible() throws IOException {
+        given(assetLoader.loadCanonicalPrices()).willReturn(Map.of());
+        final var txBody = aCryptoTransfer();
+        final var fees = new FeeObject(1, 2, 3);
+        given(feeMemo.keyFor(txBody.build(), precompile, now)).willReturn(memoKey);
+        given(feeMemo.totalFeeFor(memoKey)).willReturn(OptionalLong.empty());
+        given(accessorFactory.uncheckedSpecializedAccessor(any())).willReturn(accessor);
+        given(feeCalculator.get()).willReturn(calculator);
+        given(calculator.computeFee(accessor, EMPTY_KEY, stateView, now))
+                .willReturn(fees);
+
+        final var subject =
+                new PrecompilePricingUtils(
+                        assetLoader,
+                        exchange,
+                        feeCalculator,
+                        resourceCosts,
+                        stateView,
+                        accessorFactory,
+                        feeMemo);
+
+        assertEquals(6, subject.gasFeeInTinybars(txBody, now, precompile));
+        verify(precompile).addImplicitCostsIn(accessor);
+        verify(feeMemo).memoize(memoKey, accessor, fees);
+    }
+
+    private static TransactionBody.Builder aCryptoTransfer() {
+        return TransactionBody.newBuilder()
+                .setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance());
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BlockCompressingOutputStreamTest {
+    private static final int BLOCK_SIZE = 1024;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rejectsNonPositiveBlockSize() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new BlockCompressingOutputStream(0, true, executor));
+    }
+
+    @Test
+    void concatenatedMembersDecompressToWrittenBytes() throws IOException {
+        final var subject = new BlockCompressingOutputStream(BLOCK_SIZE, true, executor);
+        final var data = someBytes(10 * BLOCK_SIZE + 123);
+
+        writeInUnevenChunks(subject, data);
+
+        assertEquals(10, subject.numSealedBlocks());
+        final var sink = new ByteArrayOutputStream();
+        subject.writeTo(sink);
+        assertArrayEquals(data, gunzip(sink.toByteArray()));
+        assertEquals(0, subject.numSealedBlocks());
+    }
+
+    @Test
+    void compressesInlineWithoutExecutor() throws IOException {
+        final var subject = new BlockCompressingOutputStream(BLOCK_SIZE, true, null);
+        final var data = someBytes(3 * BLOCK_SIZE);
+
+        subject.write(data);
+
+        final var sink = new ByteArrayOutputStream();
+        subject.writeTo(sink);
+        assertArrayEquals(data, gunzip(sink.toByteArray()));
+    }
+
+    @Test
+    void writesBlocksAsIsWhenNotCompressing() throws IOException {
+        final var subject = new BlockCompressingOutputStream(BLOCK_SIZE, false, executor);
+        final var data = someBytes(2 * BLOCK_SIZE + 1);
+
+        writeInUnevenChunks(subject, data);
+
+        final var sink = new ByteArrayOutputStream();
+        subject.writeTo(sink);
+        assertArrayEquals(data, sink.toByteArray());
+    }
+
+    @Test
+    void emptyCompressedStreamIsStillValidGzip() throws IOException {
+        final var subject = new BlockCompressingOutputStream(BLOCK_SIZE, true, executor);
+
+        final var sink = new ByteArrayOutputStream();
+        subject.writeTo(sink);
+
+        assertArrayEquals(new byte[0], gunzip(sink.toByteArray()));
+    }
+
+    @Test
+    void discardDropsEverythingWritten() throws IOException {
+        final var subject = new BlockCompressingOutputStream(BLOCK_SIZE, true, executor);
+        subject.write(someBytes(5 * BLOCK_SIZE + 7));
+
+        subject.discard();
+        final var data = someBytes(BLOCK_SIZE / 2);
+        subject.write(data);
+
+        final var sink = new ByteArrayOutputStream();
+        subject.writeTo(sink);
+        assertArrayEquals(data, gunzip(sink.toByteArray()));
+    }
+
+    @Test
+    void propagatesSinkFailureAfterCompressingOffThread() {
+        final var subject =
+                new BlockCompressingOutputStream(
+                        BLOCK_SIZE, true, runnable -> new Thread(runnable).start());
+        final var sink =
+                new ByteArrayOutputStream() {
+                    @Override
+                    public void write(final byte[] b) throws IOException {
+                        throw new IOException("Disk full");
+                    }
+                };
+        subject.write(someBytes(BLOCK_SIZE), 0, BLOCK_SIZE);
+
+        final var e = assertThrows(IOException.class, () -> subject.writeTo(sink));
+        assertEquals("Disk full", e.getMessage());
+    }
+
+    @Test
+    void gzipsSingleMember() throws IOException {
+        final var data = someBytes(100);
+
+        assertArrayEquals(data, gunzip(BlockCompressingOutputStream.gzip(data)));
+    }
+
+    private static void writeInUnevenChunks(
+            final BlockCompressingOutputStream subject, final byte[] data) {
+        var i = 0;
+        var chunk = 1;
+        while (i < data.length) {
+            final var n = Math.min(chunk, data.length - i);
+            if (n == 1) {
+                subject.write(data[i]);
+            } else {
+                subject.write(data, i, n);
+            }
+            i += n;
+            chunk = chunk * 3 % 2_000 + 1;
+        }
+    }
+
+    private static byte[] someBytes(final int n) {
+        final var bytes = new byte[n];
+        new Random(n).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] gunzip(final byte[] compressed) throws IOException {
+        try (final var in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
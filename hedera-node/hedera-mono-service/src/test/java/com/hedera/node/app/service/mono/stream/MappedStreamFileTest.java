@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import static com.hedera.node.app.hapi.utils.exports.FileCompressionUtils.COMPRESSION_ALGORITHM_EXTENSION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.primitives.Ints;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.services.stream.proto.ContractBytecode;
+import com.hedera.services.stream.proto.HashObject;
+import com.hedera.services.stream.proto.RecordStreamFile;
+import com.hedera.services.stream.proto.RecordStreamItem;
+import com.hedera.services.stream.proto.SidecarFile;
+import com.hedera.services.stream.proto.TransactionSidecarRecord;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MappedStreamFileTest {
+    private static final int NUM_ITEMS = 10;
+    private static final Instant t0 = Instant.ofEpochSecond(1_666_000_000L, 123);
+
+    @TempDir private File dir;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void seeksRecordItemsWithAndWithoutIndexFile(final boolean compressed) throws IOException {
+        final var items = someItems();
+        final var path = writeRecordFile("record.rcd", items, compressed);
+
+        final var unindexed = MappedStreamFile.open(MappedStreamFile.Kind.RECORD, path);
+        assertSeeksMatch(items, unindexed);
+
+        unindexed.index().writeTo(dir.toPath().resolve("record.rcd.idx"));
+        final var indexed = MappedStreamFile.open(MappedStreamFile.Kind.RECORD, path);
+        assertSeeksMatch(items, indexed);
+    }
+
+    @Test
+    void iteratesMappedItemsWithoutCopying() throws IOException {
+        final var items = someItems();
+        final var path = writeRecordFile("record.rcd", items, false);
+        final var subject = MappedStreamFile.open(MappedStreamFile.Kind.RECORD, path);
+
+        final var streamed = new ArrayList<RecordStreamItem>();
+        subject.forEachItem(
+                item -> {
+                    assertTrue(item.isDirect());
+                    assertTrue(item.isReadOnly());
+                    streamed.add(parse(item));
+                });
+
+        assertEquals(items, streamed);
+    }
+
+    @Test
+    void streamsOnlyItemsInTimeRange() throws IOException {
+        final var items = someItems();
+        final var path = writeRecordFile("record.rcd", items, true);
+        final var subject = MappedStreamFile.open(MappedStreamFile.Kind.RECORD, path);
+
+        final var inRange = new ArrayList<RecordStreamItem>();
+        subject.forEachItemBetween(
+                t0.plusSeconds(3), t0.plusSeconds(7), item -> inRange.add(parse(item)));
+
+        assertEquals(items.subList(3, 7), inRange);
+    }
+
+    @Test
+    void readsSidecarRecords() throws IOException {
+        final var sidecars = new ArrayList<TransactionSidecarRecord>();
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            sidecars.add(
+                    TransactionSidecarRecord.newBuilder()
+                            .setConsensusTimestamp(timestampOf(t0.plusSeconds(i / 2)))
+                            .setBytecode(
+                                    ContractBytecode.newBuilder()
+                                            .setInitcode(ByteString.copyFrom(new byte[i * 100])))
+                            .build());
+        }
+        final var bytes = SidecarFile.newBuilder().addAllSidecarRecords(sidecars).build();
+        final var subject =
+                MappedStreamFile.wrap(
+                        MappedStreamFile.Kind.SIDECAR, ByteBuffer.wrap(bytes.toByteArray()), null);
+
+        assertEquals(NUM_ITEMS, subject.numItems());
+        assertEquals(4, subject.indexOf(t0.plusSeconds(2)));
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            assertEquals(
+                    sidecars.get(i), MappedStreamFile.parseSidecarRecord(subject.itemBytes(i)));
+        }
+    }
+
+    @Test
+    void rejectsMalformedContents() {
+        final var subject =
+                MappedStreamFile.wrap(
+                        MappedStreamFile.Kind.SIDECAR,
+                        ByteBuffer.wrap(new byte[] {0x0a, 0x7f, 0x01}),
+                        null);
+
+        assertThrows(UncheckedIOException.class, () -> subject.forEachItem(item -> {}));
+        assertThrows(
+                InvalidProtocolBufferException.class,
+                () -> MappedStreamFile.parseRecordStreamItem(ByteBuffer.wrap(new byte[] {0x0a})));
+    }
+
+    private void assertSeeksMatch(
+            final List<RecordStreamItem> items, final MappedStreamFile subject)
+            throws InvalidProtocolBufferException {
+        assertEquals(items.size(), subject.numItems());
+        for (int i = 0; i < items.size(); i++) {
+            final var consensusTime = t0.plusSeconds(i);
+            assertEquals(i, subject.indexOf(consensusTime));
+            assertEquals(consensusTime, subject.consensusTimeOf(i));
+            assertEquals(
+                    items.get(i), MappedStreamFile.parseRecordStreamItem(subject.itemBytes(i)));
+        }
+        assertEquals(-1, subject.indexOf(t0.minusNanos(1)));
+    }
+
+    private Path writeRecordFile(
+            final String name, final List<RecordStreamItem> items, final boolean compressed)
+            throws IOException {
+        final var contents = new ByteArrayOutputStream();
+        contents.write(Ints.toByteArray(6));
+        RecordStreamFile.newBuilder()
+                .setStartObjectRunningHash(HashObject.newBuilder().setLength(48))
+                .addAllRecordStreamItems(items)
+                .setEndObjectRunningHash(HashObject.newBuilder().setLength(48))
+                .setBlockNumber(666L)
+                .build()
+                .writeTo(contents);
+        if (!compressed) {
+            final var path = dir.toPath().resolve(name);
+            Files.write(path, contents.toByteArray());
+            return path;
+        }
+        final var path = dir.toPath().resolve(name + COMPRESSION_ALGORITHM_EXTENSION);
+        try (final var out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            contents.writeTo(out);
+        }
+        return path;
+    }
+
+    private static List<RecordStreamItem> someItems() {
+        final var items = new ArrayList<RecordStreamItem>();
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            items.add(
+                    RecordStreamItem.newBuilder()
+                            .setTransaction(
+                                    Transaction.newBuilder()
+                                            .setSignedTransactionBytes(
+                                                    ByteString.copyFromUtf8("txn #" + i)))
+                            .setRecord(
+                                    TransactionRecord.newBuilder()
+                                            .setConsensusTimestamp(timestampOf(t0.plusSeconds(i))))
+                            .build());
+        }
+        return items;
+    }
+
+    private static RecordStreamItem parse(final ByteBuffer item) {
+        try {
+            return MappedStreamFile.parseRecordStreamItem(item);
+        } catch (final InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Timestamp timestampOf(final Instant instant) {
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+}
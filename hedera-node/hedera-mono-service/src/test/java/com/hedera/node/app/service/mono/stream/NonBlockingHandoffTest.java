@@ -15,14 +15,26 @@
  */
 package com.hedera.node.app.service.mono.stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
+import com.hedera.node.app.service.mono.stats.MiscRunningAvgs;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -34,6 +46,7 @@ class NonBlockingHandoffTest {
     @Mock private ExecutorService executorService;
     @Mock private RecordStreamManager recordStreamManager;
     @Mock private NodeLocalProperties nodeLocalProperties;
+    @Mock private MiscRunningAvgs runningAvgs;
 
     private NonBlockingHandoff subject;
 
@@ -41,7 +54,7 @@ class NonBlockingHandoffTest {
     void handoffWorksAsExpected() {
         given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
         // and:
-        subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties);
+        subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties, runningAvgs);
 
         // when:
         assertTrue(subject.offer(rso));
@@ -57,11 +70,87 @@ class NonBlockingHandoffTest {
         }
     }
 
+    @ParameterizedTest
+    @EnumSource(NonBlockingHandoff.WaitStrategy.class)
+    void ringBufferHandoffPreservesOrder(final NonBlockingHandoff.WaitStrategy waitStrategy)
+            throws InterruptedException {
+        given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
+        given(nodeLocalProperties.recordStreamHandoffUsesRingBuffer()).willReturn(true);
+        given(nodeLocalProperties.recordStreamHandoffWaitStrategy())
+                .willReturn(waitStrategy.name());
+        final List<RecordStreamObject> received = new ArrayList<>();
+        subject = new NonBlockingHandoff(received::add, nodeLocalProperties, runningAvgs);
+
+        final var numRecords = 20_000;
+        final List<RecordStreamObject> sent = new ArrayList<>();
+        for (int i = 0; i < numRecords; i++) {
+            final var next = new RecordStreamObject();
+            sent.add(next);
+            while (!subject.offer(next)) {
+                // Cannot proceed until we have handed off the record.
+            }
+        }
+        verify(runningAvgs, timeout(5_000).times(numRecords))
+                .handoffOccupancyRecordStream(anyInt());
+        subject.getShutdownHook().run();
+
+        assertTrue(subject.getExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(numRecords, received.size());
+        for (int i = 0; i < numRecords; i++) {
+            assertEquals(sent.get(i), received.get(i));
+        }
+    }
+
+    @Test
+    void ringBufferRejectsOffersWhenFullAndReportsStall() {
+        given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
+        given(nodeLocalProperties.recordStreamHandoffUsesRingBuffer()).willReturn(true);
+        given(nodeLocalProperties.recordStreamHandoffWaitStrategy()).willReturn("PARK");
+        final var blocked = new Object();
+        subject =
+                new NonBlockingHandoff(
+                        ignore -> {
+                            synchronized (blocked) {
+                                // hold the consumer here while the producer fills the buffer
+                            }
+                        },
+                        nodeLocalProperties,
+                        runningAvgs);
+
+        var numAccepted = 0;
+        synchronized (blocked) {
+            while (subject.offer(rso)) {
+                numAccepted++;
+            }
+            assertFalse(subject.offer(rso));
+        }
+        assertTrue(numAccepted >= 8192);
+
+        while (!subject.offer(rso)) {
+            // wait for the consumer to make room
+        }
+        verify(runningAvgs).handoffStallMicrosRecordStream(anyLong());
+        subject.getExecutor().shutdownNow();
+    }
+
+    @Test
+    void rejectsUnknownWaitStrategy() {
+        given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
+        given(nodeLocalProperties.recordStreamHandoffUsesRingBuffer()).willReturn(true);
+        given(nodeLocalProperties.recordStreamHandoffWaitStrategy()).willReturn("YIELD");
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new NonBlockingHandoff(
+                                recordStreamManager, nodeLocalProperties, runningAvgs));
+    }
+
     @Test
     void shutdownHookWorksAsExpected() {
         given(nodeLocalProperties.recordStreamQueueCapacity()).willReturn(mockCap);
         // and:
-        subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties);
+        subject = new NonBlockingHandoff(recordStreamManager, nodeLocalProperties, runningAvgs);
         // and:
         subject.setExecutor(executorService);
 
@@ -27,13 +27,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
 import com.hedera.node.app.hapi.utils.exports.recordstreaming.RecordStreamingUtils;
 import com.hedera.node.app.service.mono.config.MockGlobalDynamicProps;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
@@ -71,6 +71,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
@@ -110,6 +111,8 @@ class RecordStreamFileWriterTest {
                         streamType,
                         expectedExportDir(),
                         maxSidecarFileSize,
+                        compressionThreads,
+                        true,
                         globalDynamicProperties);
         messageDigest = MessageDigest.getInstance(DigestType.SHA_384.algorithmName());
         messageDigest.digest("yumyum".getBytes(StandardCharsets.UTF_8));
@@ -530,6 +533,12 @@ class RecordStreamFileWriterTest {
                 sidecarIdToExpectedSidecarTypes,
                 sidecarIdToExpectedSidecars,
                 isCompressed);
+        assertIndexedReadsMatch(
+                MappedStreamFile.Kind.RECORD,
+                recordStreamFilePath,
+                isCompressed,
+                recordStreamFile.getRecordStreamItemsList(),
+                blockRSOs.stream().map(RecordStreamObject::getTimestamp).toList());
         assertSignatureFile(
                 recordStreamFilePath,
                 expectedEntireFileSignature,
@@ -619,6 +628,23 @@ class RecordStreamFileWriterTest {
             assertAllSidecarsAreInFile(
                     sidecarIdToExpectedSidecars.get(sidecarId),
                     sidecarFileProto.getSidecarRecordsList());
+            assertIndexedReadsMatch(
+                    MappedStreamFile.Kind.SIDECAR,
+                    isCompressed
+                            ? pathToSidecarFile.substring(
+                                    0,
+                                    pathToSidecarFile.length()
+                                            - COMPRESSION_ALGORITHM_EXTENSION.length())
+                            : pathToSidecarFile,
+                    isCompressed,
+                    sidecarFileProto.getSidecarRecordsList(),
+                    sidecarFileProto.getSidecarRecordsList().stream()
+                            .map(
+                                    sidecar ->
+                                            Instant.ofEpochSecond(
+                                                    sidecar.getConsensusTimestamp().getSeconds(),
+                                                    sidecar.getConsensusTimestamp().getNanos()))
+                            .toList());
             final var sidecarFile = new File(pathToSidecarFile);
             assertFalse(sidecarFile.length() > maxSidecarFileSize);
             final var messageDigest = MessageDigest.getInstance(DigestType.SHA_384.algorithmName());
@@ -641,6 +667,33 @@ class RecordStreamFileWriterTest {
                         .contains("Stream file written successfully " + recordFile.getName()));
     }
 
+    private void assertIndexedReadsMatch(
+            final MappedStreamFile.Kind kind,
+            final String uncompressedPath,
+            final boolean isCompressed,
+            final List<? extends Message> expectedItems,
+            final List<Instant> expectedConsensusTimes)
+            throws IOException {
+        assertTrue(new File(StreamFileIndex.indexFilePathFor(uncompressedPath)).exists());
+        final var file =
+                MappedStreamFile.open(
+                        kind,
+                        Paths.get(
+                                isCompressed
+                                        ? uncompressedPath + COMPRESSION_ALGORITHM_EXTENSION
+                                        : uncompressedPath));
+        assertEquals(expectedItems.size(), file.numItems());
+        for (int i = 0; i < expectedItems.size(); i++) {
+            assertEquals(expectedConsensusTimes.get(i), file.consensusTimeOf(i));
+            final var itemBytes = file.itemBytes(i);
+            assertEquals(
+                    expectedItems.get(i),
+                    kind == MappedStreamFile.Kind.RECORD
+                            ? MappedStreamFile.parseRecordStreamItem(itemBytes)
+                            : MappedStreamFile.parseSidecarRecord(itemBytes));
+        }
+    }
+
     private void assertAllSidecarsAreInFile(
             final List<TransactionSidecarRecord.Builder> expectedSidecars,
             final List<TransactionSidecarRecord> actualSidecars) {
@@ -904,12 +957,12 @@ class RecordStreamFileWriterTest {
         final var firstBlockRSOs =
                 generateNRecordStreamObjectsForBlockMStartingFromT(
                         1, 1, firstTransactionInstant, allSidecarTypes);
-        firstBlockRSOs.forEach(subject::addObject);
 
-        try (MockedConstruction<SerializableDataOutputStream> ignored =
+        try (MockedConstruction<SidecarFileStream> ignored =
                 Mockito.mockConstruction(
-                        SerializableDataOutputStream.class,
-                        (mock, context) -> doThrow(IOException.class).when(mock).write(any()))) {
+                        SidecarFileStream.class,
+                        (mock, context) -> doThrow(IOException.class).when(mock).close())) {
+            firstBlockRSOs.forEach(subject::addObject);
             subject.closeCurrentAndSign();
             assertTrue(Thread.currentThread().isInterrupted());
             assertThat(
@@ -924,26 +977,25 @@ class RecordStreamFileWriterTest {
     @Test
     void interruptThreadAndLogWhenIOExceptionIsCaughtWhileWritingRecordFile() {
         given(streamType.getFileHeader()).willReturn(FILE_HEADER_VALUES);
+        given(streamType.getExtension()).willReturn(RecordStreamType.RECORD_EXTENSION);
         final var firstTransactionInstant =
                 LocalDateTime.of(2022, 1, 3, 21, 2, 55).toInstant(ZoneOffset.UTC);
         final var firstBlockRSOs =
                 generateNRecordStreamObjectsForBlockMStartingFromT(
                         1, 1, firstTransactionInstant, Collections.emptyList());
         firstBlockRSOs.forEach(subject::addObject);
+        // a directory in place of the record file makes opening it fail
+        final var recordFilePath = subject.generateRecordFilePath(firstTransactionInstant);
+        assertTrue(new File(recordFilePath).mkdirs());
 
-        try (MockedConstruction<SerializableDataOutputStream> ignored =
-                Mockito.mockConstruction(
-                        SerializableDataOutputStream.class,
-                        (mock, context) ->
-                                doThrow(IOException.class).when(mock).writeInt(anyInt()))) {
-            subject.closeCurrentAndSign();
-            assertTrue(Thread.currentThread().isInterrupted());
-            assertThat(
-                    logCaptor.warnLogs(),
-                    contains(
-                            Matchers.startsWith(
-                                    "closeCurrentAndSign :: IOException when serializing ")));
-        }
+        subject.closeCurrentAndSign();
+
+        assertTrue(Thread.currentThread().isInterrupted());
+        assertThat(
+                logCaptor.warnLogs(),
+                contains(
+                        Matchers.startsWith(
+                                "closeCurrentAndSign :: IOException when serializing ")));
     }
 
     @Test
@@ -963,10 +1015,10 @@ class RecordStreamFileWriterTest {
         final var firstBlockRSOs =
                 generateNRecordStreamObjectsForBlockMStartingFromT(
                         1, 1, firstTransactionInstant, List.of(bigSidecar1, bigSidecar2));
-        try (MockedConstruction<SerializableDataOutputStream> ignored =
+        try (MockedConstruction<SidecarFileStream> ignored =
                 Mockito.mockConstruction(
-                        SerializableDataOutputStream.class,
-                        (mock, context) -> doThrow(IOException.class).when(mock).write(any()))) {
+                        SidecarFileStream.class,
+                        (mock, context) -> doThrow(IOException.class).when(mock).append(any()))) {
 
             // when
             firstBlockRSOs.forEach(subject::addObject);
@@ -1187,6 +1239,7 @@ class RecordStreamFileWriterTest {
 
     private static final long logPeriodMs = 2000L;
     private static final int maxSidecarFileSize = MB_TO_BYTES;
+    private static final int compressionThreads = 2;
     private static final int RECORD_STREAM_VERSION = 6;
     private static final int[] FILE_HEADER_VALUES = {
         RECORD_STREAM_VERSION,
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.google.protobuf.ByteString;
+import com.hedera.services.stream.proto.ContractBytecode;
+import com.hedera.services.stream.proto.SidecarFile;
+import com.hedera.services.stream.proto.TransactionSidecarRecord;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SidecarFileStreamTest {
+    @TempDir private File dir;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void streamedFileMatchesSerializedSidecarFile(final boolean compress)
+            throws IOException, NoSuchAlgorithmException {
+        final var sidecars = List.of(sidecarWith(1, 100), sidecarWith(2, 0), sidecarWith(3, 5000));
+        final var expected = SidecarFile.newBuilder().addAllSidecarRecords(sidecars).build();
+        final var digest = MessageDigest.getInstance("SHA-384");
+        final var file = new File(dir, "sidecar");
+
+        final var subject = new SidecarFileStream(file, compress, digest);
+        var expectedSize = 0L;
+        for (final var sidecar : sidecars) {
+            expectedSize += SidecarFileStream.sizeInFileOf(sidecar);
+            subject.append(sidecar);
+            assertEquals(expectedSize, subject.bytesWritten());
+        }
+        subject.close();
+
+        final var expectedBytes = expected.toByteArray();
+        assertEquals(expectedBytes.length, expectedSize);
+        assertArrayEquals(expectedBytes, contentsOf(file, compress));
+        assertArrayEquals(
+                MessageDigest.getInstance("SHA-384").digest(expectedBytes), digest.digest());
+        assertEquals(file, subject.file());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void emptyFileIsEmptySidecarFile(final boolean compress)
+            throws IOException, NoSuchAlgorithmException {
+        final var file = new File(dir, "empty");
+
+        final var subject =
+                new SidecarFileStream(file, compress, MessageDigest.getInstance("SHA-384"));
+        subject.close();
+
+        assertEquals(0, subject.bytesWritten());
+        assertEquals(0, contentsOf(file, compress).length);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void abandonDeletesPartialFile(final boolean compress)
+            throws IOException, NoSuchAlgorithmException {
+        final var file = new File(dir, "abandoned");
+
+        final var subject =
+                new SidecarFileStream(file, compress, MessageDigest.getInstance("SHA-384"));
+        subject.append(sidecarWith(1, 10));
+        subject.abandon();
+
+        assertFalse(file.exists());
+    }
+
+    private static byte[] contentsOf(final File file, final boolean compressed)
+            throws IOException {
+        try (final var in = new FileInputStream(file)) {
+            return compressed ? new GZIPInputStream(in).readAllBytes() : in.readAllBytes();
+        }
+    }
+
+    private static TransactionSidecarRecord sidecarWith(final long seconds, final int codeSize) {
+        return TransactionSidecarRecord.newBuilder()
+                .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(seconds))
+                .setBytecode(
+                        ContractBytecode.newBuilder()
+                                .setRuntimeBytecode(ByteString.copyFrom(new byte[codeSize])))
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SpscRingBufferTest {
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(1, new SpscRingBuffer<>(1).capacity());
+        assertEquals(8, new SpscRingBuffer<>(5).capacity());
+        assertEquals(8, new SpscRingBuffer<>(8).capacity());
+        assertEquals(8192, new SpscRingBuffer<>(5_000).capacity());
+    }
+
+    @Test
+    void rejectsInvalidCapacities() {
+        assertThrows(IllegalArgumentException.class, () -> new SpscRingBuffer<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new SpscRingBuffer<>((1 << 30) + 1));
+    }
+
+    @Test
+    void offersUntilFullAndPollsInOrder() {
+        final var subject = new SpscRingBuffer<Integer>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(subject.offer(i));
+        }
+        assertFalse(subject.offer(4));
+        assertEquals(4, subject.size());
+
+        assertEquals(0, subject.poll());
+        assertTrue(subject.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, subject.poll());
+        }
+        assertNull(subject.poll());
+        assertEquals(0, subject.size());
+    }
+
+    @Test
+    void handsOffEverythingInOrderAcrossThreads() throws InterruptedException {
+        final var subject = new SpscRingBuffer<Long>(16);
+        final var numElements = 200_000L;
+        final var nextExpected = new AtomicLong();
+        final var consumer =
+                new Thread(
+                        () -> {
+                            while (nextExpected.get() < numElements) {
+                                final var e = subject.poll();
+                                if (e == null) {
+                                    Thread.onSpinWait();
+                                } else if (e == nextExpected.get()) {
+                                    nextExpected.incrementAndGet();
+                                } else {
+                                    return;
+                                }
+                            }
+                        });
+        consumer.start();
+
+        for (long i = 0; i < numElements; i++) {
+            while (!subject.offer(i)) {
+                Thread.onSpinWait();
+            }
+        }
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals(numElements, nextExpected.get());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StreamFileIndexTest {
+    private static final Instant t0 = Instant.ofEpochSecond(1_234_567L, 890);
+
+    @TempDir private File dir;
+
+    @Test
+    void findsEntriesByConsensusTime() {
+        final var subject = someIndex();
+
+        assertEquals(4, subject.size());
+        assertEquals(0, subject.indexOf(t0));
+        assertEquals(1, subject.indexOf(t0.plusNanos(1)));
+        assertEquals(-1, subject.indexOf(t0.plusNanos(2)));
+        assertEquals(3, subject.indexOf(t0.plusSeconds(1)));
+        assertEquals(0, subject.firstAtOrAfter(t0.minusNanos(1)));
+        assertEquals(3, subject.firstAtOrAfter(t0.plusNanos(2)));
+        assertEquals(4, subject.firstAtOrAfter(t0.plusSeconds(2)));
+        assertEquals(t0.plusSeconds(1), subject.consensusTimeAt(3));
+        assertEquals(40, subject.offsetAt(1));
+        assertEquals(7, subject.lengthAt(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> subject.offsetAt(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> subject.lengthAt(-1));
+    }
+
+    @Test
+    void refusesEntriesOutOfConsensusOrder() {
+        final var builder = new StreamFileIndex.Builder(1);
+
+        assertTrue(builder.add(t0, 4, 10));
+        assertFalse(builder.add(t0.minusNanos(1), 14, 10));
+        assertFalse(builder.add(t0, Integer.MAX_VALUE + 1L, 10));
+        assertEquals(1, builder.size());
+    }
+
+    @Test
+    void roundTripsThroughFile() throws IOException {
+        final var path = new File(dir, "index").toPath();
+        final var expected = someIndex();
+
+        expected.writeTo(path);
+        final var actual = StreamFileIndex.readFrom(path);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.consensusTimeAt(i), actual.consensusTimeAt(i));
+            assertEquals(expected.offsetAt(i), actual.offsetAt(i));
+            assertEquals(expected.lengthAt(i), actual.lengthAt(i));
+        }
+    }
+
+    @Test
+    void rejectsMalformedFiles() throws IOException {
+        final var path = new File(dir, "index").toPath();
+
+        Files.write(path, new byte[] {1, 2});
+        assertThrows(IOException.class, () -> StreamFileIndex.readFrom(path));
+
+        Files.write(path, ByteBuffer.allocate(8).putInt(2).putInt(0).array());
+        assertThrows(IOException.class, () -> StreamFileIndex.readFrom(path));
+
+        Files.write(path, ByteBuffer.allocate(8).putInt(1).putInt(1).array());
+        assertThrows(IOException.class, () -> StreamFileIndex.readFrom(path));
+
+        Files.write(
+                path,
+                ByteBuffer.allocate(40)
+                        .putInt(1)
+                        .putInt(2)
+                        .putLong(2L)
+                        .putInt(0)
+                        .putInt(1)
+                        .putLong(1L)
+                        .putInt(1)
+                        .putInt(1)
+                        .array());
+        assertThrows(IOException.class, () -> StreamFileIndex.readFrom(path));
+    }
+
+    @Test
+    void namesIndexAfterUncompressedFile() {
+        assertEquals("a/b.rcd.idx", StreamFileIndex.indexFilePathFor("a/b.rcd"));
+    }
+
+    private static StreamFileIndex someIndex() {
+        final var builder = new StreamFileIndex.Builder(1);
+        builder.add(t0, 4, 36);
+        builder.add(t0.plusNanos(1), 40, 5);
+        builder.add(t0.plusNanos(1), 47, 7);
+        builder.add(t0.plusSeconds(1), 56, 100);
+        return builder.build();
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.throttling;
+
+import static com.hedera.node.app.service.mono.throttling.DeterministicThrottling.DeterministicThrottlingMode.HAPI;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCallLocal;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoGetAccountBalance;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.CryptoTransfer;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.GetVersionInfo;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ScheduleSign;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenBurn;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.TokenMint;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+
+import com.google.protobuf.ByteString;
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ScaleFactor;
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ThrottleDefinitions;
+import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
+import com.hedera.node.app.service.mono.store.schedule.ScheduleStore;
+import com.hedera.node.app.service.mono.utils.accessors.SignedTxnAccessor;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.hedera.test.utils.IdUtils;
+import com.hedera.test.utils.SerdeUtils;
+import com.hederahashgraph.api.proto.java.ContractCallLocalQuery;
+import com.hederahashgraph.api.proto.java.ContractCallTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.Query;
+import com.hederahashgraph.api.proto.java.ScheduleSignTransactionBody;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.TokenBurnTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenMintTransactionBody;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrentHapiThrottlingTest {
+    private static final int N = 2;
+    private static final Instant NOW = Instant.ofEpochSecond(1_234_567L, 890);
+
+    @Mock(lenient = true)
+    private GlobalDynamicProperties dynamicProperties;
+
+    @Mock private AliasManager aliasManager;
+    @Mock private ScheduleStore scheduleStore;
+
+    private ThrottleDefinitions defs;
+    private DeterministicThrottling deterministic;
+    private ConcurrentHapiThrottling subject;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        defs = SerdeUtils.pojoDefs("bootstrap/throttles.json");
+        deterministic =
+                new DeterministicThrottling(
+                        () -> N, aliasManager, dynamicProperties, HAPI, scheduleStore);
+        subject =
+                new ConcurrentHapiThrottling(
+                        new DeterministicThrottling(
+                                () -> N, aliasManager, dynamicProperties, HAPI, scheduleStore),
+                        aliasManager,
+                        dynamicProperties,
+                        scheduleStore);
+        given(dynamicProperties.nftMintScaleFactor()).willReturn(ScaleFactor.from("5:2"));
+    }
+
+    @Test
+    void makesSameDecisionsAsDeterministicThrottlingAtAnInstant() {
+        deterministic.rebuildFor(defs);
+        subject.rebuildFor(defs);
+        final List<TxnAccessor> sequence = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            sequence.add(contractCall());
+        }
+        for (int i = 0; i < 300; i++) {
+            sequence.add(nftMint(3));
+        }
+        for (int i = 0; i < 3_000; i++) {
+            sequence.add(fungibleMint());
+        }
+
+        var numAdmitted = 0;
+        for (final var accessor : sequence) {
+            final var expected = deterministic.shouldThrottleTxn(accessor, NOW);
+            assertEquals(expected, subject.shouldThrottleTxn(accessor, NOW));
+            numAdmitted += expected ? 0 : 1;
+        }
+        assertTrue(numAdmitted > 0);
+        assertTrue(numAdmitted < sequence.size());
+    }
+
+    @Test
+    void throttledDecisionsReturnAllCapacityTaken() {
+        deterministic.rebuildFor(defs);
+        subject.rebuildFor(defs);
+        // ContractCall needs both buckets A and B; once B is exhausted, A must not lose capacity
+        for (int i = 0; i < 100; i++) {
+            subject.shouldThrottleTxn(contractCall(), NOW);
+        }
+        for (int i = 0; i < 100; i++) {
+            deterministic.shouldThrottleTxn(contractCall(), NOW);
+        }
+
+        var numAdmitted = 0;
+        var expectedNumAdmitted = 0;
+        for (int i = 0; i < 10_000; i++) {
+            numAdmitted += subject.shouldThrottleTxn(cryptoTransfer(), NOW) ? 0 : 1;
+            expectedNumAdmitted += deterministic.shouldThrottleTxn(cryptoTransfer(), NOW) ? 0 : 1;
+        }
+        assertEquals(expectedNumAdmitted, numAdmitted);
+    }
+
+    @Test
+    void batchDecisionsMatchSequentialDecisions() {
+        final var sequential = newSubject();
+        sequential.rebuildFor(defs);
+        subject.rebuildFor(defs);
+        final List<TxnAccessor> batch = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            batch.add(i % 2 == 0 ? contractCall() : nftMint(2));
+        }
+
+        final var expected = new boolean[batch.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = sequential.shouldThrottleTxn(batch.get(i), NOW);
+        }
+
+        assertArrayEquals(expected, subject.shouldThrottle(batch, NOW));
+    }
+
+    @Test
+    void admitsExactlyTheBurstCapacityUnderContention() throws InterruptedException {
+        deterministic.rebuildFor(defs);
+        subject.rebuildFor(defs);
+        final var numThreads = 8;
+        final var attemptsPerThread = 2_000;
+        var expectedNumAdmitted = 0;
+        for (int i = 0; i < numThreads * attemptsPerThread; i++) {
+            expectedNumAdmitted += deterministic.shouldThrottleTxn(cryptoTransfer(), NOW) ? 0 : 1;
+        }
+
+        final var numAdmitted = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(numThreads);
+        for (int t = 0; t < numThreads; t++) {
+            executor.execute(
+                    () -> {
+                        final var accessor = cryptoTransfer();
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        for (int i = 0; i < attemptsPerThread; i++) {
+                            if (!subject.shouldThrottleTxn(accessor, NOW)) {
+                                numAdmitted.incrementAndGet();
+                            }
+                        }
+                    });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(expectedNumAdmitted < numThreads * attemptsPerThread);
+        assertEquals(expectedNumAdmitted, numAdmitted.get());
+    }
+
+    @Test
+    void unconfiguredFunctionsAreAlwaysThrottled() {
+        subject.rebuildFor(defs);
+
+        final var accessor =
+                accessorFor(
+                        TransactionBody.newBuilder()
+                                .setTokenBurn(TokenBurnTransactionBody.getDefaultInstance())
+                                .build());
+
+        assertTrue(subject.shouldThrottleTxn(accessor, NOW));
+    }
+
+    @Test
+    void throttlesQueriesAsExpected() {
+        subject.rebuildFor(defs);
+
+        final var query = Query.getDefaultInstance();
+
+        assertFalse(subject.shouldThrottleQuery(CryptoGetAccountBalance, query));
+        assertTrue(subject.shouldThrottleQuery(TokenBurn, query));
+        var versionInfoThrottled = false;
+        for (int i = 0; i < 10 && !versionInfoThrottled; i++) {
+            versionInfoThrottled =
+                    subject.shouldThrottleQuery(GetVersionInfo, query);
+        }
+        assertTrue(versionInfoThrottled);
+    }
+
+    @Test
+    void gasThrottledFunctionsNeedGasThrottleWhenThrottlingByGas() {
+        given(dynamicProperties.shouldThrottleByGas()).willReturn(true);
+        subject.rebuildFor(defs);
+
+        assertTrue(subject.shouldThrottleTxn(contractCall(), NOW));
+        assertTrue(subject.shouldThrottleQuery(ContractCallLocal, callLocalWithGas(1L)));
+    }
+
+    @Test
+    void usesAndLeaksGasAsExpected() {
+        given(dynamicProperties.shouldThrottleByGas()).willReturn(true);
+        given(dynamicProperties.maxGasPerSec()).willReturn(1_000_000L);
+        subject.rebuildFor(defs);
+        subject.applyGasConfig();
+        final var accessor = contractCallWithGas(600_000L);
+
+        assertFalse(subject.shouldThrottleTxn(accessor, NOW));
+        assertTrue(subject.shouldThrottleTxn(accessor, NOW));
+        subject.leakUnusedGasPreviouslyReserved(accessor, 100_000L);
+        assertTrue(subject.shouldThrottleTxn(accessor, NOW));
+        subject.leakUnusedGasPreviouslyReserved(accessor, 100_000L);
+        assertFalse(subject.shouldThrottleTxn(accessor, NOW));
+        assertTrue(subject.shouldThrottleTxn(contractCallWithGas(2_000_000L), NOW.plusSeconds(1)));
+    }
+
+    @Test
+    void rebuildKeepsGasThrottle() {
+        given(dynamicProperties.maxGasPerSec()).willReturn(1_000_000L);
+        subject.applyGasConfig();
+        final var gasThrottle = subject.gasLimitThrottle();
+
+        subject.rebuildFor(defs);
+
+        assertSame(gasThrottle, subject.gasLimitThrottle());
+        assertEquals(1_000_000L, gasThrottle.capacity());
+    }
+
+    @Test
+    void throttlesScheduleSignOfMissingScheduleWithoutKeepingCapacity() throws IOException {
+        given(dynamicProperties.schedulingLongTermEnabled()).willReturn(true);
+        subject.rebuildFor(SerdeUtils.pojoDefs("bootstrap/schedule-create-throttles.json"));
+        final var scheduleId = IdUtils.asSchedule("0.0.333333");
+        final var accessor =
+                accessorFor(
+                        TransactionBody.newBuilder()
+                                .setScheduleSign(
+                                        ScheduleSignTransactionBody.newBuilder()
+                                                .setScheduleID(scheduleId))
+                                .build());
+
+        assertEquals(ScheduleSign, accessor.getFunction());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(subject.shouldThrottleTxn(accessor, NOW));
+        }
+        given(dynamicProperties.schedulingLongTermEnabled()).willReturn(false);
+        assertFalse(subject.shouldThrottleTxn(accessor, NOW));
+    }
+
+    @Test
+    void copiesLiveUsageIntoActiveThrottles() {
+        subject.rebuildFor(defs);
+        assertTrue(subject.allActiveThrottles().stream().allMatch(t -> t.used() == 0));
+
+        final var now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            subject.shouldThrottleTxn(contractCall(), now);
+        }
+
+        assertTrue(subject.allActiveThrottles().stream().anyMatch(t -> t.used() > 0));
+        subject.resetUsage();
+        assertTrue(subject.allActiveThrottles().stream().allMatch(t -> t.used() == 0));
+    }
+
+    @Test
+    void gasLimitThrottleIsNullUntilConfigured() {
+        assertNull(subject.gasLimitThrottle());
+    }
+
+    @Test
+    void unsupportedMethodsThrow() {
+        assertThrows(UnsupportedOperationException.class, () -> subject.activeThrottlesFor(null));
+        assertThrows(UnsupportedOperationException.class, subject::wasLastTxnGasThrottled);
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> subject.shouldThrottleNOfUnscaled(1, TokenMint));
+    }
+
+    private ConcurrentHapiThrottling newSubject() {
+        return new ConcurrentHapiThrottling(
+                new DeterministicThrottling(
+                        () -> N, aliasManager, dynamicProperties, HAPI, scheduleStore),
+                aliasManager,
+                dynamicProperties,
+                scheduleStore);
+    }
+
+    private static TxnAccessor contractCall() {
+        return contractCallWithGas(0L);
+    }
+
+    private static TxnAccessor contractCallWithGas(final long gas) {
+        final var op = ContractCallTransactionBody.newBuilder().setGas(gas);
+        final var accessor = accessorFor(TransactionBody.newBuilder().setContractCall(op).build());
+        assertEquals(ContractCall, accessor.getFunction());
+        return accessor;
+    }
+
+    private static TxnAccessor cryptoTransfer() {
+        final var accessor =
+                accessorFor(
+                        TransactionBody.newBuilder()
+                                .setCryptoTransfer(
+                                        CryptoTransferTransactionBody.getDefaultInstance())
+                                .build());
+        assertEquals(CryptoTransfer, accessor.getFunction());
+        return accessor;
+    }
+
+    private static TxnAccessor fungibleMint() {
+        return accessorFor(
+                TransactionBody.newBuilder()
+                        .setTokenMint(TokenMintTransactionBody.newBuilder().setAmount(1_234L))
+                        .build());
+    }
+
+    private static TxnAccessor nftMint(final int numNfts) {
+        final var op = TokenMintTransactionBody.newBuilder();
+        for (int i = 0; i < numNfts; i++) {
+            op.addMetadata(ByteString.copyFromUtf8("metadata" + i));
+        }
+        return accessorFor(TransactionBody.newBuilder().setTokenMint(op).build());
+    }
+
+    private static Query callLocalWithGas(final long gas) {
+        return Query.newBuilder()
+                .setContractCallLocal(ContractCallLocalQuery.newBuilder().setGas(gas))
+                .build();
+    }
+
+    private static SignedTxnAccessor accessorFor(final TransactionBody body) {
+        final var signedTxn =
+                SignedTransaction.newBuilder().setBodyBytes(body.toByteString()).build();
+        final var txn =
+                Transaction.newBuilder()
+                        .setSignedTransactionBytes(signedTxn.toByteString())
+                        .build();
+        return SignedTxnAccessor.uncheckedFrom(txn);
+    }
+}
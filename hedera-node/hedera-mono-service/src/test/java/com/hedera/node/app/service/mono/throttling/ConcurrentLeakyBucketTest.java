@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.throttling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLeakyBucketTest {
+    private static final long WINDOW = 1_000L;
+    private static final long NOW = 1_234_567_890L;
+
+    private final ConcurrentLeakyBucket subject = new ConcurrentLeakyBucket(WINDOW);
+
+    @Test
+    void rejectsNonPositiveWindows() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLeakyBucket(0));
+    }
+
+    @Test
+    void admitsUpToWindowAtAnInstant() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(subject.tryUse(100, NOW));
+        }
+
+        assertFalse(subject.tryUse(1, NOW));
+        assertFalse(subject.tryUse(WINDOW + 1, NOW + WINDOW));
+        assertEquals(WINDOW, subject.usedNanosAt(NOW));
+    }
+
+    @Test
+    void leaksWithElapsedTime() {
+        assertTrue(subject.tryUse(WINDOW, NOW));
+        assertFalse(subject.tryUse(1, NOW));
+
+        assertEquals(WINDOW - 300, subject.usedNanosAt(NOW + 300));
+        assertTrue(subject.tryUse(300, NOW + 300));
+        assertFalse(subject.tryUse(1, NOW + 300));
+        assertEquals(0, subject.usedNanosAt(NOW + 2 * WINDOW));
+    }
+
+    @Test
+    void toleratesTimesBeforeLatestDecision() {
+        assertTrue(subject.tryUse(500, NOW));
+
+        assertTrue(subject.tryUse(400, NOW - 100));
+        assertFalse(subject.tryUse(200, NOW));
+    }
+
+    @Test
+    void releaseReturnsCapacityButNeverMoreThanWindow() {
+        assertTrue(subject.tryUse(WINDOW, NOW));
+
+        subject.release(400);
+        assertEquals(WINDOW - 400, subject.usedNanosAt(NOW));
+        subject.release(Long.MAX_VALUE);
+        assertEquals(0, subject.usedNanosAt(NOW));
+        assertTrue(subject.tryUse(WINDOW, NOW));
+    }
+
+    @Test
+    void resetEmptiesBucket() {
+        assertTrue(subject.tryUse(WINDOW, NOW));
+
+        subject.reset();
+
+        assertEquals(0, subject.usedNanosAt(NOW));
+        assertEquals(WINDOW, subject.windowNanos());
+    }
+
+    @Test
+    void neverOverAdmitsUnderContention() throws InterruptedException {
+        final var bucket = new ConcurrentLeakyBucket(1_000_000L);
+        final var numThreads = 8;
+        final var admitted = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(numThreads);
+        for (int t = 0; t < numThreads; t++) {
+            executor.execute(
+                    () -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        for (int i = 0; i < 1_000; i++) {
+                            if (bucket.tryUse(333, NOW)) {
+                                admitted.incrementAndGet();
+                            }
+                        }
+                    });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1_000_000 / 333, admitted.get());
+    }
+}
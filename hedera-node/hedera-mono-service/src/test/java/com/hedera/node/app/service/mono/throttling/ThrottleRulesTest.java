@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hedera.node.app.service.mono.throttling;
+
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCall;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ContractCallLocal;
+import static com.hederahashgraph.api.proto.java.HederaFunctionality.ScheduleSign;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.hedera.node.app.hapi.utils.sysfiles.domain.throttling.ScaleFactor;
+import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
+import com.hedera.node.app.service.mono.store.schedule.ScheduleStore;
+import com.hedera.node.app.service.mono.utils.accessors.TxnAccessor;
+import com.hederahashgraph.api.proto.java.HederaFunctionality;
+import com.hederahashgraph.api.proto.java.Query;
+import com.hederahashgraph.api.proto.java.ScheduleID;
+import com.hederahashgraph.api.proto.java.ScheduleSignTransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ThrottleRulesTest {
+    private static final ScheduleID scheduleId =
+            ScheduleID.newBuilder().setScheduleNum(1234L).build();
+
+    @Mock private TxnAccessor accessor;
+    @Mock private AliasManager aliasManager;
+    @Mock private ScheduleStore scheduleStore;
+    @Mock private GlobalDynamicProperties dynamicProperties;
+
+    private final FixedCapacity capacity = new FixedCapacity();
+
+    private ThrottleRules subject;
+    private ThrottleRules.AccessorTransactionDetails details;
+
+    @BeforeEach
+    void setUp() {
+        subject = new ThrottleRules(aliasManager, dynamicProperties, scheduleStore);
+        details = new ThrottleRules.AccessorTransactionDetails(aliasManager);
+    }
+
+    @Test
+    void notesGasThrottlingOfTxnsButNotQueries() {
+        given(dynamicProperties.shouldThrottleByGas()).willReturn(true);
+        given(accessor.getFunction()).willReturn(ContractCall);
+        given(accessor.getGasLimitForContractTx()).willReturn(100L);
+
+        assertTrue(subject.shouldThrottleTxn(details.reset(accessor), capacity, true));
+        assertTrue(
+                subject.shouldThrottleQuery(
+                        ContractCallLocal, Query.getDefaultInstance(), capacity));
+
+        assertEquals(1, capacity.timesGasThrottled);
+    }
+
+    @Test
+    void onlyChecksScheduledTxnsWhenAsked() {
+        given(dynamicProperties.schedulingLongTermEnabled()).willReturn(true);
+        given(accessor.getFunction()).willReturn(ScheduleSign);
+        given(accessor.getTxn())
+                .willReturn(
+                        TransactionBody.newBuilder()
+                                .setScheduleSign(
+                                        ScheduleSignTransactionBody.newBuilder()
+                                                .setScheduleID(scheduleId))
+                                .build());
+
+        assertFalse(subject.shouldThrottleTxn(details.reset(accessor), capacity, false));
+        verifyNoInteractions(scheduleStore);
+
+        // A missing schedule is throttled when checked deeply
+        assertTrue(subject.shouldThrottleTxn(details.reset(accessor), capacity, true));
+        verify(scheduleStore).getNoError(scheduleId);
+    }
+
+    /** Has capacity for every function, but no gas. */
+    private static class FixedCapacity implements ThrottleRules.Capacity<Object> {
+        private int timesGasThrottled;
+
+        @Override
+        public Object reqsFor(final HederaFunctionality function) {
+            return function;
+        }
+
+        @Override
+        public boolean tryUseAll(final Object reqs) {
+            return true;
+        }
+
+        @Override
+        public boolean tryUseAll(final Object reqs, final int n, final ScaleFactor scaleFactor) {
+            return true;
+        }
+
+        @Override
+        public boolean tryUseGas(final long gasLimit) {
+            return false;
+        }
+
+        @Override
+        public void onGasThrottled() {
+            timesGasThrottled++;
+        }
+    }
+}
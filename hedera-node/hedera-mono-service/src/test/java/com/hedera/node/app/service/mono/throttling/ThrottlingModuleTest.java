@@ -16,10 +16,12 @@
 package com.hedera.node.app.service.mono.throttling;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
 
 import com.hedera.node.app.service.mono.config.MockGlobalDynamicProps;
 import com.hedera.node.app.service.mono.context.TransactionContext;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
 import com.hedera.node.app.service.mono.ledger.accounts.AliasManager;
 import com.hedera.node.app.service.mono.store.schedule.ScheduleStore;
 import com.swirlds.common.system.address.AddressBook;
@@ -36,13 +38,18 @@ class ThrottlingModuleTest {
     @Mock private AddressBook addressBook;
     @Mock private AliasManager aliasManager;
     @Mock private TransactionContext txnCtx;
+    @Mock private NodeLocalProperties nodeLocalProperties;
     @Mock private ScheduleStore scheduleStore;
 
     @Test
     void constructsHapiAndHandleThrottlesAsExpected() {
         final var hapiThrottle =
                 ThrottlingModule.provideHapiThrottling(
-                        aliasManager, () -> addressBook, dynamicProperties, scheduleStore);
+                        aliasManager,
+                        () -> addressBook,
+                        dynamicProperties,
+                        nodeLocalProperties,
+                        scheduleStore);
         final var handleThrottle =
                 ThrottlingModule.provideHandleThrottling(
                         aliasManager, txnCtx, dynamicProperties, scheduleStore);
@@ -58,4 +65,19 @@ class ThrottlingModuleTest {
         assertThat(scheduleThrottling, Matchers.instanceOf(DeterministicThrottling.class));
         assertThat(scheduleThrottling, Matchers.equalTo(timedScheduleThrottling));
     }
+
+    @Test
+    void constructsConcurrentHapiThrottlingIfConfigured() {
+        given(nodeLocalProperties.isHapiThrottleConcurrentAdmission()).willReturn(true);
+
+        final var hapiThrottle =
+                ThrottlingModule.provideHapiThrottling(
+                        aliasManager,
+                        () -> addressBook,
+                        dynamicProperties,
+                        nodeLocalProperties,
+                        scheduleStore);
+
+        assertThat(hapiThrottle, Matchers.instanceOf(ConcurrentHapiThrottling.class));
+    }
 }
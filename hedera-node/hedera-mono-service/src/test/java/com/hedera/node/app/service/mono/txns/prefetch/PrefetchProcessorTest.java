@@ -15,14 +15,24 @@
  */
 package com.hedera.node.app.service.mono.txns.prefetch;
 
+import static com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor.ADJUSTMENT_INTERVAL_NANOS;
+import static com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor.DROPS_NAME;
+import static com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor.HITS_NAME;
 import static com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor.MINIMUM_QUEUE_CAPACITY;
 import static com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor.MINIMUM_THREAD_POOL_SIZE;
+import static com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor.MISSES_NAME;
+import static com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor.WORKERS_NAME;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.hedera.node.app.service.mono.context.properties.NodeLocalProperties;
@@ -30,20 +40,26 @@ import com.hedera.node.app.service.mono.txns.PreFetchableTransition;
 import com.hedera.node.app.service.mono.txns.TransitionLogic;
 import com.hedera.node.app.service.mono.txns.TransitionLogicLookup;
 import com.hedera.node.app.service.mono.utils.accessors.PlatformTxnAccessor;
+import com.swirlds.common.metrics.Counter;
+import com.swirlds.common.metrics.DoubleGauge;
+import com.swirlds.common.metrics.Metrics;
+import com.swirlds.common.system.Platform;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -51,17 +67,24 @@ import org.mockito.quality.Strictness;
 @ExtendWith({MockitoExtension.class})
 @MockitoSettings(strictness = Strictness.LENIENT)
 class PrefetchProcessorTest {
+    private static final Instant EARLIER = Instant.ofEpochSecond(1_234_567L);
+    private static final Instant LATER = EARLIER.plusNanos(1);
+
     @Mock NodeLocalProperties properties;
     @Mock TransitionLogicLookup lookup;
-    @Mock PlatformTxnAccessor accessor;
     @Mock PreFetchableTransition logic;
+    @Mock Platform platform;
+    @Mock Metrics metrics;
 
     PrefetchProcessor processor;
-    List<Runnable> executed = new ArrayList<>();
-    List<Runnable> rejected = new ArrayList<>();
+    final AtomicLong now = new AtomicLong();
+    final CountDownLatch release = new CountDownLatch(1);
+    final Map<String, Counter> counters = new HashMap<>();
+    final Map<String, DoubleGauge> gauges = new HashMap<>();
 
     @AfterEach
     void teardown() {
+        release.countDown();
         processor.shutdown();
     }
 
@@ -69,138 +92,258 @@ class PrefetchProcessorTest {
     void createSuccessful() {
         given(properties.prefetchQueueCapacity()).willReturn(MINIMUM_QUEUE_CAPACITY + 1);
         given(properties.prefetchThreadPoolSize()).willReturn(MINIMUM_THREAD_POOL_SIZE + 1);
+        given(properties.prefetchMaxThreadPoolSize()).willReturn(MINIMUM_THREAD_POOL_SIZE + 2);
 
         processor =
                 new PrefetchProcessor(properties, lookup) {
                     @Override
                     ExecutorService createExecutorService(
                             int threadPoolSize, BlockingQueue<Runnable> queue) {
-                        assertEquals(MINIMUM_QUEUE_CAPACITY + 1, queue.remainingCapacity());
                         assertEquals(MINIMUM_THREAD_POOL_SIZE + 1, threadPoolSize);
-
-                        return new ThreadPoolExecutor(
-                                threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS, queue);
+                        return super.createExecutorService(threadPoolSize, queue);
                     }
                 };
+
+        assertEquals(MINIMUM_QUEUE_CAPACITY + 1, processor.queueCapacity);
+        assertEquals(MINIMUM_THREAD_POOL_SIZE + 1, processor.currentWorkers());
+        assertEquals(MINIMUM_THREAD_POOL_SIZE + 2, processor.maxWorkers);
+        assertEquals(
+                MINIMUM_THREAD_POOL_SIZE + 2,
+                ((ThreadPoolExecutor) processor.executorService).getMaximumPoolSize());
     }
 
     @Test
     void createWithInvalidParameters() {
         given(properties.prefetchQueueCapacity()).willReturn(2);
         given(properties.prefetchThreadPoolSize()).willReturn(1);
+        given(properties.prefetchMaxThreadPoolSize()).willReturn(1);
 
-        processor =
-                new PrefetchProcessor(properties, lookup) {
-                    @Override
-                    ExecutorService createExecutorService(
-                            int threadPoolSize, BlockingQueue<Runnable> queue) {
-                        assertEquals(MINIMUM_QUEUE_CAPACITY, queue.remainingCapacity());
-                        assertEquals(MINIMUM_THREAD_POOL_SIZE, threadPoolSize);
+        processor = new PrefetchProcessor(properties, lookup);
 
-                        return new ThreadPoolExecutor(
-                                threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS, queue);
-                    }
-                };
+        assertEquals(MINIMUM_QUEUE_CAPACITY, processor.queueCapacity);
+        assertEquals(MINIMUM_THREAD_POOL_SIZE, processor.minWorkers);
+        assertEquals(MINIMUM_THREAD_POOL_SIZE, processor.maxWorkers);
     }
 
-    BlockingQueue<Runnable> setupSubmit() {
-        given(properties.prefetchQueueCapacity()).willReturn(2);
-        given(properties.prefetchThreadPoolSize()).willReturn(1);
+    @Test
+    void submitSuccessfulAndCountsHit() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        setupSubmit(8);
+        final var accessor = accessor();
 
-        final AtomicReference<BlockingQueue<Runnable>> queueRef = new AtomicReference<>();
-        processor =
-                new PrefetchProcessor(properties, lookup) {
-                    @Override
-                    ExecutorService createExecutorService(
-                            int threadPoolSize, BlockingQueue<Runnable> queue) {
-                        queue = new ArrayBlockingQueue<>(2);
-                        ThreadPoolExecutor execService =
-                                new ThreadPoolExecutor(
-                                        threadPoolSize,
-                                        threadPoolSize,
-                                        0L,
-                                        TimeUnit.MILLISECONDS,
-                                        queue) {
-                                    @Override
-                                    @java.lang.SuppressWarnings("java:S2925")
-                                    protected void beforeExecute(Thread t, Runnable r) {
-                                        try {
-                                            executed.add(r);
-                                            Thread.sleep(
-                                                    10); // need to wait to allow assertions to work
-                                        } catch (InterruptedException e) {
-                                            // noop
-                                        }
-                                    }
-                                };
-                        execService.setRejectedExecutionHandler(
-                                (runnable, exec) -> {
-                                    rejected.add(runnable);
-                                });
-
-                        this.queue = queue;
-                        queueRef.set(queue);
-                        return execService;
-                    }
-                };
+        processor.submit(accessor, EARLIER);
+        await().until(() -> completedTasks() == 1);
+        processor.reachedHandle(accessor);
+
+        verify(logic).preFetch(accessor);
 
-        return queueRef.get();
+        verify(counters.get(HITS_NAME)).increment();
+        verify(counters.get(MISSES_NAME), never()).increment();
     }
 
     @Test
-    void submitSuccessful() {
-        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+    void submitNotPrefetchableLogic() {
+        final var notPrefetchable = mock(TransitionLogic.class);
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(notPrefetchable));
+        setupSubmit(8);
+        final var accessor = accessor();
 
-        final var queue = setupSubmit();
-        processor.submit(accessor);
+        processor.submit(accessor, EARLIER);
+        processor.reachedHandle(accessor);
 
-        await().until(() -> executed.size() == 1);
+        assertTrue(accessor.getSpanMap().isEmpty());
+        assertEquals(0, processor.queue.size());
+        verify(counters.get(MISSES_NAME), never()).increment();
+    }
 
-        verify(logic).preFetch(accessor);
+    @Test
+    void submitEmptyTransitionLogic() {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.empty());
+        setupSubmit(8);
+
+        assertDoesNotThrow(() -> processor.submit(accessor(), EARLIER));
     }
 
     @Test
-    void submitNotPrefetchableLogic() {
-        TransitionLogic logic = Mockito.mock(TransitionLogic.class);
+    void submitExceptionThrownDuringRun() {
         given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        setupSubmit(8);
+        final var accessor = accessor();
+        doThrow(new RuntimeException("oh no")).when(logic).preFetch(accessor);
 
-        final var queue = setupSubmit();
-        processor.submit(accessor);
+        processor.submit(accessor, EARLIER);
 
-        await().atMost(200, TimeUnit.MILLISECONDS)
-                .until(() -> executed.size() == 0 && rejected.size() == 0);
+        await().untilAsserted(() -> verify(logic).preFetch(accessor));
     }
 
     @Test
-    void failedSubmitQueueFull() {
+    void dropsTasksWhenQueueIsFull() throws InterruptedException {
         given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        setupSingleWorker();
+        blockWorker();
 
-        final var queue = setupSubmit();
-        for (int i = 0; i < 20; i++) {
-            processor.submit(accessor);
+        final var accessor = accessor();
+        for (int i = 0; i <= MINIMUM_QUEUE_CAPACITY; i++) {
+            processor.submit(accessor, EARLIER);
         }
 
-        await().atMost(10, TimeUnit.SECONDS).until(() -> rejected.size() > 0);
+        assertEquals(MINIMUM_QUEUE_CAPACITY, processor.queue.size());
+        verify(counters.get(DROPS_NAME)).increment();
     }
 
     @Test
-    void submitEmptyTransitionLogic() {
-        given(lookup.lookupFor(any(), any())).willReturn(Optional.empty());
+    void skipsTaskOnceTransactionReachedHandle() throws InterruptedException {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        setupSingleWorker();
+        blockWorker();
+        final var accessor = accessor();
+
+        processor.submit(accessor, EARLIER);
+        processor.reachedHandle(accessor);
+        release.countDown();
 
-        setupSubmit();
-        assertDoesNotThrow(() -> processor.submit(accessor));
+        await().until(() -> processor.queue.isEmpty());
+        verify(counters.get(MISSES_NAME)).increment();
+        verify(logic, never()).preFetch(accessor);
     }
 
     @Test
-    void submitExceptionThrownDuringRun() {
+    void prefetchesEarlierEventsFirst() throws InterruptedException {
         given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
-        doThrow(new RuntimeException("oh no")).when(logic).preFetch(accessor);
+        setupSingleWorker();
+        blockWorker();
+        final var later = accessor();
+        final var earlier = accessor();
 
-        final var queue = setupSubmit();
-        processor.submit(accessor);
+        processor.submit(later, LATER);
+        processor.submit(earlier, EARLIER);
+        release.countDown();
 
-        await().until(() -> executed.size() == 1);
+        await().untilAsserted(() -> verify(logic).preFetch(later));
+        final var inOrder = inOrder(logic);
+        inOrder.verify(logic).preFetch(earlier);
+        inOrder.verify(logic).preFetch(later);
+    }
 
-        verify(logic).preFetch(accessor);
+    @Test
+    void growsWithBacklogOfMissesAndShrinksWithHits() throws InterruptedException {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        setupSubmit(8);
+        blockWorkers(MINIMUM_THREAD_POOL_SIZE);
+        final var missed = accessor();
+        final var queued = accessor();
+
+        processor.submit(missed, EARLIER);
+        processor.submit(queued, LATER);
+        processor.reachedHandle(missed);
+        now.addAndGet(ADJUSTMENT_INTERVAL_NANOS);
+        processor.maybeAdjustWorkers();
+
+        assertEquals(2 * MINIMUM_THREAD_POOL_SIZE, processor.currentWorkers());
+        assertEquals(
+                2 * MINIMUM_THREAD_POOL_SIZE,
+                ((ThreadPoolExecutor) processor.executorService).getCorePoolSize());
+        verify(gauges.get(WORKERS_NAME)).set(2.0 * MINIMUM_THREAD_POOL_SIZE);
+
+        await().until(() -> completedTasks() == 2);
+        processor.reachedHandle(queued);
+        now.addAndGet(ADJUSTMENT_INTERVAL_NANOS);
+        processor.maybeAdjustWorkers();
+
+        assertEquals(2 * MINIMUM_THREAD_POOL_SIZE - 1, processor.currentWorkers());
+    }
+
+    @Test
+    void doesNotAdjustBeforeIntervalElapses() throws InterruptedException {
+        given(lookup.lookupFor(any(), any())).willReturn(Optional.of(logic));
+        setupSubmit(8);
+        blockWorkers(MINIMUM_THREAD_POOL_SIZE);
+        final var missed = accessor();
+
+        processor.submit(missed, EARLIER);
+        processor.reachedHandle(missed);
+        now.addAndGet(ADJUSTMENT_INTERVAL_NANOS - 1);
+        processor.maybeAdjustWorkers();
+
+        assertEquals(MINIMUM_THREAD_POOL_SIZE, processor.currentWorkers());
+    }
+
+    private void setupSubmit(final int maxWorkers) {
+        given(properties.prefetchQueueCapacity()).willReturn(2);
+        given(properties.prefetchThreadPoolSize()).willReturn(1);
+        given(properties.prefetchMaxThreadPoolSize()).willReturn(maxWorkers);
+        processor = new PrefetchProcessor(properties, lookup);
+        registerMetrics();
+    }
+
+    private void setupSingleWorker() {
+        given(properties.prefetchQueueCapacity()).willReturn(2);
+        given(properties.prefetchThreadPoolSize()).willReturn(1);
+        given(properties.prefetchMaxThreadPoolSize()).willReturn(1);
+        processor =
+                new PrefetchProcessor(properties, lookup) {
+                    @Override
+                    ExecutorService createExecutorService(
+                            int threadPoolSize, BlockingQueue<Runnable> queue) {
+                        final var executor =
+                                new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, queue);
+                        executor.prestartAllCoreThreads();
+                        return executor;
+                    }
+                };
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        now.set(System.nanoTime());
+        processor.nanoClock = now::get;
+        given(platform.getMetrics()).willReturn(metrics);
+        given(metrics.getOrCreate(any(Counter.Config.class)))
+                .willAnswer(
+                        invocation ->
+                                counters.computeIfAbsent(
+                                        invocation.<Counter.Config>getArgument(0).getName(),
+                                        name -> mock(Counter.class)));
+        given(metrics.getOrCreate(any(DoubleGauge.Config.class)))
+                .willAnswer(
+                        invocation ->
+                                gauges.computeIfAbsent(
+                                        invocation.<DoubleGauge.Config>getArgument(0).getName(),
+                                        name -> mock(DoubleGauge.class)));
+        processor.registerWith(platform);
+    }
+
+    private void blockWorker() throws InterruptedException {
+        blockWorkers(1);
+    }
+
+    private void blockWorkers(final int n) throws InterruptedException {
+        final var started = new CountDownLatch(n);
+        final List<PlatformTxnAccessor> blockers = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            blockers.add(accessor());
+        }
+        willAnswer(
+                        invocation -> {
+                            if (blockers.contains(invocation.getArgument(0))) {
+                                started.countDown();
+                                release.await();
+                            }
+                            return null;
+                        })
+                .given(logic)
+                .preFetch(any());
+        blockers.forEach(blocker -> processor.submit(blocker, EARLIER));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+    }
+
+    private long completedTasks() {
+        return ((ThreadPoolExecutor) processor.executorService).getCompletedTaskCount();
+    }
+
+    private PlatformTxnAccessor accessor() {
+        final var accessor = mock(PlatformTxnAccessor.class);
+        given(accessor.getSpanMap()).willReturn(new HashMap<>());
+        return accessor;
     }
 }
@@ -15,11 +15,15 @@
  */
 package com.hedera.node.app.service.mono.txns.span;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.node.app.service.mono.context.properties.GlobalDynamicProperties;
+import com.hedera.node.app.service.mono.txns.prefetch.PrefetchProcessor;
 import com.hedera.node.app.service.mono.utils.accessors.AccessorFactory;
+import com.hedera.node.app.service.mono.utils.accessors.SwirldsTxnAccessor;
 import com.hedera.test.utils.IdUtils;
 import com.hederahashgraph.api.proto.java.Timestamp;
 import com.hederahashgraph.api.proto.java.Transaction;
@@ -35,6 +39,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class ExpandHandleSpanTest {
     @Mock private SpanMapManager handleSpanMap;
     @Mock private GlobalDynamicProperties dynamicProperties;
+    @Mock private PrefetchProcessor prefetchProcessor;
+    @Mock private SwirldsTxnAccessor cachedAccessor;
+    @Mock private com.swirlds.common.system.transaction.Transaction platformTxn;
 
     private final AccessorFactory accessorFactory = new AccessorFactory(dynamicProperties);
 
@@ -58,7 +65,7 @@ class ExpandHandleSpanTest {
 
     @BeforeEach
     void setUp() {
-        subject = new ExpandHandleSpan(handleSpanMap, accessorFactory);
+        subject = new ExpandHandleSpan(handleSpanMap, accessorFactory, prefetchProcessor);
     }
 
     @Test
@@ -67,4 +74,17 @@ class ExpandHandleSpanTest {
 
         verify(handleSpanMap).expandSpan(endAccessor.getDelegate());
     }
+
+    @Test
+    void alertsPrefetchProcessorWhenCachedAccessorReachesHandle()
+            throws InvalidProtocolBufferException {
+        given(platformTxn.<SwirldsTxnAccessor>getMetadata()).willReturn(cachedAccessor);
+
+        final var accessor = subject.accessorFor(platformTxn);
+
+        assertSame(cachedAccessor, accessor);
+        verify(prefetchProcessor).reachedHandle(cachedAccessor);
+        verify(handleSpanMap).rationalizeSpan(cachedAccessor);
+        verify(platformTxn).setMetadata(null);
+    }
 }